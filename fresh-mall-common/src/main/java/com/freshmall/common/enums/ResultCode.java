@@ -64,7 +64,13 @@ public enum ResultCode {
     
     // 类目-属性关系相关 (36xx)
     CATEGORY_ATTRIBUTE_NOT_FOUND(3601, "类目-属性关联不存在"),
-    CATEGORY_ATTRIBUTE_DUPLICATE(3602, "类目-属性关联已存在");
+    CATEGORY_ATTRIBUTE_DUPLICATE(3602, "类目-属性关联已存在"),
+    
+    // 索引相关 (37xx)
+    INDEX_REBUILD_RUNNING(3701, "已有进行中的索引重建"),
+    INDEX_REBUILD_NOT_FOUND(3702, "索引重建记录不存在"),
+    FACET_INDEX_LOADING(3703, "规格筛选索引加载中，请稍后重试"),
+    INDEX_CHECK_RUNNING(3705, "已有进行中的索引一致性检查");
 
     final int code;
     final String msg;
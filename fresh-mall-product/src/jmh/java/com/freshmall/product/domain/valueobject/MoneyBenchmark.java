@@ -0,0 +1,112 @@
+package com.freshmall.product.domain.valueobject;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MoneyCents 与 Money 的基准测试
+ * 模拟购物车计价的热点路径：单价 × 数量累加、求最低价，以及接口返回时的 JSON 序列化
+ *
+ * 运行（先 mvn install 公共模块）：mvn -pl fresh-mall-product -Pjmh test-compile exec:exec
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MoneyBenchmark {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    /**
+     * 购物车行数
+     */
+    @Param({"10", "1000"})
+    private int lines;
+
+    private Money[] moneyPrices;
+    private MoneyCents[] centsPrices;
+    private long[] quantities;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        moneyPrices = new Money[lines];
+        centsPrices = new MoneyCents[lines];
+        quantities = new long[lines];
+        for (int i = 0; i < lines; i++) {
+            // 0.01 ~ 999.99 元
+            long cents = 1 + random.nextInt(99999);
+            moneyPrices[i] = Money.ofCents(cents);
+            centsPrices[i] = MoneyCents.ofCents(cents);
+            quantities[i] = 1 + random.nextInt(5);
+        }
+    }
+
+    @Benchmark
+    public Money cartTotalMoney() {
+        Money total = Money.zero();
+        for (int i = 0; i < lines; i++) {
+            BigDecimal lineAmount = moneyPrices[i].getAmount().multiply(BigDecimal.valueOf(quantities[i]));
+            total = total.add(Money.of(lineAmount));
+        }
+        return total;
+    }
+
+    @Benchmark
+    public MoneyCents cartTotalMoneyCents() {
+        MoneyCents total = MoneyCents.zero();
+        for (int i = 0; i < lines; i++) {
+            total = total.add(centsPrices[i].multiply(quantities[i]));
+        }
+        return total;
+    }
+
+    @Benchmark
+    public Money minPriceMoney() {
+        Money min = moneyPrices[0];
+        for (int i = 1; i < lines; i++) {
+            if (moneyPrices[i].lessThan(min)) {
+                min = moneyPrices[i];
+            }
+        }
+        return min;
+    }
+
+    @Benchmark
+    public MoneyCents minPriceMoneyCents() {
+        MoneyCents min = centsPrices[0];
+        for (int i = 1; i < lines; i++) {
+            if (centsPrices[i].lessThan(min)) {
+                min = centsPrices[i];
+            }
+        }
+        return min;
+    }
+
+    @Benchmark
+    public String toJsonMoney() throws JsonProcessingException {
+        return OBJECT_MAPPER.writeValueAsString(moneyPrices);
+    }
+
+    @Benchmark
+    public String toJsonMoneyCents() throws JsonProcessingException {
+        return OBJECT_MAPPER.writeValueAsString(centsPrices);
+    }
+}
@@ -135,7 +135,7 @@ public class ProductApplicationService {
      * 编排流程：
      * 1. 创建 SKU
      * 2. 初始化库存
-     * 3. 如果 SPU 已发布，更新索引
+     * 3. 记录索引任务，事务提交后由后台异步更新索引（不等待索引完成）
      * 
      * @param spuId SPU ID
      * @param skuCode SKU 编码
@@ -150,7 +150,7 @@ public class ProductApplicationService {
         // 2. 初始化库存
         stockService.initStock(skuId, 0);
 
-        // 3. 如果 SPU 已发布，异步更新索引
+        // 3. 记录索引任务，事务提交后异步更新索引
         productSearchService.asyncUpdateIndex(skuId);
 
         return skuId;
@@ -1,9 +1,19 @@
 package com.freshmall.product.controller.admin;
 
 import com.freshmall.common.result.Result;
+import com.freshmall.product.controller.dto.CartPricingRequest;
+import com.freshmall.product.controller.dto.PriceAsOfBatchQueryRequest;
 import com.freshmall.product.controller.dto.PriceBatchQueryRequest;
+import com.freshmall.product.controller.dto.PriceMatrixQueryRequest;
 import com.freshmall.product.controller.dto.PriceSetRequest;
 import com.freshmall.product.domain.model.ChannelType;
+import com.freshmall.product.domain.price.CartLine;
+import com.freshmall.product.domain.price.CartPricing;
+import com.freshmall.product.domain.price.PriceCsvReader;
+import com.freshmall.product.domain.price.PriceImportResult;
+import com.freshmall.product.domain.price.PriceJsonReader;
+import com.freshmall.product.domain.price.PriceMatrix;
+import com.freshmall.product.domain.service.PriceImportService;
 import com.freshmall.product.domain.service.PriceService;
 import com.freshmall.product.domain.valueobject.Money;
 import io.swagger.v3.oas.annotations.Operation;
@@ -11,9 +21,18 @@ import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 /**
  * 价格管理控制器
@@ -25,6 +44,7 @@ import java.util.Map;
 public class PriceController {
 
     private final PriceService priceService;
+    private final PriceImportService priceImportService;
 
     @Operation(summary = "设置价格", description = "为指定 SKU 和渠道设置价格策略，支持时间范围")
     @PostMapping
@@ -57,4 +77,61 @@ public class PriceController {
         );
         return Result.success(prices);
     }
+
+    @Operation(summary = "查询指定时刻价格", description = "查询指定 SKU 在指定渠道、指定时刻（包括已归档的历史）的有效价格")
+    @GetMapping("/{skuId}/as-of")
+    public Result<Money> getPriceAt(
+            @Parameter(description = "SKU ID", required = true) @PathVariable Long skuId,
+            @Parameter(description = "销售渠道", required = true) @RequestParam ChannelType channel,
+            @Parameter(description = "查询时刻", required = true, example = "2024-01-01T00:00:00")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime time) {
+        return Result.success(priceService.getPriceAt(skuId, channel, time));
+    }
+
+    @Operation(summary = "批量查询指定时刻价格", description = "批量查询多个 SKU 在指定渠道、指定时刻的有效价格")
+    @PostMapping("/batch/as-of")
+    public Result<Map<Long, Money>> batchGetPricesAt(@Valid @RequestBody PriceAsOfBatchQueryRequest request) {
+        Map<Long, Money> prices = priceService.batchGetPricesAt(
+            request.getSkuIds(),
+            request.getChannel(),
+            request.getTime()
+        );
+        return Result.success(prices);
+    }
+
+    @Operation(summary = "查询价格矩阵",
+            description = "一次查询多个 SKU 在多个渠道的当前有效价格，按列返回：priceCents[渠道下标][SKU 下标]，单位为分，没有有效价格时为 null")
+    @PostMapping("/matrix")
+    public Result<PriceMatrix> getPriceMatrix(@Valid @RequestBody PriceMatrixQueryRequest request) {
+        return Result.success(priceService.getPriceMatrix(request.getSkuIds(), request.getChannels()));
+    }
+
+    @Operation(summary = "购物车计价",
+            description = "一次查询所有行的当前价格，返回行金额、合计和价格版本；下单后支付前重新计价并比较价格版本即可判断价格是否变化")
+    @PostMapping("/cart")
+    public Result<CartPricing> priceCart(@Valid @RequestBody CartPricingRequest request) {
+        List<CartLine> lines = request.getLines().stream()
+                .map(line -> new CartLine(line.getSkuId(), line.getChannel(), line.getQuantity()))
+                .collect(Collectors.toList());
+        return Result.success(priceService.priceCart(lines));
+    }
+
+    @Operation(summary = "批量导入价格（JSON）",
+            description = "流式读取请求体中的 JSON 数组（元素与设置价格的请求相同），按批校验并写入，单行错误不影响其他行，返回逐行错误")
+    @PostMapping(value = "/import", consumes = "application/json")
+    public Result<PriceImportResult> importPrices(InputStream body) throws IOException {
+        try (PriceJsonReader reader = new PriceJsonReader(body)) {
+            return Result.success(priceImportService.importRows(reader));
+        }
+    }
+
+    @Operation(summary = "批量导入价格（CSV）",
+            description = "流式读取请求体中的 CSV（skuId,channel,price,startTime,endTime，UTF-8，可带表头），"
+                    + "按批校验并写入，返回逐行错误")
+    @PostMapping(value = "/import/csv", consumes = {"text/csv", "text/plain"})
+    public Result<PriceImportResult> importCsv(InputStream body) throws IOException {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+            return Result.success(priceImportService.importRows(new PriceCsvReader(reader)));
+        }
+    }
 }
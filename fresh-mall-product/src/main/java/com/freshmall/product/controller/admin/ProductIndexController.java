@@ -0,0 +1,68 @@
+package com.freshmall.product.controller.admin;
+
+import com.freshmall.common.result.Result;
+import com.freshmall.product.domain.model.ProductIndexCheckStats;
+import com.freshmall.product.domain.model.ProductIndexRebuild;
+import com.freshmall.product.domain.model.ProductIndexRebuildProgress;
+import com.freshmall.product.domain.model.ProductIndexTaskStats;
+import com.freshmall.product.domain.service.ProductIndexCheckService;
+import com.freshmall.product.domain.service.ProductIndexRebuildService;
+import com.freshmall.product.domain.service.ProductIndexTaskService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * 商品索引管理控制器
+ */
+@Tag(name = "商品索引管理", description = "商品搜索索引的运维接口，包括异步索引队列监控、全量重建等操作")
+@RestController
+@RequestMapping("/api/index")
+@RequiredArgsConstructor
+public class ProductIndexController {
+
+    private final ProductIndexTaskService productIndexTaskService;
+    private final ProductIndexRebuildService productIndexRebuildService;
+    private final ProductIndexCheckService productIndexCheckService;
+
+    @Operation(summary = "查询索引队列状态", description = "查询异步索引任务队列的深度、滞后时间和处理计数")
+    @GetMapping("/tasks/stats")
+    public Result<ProductIndexTaskStats> getTaskStats() {
+        return Result.success(productIndexTaskService.getQueueStats());
+    }
+
+    @Operation(summary = "发起索引全量重建", description = "按 SPU ID 范围分区并行构建影子表，全部完成后原子切换为正式索引表，返回重建 ID")
+    @PostMapping("/rebuild")
+    public Result<Long> startRebuild() {
+        ProductIndexRebuild rebuild = productIndexRebuildService.startRebuild();
+        return Result.success(rebuild.getId());
+    }
+
+    @Operation(summary = "查询最近一次重建进度", description = "返回分区完成情况、已处理 SPU 数、写入行数和写入速度")
+    @GetMapping("/rebuild/latest")
+    public Result<ProductIndexRebuildProgress> getLatestRebuildProgress() {
+        return Result.success(productIndexRebuildService.getLatestProgress());
+    }
+
+    @Operation(summary = "查询重建进度", description = "根据重建 ID 查询重建进度")
+    @GetMapping("/rebuild/{id}")
+    public Result<ProductIndexRebuildProgress> getRebuildProgress(
+            @Parameter(description = "重建 ID", required = true) @PathVariable Long id) {
+        return Result.success(productIndexRebuildService.getProgress(id));
+    }
+
+    @Operation(summary = "发起索引一致性检查", description = "按 SKU 分批比对索引与业务数据，有差异的 SPU 提交索引任务修复")
+    @PostMapping("/check")
+    public Result<Void> startCheck() {
+        productIndexCheckService.startCheck();
+        return Result.success();
+    }
+
+    @Operation(summary = "查询索引一致性检查统计", description = "返回检查进度、缺失/多余/不一致的索引行数和累计差异数")
+    @GetMapping("/check/stats")
+    public Result<ProductIndexCheckStats> getCheckStats() {
+        return Result.success(productIndexCheckService.getStats());
+    }
+}
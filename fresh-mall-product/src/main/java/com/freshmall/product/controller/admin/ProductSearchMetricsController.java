@@ -0,0 +1,37 @@
+package com.freshmall.product.controller.admin;
+
+import com.freshmall.common.result.Result;
+import com.freshmall.product.domain.model.SlowSearchQuery;
+import com.freshmall.product.domain.service.ProductSearchMetrics;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * 商品搜索监控控制器
+ * 各阶段耗时直方图通过 Actuator 的 /actuator/metrics/product.search.stage 查看
+ */
+@Tag(name = "商品搜索监控", description = "商品搜索的运维接口，包括慢搜索记录查询")
+@RestController
+@RequestMapping("/api/search-metrics")
+@RequiredArgsConstructor
+public class ProductSearchMetricsController {
+
+    private final ProductSearchMetrics productSearchMetrics;
+
+    @Operation(summary = "查询慢搜索记录", description = "返回本节点最近的慢搜索（最新的在前），包含过滤条件和执行的 SQL")
+    @GetMapping("/slow-queries")
+    public Result<List<SlowSearchQuery>> getSlowQueries() {
+        return Result.success(productSearchMetrics.getSlowQueries());
+    }
+
+    @Operation(summary = "清空慢搜索记录", description = "清空本节点的慢搜索记录")
+    @DeleteMapping("/slow-queries")
+    public Result<Void> clearSlowQueries() {
+        productSearchMetrics.clearSlowQueries();
+        return Result.success();
+    }
+}
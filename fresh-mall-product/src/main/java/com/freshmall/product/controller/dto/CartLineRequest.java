@@ -0,0 +1,28 @@
+package com.freshmall.product.controller.dto;
+
+import com.freshmall.product.domain.model.ChannelType;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+/**
+ * 购物车行
+ */
+@Schema(description = "购物车行")
+@Data
+public class CartLineRequest {
+
+    @Schema(description = "SKU ID", example = "1", requiredMode = Schema.RequiredMode.REQUIRED)
+    @NotNull(message = "SKU ID 不能为空")
+    private Long skuId;
+
+    @Schema(description = "销售渠道", example = "APP", requiredMode = Schema.RequiredMode.REQUIRED)
+    @NotNull(message = "销售渠道不能为空")
+    private ChannelType channel;
+
+    @Schema(description = "购买数量", example = "2", requiredMode = Schema.RequiredMode.REQUIRED)
+    @NotNull(message = "数量不能为空")
+    @Min(value = 1, message = "数量必须大于 0")
+    private Integer quantity;
+}
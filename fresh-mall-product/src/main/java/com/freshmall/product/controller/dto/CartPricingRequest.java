@@ -0,0 +1,20 @@
+package com.freshmall.product.controller.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 购物车计价请求
+ */
+@Schema(description = "购物车计价请求")
+@Data
+public class CartPricingRequest {
+
+    @Schema(description = "购物车行", requiredMode = Schema.RequiredMode.REQUIRED)
+    @NotEmpty(message = "购物车行不能为空")
+    private List<@Valid CartLineRequest> lines;
+}
@@ -0,0 +1,30 @@
+package com.freshmall.product.controller.dto;
+
+import com.freshmall.product.domain.model.ChannelType;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 批量查询指定时刻价格请求
+ */
+@Schema(description = "批量查询指定时刻价格请求")
+@Data
+public class PriceAsOfBatchQueryRequest {
+
+    @Schema(description = "SKU ID 列表", example = "[1, 2, 3]", requiredMode = Schema.RequiredMode.REQUIRED)
+    @NotEmpty(message = "SKU ID 列表不能为空")
+    private List<Long> skuIds;
+
+    @Schema(description = "销售渠道", example = "APP", requiredMode = Schema.RequiredMode.REQUIRED)
+    @NotNull(message = "销售渠道不能为空")
+    private ChannelType channel;
+
+    @Schema(description = "查询时刻", example = "2024-01-01T00:00:00", requiredMode = Schema.RequiredMode.REQUIRED)
+    @NotNull(message = "查询时刻不能为空")
+    private LocalDateTime time;
+}
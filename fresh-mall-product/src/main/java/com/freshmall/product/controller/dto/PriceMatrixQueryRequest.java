@@ -0,0 +1,23 @@
+package com.freshmall.product.controller.dto;
+
+import com.freshmall.product.domain.model.ChannelType;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 价格矩阵查询请求
+ */
+@Schema(description = "价格矩阵查询请求")
+@Data
+public class PriceMatrixQueryRequest {
+
+    @Schema(description = "SKU ID 列表", example = "[1, 2, 3]", requiredMode = Schema.RequiredMode.REQUIRED)
+    @NotEmpty(message = "SKU ID 列表不能为空")
+    private List<Long> skuIds;
+
+    @Schema(description = "销售渠道列表（为空表示全部渠道）", example = "[\"APP\", \"WEB\", \"STORE\"]")
+    private List<ChannelType> channels;
+}
@@ -0,0 +1,99 @@
+package com.freshmall.product.controller.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.freshmall.product.domain.model.ChannelType;
+import com.freshmall.product.domain.model.ProductIndex;
+import com.freshmall.product.domain.model.ProductSpuIndex;
+import com.freshmall.product.domain.model.StockStatus;
+import com.freshmall.product.domain.valueobject.MoneyCents;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * 商品搜索结果项
+ * 只包含展示需要的字段，未选中（fields 参数）或不适用的字段为 null，不出现在响应中
+ */
+@Schema(description = "商品搜索结果项")
+@Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ProductSearchItem {
+
+    @Schema(description = "SKU ID（按 SPU 聚合时不返回）", example = "1")
+    private Long skuId;
+
+    @Schema(description = "SPU ID", example = "1")
+    private Long spuId;
+
+    @Schema(description = "SPU 名称", example = "云南高山蓝莓")
+    private String spuName;
+
+    @Schema(description = "类目 ID", example = "1")
+    private Long categoryId;
+
+    @Schema(description = "最低价格", example = "29.90")
+    private BigDecimal minPrice;
+
+    @Schema(description = "最高价格", example = "39.90")
+    private BigDecimal maxPrice;
+
+    @Schema(description = "指定渠道的价格（仅指定渠道时返回；按 SPU 聚合时为该渠道最低价格）", example = "27.90")
+    private BigDecimal price;
+
+    @Schema(description = "库存状态", example = "IN_STOCK")
+    private StockStatus stockStatus;
+
+    @Schema(description = "发布时间")
+    private LocalDateTime publishTime;
+
+    @Schema(description = "可见 SKU 数（仅按 SPU 聚合时返回）", example = "3")
+    private Integer skuCount;
+
+    /**
+     * 由 SKU 级索引构建
+     *
+     * @param index SKU 级索引（只查询了选中字段）
+     * @param channel 渠道（可选）
+     * @return 搜索结果项
+     */
+    public static ProductSearchItem from(ProductIndex index, ChannelType channel) {
+        ProductSearchItem item = new ProductSearchItem();
+        item.setSkuId(index.getSkuId());
+        item.setSpuId(index.getSpuId());
+        item.setSpuName(index.getSpuName());
+        item.setCategoryId(index.getCategoryId());
+        item.setMinPrice(index.getMinPrice());
+        item.setMaxPrice(index.getMaxPrice());
+        item.setPrice(channel != null ? toPrice(index.getChannelPriceCents(channel)) : null);
+        item.setStockStatus(index.getStockStatus());
+        item.setPublishTime(index.getPublishTime());
+        return item;
+    }
+
+    /**
+     * 由 SPU 级索引构建
+     *
+     * @param index SPU 级索引（只查询了选中字段）
+     * @param channel 渠道（可选）
+     * @return 搜索结果项
+     */
+    public static ProductSearchItem from(ProductSpuIndex index, ChannelType channel) {
+        ProductSearchItem item = new ProductSearchItem();
+        item.setSpuId(index.getSpuId());
+        item.setSpuName(index.getSpuName());
+        item.setCategoryId(index.getCategoryId());
+        item.setMinPrice(index.getMinPrice());
+        item.setMaxPrice(index.getMaxPrice());
+        item.setPrice(channel != null ? toPrice(index.getChannelPriceCents(channel)) : null);
+        item.setStockStatus(index.getStockStatus());
+        item.setPublishTime(index.getPublishTime());
+        item.setSkuCount(index.getSkuCount());
+        return item;
+    }
+
+    private static BigDecimal toPrice(Long cents) {
+        return cents == null ? null : MoneyCents.toAmount(cents);
+    }
+}
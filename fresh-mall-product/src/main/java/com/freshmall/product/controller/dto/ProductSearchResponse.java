@@ -1,6 +1,6 @@
 package com.freshmall.product.controller.dto;
 
-import com.freshmall.product.domain.model.ProductIndex;
+import com.freshmall.product.domain.model.AttributeFacet;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -15,8 +15,8 @@ import java.util.List;
 @AllArgsConstructor
 public class ProductSearchResponse {
 
-    @Schema(description = "商品列表")
-    private List<ProductIndex> products;
+    @Schema(description = "商品列表（groupBySpu=true 时每个 SPU 一条，否则每个 SKU 一条）")
+    private List<ProductSearchItem> products;
 
     @Schema(description = "总数", example = "100")
     private Long total;
@@ -26,4 +26,7 @@ public class ProductSearchResponse {
 
     @Schema(description = "每页大小", example = "20")
     private Integer pageSize;
+
+    @Schema(description = "规格分面统计（请求 facets=true 时返回）")
+    private List<AttributeFacet> facets;
 }
@@ -1,10 +1,18 @@
 package com.freshmall.product.controller.web;
 
+import com.freshmall.common.enums.ResultCode;
+import com.freshmall.common.exception.BusinessException;
 import com.freshmall.common.result.Result;
+import com.freshmall.product.controller.dto.ProductSearchItem;
 import com.freshmall.product.controller.dto.ProductSearchResponse;
-import com.freshmall.product.domain.model.ProductIndex;
+import com.freshmall.product.domain.model.AttributeFacet;
+import com.freshmall.product.domain.model.ChannelType;
+import com.freshmall.product.domain.model.ProductSearchField;
+import com.freshmall.product.domain.model.ProductSortType;
+import com.freshmall.product.domain.model.ProductSuggestion;
 import com.freshmall.product.domain.model.StockStatus;
 import com.freshmall.product.domain.service.ProductSearchService;
+import com.freshmall.product.domain.service.ProductSuggestIndex;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -15,7 +23,12 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * 商品搜索控制器
@@ -26,47 +39,148 @@ import java.util.List;
 @RequiredArgsConstructor
 public class ProductSearchController {
 
+    /**
+     * 每页大小上限：搜索结果按页缓存，不限制时单个请求就能写入任意大的缓存项
+     */
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final ProductSearchService productSearchService;
+    private final ProductSuggestIndex productSuggestIndex;
 
-    @Operation(summary = "搜索商品", description = "根据类目、价格范围、库存状态等条件搜索商品，支持分页")
+    @Operation(summary = "搜索商品", description = "根据类目、价格范围、库存状态等条件搜索商品，支持排序和分页")
     @GetMapping("/search")
     public Result<ProductSearchResponse> searchProducts(
             @Parameter(description = "类目 ID（可选）") @RequestParam(required = false) Long categoryId,
             @Parameter(description = "最低价格（可选）") @RequestParam(required = false) BigDecimal minPrice,
             @Parameter(description = "最高价格（可选）") @RequestParam(required = false) BigDecimal maxPrice,
             @Parameter(description = "库存状态（可选）") @RequestParam(required = false) StockStatus stockStatus,
+            @Parameter(description = "渠道（可选）：指定后价格过滤和价格排序使用该渠道的价格")
+            @RequestParam(required = false) ChannelType channel,
+            @Parameter(description = "规格筛选（可选，可重复）：属性名:属性值，如 产地:云南；同一属性多个值为或，不同属性为且")
+            @RequestParam(required = false) List<String> attr,
+            @Parameter(description = "是否返回规格分面统计") @RequestParam(defaultValue = "false") Boolean facets,
+            @Parameter(description = "是否按 SPU 聚合（每个 SPU 一条）")
+            @RequestParam(defaultValue = "false") Boolean groupBySpu,
+            @Parameter(description = "返回字段（可选，逗号分隔）：skuId,spuId,spuName,categoryId,minPrice,maxPrice,"
+                    + "price,stockStatus,publishTime,skuCount；不传返回全部字段")
+            @RequestParam(required = false) List<String> fields,
+            @Parameter(description = "排序方式（可选）：PRICE_ASC / PRICE_DESC / NEWEST / IN_STOCK_FIRST")
+            @RequestParam(defaultValue = "DEFAULT") ProductSortType sort,
             @Parameter(description = "页码", example = "1") @RequestParam(defaultValue = "1") Integer page,
-            @Parameter(description = "每页大小", example = "20") @RequestParam(defaultValue = "20") Integer pageSize) {
+            @Parameter(description = "每页大小（1 - 100）", example = "20") @RequestParam(defaultValue = "20") Integer pageSize) {
 
+        if (page < 1 || pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+            throw new BusinessException(ResultCode.PARAM_ERROR, "页码需大于 0，每页大小需在 1 - " + MAX_PAGE_SIZE + " 之间");
+        }
         // 计算偏移量
         int offset = (page - 1) * pageSize;
+        Map<String, List<String>> attributes = parseAttributes(attr);
+        Set<ProductSearchField> selectedFields = parseFields(fields);
 
-        // 搜索商品
-        List<ProductIndex> products = productSearchService.searchProducts(
-            categoryId,
-            minPrice,
-            maxPrice,
-            stockStatus,
-            offset,
-            pageSize
-        );
+        List<ProductSearchItem> products;
+        Long total;
+        if (Boolean.TRUE.equals(groupBySpu)) {
+            // 按 SPU 聚合：每个 SPU 一条，总数为 SPU 数
+            products = productSearchService.searchSpus(
+                    categoryId, minPrice, maxPrice, stockStatus, channel, attributes, sort, offset, pageSize,
+                    selectedFields)
+                .stream()
+                .map(spu -> ProductSearchItem.from(spu, channel))
+                .toList();
+            total = productSearchService.countSpuSearchResults(
+                categoryId, minPrice, maxPrice, stockStatus, channel, attributes);
+        } else {
+            // 搜索商品
+            products = productSearchService.searchProducts(
+                categoryId,
+                minPrice,
+                maxPrice,
+                stockStatus,
+                channel,
+                attributes,
+                sort,
+                offset,
+                pageSize,
+                selectedFields
+            )
+                .stream()
+                .map(index -> ProductSearchItem.from(index, channel))
+                .toList();
 
-        // 统计总数
-        Long total = productSearchService.countSearchResults(
-            categoryId,
-            minPrice,
-            maxPrice,
-            stockStatus
-        );
+            // 统计总数
+            total = productSearchService.countSearchResults(
+                categoryId,
+                minPrice,
+                maxPrice,
+                stockStatus,
+                channel,
+                attributes
+            );
+        }
 
         // 构建响应
         ProductSearchResponse response = new ProductSearchResponse(
             products,
             total,
             page,
-            pageSize
+            pageSize,
+            Boolean.TRUE.equals(facets) ? productSearchService.getAttributeFacets(categoryId, attributes) : null
         );
 
         return Result.success(response);
     }
+
+    @Operation(summary = "规格分面统计", description = "统计类目下各规格属性值的商品数，可叠加规格筛选条件")
+    @GetMapping("/facets")
+    public Result<List<AttributeFacet>> getAttributeFacets(
+            @Parameter(description = "类目 ID（可选）") @RequestParam(required = false) Long categoryId,
+            @Parameter(description = "规格筛选（可选，可重复）：属性名:属性值")
+            @RequestParam(required = false) List<String> attr) {
+        return Result.success(productSearchService.getAttributeFacets(categoryId, parseAttributes(attr)));
+    }
+
+    @Operation(summary = "搜索建议", description = "根据输入前缀（商品名称或拼音首字母）返回热度最高的商品名称")
+    @GetMapping("/suggest")
+    public Result<List<ProductSuggestion>> suggest(
+            @Parameter(description = "输入前缀", required = true) @RequestParam String q,
+            @Parameter(description = "返回数量", example = "10") @RequestParam(defaultValue = "10") Integer limit) {
+        return Result.success(productSuggestIndex.suggest(q, limit));
+    }
+
+    /**
+     * 解析返回字段参数，未知字段名报参数错误
+     */
+    private Set<ProductSearchField> parseFields(List<String> fields) {
+        Set<ProductSearchField> selected = EnumSet.noneOf(ProductSearchField.class);
+        if (fields == null) {
+            return selected;
+        }
+        for (String name : fields) {
+            if (name.isBlank()) {
+                continue;
+            }
+            selected.add(ProductSearchField.fromFieldName(name.trim())
+                    .orElseThrow(() -> new BusinessException(ResultCode.PARAM_ERROR, "不支持的返回字段: " + name)));
+        }
+        return selected;
+    }
+
+    /**
+     * 解析规格筛选参数（属性名:属性值），按属性名分组
+     */
+    private Map<String, List<String>> parseAttributes(List<String> attr) {
+        Map<String, List<String>> attributes = new LinkedHashMap<>();
+        if (attr == null) {
+            return attributes;
+        }
+        for (String item : attr) {
+            int separator = item.indexOf(':');
+            if (separator <= 0 || separator == item.length() - 1) {
+                throw new BusinessException(ResultCode.PARAM_ERROR, "规格筛选格式应为 属性名:属性值: " + item);
+            }
+            attributes.computeIfAbsent(item.substring(0, separator).trim(), name -> new ArrayList<>())
+                    .add(item.substring(separator + 1).trim());
+        }
+        return attributes;
+    }
 }
@@ -0,0 +1,58 @@
+package com.freshmall.product.domain.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Collection;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 商品索引变更事件
+ * 正式索引表的行发生写入或删除时发布，用于使搜索结果缓存失效、刷新规格位图和搜索建议
+ */
+@Getter
+@AllArgsConstructor
+public class ProductIndexChangedEvent {
+
+    /**
+     * 受影响的类目 ID
+     */
+    private final Set<Long> categoryIds;
+
+    /**
+     * 受影响的 SPU ID
+     */
+    private final Set<Long> spuIds;
+
+    /**
+     * 是否整表变更（例如全量重建切换），此时全部缓存失效
+     */
+    private final boolean allCategories;
+
+    /**
+     * 指定类目、SPU 的索引行发生变更
+     * 
+     * @param categoryIds 受影响的类目 ID（忽略 null）
+     * @param spuIds 受影响的 SPU ID（忽略 null）
+     * @return 索引变更事件
+     */
+    public static ProductIndexChangedEvent of(Collection<Long> categoryIds, Collection<Long> spuIds) {
+        return new ProductIndexChangedEvent(nonNull(categoryIds), nonNull(spuIds), false);
+    }
+
+    /**
+     * 整个索引表发生变更
+     * 
+     * @return 索引变更事件
+     */
+    public static ProductIndexChangedEvent all() {
+        return new ProductIndexChangedEvent(Set.of(), Set.of(), true);
+    }
+
+    private static Set<Long> nonNull(Collection<Long> ids) {
+        return ids.stream()
+                .filter(id -> id != null)
+                .collect(Collectors.toSet());
+    }
+}
@@ -0,0 +1,20 @@
+package com.freshmall.product.domain.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 索引一致性检查启动事件
+ * 用于触发后台逐批检查
+ */
+@Getter
+@AllArgsConstructor
+public class ProductIndexCheckStartedEvent {
+
+    /**
+     * 检查开始时间
+     */
+    private final LocalDateTime startTime;
+}
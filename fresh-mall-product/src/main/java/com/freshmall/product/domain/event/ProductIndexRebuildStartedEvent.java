@@ -0,0 +1,18 @@
+package com.freshmall.product.domain.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 索引重建启动事件
+ * 重建记录和分区写入后用于触发后台并行构建
+ */
+@Getter
+@AllArgsConstructor
+public class ProductIndexRebuildStartedEvent {
+
+    /**
+     * 重建 ID
+     */
+    private final Long rebuildId;
+}
@@ -0,0 +1,24 @@
+package com.freshmall.product.domain.event;
+
+import com.freshmall.product.domain.model.IndexTaskType;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 索引任务入队事件
+ * 在入队事务提交后用于唤醒后台工作线程
+ */
+@Getter
+@AllArgsConstructor
+public class ProductIndexTaskEnqueuedEvent {
+
+    /**
+     * 目标类型
+     */
+    private final IndexTaskType targetType;
+
+    /**
+     * 目标 ID
+     */
+    private final Long targetId;
+}
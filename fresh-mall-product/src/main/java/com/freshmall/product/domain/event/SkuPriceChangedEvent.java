@@ -0,0 +1,47 @@
+package com.freshmall.product.domain.event;
+
+import com.freshmall.product.domain.model.ChannelType;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * SKU 价格变更事件
+ * 新价格记录写入后发布，价格边界调度器据此登记生效和失效时间，价格时间线缓存据此追加记录
+ */
+@Getter
+@AllArgsConstructor
+public class SkuPriceChangedEvent {
+
+    /**
+     * 价格记录 ID
+     */
+    private final Long priceId;
+
+    /**
+     * SKU ID
+     */
+    private final Long skuId;
+
+    /**
+     * 销售渠道
+     */
+    private final ChannelType channel;
+
+    /**
+     * 价格金额
+     */
+    private final BigDecimal price;
+
+    /**
+     * 价格生效时间
+     */
+    private final LocalDateTime startTime;
+
+    /**
+     * 价格失效时间（为空表示长期有效）
+     */
+    private final LocalDateTime endTime;
+}
@@ -0,0 +1,22 @@
+package com.freshmall.product.domain.event;
+
+import com.freshmall.product.domain.price.SkuPrice;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * SKU 价格批量导入事件
+ * 每批价格记录写入后发布一次，代替逐条的 SkuPriceChangedEvent；
+ * 价格边界调度器据此登记生效和失效时间，价格时间线缓存据此失效相关时间线
+ */
+@Getter
+@AllArgsConstructor
+public class SkuPricesImportedEvent {
+
+    /**
+     * 本批写入的价格记录（ID 已分配）
+     */
+    private final List<SkuPrice> prices;
+}
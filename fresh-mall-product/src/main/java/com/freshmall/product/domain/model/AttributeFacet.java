@@ -0,0 +1,51 @@
+package com.freshmall.product.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 规格属性分面统计
+ * 一个 ENUM 类型属性在当前筛选条件下各属性值的商品数
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AttributeFacet {
+
+    /**
+     * 属性 ID
+     */
+    private Long attributeId;
+
+    /**
+     * 属性名称
+     */
+    private String attributeName;
+
+    /**
+     * 属性值统计（按商品数降序，不包含数量为 0 的属性值）
+     */
+    private List<ValueCount> values;
+
+    /**
+     * 属性值及其商品数
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ValueCount {
+
+        /**
+         * 属性值
+         */
+        private String value;
+
+        /**
+         * 商品数（SKU 数）
+         */
+        private Integer count;
+    }
+}
@@ -0,0 +1,50 @@
+package com.freshmall.product.domain.model;
+
+/**
+ * FNV-1a 64 位哈希
+ * 用于索引内容哈希、购物车价格版本等只需判断内容是否变化的场景，不用于安全用途
+ *
+ * 设计说明：
+ * - 从 OFFSET_BASIS 开始逐字节并入，结果与输入字节序列一一对应，跨进程、跨版本稳定（哈希值会落库和返回给调用方）
+ * - long 按小端字节序并入
+ */
+public final class Fnv1aHash {
+
+    public static final long OFFSET_BASIS = 0xcbf29ce484222325L;
+
+    private static final long PRIME = 0x100000001b3L;
+
+    private Fnv1aHash() {
+    }
+
+    /**
+     * 计算字节序列的哈希
+     */
+    public static long of(byte[] bytes) {
+        return mix(OFFSET_BASIS, bytes);
+    }
+
+    /**
+     * 把字节序列依次并入哈希
+     */
+    public static long mix(long hash, byte[] bytes) {
+        for (byte b : bytes) {
+            hash = mixByte(hash, b & 0xFF);
+        }
+        return hash;
+    }
+
+    /**
+     * 把一个 long 的 8 个字节依次并入哈希
+     */
+    public static long mix(long hash, long value) {
+        for (int shift = 0; shift < Long.SIZE; shift += Byte.SIZE) {
+            hash = mixByte(hash, (value >>> shift) & 0xFF);
+        }
+        return hash;
+    }
+
+    private static long mixByte(long hash, long octet) {
+        return (hash ^ octet) * PRIME;
+    }
+}
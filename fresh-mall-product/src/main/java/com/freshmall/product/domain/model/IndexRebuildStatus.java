@@ -0,0 +1,29 @@
+package com.freshmall.product.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 索引重建状态枚举
+ */
+@Getter
+@AllArgsConstructor
+public enum IndexRebuildStatus {
+
+    /**
+     * 重建中（进程重启后会从分区游标处继续）
+     */
+    RUNNING("重建中"),
+
+    /**
+     * 影子表已切换为正式索引表
+     */
+    COMPLETED("已完成"),
+
+    /**
+     * 重建失败，正式索引表保持不变
+     */
+    FAILED("失败");
+
+    private final String description;
+}
@@ -0,0 +1,29 @@
+package com.freshmall.product.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 索引任务状态枚举
+ */
+@Getter
+@AllArgsConstructor
+public enum IndexTaskStatus {
+
+    /**
+     * 待处理（包括等待重试）
+     */
+    PENDING("待处理"),
+
+    /**
+     * 已被某个工作节点认领，处理中
+     */
+    PROCESSING("处理中"),
+
+    /**
+     * 超过最大重试次数，等待人工处理
+     */
+    FAILED("失败");
+
+    private final String description;
+}
@@ -0,0 +1,24 @@
+package com.freshmall.product.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 索引任务目标类型枚举
+ */
+@Getter
+@AllArgsConstructor
+public enum IndexTaskType {
+
+    /**
+     * 重建单个 SKU 的索引
+     */
+    SKU("SKU 索引"),
+
+    /**
+     * 重建 SPU 下所有 SKU 的索引
+     */
+    SPU("SPU 索引");
+
+    private final String description;
+}
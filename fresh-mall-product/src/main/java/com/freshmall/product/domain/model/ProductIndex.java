@@ -1,5 +1,7 @@
 package com.freshmall.product.domain.model;
 
+import com.baomidou.mybatisplus.annotation.FieldStrategy;
+import com.baomidou.mybatisplus.annotation.TableField;
 import com.baomidou.mybatisplus.annotation.TableName;
 import com.freshmall.common.domain.BaseEntity;
 import com.freshmall.product.domain.valueobject.Money;
@@ -7,6 +9,9 @@ import lombok.Data;
 import lombok.EqualsAndHashCode;
 
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 
 /**
  * 商品索引实体
@@ -44,19 +49,54 @@ public class ProductIndex extends BaseEntity {
 
     /**
      * 最低价格（所有渠道中的最低价）
+     * 价格列没有有效价格时为 null，更新时同样不忽略空值，保证与内容哈希一致
      */
+    @TableField(updateStrategy = FieldStrategy.ALWAYS)
     private BigDecimal minPrice;
 
     /**
      * 最高价格（所有渠道中的最高价）
      */
+    @TableField(updateStrategy = FieldStrategy.ALWAYS)
     private BigDecimal maxPrice;
 
+    /**
+     * APP 渠道有效价格（分，渠道没有有效价格时为 null）
+     */
+    @TableField(updateStrategy = FieldStrategy.ALWAYS)
+    private Long appPriceCents;
+
+    /**
+     * WEB 渠道有效价格（分）
+     */
+    @TableField(updateStrategy = FieldStrategy.ALWAYS)
+    private Long webPriceCents;
+
+    /**
+     * 门店渠道有效价格（分）
+     */
+    @TableField(updateStrategy = FieldStrategy.ALWAYS)
+    private Long storePriceCents;
+
     /**
      * 库存状态
      */
     private StockStatus stockStatus;
 
+    /**
+     * 规格属性值（JSON 格式，仅包含类目关联的 ENUM 类型属性）
+     * 格式：{"属性 ID": "属性值", ...}，键有序（相同规格生成相同的 JSON），用于规格筛选和分面统计
+     * 规格中不再有可索引的属性时需要写回 null，更新时不忽略空值
+     */
+    @TableField(updateStrategy = FieldStrategy.ALWAYS)
+    private String specValues;
+
+    /**
+     * SPU 发布时间（用于按最新发布排序）
+     */
+    @TableField(updateStrategy = FieldStrategy.ALWAYS)
+    private LocalDateTime publishTime;
+
     /**
      * SPU 是否已删除（冗余字段，用于快速过滤）
      */
@@ -67,6 +107,14 @@ public class ProductIndex extends BaseEntity {
      */
     private Boolean skuEnabled;
 
+    /**
+     * 内容哈希（构建时由 computeContentHash 计算）
+     * 增量更新时与已存在行比较，相同则跳过写入
+     * 哈希为空表示需要强制重写，更新时同样写回空值，否则旧哈希会让下一次构建误判为未变化
+     */
+    @TableField(updateStrategy = FieldStrategy.ALWAYS)
+    private Long contentHash;
+
     /**
      * 获取最低价格的 Money 对象
      * 
@@ -103,6 +151,47 @@ public class ProductIndex extends BaseEntity {
         this.maxPrice = money.getAmount();
     }
 
+    /**
+     * 获取指定渠道的有效价格（分）
+     * 
+     * @param channel 渠道
+     * @return 价格（分），渠道没有有效价格时为 null
+     */
+    public Long getChannelPriceCents(ChannelType channel) {
+        switch (channel) {
+            case APP:
+                return this.appPriceCents;
+            case WEB:
+                return this.webPriceCents;
+            case STORE:
+                return this.storePriceCents;
+            default:
+                throw new IllegalArgumentException("不支持的渠道: " + channel);
+        }
+    }
+
+    /**
+     * 设置指定渠道的有效价格（分）
+     * 
+     * @param channel 渠道
+     * @param cents 价格（分），为 null 表示渠道没有有效价格
+     */
+    public void setChannelPriceCents(ChannelType channel, Long cents) {
+        switch (channel) {
+            case APP:
+                this.appPriceCents = cents;
+                break;
+            case WEB:
+                this.webPriceCents = cents;
+                break;
+            case STORE:
+                this.storePriceCents = cents;
+                break;
+            default:
+                throw new IllegalArgumentException("不支持的渠道: " + channel);
+        }
+    }
+
     /**
      * 检查是否应该在搜索结果中显示
      * 
@@ -128,4 +217,31 @@ public class ProductIndex extends BaseEntity {
         }
         return true;
     }
+
+    /**
+     * 计算索引内容哈希
+     * 只包含由业务数据计算得到的列（不含 ID、时间戳和哈希列本身），两行索引内容一致时哈希相同
+     * 价格按数值比较（去掉尾随零），发布时间按秒比较
+     * 
+     * @return 64 位内容哈希（FNV-1a）
+     */
+    public long computeContentHash() {
+        String content = String.join("|",
+                String.valueOf(this.spuId),
+                String.valueOf(this.skuId),
+                String.valueOf(this.spuName),
+                String.valueOf(this.categoryId),
+                this.minPrice == null ? "null" : this.minPrice.stripTrailingZeros().toPlainString(),
+                this.maxPrice == null ? "null" : this.maxPrice.stripTrailingZeros().toPlainString(),
+                String.valueOf(this.appPriceCents),
+                String.valueOf(this.webPriceCents),
+                String.valueOf(this.storePriceCents),
+                String.valueOf(this.stockStatus),
+                String.valueOf(this.specValues),
+                this.publishTime == null ? "null" : this.publishTime.truncatedTo(ChronoUnit.SECONDS).toString(),
+                String.valueOf(Boolean.TRUE.equals(this.spuDeleted)),
+                String.valueOf(Boolean.TRUE.equals(this.skuEnabled)));
+
+        return Fnv1aHash.of(content.getBytes(StandardCharsets.UTF_8));
+    }
 }
@@ -0,0 +1,83 @@
+package com.freshmall.product.domain.model;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * 商品索引一致性检查统计
+ * 当前（或最近一次）检查的进度和差异数，以及本节点启动以来的累计差异数
+ */
+@Data
+public class ProductIndexCheckStats {
+
+    /**
+     * 是否正在检查
+     */
+    private Boolean running;
+
+    /**
+     * 开始时间
+     */
+    private LocalDateTime startTime;
+
+    /**
+     * 结束时间（进行中时为 null）
+     */
+    private LocalDateTime finishTime;
+
+    /**
+     * 已检查到的 SKU ID 游标
+     */
+    private Long cursorSkuId;
+
+    /**
+     * 已检查的 SKU 数
+     */
+    private Long scannedSku;
+
+    /**
+     * 缺失的索引行数（应有索引但不存在）
+     */
+    private Long missingCount;
+
+    /**
+     * 多余的索引行数（不应有索引但存在）
+     */
+    private Long staleCount;
+
+    /**
+     * 内容不一致的索引行数
+     */
+    private Long mismatchedCount;
+
+    /**
+     * 已提交修复任务的 SPU 数
+     */
+    private Long repairedSpuCount;
+
+    /**
+     * 失败原因（检查失败时）
+     */
+    private String lastError;
+
+    /**
+     * 本节点启动以来完成的检查次数
+     */
+    private Long completedRuns;
+
+    /**
+     * 本节点启动以来发现的缺失索引行数
+     */
+    private Long missingTotal;
+
+    /**
+     * 本节点启动以来发现的多余索引行数
+     */
+    private Long staleTotal;
+
+    /**
+     * 本节点启动以来发现的内容不一致索引行数
+     */
+    private Long mismatchedTotal;
+}
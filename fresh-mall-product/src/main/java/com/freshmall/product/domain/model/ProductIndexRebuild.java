@@ -0,0 +1,52 @@
+package com.freshmall.product.domain.model;
+
+import com.baomidou.mybatisplus.annotation.TableName;
+import com.freshmall.common.domain.BaseEntity;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+import java.time.LocalDateTime;
+
+/**
+ * 商品索引全量重建实体
+ * 
+ * 设计说明：
+ * - 按 SPU ID 范围切分为多个分区，分区并行构建并写入影子表
+ * - 全部分区完成后通过 RENAME TABLE 原子切换影子表与正式表，搜索不会看到半成品索引
+ * - 分区游标持久化，进程重启后从游标处继续
+ */
+@Data
+@EqualsAndHashCode(callSuper = true)
+@TableName("t_product_index_rebuild")
+public class ProductIndexRebuild extends BaseEntity {
+
+    /**
+     * 重建状态
+     */
+    private IndexRebuildStatus status;
+
+    /**
+     * 分区数
+     */
+    private Integer partitionCount;
+
+    /**
+     * 待处理 SPU 总数（启动时统计，用于计算进度）
+     */
+    private Long totalSpu;
+
+    /**
+     * 开始时间（切换后据此补偿重建期间发生的变更）
+     */
+    private LocalDateTime startTime;
+
+    /**
+     * 结束时间
+     */
+    private LocalDateTime finishTime;
+
+    /**
+     * 失败原因
+     */
+    private String lastError;
+}
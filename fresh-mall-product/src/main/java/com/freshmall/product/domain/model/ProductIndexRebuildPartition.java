@@ -0,0 +1,51 @@
+package com.freshmall.product.domain.model;
+
+import com.baomidou.mybatisplus.annotation.TableName;
+import com.freshmall.common.domain.BaseEntity;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+/**
+ * 商品索引重建分区实体
+ * 负责 (rangeStart, rangeEnd] 范围内的 SPU，游标与影子表写入在同一事务中推进
+ */
+@Data
+@EqualsAndHashCode(callSuper = true)
+@TableName("t_product_index_rebuild_partition")
+public class ProductIndexRebuildPartition extends BaseEntity {
+
+    /**
+     * 重建 ID
+     */
+    private Long rebuildId;
+
+    /**
+     * 范围起点（不包含）
+     */
+    private Long rangeStart;
+
+    /**
+     * 范围终点（包含）
+     */
+    private Long rangeEnd;
+
+    /**
+     * 游标：已处理的最大 SPU ID
+     */
+    private Long cursorSpuId;
+
+    /**
+     * 是否已处理完成
+     */
+    private Boolean finished;
+
+    /**
+     * 已处理 SPU 数
+     */
+    private Long processedSpu;
+
+    /**
+     * 已写入索引行数
+     */
+    private Long rowsWritten;
+}
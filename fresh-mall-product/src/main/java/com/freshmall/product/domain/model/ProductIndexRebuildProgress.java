@@ -0,0 +1,72 @@
+package com.freshmall.product.domain.model;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * 商品索引重建进度
+ */
+@Data
+public class ProductIndexRebuildProgress {
+
+    /**
+     * 重建 ID
+     */
+    private Long rebuildId;
+
+    /**
+     * 重建状态
+     */
+    private IndexRebuildStatus status;
+
+    /**
+     * 分区总数
+     */
+    private Integer partitionCount;
+
+    /**
+     * 已完成分区数
+     */
+    private Integer finishedPartitions;
+
+    /**
+     * 待处理 SPU 总数
+     */
+    private Long totalSpu;
+
+    /**
+     * 已处理 SPU 数
+     */
+    private Long processedSpu;
+
+    /**
+     * 已写入索引行数
+     */
+    private Long rowsWritten;
+
+    /**
+     * 进度百分比（0-100）
+     */
+    private Double percent;
+
+    /**
+     * 写入速度（行/秒，按开始至今或开始至结束的耗时计算）
+     */
+    private Double rowsPerSecond;
+
+    /**
+     * 开始时间
+     */
+    private LocalDateTime startTime;
+
+    /**
+     * 结束时间
+     */
+    private LocalDateTime finishTime;
+
+    /**
+     * 失败原因
+     */
+    private String lastError;
+}
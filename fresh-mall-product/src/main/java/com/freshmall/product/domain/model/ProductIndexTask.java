@@ -0,0 +1,91 @@
+package com.freshmall.product.domain.model;
+
+import com.baomidou.mybatisplus.annotation.TableName;
+import com.freshmall.common.domain.BaseEntity;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+import java.time.LocalDateTime;
+
+/**
+ * 商品索引任务实体（事务性发件箱）
+ * 
+ * 设计说明：
+ * - 与业务数据在同一个事务中写入，事务提交后由后台工作线程异步消费
+ * - 同一目标在处理前的重复请求只保留一条待处理任务（合并）
+ * - 处理成功后物理删除，失败时按退避策略重试
+ */
+@Data
+@EqualsAndHashCode(callSuper = true)
+@TableName("t_product_index_task")
+public class ProductIndexTask extends BaseEntity {
+
+    /**
+     * 目标类型（SKU / SPU）
+     */
+    private IndexTaskType targetType;
+
+    /**
+     * 目标 ID（SKU ID 或 SPU ID）
+     */
+    private Long targetId;
+
+    /**
+     * 任务状态
+     */
+    private IndexTaskStatus status;
+
+    /**
+     * 已尝试次数
+     */
+    private Integer attempts;
+
+    /**
+     * 下次可执行时间（用于失败退避）
+     */
+    private LocalDateTime nextAttemptTime;
+
+    /**
+     * 认领令牌（标识认领该任务的工作批次）
+     */
+    private String claimToken;
+
+    /**
+     * 认领时间（用于回收超时未完成的任务）
+     */
+    private LocalDateTime claimTime;
+
+    /**
+     * 最近一次失败原因
+     */
+    private String lastError;
+
+    /**
+     * 创建待处理任务的工厂方法
+     * 
+     * @param targetType 目标类型
+     * @param targetId 目标 ID
+     * @return 索引任务实体
+     */
+    public static ProductIndexTask pending(IndexTaskType targetType, Long targetId) {
+        if (targetType == null || targetId == null) {
+            throw new IllegalArgumentException("索引任务目标不能为空");
+        }
+        ProductIndexTask task = new ProductIndexTask();
+        task.setTargetType(targetType);
+        task.setTargetId(targetId);
+        task.setStatus(IndexTaskStatus.PENDING);
+        task.setAttempts(0);
+        task.setNextAttemptTime(LocalDateTime.now());
+        return task;
+    }
+
+    /**
+     * 合并键：同一目标的任务只需要执行一次
+     * 
+     * @return 合并键
+     */
+    public String coalesceKey() {
+        return targetType + ":" + targetId;
+    }
+}
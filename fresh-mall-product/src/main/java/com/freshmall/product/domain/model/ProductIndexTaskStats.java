@@ -0,0 +1,46 @@
+package com.freshmall.product.domain.model;
+
+import lombok.Data;
+
+/**
+ * 商品索引任务队列统计
+ * 用于观察异步索引的队列深度和滞后情况
+ */
+@Data
+public class ProductIndexTaskStats {
+
+    /**
+     * 待处理任务数（队列深度）
+     */
+    private Long pendingCount;
+
+    /**
+     * 处理中任务数
+     */
+    private Long processingCount;
+
+    /**
+     * 失败任务数（超过最大重试次数）
+     */
+    private Long failedCount;
+
+    /**
+     * 最早待处理任务的滞后时间（毫秒，队列为空时为 0）
+     */
+    private Long oldestPendingLagMillis;
+
+    /**
+     * 本节点启动以来处理成功的目标数
+     */
+    private Long processedTotal;
+
+    /**
+     * 本节点启动以来被合并的重复请求数
+     */
+    private Long coalescedTotal;
+
+    /**
+     * 本节点启动以来处理失败的目标数
+     */
+    private Long failedTotal;
+}
@@ -0,0 +1,99 @@
+package com.freshmall.product.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * 商品搜索结果字段枚举
+ * 搜索时只查询选中字段对应的列，未选中的字段不出现在响应中
+ */
+@Getter
+@AllArgsConstructor
+public enum ProductSearchField {
+
+    /**
+     * SKU ID（仅 SKU 搜索）
+     */
+    SKU_ID("skuId"),
+
+    /**
+     * SPU ID
+     */
+    SPU_ID("spuId"),
+
+    /**
+     * SPU 名称
+     */
+    SPU_NAME("spuName"),
+
+    /**
+     * 类目 ID
+     */
+    CATEGORY_ID("categoryId"),
+
+    /**
+     * 最低价格
+     */
+    MIN_PRICE("minPrice"),
+
+    /**
+     * 最高价格
+     */
+    MAX_PRICE("maxPrice"),
+
+    /**
+     * 指定渠道的价格（仅在指定渠道时有值；SPU 搜索为该渠道最低价格）
+     */
+    PRICE("price"),
+
+    /**
+     * 库存状态
+     */
+    STOCK_STATUS("stockStatus"),
+
+    /**
+     * 发布时间
+     */
+    PUBLISH_TIME("publishTime"),
+
+    /**
+     * 可见 SKU 数（仅 SPU 搜索）
+     */
+    SKU_COUNT("skuCount");
+
+    /**
+     * 响应中的字段名
+     */
+    private final String fieldName;
+
+    /**
+     * 根据响应字段名查找
+     *
+     * @param fieldName 字段名
+     * @return 搜索结果字段
+     */
+    public static Optional<ProductSearchField> fromFieldName(String fieldName) {
+        return Arrays.stream(values())
+                .filter(field -> field.fieldName.equals(fieldName))
+                .findFirst();
+    }
+
+    /**
+     * 规范化字段集合：为空时表示全部字段
+     *
+     * @param fields 字段集合
+     * @return 字段集合（新建的集合）
+     */
+    public static Set<ProductSearchField> normalize(Collection<ProductSearchField> fields) {
+        if (fields == null || fields.isEmpty()) {
+            return EnumSet.allOf(ProductSearchField.class);
+        }
+        return EnumSet.copyOf(fields);
+    }
+}
@@ -0,0 +1,40 @@
+package com.freshmall.product.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 商品搜索排序方式枚举
+ * 每种排序都有对应的联合索引（见 db/migration/V1_1__product_index_search.sql），排序末尾追加 ID 保证分页稳定
+ */
+@Getter
+@AllArgsConstructor
+public enum ProductSortType {
+
+    /**
+     * 默认排序（按索引 ID）
+     */
+    DEFAULT("默认"),
+
+    /**
+     * 价格从低到高
+     */
+    PRICE_ASC("价格从低到高"),
+
+    /**
+     * 价格从高到低
+     */
+    PRICE_DESC("价格从高到低"),
+
+    /**
+     * 最新发布
+     */
+    NEWEST("最新发布"),
+
+    /**
+     * 有货优先（有货、低库存、无货）
+     */
+    IN_STOCK_FIRST("有货优先");
+
+    private final String description;
+}
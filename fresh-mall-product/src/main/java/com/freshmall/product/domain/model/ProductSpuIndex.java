@@ -0,0 +1,97 @@
+package com.freshmall.product.domain.model;
+
+import com.baomidou.mybatisplus.annotation.TableName;
+import com.freshmall.common.domain.BaseEntity;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * SPU 级商品索引实体
+ * 由 SKU 级索引（t_product_index）按 SPU 汇总得到，用于按 SPU 聚合的搜索
+ * 
+ * 设计说明：
+ * - 每个至少有一个可见 SKU 的 SPU 一行，ID 与 SPU ID 相同
+ * - 与 SKU 级索引在同一事务中维护，不在查询时对 SKU 行做 GROUP BY
+ */
+@Data
+@EqualsAndHashCode(callSuper = true)
+@TableName("t_product_spu_index")
+public class ProductSpuIndex extends BaseEntity {
+
+    /**
+     * SPU ID
+     */
+    private Long spuId;
+
+    /**
+     * SPU 名称
+     */
+    private String spuName;
+
+    /**
+     * 类目 ID
+     */
+    private Long categoryId;
+
+    /**
+     * 所有可见 SKU 中的最低价格
+     */
+    private BigDecimal minPrice;
+
+    /**
+     * 所有可见 SKU 中的最高价格
+     */
+    private BigDecimal maxPrice;
+
+    /**
+     * APP 渠道最低价格（分，没有 SKU 在该渠道有价格时为 null）
+     */
+    private Long appPriceCents;
+
+    /**
+     * WEB 渠道最低价格（分）
+     */
+    private Long webPriceCents;
+
+    /**
+     * 门店渠道最低价格（分）
+     */
+    private Long storePriceCents;
+
+    /**
+     * 最好的库存状态（任一 SKU 有货即为有货）
+     */
+    private StockStatus stockStatus;
+
+    /**
+     * SPU 发布时间
+     */
+    private LocalDateTime publishTime;
+
+    /**
+     * 可见 SKU 数
+     */
+    private Integer skuCount;
+
+    /**
+     * 获取指定渠道的最低价格（分）
+     * 
+     * @param channel 渠道
+     * @return 价格（分），渠道没有有效价格时为 null
+     */
+    public Long getChannelPriceCents(ChannelType channel) {
+        switch (channel) {
+            case APP:
+                return this.appPriceCents;
+            case WEB:
+                return this.webPriceCents;
+            case STORE:
+                return this.storePriceCents;
+            default:
+                throw new IllegalArgumentException("不支持的渠道: " + channel);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.freshmall.product.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 搜索建议快照
+ * 启动时从快照恢复建议索引，再补齐快照之后发生变更的 SPU，避免全表扫描
+ */
+@Data
+@AllArgsConstructor
+public class ProductSuggestSnapshot {
+
+    /**
+     * 快照时间（快照包含此时间之前提交的全部变更）
+     */
+    private LocalDateTime snapshotTime;
+
+    /**
+     * 建议项
+     */
+    private List<ProductSuggestion> suggestions;
+}
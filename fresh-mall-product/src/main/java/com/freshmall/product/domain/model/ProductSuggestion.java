@@ -0,0 +1,30 @@
+package com.freshmall.product.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 搜索建议项
+ * 每个 SPU 一条，按热度排序
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductSuggestion {
+
+    /**
+     * SPU ID
+     */
+    private Long spuId;
+
+    /**
+     * SPU 名称
+     */
+    private String spuName;
+
+    /**
+     * 热度（可售 SKU 数加权：有货 2，库存紧张 1，无货 0）
+     */
+    private Long score;
+}
@@ -0,0 +1,53 @@
+package com.freshmall.product.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 慢搜索记录
+ * 搜索阶段耗时超过阈值时记录的过滤条件和执行的 SQL
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SlowSearchQuery {
+
+    /**
+     * 记录时间
+     */
+    private LocalDateTime time;
+
+    /**
+     * 搜索阶段（validation / query / count）
+     */
+    private String stage;
+
+    /**
+     * 搜索模式（sku / spu）
+     */
+    private String mode;
+
+    /**
+     * 搜索形状（过滤条件的种类，不含具体取值），如 category=true,price=range,stock=false,...
+     */
+    private String shape;
+
+    /**
+     * 耗时（毫秒）
+     */
+    private Long elapsedMillis;
+
+    /**
+     * 规范化后的过滤条件
+     */
+    private String filters;
+
+    /**
+     * 该阶段执行的 SQL（带占位符，不含参数值）
+     */
+    private List<String> sql;
+}
@@ -0,0 +1,57 @@
+package com.freshmall.product.domain.model;
+
+import lombok.Getter;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 规格筛选条件
+ * 位图计算出的候选 SKU 不超过上限时按候选 SKU 过滤，否则按属性值条件交给数据库与其他条件一起过滤
+ */
+@Getter
+public class SpecFilter {
+
+    /**
+     * 候选 SKU ID（按属性值条件过滤时为 null）
+     */
+    private final List<Long> skuIds;
+
+    /**
+     * 属性值条件：ENUM 属性 ID -> 属性值列表，同一属性的值取并集，不同属性取交集（按候选 SKU 过滤时为 null）
+     */
+    private final Map<Long, List<String>> attributeValues;
+
+    private SpecFilter(List<Long> skuIds, Map<Long, List<String>> attributeValues) {
+        this.skuIds = skuIds;
+        this.attributeValues = attributeValues;
+    }
+
+    /**
+     * 按候选 SKU 过滤
+     */
+    public static SpecFilter ofSkuIds(List<Long> skuIds) {
+        return new SpecFilter(skuIds, null);
+    }
+
+    /**
+     * 按属性值条件过滤
+     */
+    public static SpecFilter ofAttributeValues(Map<Long, List<String>> attributeValues) {
+        return new SpecFilter(null, attributeValues);
+    }
+
+    /**
+     * 是否按候选 SKU 过滤
+     */
+    public boolean hasSkuIds() {
+        return skuIds != null;
+    }
+
+    /**
+     * 是否确定没有任何 SKU 命中
+     */
+    public boolean isEmpty() {
+        return skuIds != null && skuIds.isEmpty();
+    }
+}
@@ -5,6 +5,7 @@ import lombok.Getter;
 
 /**
  * 库存状态枚举
+ * 声明顺序即有货优先排序的优先级；索引表按名称存储并直接按名称排序，新增或重命名状态时名称的字母序必须与声明顺序一致（StockStatusTest）
  */
 @Getter
 @AllArgsConstructor
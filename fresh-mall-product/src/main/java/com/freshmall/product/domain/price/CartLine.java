@@ -0,0 +1,28 @@
+package com.freshmall.product.domain.price;
+
+import com.freshmall.product.domain.model.ChannelType;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 购物车行（计价输入）
+ */
+@Getter
+@AllArgsConstructor
+public class CartLine {
+
+    /**
+     * SKU ID
+     */
+    private final Long skuId;
+
+    /**
+     * 销售渠道
+     */
+    private final ChannelType channel;
+
+    /**
+     * 购买数量
+     */
+    private final int quantity;
+}
@@ -0,0 +1,72 @@
+package com.freshmall.product.domain.price;
+
+import com.freshmall.product.domain.model.ChannelType;
+import com.freshmall.product.domain.valueobject.MoneyCents;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * 购物车计价结果
+ *
+ * 价格版本（priceVersion）是全部行的 (SKU, 渠道, 单价) 的 64 位指纹（FNV-1a，十六进制）：
+ * 订单服务在下单时保存该值，支付前重新计价一次并比较版本即可判断价格是否变化，不需要逐行比对单价
+ */
+@Getter
+@AllArgsConstructor
+public class CartPricing {
+
+    /**
+     * 行计价结果（与请求顺序一致）
+     */
+    private final List<Line> lines;
+
+    /**
+     * 合计金额（只包含有有效价格的行）
+     */
+    private final MoneyCents total;
+
+    /**
+     * 是否所有行都有有效价格
+     */
+    private final boolean allPriced;
+
+    /**
+     * 价格版本
+     */
+    private final String priceVersion;
+
+    /**
+     * 行计价结果
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class Line {
+
+        /**
+         * SKU ID
+         */
+        private final Long skuId;
+
+        /**
+         * 销售渠道
+         */
+        private final ChannelType channel;
+
+        /**
+         * 购买数量
+         */
+        private final int quantity;
+
+        /**
+         * 单价（没有有效价格时为 null）
+         */
+        private final MoneyCents unitPrice;
+
+        /**
+         * 行金额 = 单价 × 数量（没有有效价格时为 null）
+         */
+        private final MoneyCents lineTotal;
+    }
+}
@@ -0,0 +1,268 @@
+package com.freshmall.product.domain.price;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * 价格册二进制文件格式（离线终端使用的单渠道价格表）
+ *
+ * 文件结构（大端序，定长，可直接内存映射后按 SKU ID 二分查找）：
+ * - 文件头 32 字节：magic(int "FMPB") | version(short) | type(short 0 全量 / 1 增量)
+ *   | generatedAt(long) | baseGeneratedAt(long，增量对应的全量版本，全量为 0) | recordCount(long)
+ * - 记录 32 字节：skuId(long) | validFrom(long) | validUntil(long) | cents(long)，按 (skuId, validFrom) 升序
+ *
+ * 设计说明：
+ * - 时间为秒数（LocalDateTime 按 UTC 换算，与价格时间线一致），价格区间为 [validFrom, validUntil)，
+ *   长期有效的 validUntil 为 Long.MAX_VALUE；同一 SKU 可以有多条记录（已排期的未来价格），终端离线也能按时切换价格
+ * - 生成时已生效的价格 validFrom 为 0，价格未变化的 SKU 在相邻两次生成的文件中记录完全相同，增量只包含真正变化的 SKU
+ * - 增量文件中出现的 SKU 用其全部记录替换全量文件中该 SKU 的记录；cents 为 DELETED 的单条记录表示该 SKU 已无价格
+ * - 写入时先写占位文件头，记录数在关闭时回填，整个文件顺序写出，不在内存中缓存记录
+ */
+public final class PriceBookFile {
+
+    public static final int MAGIC = 0x464D5042;
+    public static final short VERSION = 1;
+    public static final short TYPE_FULL = 0;
+    public static final short TYPE_DELTA = 1;
+    public static final int HEADER_BYTES = 32;
+    public static final int RECORD_BYTES = 32;
+
+    /**
+     * 长期有效
+     */
+    public static final long FOREVER = Long.MAX_VALUE;
+
+    /**
+     * 增量文件中表示 SKU 已无价格的价格值
+     */
+    public static final long DELETED = Long.MIN_VALUE;
+
+    private PriceBookFile() {
+    }
+
+    /**
+     * 价格册顺序写入器
+     */
+    public static final class Writer implements Closeable {
+
+        private final Path path;
+        private final DataOutputStream out;
+        private final short type;
+        private final long generatedAt;
+        private final long baseGeneratedAt;
+        private long recordCount;
+        private long lastSkuId = Long.MIN_VALUE;
+        private long lastValidFrom = Long.MIN_VALUE;
+
+        public Writer(Path path, short type, long generatedAt, long baseGeneratedAt) throws IOException {
+            this.path = path;
+            this.type = type;
+            this.generatedAt = generatedAt;
+            this.baseGeneratedAt = baseGeneratedAt;
+            this.out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path), 64 * 1024));
+            // 占位，记录数在关闭时回填
+            out.write(new byte[HEADER_BYTES]);
+        }
+
+        /**
+         * 写入一条记录，必须按 (skuId, validFrom) 升序写入
+         */
+        public void write(long skuId, long validFrom, long validUntil, long cents) throws IOException {
+            if (skuId < lastSkuId || skuId == lastSkuId && validFrom <= lastValidFrom) {
+                throw new IllegalStateException("价格册记录未按 (skuId, validFrom) 升序写入: skuId=" + skuId);
+            }
+            out.writeLong(skuId);
+            out.writeLong(validFrom);
+            out.writeLong(validUntil);
+            out.writeLong(cents);
+            lastSkuId = skuId;
+            lastValidFrom = validFrom;
+            recordCount++;
+        }
+
+        /**
+         * 写入一个 SKU 的全部记录
+         */
+        public void write(SkuRecords records) throws IOException {
+            for (int i = 0; i < records.size(); i++) {
+                write(records.getSkuId(), records.validFromAt(i), records.validUntilAt(i), records.centsAt(i));
+            }
+        }
+
+        public long getRecordCount() {
+            return recordCount;
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.close();
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            header.putInt(MAGIC)
+                    .putShort(VERSION)
+                    .putShort(type)
+                    .putLong(generatedAt)
+                    .putLong(baseGeneratedAt)
+                    .putLong(recordCount)
+                    .flip();
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+                while (header.hasRemaining()) {
+                    channel.write(header, header.position());
+                }
+            }
+        }
+    }
+
+    /**
+     * 价格册顺序读取器，按 SKU 分组返回记录（用于生成增量）
+     */
+    public static final class Reader implements Closeable {
+
+        private final DataInputStream in;
+        private final short type;
+        private final long generatedAt;
+        private final long recordCount;
+        private long read;
+
+        /**
+         * 已读出、属于下一个 SKU 的记录
+         */
+        private long[] pending;
+
+        public Reader(Path path) throws IOException {
+            this.in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path), 64 * 1024));
+            try {
+                if (in.readInt() != MAGIC) {
+                    throw new IOException("不是价格册文件: " + path);
+                }
+                short version = in.readShort();
+                if (version != VERSION) {
+                    throw new IOException("不支持的价格册版本: " + version);
+                }
+                this.type = in.readShort();
+                this.generatedAt = in.readLong();
+                in.readLong();
+                this.recordCount = in.readLong();
+            } catch (IOException e) {
+                in.close();
+                throw e;
+            }
+        }
+
+        public short getType() {
+            return type;
+        }
+
+        public long getGeneratedAt() {
+            return generatedAt;
+        }
+
+        /**
+         * 读取下一个 SKU 的全部记录
+         *
+         * @return SKU 的记录，读完时返回 null
+         */
+        public SkuRecords nextSku() throws IOException {
+            long[] first = pending != null ? pending : readRecord();
+            pending = null;
+            if (first == null) {
+                return null;
+            }
+            SkuRecords records = new SkuRecords(first[0]);
+            records.add(first[1], first[2], first[3]);
+            long[] record;
+            while ((record = readRecord()) != null) {
+                if (record[0] != records.getSkuId()) {
+                    pending = record;
+                    break;
+                }
+                records.add(record[1], record[2], record[3]);
+            }
+            return records;
+        }
+
+        private long[] readRecord() throws IOException {
+            if (read >= recordCount) {
+                return null;
+            }
+            try {
+                long[] record = {in.readLong(), in.readLong(), in.readLong(), in.readLong()};
+                read++;
+                return record;
+            } catch (EOFException e) {
+                throw new IOException("价格册文件不完整: records=" + recordCount + ", read=" + read, e);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+
+    /**
+     * 单个 SKU 的价格册记录（按 validFrom 升序）
+     */
+    public static final class SkuRecords {
+
+        private final long skuId;
+        private long[] values = new long[6];
+        private int size;
+
+        public SkuRecords(long skuId) {
+            this.skuId = skuId;
+        }
+
+        public void add(long validFrom, long validUntil, long cents) {
+            if ((size + 1) * 3 > values.length) {
+                values = Arrays.copyOf(values, values.length * 2);
+            }
+            values[size * 3] = validFrom;
+            values[size * 3 + 1] = validUntil;
+            values[size * 3 + 2] = cents;
+            size++;
+        }
+
+        public long getSkuId() {
+            return skuId;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public boolean isEmpty() {
+            return size == 0;
+        }
+
+        public long validFromAt(int index) {
+            return values[index * 3];
+        }
+
+        public long validUntilAt(int index) {
+            return values[index * 3 + 1];
+        }
+
+        public long centsAt(int index) {
+            return values[index * 3 + 2];
+        }
+
+        /**
+         * 与另一个 SKU 的记录是否完全相同
+         */
+        public boolean sameAs(SkuRecords other) {
+            return other != null && skuId == other.skuId && size == other.size
+                    && Arrays.equals(values, 0, size * 3, other.values, 0, size * 3);
+        }
+    }
+}
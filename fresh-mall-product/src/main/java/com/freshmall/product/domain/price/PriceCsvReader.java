@@ -0,0 +1,121 @@
+package com.freshmall.product.domain.price;
+
+import com.freshmall.product.domain.model.ChannelType;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * 价格 CSV 流式读取
+ * 逐行解析，不把整个文件读入内存；格式错误的行返回带错误信息的导入行，不中断读取
+ *
+ * 格式说明：
+ * - 每行 skuId,channel,price,startTime,endTime，endTime 可以为空
+ * - 第一行以 skuId 开头时视为表头跳过，空行跳过
+ * - 时间格式为 yyyy-MM-dd HH:mm:ss 或 ISO 格式 yyyy-MM-ddTHH:mm:ss
+ */
+public class PriceCsvReader implements Iterator<PriceImportRow> {
+
+    private static final DateTimeFormatter SPACE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private static final int FIELD_COUNT = 5;
+
+    private final BufferedReader reader;
+
+    private long lineNumber;
+
+    private PriceImportRow next;
+
+    public PriceCsvReader(BufferedReader reader) {
+        this.reader = reader;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null) {
+            next = readNext();
+        }
+        return next != null;
+    }
+
+    @Override
+    public PriceImportRow next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        PriceImportRow row = next;
+        next = null;
+        return row;
+    }
+
+    private PriceImportRow readNext() {
+        try {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                if (lineNumber == 1 && line.trim().regionMatches(true, 0, "skuId", 0, 5)) {
+                    continue;
+                }
+                return parse(line);
+            }
+            return null;
+        } catch (IOException e) {
+            throw new UncheckedIOException("读取价格 CSV 失败", e);
+        }
+    }
+
+    private PriceImportRow parse(String line) {
+        String[] fields = line.split(",", -1);
+        if (fields.length < FIELD_COUNT - 1 || fields.length > FIELD_COUNT) {
+            return PriceImportRow.failed(lineNumber, "字段数应为 " + FIELD_COUNT + "（失效时间可省略）");
+        }
+        PriceImportRow row = new PriceImportRow();
+        row.setRowNumber(lineNumber);
+        try {
+            row.setSkuId(Long.parseLong(fields[0].trim()));
+        } catch (NumberFormatException e) {
+            return PriceImportRow.failed(lineNumber, "SKU ID 格式错误: " + fields[0].trim());
+        }
+        try {
+            row.setChannel(ChannelType.valueOf(fields[1].trim().toUpperCase()));
+        } catch (IllegalArgumentException e) {
+            return PriceImportRow.failed(lineNumber, "销售渠道不存在: " + fields[1].trim());
+        }
+        try {
+            row.setPrice(new BigDecimal(fields[2].trim()));
+        } catch (NumberFormatException e) {
+            return PriceImportRow.failed(lineNumber, "价格格式错误: " + fields[2].trim());
+        }
+        try {
+            row.setStartTime(parseTime(fields[3]));
+            row.setEndTime(fields.length == FIELD_COUNT ? parseTime(fields[4]) : null);
+        } catch (DateTimeParseException e) {
+            return PriceImportRow.failed(lineNumber, "时间格式错误: " + e.getParsedString());
+        }
+        return row;
+    }
+
+    /**
+     * 解析时间，JSON 导入使用相同的格式
+     */
+    static LocalDateTime parseTime(String value) {
+        String text = value.trim();
+        if (text.isEmpty()) {
+            return null;
+        }
+        if (text.indexOf('T') > 0) {
+            return LocalDateTime.parse(text);
+        }
+        return LocalDateTime.parse(text, SPACE_FORMATTER);
+    }
+}
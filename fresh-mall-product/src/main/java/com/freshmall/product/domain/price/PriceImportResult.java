@@ -0,0 +1,63 @@
+package com.freshmall.product.domain.price;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 价格批量导入结果
+ * 错误明细只保留前若干条，失败行数始终是准确的
+ */
+@Data
+public class PriceImportResult {
+
+    /**
+     * 读取的行数
+     */
+    private long totalRows;
+
+    /**
+     * 成功写入的行数
+     */
+    private long importedRows;
+
+    /**
+     * 失败的行数
+     */
+    private long failedRows;
+
+    /**
+     * 错误明细（按行号升序）
+     */
+    private List<RowError> errors = new ArrayList<>();
+
+    /**
+     * 错误明细是否因超出上限被截断
+     */
+    private boolean errorsTruncated;
+
+    /**
+     * 耗时（毫秒）
+     */
+    private long elapsedMillis;
+
+    /**
+     * 单行错误
+     */
+    @Data
+    @AllArgsConstructor
+    public static class RowError {
+
+        /**
+         * 行号
+         */
+        private long rowNumber;
+
+        /**
+         * 错误信息
+         */
+        private String message;
+    }
+}
@@ -0,0 +1,68 @@
+package com.freshmall.product.domain.price;
+
+import com.freshmall.product.domain.model.ChannelType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * 价格导入行
+ * 来自 JSON 数组的一个元素或 CSV 的一行，解析失败的行带有错误信息，导入时直接记为失败
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PriceImportRow {
+
+    /**
+     * 行号（从 1 开始，CSV 为文件中的行号）
+     */
+    private long rowNumber;
+
+    /**
+     * SKU ID
+     */
+    private Long skuId;
+
+    /**
+     * 销售渠道
+     */
+    private ChannelType channel;
+
+    /**
+     * 价格（元）
+     */
+    private BigDecimal price;
+
+    /**
+     * 生效时间
+     */
+    private LocalDateTime startTime;
+
+    /**
+     * 失效时间（为空表示长期有效）
+     */
+    private LocalDateTime endTime;
+
+    /**
+     * 解析错误（为空表示解析成功）
+     */
+    private String parseError;
+
+    /**
+     * 创建解析失败的行
+     *
+     * @param rowNumber 行号
+     * @param parseError 错误信息
+     * @return 导入行
+     */
+    public static PriceImportRow failed(long rowNumber, String parseError) {
+        PriceImportRow row = new PriceImportRow();
+        row.setRowNumber(rowNumber);
+        row.setParseError(parseError);
+        return row;
+    }
+}
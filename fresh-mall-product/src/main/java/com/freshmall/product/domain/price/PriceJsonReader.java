@@ -0,0 +1,189 @@
+package com.freshmall.product.domain.price;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.exc.InputCoercionException;
+import com.freshmall.common.enums.ResultCode;
+import com.freshmall.common.exception.BusinessException;
+import com.freshmall.product.domain.model.ChannelType;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.time.format.DateTimeParseException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * 价格 JSON 流式读取
+ * 按 token 逐个元素解析 JSON 数组，不把整个请求体读入内存；字段值错误的元素返回带错误信息的导入行，不中断读取
+ *
+ * 格式说明：
+ * - 请求体为数组，元素为 {"skuId", "channel", "price", "startTime", "endTime"}，与单条设置价格的请求相同，未知字段忽略
+ * - 行号为元素在数组中的序号（从 1 开始）
+ * - 时间格式与 CSV 相同；价格按原文解析为 BigDecimal，不经过 double
+ * - JSON 语法错误无法定位到下一个元素，抛出参数错误，之前已读取的批次已经写入
+ */
+public class PriceJsonReader implements Iterator<PriceImportRow>, Closeable {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private final JsonParser parser;
+
+    private boolean started;
+
+    private long rowNumber;
+
+    private PriceImportRow next;
+
+    public PriceJsonReader(InputStream body) throws IOException {
+        this.parser = JSON_FACTORY.createParser(body);
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null) {
+            next = readNext();
+        }
+        return next != null;
+    }
+
+    @Override
+    public PriceImportRow next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        PriceImportRow row = next;
+        next = null;
+        return row;
+    }
+
+    @Override
+    public void close() throws IOException {
+        parser.close();
+    }
+
+    private PriceImportRow readNext() {
+        try {
+            if (!started) {
+                started = true;
+                JsonToken first = parser.nextToken();
+                if (first == null) {
+                    return null;
+                }
+                if (first != JsonToken.START_ARRAY) {
+                    throw new BusinessException(ResultCode.PARAM_ERROR, "价格导入数据应为 JSON 数组");
+                }
+            }
+            JsonToken token = parser.nextToken();
+            if (token == null || token == JsonToken.END_ARRAY) {
+                return null;
+            }
+            rowNumber++;
+            if (token == JsonToken.VALUE_NULL) {
+                return PriceImportRow.failed(rowNumber, "价格数据不能为空");
+            }
+            if (token != JsonToken.START_OBJECT) {
+                parser.skipChildren();
+                return PriceImportRow.failed(rowNumber, "价格数据应为 JSON 对象");
+            }
+            return readRow();
+        } catch (JsonParseException e) {
+            throw new BusinessException(ResultCode.PARAM_ERROR,
+                    "价格 JSON 格式错误（第 " + Math.max(rowNumber, 1) + " 条附近）: " + e.getOriginalMessage());
+        } catch (IOException e) {
+            throw new UncheckedIOException("读取价格 JSON 失败", e);
+        }
+    }
+
+    /**
+     * 读取一个对象元素，当前 token 为 START_OBJECT；出错后跳过剩余字段，读到对象结束为止
+     */
+    private PriceImportRow readRow() throws IOException {
+        PriceImportRow row = new PriceImportRow();
+        row.setRowNumber(rowNumber);
+        String error = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            JsonToken value = parser.nextToken();
+            if (error != null || value == JsonToken.VALUE_NULL) {
+                parser.skipChildren();
+                continue;
+            }
+            error = readField(row, field, value);
+        }
+        return error != null ? PriceImportRow.failed(rowNumber, error) : row;
+    }
+
+    /**
+     * 读取一个字段
+     *
+     * @return 错误信息，没有错误时为 null
+     */
+    private String readField(PriceImportRow row, String field, JsonToken value) throws IOException {
+        switch (field) {
+            case "skuId":
+                if (value == JsonToken.VALUE_NUMBER_INT || value == JsonToken.VALUE_STRING) {
+                    try {
+                        row.setSkuId(value == JsonToken.VALUE_NUMBER_INT
+                                ? parser.getLongValue()
+                                : Long.parseLong(parser.getText().trim()));
+                        return null;
+                    } catch (InputCoercionException | NumberFormatException e) {
+                        return "SKU ID 格式错误: " + parser.getText();
+                    }
+                }
+                parser.skipChildren();
+                return "SKU ID 格式错误";
+            case "channel":
+                if (value == JsonToken.VALUE_STRING) {
+                    try {
+                        row.setChannel(ChannelType.valueOf(parser.getText().trim().toUpperCase()));
+                        return null;
+                    } catch (IllegalArgumentException e) {
+                        return "销售渠道不存在: " + parser.getText();
+                    }
+                }
+                parser.skipChildren();
+                return "销售渠道格式错误";
+            case "price":
+                if (value == JsonToken.VALUE_NUMBER_INT || value == JsonToken.VALUE_NUMBER_FLOAT) {
+                    row.setPrice(parser.getDecimalValue());
+                    return null;
+                }
+                if (value == JsonToken.VALUE_STRING) {
+                    try {
+                        row.setPrice(new BigDecimal(parser.getText().trim()));
+                        return null;
+                    } catch (NumberFormatException e) {
+                        return "价格格式错误: " + parser.getText();
+                    }
+                }
+                parser.skipChildren();
+                return "价格格式错误";
+            case "startTime":
+            case "endTime":
+                if (value == JsonToken.VALUE_STRING) {
+                    try {
+                        if ("startTime".equals(field)) {
+                            row.setStartTime(PriceCsvReader.parseTime(parser.getText()));
+                        } else {
+                            row.setEndTime(PriceCsvReader.parseTime(parser.getText()));
+                        }
+                        return null;
+                    } catch (DateTimeParseException e) {
+                        return "时间格式错误: " + e.getParsedString();
+                    }
+                }
+                parser.skipChildren();
+                return "时间格式错误";
+            default:
+                parser.skipChildren();
+                return null;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.freshmall.product.domain.price;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.freshmall.product.domain.model.ChannelType;
+import lombok.Getter;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 多渠道价格矩阵
+ * 按列存储：skuIds 与每个渠道的价格数组一一对齐，JSON 中每个价格只是数组里的一个数字，没有逐项的对象
+ *
+ * 示例：{"skuIds":[1,2],"channels":["APP","STORE"],"priceCents":[[1999,null],[2099,1899]]}
+ * priceCents[i][j] 为 channels[i] 渠道下 skuIds[j] 的当前价格（分），没有有效价格时为 null
+ */
+@Getter
+public class PriceMatrix {
+
+    /**
+     * SKU ID（去重，保持请求顺序）
+     */
+    private final List<Long> skuIds;
+
+    /**
+     * 渠道
+     */
+    private final List<ChannelType> channels;
+
+    /**
+     * 价格（分），第一维为渠道，第二维为 SKU
+     */
+    private final Long[][] priceCents;
+
+    /**
+     * SKU ID -> 列下标
+     */
+    @JsonIgnore
+    private final Map<Long, Integer> columns;
+
+    public PriceMatrix(List<Long> skuIds, List<ChannelType> channels) {
+        this.skuIds = skuIds;
+        this.channels = channels;
+        this.priceCents = new Long[channels.size()][skuIds.size()];
+        this.columns = new HashMap<>(skuIds.size() * 4 / 3 + 1);
+        for (int i = 0; i < skuIds.size(); i++) {
+            columns.put(skuIds.get(i), i);
+        }
+    }
+
+    /**
+     * 读取一个 (SKU, 渠道) 的价格
+     *
+     * @param skuId SKU ID
+     * @param channel 渠道
+     * @return 价格（分），没有有效价格或不在矩阵中时返回 null
+     */
+    public Long get(Long skuId, ChannelType channel) {
+        Integer column = columns.get(skuId);
+        int row = channels.indexOf(channel);
+        return column != null && row >= 0 ? priceCents[row][column] : null;
+    }
+
+    /**
+     * 写入一个 (SKU, 渠道) 的价格，不在矩阵中的 SKU 或渠道忽略
+     *
+     * @param skuId SKU ID
+     * @param channel 渠道
+     * @param cents 价格（分）
+     */
+    public void put(Long skuId, ChannelType channel, long cents) {
+        Integer column = columns.get(skuId);
+        int row = channels.indexOf(channel);
+        if (column != null && row >= 0) {
+            priceCents[row][column] = cents;
+        }
+    }
+}
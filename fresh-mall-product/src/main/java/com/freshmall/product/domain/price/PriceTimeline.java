@@ -0,0 +1,253 @@
+package com.freshmall.product.domain.price;
+
+import com.freshmall.product.domain.valueobject.MoneyCents;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * 价格时间线
+ * 单个 SKU 在单个渠道上的价格记录，展开为按时间排序、互不重叠的区间，查询某一时刻的价格只需一次二分查找
+ *
+ * 设计说明：
+ * - 不可变对象，新增价格记录时生成新的时间线
+ * - 时间按秒存储（与 DATETIME 精度一致），LocalDateTime 按 UTC 换算为秒数，只用于比较先后，不涉及时区
+ * - 价格以分为单位的定点整数存储
+ * - 区间内的价格与有效价格查询一致：生效中的价格取 start_time 最晚的一条，相同时取后写入（ID 较大）的一条
+ * - 价格在 end_time 所在的那一秒内仍然有效（end_time >= now，精度为秒）
+ * - 时间线只包含 validFrom 时仍未失效的记录，早于 validFrom 的时刻无法回答
+ */
+public final class PriceTimeline {
+
+    /**
+     * 没有有效价格
+     */
+    private static final long NO_PRICE = Long.MIN_VALUE;
+
+    /**
+     * 长期有效的失效时间
+     */
+    private static final long FOREVER = Long.MAX_VALUE;
+
+    /**
+     * 可回答的最早时刻（秒）
+     */
+    private final long validFrom;
+
+    /**
+     * 原始价格记录，按 (生效时间, ID) 升序，用于追加记录后重新展开
+     */
+    private final long[] recordIds;
+    private final long[] recordStarts;
+    private final long[] recordEnds;
+    private final long[] recordCents;
+
+    /**
+     * 展开后的区间：第 i 个区间为 [segmentStarts[i], segmentStarts[i + 1])，价格为 segmentCents[i]
+     */
+    private final long[] segmentStarts;
+    private final long[] segmentCents;
+
+    private PriceTimeline(long validFrom, long[] recordIds, long[] recordStarts, long[] recordEnds,
+                          long[] recordCents) {
+        this.validFrom = validFrom;
+        this.recordIds = recordIds;
+        this.recordStarts = recordStarts;
+        this.recordEnds = recordEnds;
+        this.recordCents = recordCents;
+
+        List<long[]> segments = expand();
+        this.segmentStarts = new long[segments.size()];
+        this.segmentCents = new long[segments.size()];
+        for (int i = 0; i < segments.size(); i++) {
+            segmentStarts[i] = segments.get(i)[0];
+            segmentCents[i] = segments.get(i)[1];
+        }
+    }
+
+    /**
+     * 由价格记录构建时间线
+     *
+     * @param prices 价格记录（同一 SKU、同一渠道，在 validFrom 时仍未失效）
+     * @param validFrom 可回答的最早时刻
+     * @return 时间线
+     */
+    public static PriceTimeline of(Collection<SkuPrice> prices, LocalDateTime validFrom) {
+        List<SkuPrice> sorted = new ArrayList<>(prices);
+        sorted.sort(Comparator.comparing(SkuPrice::getStartTime).thenComparing(SkuPrice::getId));
+        int size = sorted.size();
+        long[] ids = new long[size];
+        long[] starts = new long[size];
+        long[] ends = new long[size];
+        long[] cents = new long[size];
+        for (int i = 0; i < size; i++) {
+            SkuPrice price = sorted.get(i);
+            ids[i] = price.getId();
+            starts[i] = toSeconds(price.getStartTime());
+            ends[i] = price.getEndTime() != null ? toSeconds(price.getEndTime()) : FOREVER;
+            cents[i] = MoneyCents.toCents(price.getPrice());
+        }
+        return new PriceTimeline(toSeconds(validFrom), ids, starts, ends, cents);
+    }
+
+    /**
+     * 追加一条新写入的价格记录
+     *
+     * @param price 价格记录
+     * @return 新的时间线
+     */
+    public PriceTimeline plus(SkuPrice price) {
+        int size = recordIds.length;
+        long id = price.getId();
+        long start = toSeconds(price.getStartTime());
+        int pos = 0;
+        while (pos < size && (recordStarts[pos] < start || recordStarts[pos] == start && recordIds[pos] < id)) {
+            pos++;
+        }
+        return new PriceTimeline(validFrom,
+                insert(recordIds, pos, id),
+                insert(recordStarts, pos, start),
+                insert(recordEnds, pos, price.getEndTime() != null ? toSeconds(price.getEndTime()) : FOREVER),
+                insert(recordCents, pos, MoneyCents.toCents(price.getPrice())));
+    }
+
+    /**
+     * 时间线能否回答指定时刻的价格
+     *
+     * @param time 时刻
+     * @return 是否在时间线覆盖范围内
+     */
+    public boolean covers(LocalDateTime time) {
+        return toSeconds(time) >= validFrom;
+    }
+
+    /**
+     * 查询指定时刻的价格（分）
+     *
+     * @param time 时刻（需在覆盖范围内）
+     * @return 价格（分），没有有效价格时返回 null
+     */
+    public Long priceCentsAt(LocalDateTime time) {
+        int index = Arrays.binarySearch(segmentStarts, toSeconds(time));
+        if (index < 0) {
+            // 未精确命中区间起点时取插入点的前一个区间
+            index = -index - 2;
+        }
+        if (index < 0 || segmentCents[index] == NO_PRICE) {
+            return null;
+        }
+        return segmentCents[index];
+    }
+
+    /**
+     * 查询指定时刻之后价格下一次变化的时间
+     *
+     * @param time 时刻（需在覆盖范围内）
+     * @return 价格变化的时间（生效或失效），之后没有变化时返回 null
+     */
+    public LocalDateTime nextChangeAfter(LocalDateTime time) {
+        int index = Arrays.binarySearch(segmentStarts, toSeconds(time));
+        // 精确命中区间起点时下一个区间在其后，否则插入点即下一个区间
+        int next = index >= 0 ? index + 1 : -index - 1;
+        if (next >= segmentStarts.length) {
+            return null;
+        }
+        return LocalDateTime.ofEpochSecond(segmentStarts[next], 0, ZoneOffset.UTC);
+    }
+
+    /**
+     * 按时间顺序遍历指定时刻及之后有价格的区间（用于导出价格册）
+     * 第一个区间的开始时间截取为该时刻，没有有效价格的区间跳过
+     *
+     * @param time 时刻（需在覆盖范围内）
+     * @param visitor 区间回调：开始时间（秒，包含）、结束时间（秒，不包含，长期有效为 Long.MAX_VALUE）、价格（分）
+     */
+    public void forEachSegmentFrom(LocalDateTime time, SegmentVisitor visitor) {
+        long from = toSeconds(time);
+        for (int i = 0; i < segmentStarts.length; i++) {
+            long end = i + 1 < segmentStarts.length ? segmentStarts[i + 1] : FOREVER;
+            if (end <= from || segmentCents[i] == NO_PRICE) {
+                continue;
+            }
+            visitor.visit(Math.max(segmentStarts[i], from), end, segmentCents[i]);
+        }
+    }
+
+    /**
+     * 价格记录数，用于缓存按容量淘汰
+     *
+     * @return 记录数
+     */
+    public int size() {
+        return recordIds.length;
+    }
+
+    /**
+     * 把价格记录展开为互不重叠的区间
+     * 按区间边界（生效时间、失效时间的下一秒）扫描，用按生效时间排序的大顶堆维护生效中的记录，
+     * 堆顶已失效的记录延迟弹出；相邻且价格相同的区间合并
+     */
+    private List<long[]> expand() {
+        int size = recordIds.length;
+        long[] boundaries = new long[size * 2];
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            boundaries[count++] = recordStarts[i];
+            if (recordEnds[i] != FOREVER) {
+                boundaries[count++] = recordEnds[i] + 1;
+            }
+        }
+        Arrays.sort(boundaries, 0, count);
+
+        // 记录已按 (生效时间, ID) 升序，下标越大优先级越高
+        PriorityQueue<Integer> active = new PriorityQueue<>(Comparator.reverseOrder());
+        List<long[]> segments = new ArrayList<>();
+        int next = 0;
+        long last = NO_PRICE;
+        for (int b = 0; b < count; b++) {
+            long boundary = boundaries[b];
+            if (b > 0 && boundary == boundaries[b - 1]) {
+                continue;
+            }
+            while (next < size && recordStarts[next] <= boundary) {
+                active.add(next++);
+            }
+            while (!active.isEmpty() && recordEnds[active.peek()] < boundary) {
+                active.poll();
+            }
+            long cents = active.isEmpty() ? NO_PRICE : recordCents[active.peek()];
+            if (segments.isEmpty() || cents != last) {
+                segments.add(new long[]{boundary, cents});
+                last = cents;
+            }
+        }
+        return segments;
+    }
+
+    /**
+     * 价格区间回调
+     */
+    @FunctionalInterface
+    public interface SegmentVisitor {
+
+        void visit(long startSeconds, long endSeconds, long cents);
+    }
+
+    private static long[] insert(long[] array, int pos, long value) {
+        long[] result = new long[array.length + 1];
+        System.arraycopy(array, 0, result, 0, pos);
+        result[pos] = value;
+        System.arraycopy(array, pos, result, pos + 1, array.length - pos);
+        return result;
+    }
+
+    private static long toSeconds(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,72 @@
+package com.freshmall.product.domain.price;
+
+import com.baomidou.mybatisplus.annotation.TableField;
+import com.baomidou.mybatisplus.annotation.TableName;
+import com.freshmall.product.domain.model.ChannelType;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * SKU 当前有效价格
+ * 由价格记录计算得出的物化结果，主键为 (SKU ID, 渠道)
+ *
+ * 行在 next_change_at 之前有效；next_change_at 已到期的行需要按价格记录重新计算
+ */
+@Data
+@TableName("t_sku_effective_price")
+public class SkuEffectivePrice {
+
+    /**
+     * SKU ID
+     */
+    @TableField("sku_id")
+    private Long skuId;
+
+    /**
+     * 销售渠道
+     */
+    @TableField("channel")
+    private ChannelType channel;
+
+    /**
+     * 当前有效价格（null 表示当前没有有效价格）
+     */
+    @TableField("price")
+    private BigDecimal price;
+
+    /**
+     * 当前价格记录的失效时间（null 表示长期有效）
+     */
+    @TableField("valid_until")
+    private LocalDateTime validUntil;
+
+    /**
+     * 下一次价格变化的时间（null 表示没有已知的变化）
+     */
+    @TableField("next_change_at")
+    private LocalDateTime nextChangeAt;
+
+    /**
+     * 版本号：每次标记待刷新加一
+     */
+    @TableField("version")
+    private Integer version;
+
+    /**
+     * 更新时间
+     */
+    @TableField("update_time")
+    private LocalDateTime updateTime;
+
+    /**
+     * 该行在指定时刻是否仍然有效
+     *
+     * @param now 当前时间
+     * @return 是否有效
+     */
+    public boolean isFresh(LocalDateTime now) {
+        return nextChangeAt == null || nextChangeAt.isAfter(now);
+    }
+}
@@ -0,0 +1,64 @@
+package com.freshmall.product.domain.price;
+
+import java.util.Arrays;
+
+/**
+ * 批量价格查询结果：SKU ID 与价格（分）的并行数组
+ * 批量查询几千个 SKU 时不为每个结果创建 Long 包装对象和哈希表节点，只在最终组装接口返回值时转换一次
+ */
+public final class SkuPriceCents {
+
+    private long[] skuIds;
+    private long[] cents;
+    private int size;
+
+    public SkuPriceCents(int expectedSize) {
+        int capacity = Math.max(expectedSize, 4);
+        this.skuIds = new long[capacity];
+        this.cents = new long[capacity];
+    }
+
+    /**
+     * 追加一个 SKU 的价格
+     *
+     * @param skuId SKU ID
+     * @param priceCents 价格（分）
+     */
+    public void add(long skuId, long priceCents) {
+        if (size == skuIds.length) {
+            int capacity = skuIds.length * 2;
+            skuIds = Arrays.copyOf(skuIds, capacity);
+            cents = Arrays.copyOf(cents, capacity);
+        }
+        skuIds[size] = skuId;
+        cents[size] = priceCents;
+        size++;
+    }
+
+    /**
+     * 追加另一批结果
+     *
+     * @param other 另一批结果
+     */
+    public void addAll(SkuPriceCents other) {
+        for (int i = 0; i < other.size; i++) {
+            add(other.skuIds[i], other.cents[i]);
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public long skuIdAt(int index) {
+        return skuIds[index];
+    }
+
+    public long centsAt(int index) {
+        return cents[index];
+    }
+}
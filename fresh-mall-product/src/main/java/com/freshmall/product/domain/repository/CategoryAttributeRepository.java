@@ -2,6 +2,7 @@ package com.freshmall.product.domain.repository;
 
 import com.freshmall.product.domain.aggregate.CategoryAttribute;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -42,6 +43,14 @@ public interface CategoryAttributeRepository {
      */
     List<CategoryAttribute> findByCategoryId(Long categoryId);
 
+    /**
+     * 根据类目 ID 列表批量查询属性关联
+     * 
+     * @param categoryIds 类目 ID 集合
+     * @return 类目-属性关联列表
+     */
+    List<CategoryAttribute> findByCategoryIds(Collection<Long> categoryIds);
+
     /**
      * 根据属性 ID 查询所有类目关联
      * 
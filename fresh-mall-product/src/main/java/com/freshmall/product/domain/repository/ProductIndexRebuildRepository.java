@@ -0,0 +1,96 @@
+package com.freshmall.product.domain.repository;
+
+import com.freshmall.product.domain.model.IndexRebuildStatus;
+import com.freshmall.product.domain.model.ProductIndexRebuild;
+import com.freshmall.product.domain.model.ProductIndexRebuildPartition;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 商品索引重建仓储接口
+ * 定义重建记录及其分区进度的持久化操作
+ */
+public interface ProductIndexRebuildRepository {
+
+    /**
+     * 保存重建记录
+     * 
+     * @param rebuild 重建记录
+     * @return 保存后的重建记录
+     */
+    ProductIndexRebuild save(ProductIndexRebuild rebuild);
+
+    /**
+     * 根据 ID 查询重建记录
+     * 
+     * @param id 重建 ID
+     * @return 重建记录（如果存在）
+     */
+    Optional<ProductIndexRebuild> findById(Long id);
+
+    /**
+     * 查询最近一次重建记录
+     * 
+     * @return 重建记录（如果存在）
+     */
+    Optional<ProductIndexRebuild> findLatest();
+
+    /**
+     * 查询进行中的重建记录
+     * 
+     * @return 重建记录（如果存在）
+     */
+    Optional<ProductIndexRebuild> findRunning();
+
+    /**
+     * 结束重建（仅当记录仍为进行中时生效）
+     * 
+     * @param id 重建 ID
+     * @param status 最终状态（COMPLETED 或 FAILED）
+     * @param finishTime 结束时间
+     * @param lastError 失败原因
+     * @return 是否更新成功
+     */
+    boolean finish(Long id, IndexRebuildStatus status, LocalDateTime finishTime, String lastError);
+
+    /**
+     * 批量保存分区
+     * 
+     * @param partitions 分区列表
+     */
+    void savePartitions(List<ProductIndexRebuildPartition> partitions);
+
+    /**
+     * 查询重建的全部分区（按范围升序）
+     * 
+     * @param rebuildId 重建 ID
+     * @return 分区列表
+     */
+    List<ProductIndexRebuildPartition> findPartitions(Long rebuildId);
+
+    /**
+     * 根据 ID 查询分区并锁定分区行（SELECT ... FOR UPDATE），须在事务中调用
+     * 多个节点同时处理同一分区时，后到的一方等待前一批提交后读到新的游标，各批次串行执行
+     * 
+     * @param partitionId 分区 ID
+     * @return 分区（如果存在）
+     */
+    Optional<ProductIndexRebuildPartition> lockPartitionById(Long partitionId);
+
+    /**
+     * 推进分区游标并累加计数
+     * 以当前游标作为乐观锁条件，防止未加锁读取分区时重复推进
+     * 
+     * @param partitionId 分区 ID
+     * @param expectedCursor 推进前的游标
+     * @param newCursor 推进后的游标
+     * @param processedSpu 本次处理的 SPU 数
+     * @param rowsWritten 本次写入的索引行数
+     * @param finished 分区是否已处理完成
+     * @return 是否推进成功
+     */
+    boolean advancePartition(Long partitionId, Long expectedCursor, Long newCursor,
+                             long processedSpu, long rowsWritten, boolean finished);
+}
@@ -1,11 +1,18 @@
 package com.freshmall.product.domain.repository;
 
+import com.freshmall.product.domain.model.ChannelType;
 import com.freshmall.product.domain.model.ProductIndex;
+import com.freshmall.product.domain.model.ProductSearchField;
+import com.freshmall.product.domain.model.ProductSortType;
+import com.freshmall.product.domain.model.SpecFilter;
 import com.freshmall.product.domain.model.StockStatus;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * 商品索引仓储接口
@@ -36,6 +43,14 @@ public interface ProductIndexRepository {
      */
     Optional<ProductIndex> findBySkuId(Long skuId);
 
+    /**
+     * 根据 SKU ID 列表批量查询商品索引
+     * 
+     * @param skuIds SKU ID 列表
+     * @return 商品索引列表
+     */
+    List<ProductIndex> findBySkuIds(List<Long> skuIds);
+
     /**
      * 根据 SPU ID 查询所有商品索引
      * 
@@ -44,6 +59,14 @@ public interface ProductIndexRepository {
      */
     List<ProductIndex> findBySpuId(Long spuId);
 
+    /**
+     * 根据 SPU ID 列表批量查询商品索引
+     * 
+     * @param spuIds SPU ID 集合
+     * @return 商品索引列表
+     */
+    List<ProductIndex> findBySpuIds(Collection<Long> spuIds);
+
     /**
      * 根据 SPU ID 删除所有商品索引
      * 
@@ -58,6 +81,13 @@ public interface ProductIndexRepository {
      */
     void deleteBySkuId(Long skuId);
 
+    /**
+     * 根据 SKU ID 列表批量删除商品索引
+     * 
+     * @param skuIds SKU ID 列表
+     */
+    void deleteBySkuIds(List<Long> skuIds);
+
     /**
      * 搜索商品（支持多条件过滤和分页）
      * 
@@ -65,12 +95,18 @@ public interface ProductIndexRepository {
      * @param minPrice 最低价格（可选）
      * @param maxPrice 最高价格（可选）
      * @param stockStatus 库存状态（可选）
+     * @param channel 渠道（可选，指定后价格过滤和价格排序使用该渠道的价格，并排除该渠道无价格的商品）
+     * @param specFilter 规格过滤条件（可选，为 null 时不限制）
+     * @param sortType 排序方式
      * @param offset 分页偏移量
      * @param limit 分页大小
-     * @return 商品索引列表
+     * @param fields 需要返回的字段（只查询对应的列，其余属性为 null）
+     * @return 商品索引列表（按排序方式排列）
      */
     List<ProductIndex> search(Long categoryId, BigDecimal minPrice, BigDecimal maxPrice, 
-                             StockStatus stockStatus, Integer offset, Integer limit);
+                             StockStatus stockStatus, ChannelType channel, SpecFilter specFilter,
+                             ProductSortType sortType, Integer offset, Integer limit,
+                             Set<ProductSearchField> fields);
 
     /**
      * 统计搜索结果总数
@@ -79,14 +115,108 @@ public interface ProductIndexRepository {
      * @param minPrice 最低价格（可选）
      * @param maxPrice 最高价格（可选）
      * @param stockStatus 库存状态（可选）
+     * @param channel 渠道（可选）
+     * @param specFilter 规格过滤条件（可选，为 null 时不限制）
      * @return 总数
      */
-    Long countSearch(Long categoryId, BigDecimal minPrice, BigDecimal maxPrice, StockStatus stockStatus);
+    Long countSearch(Long categoryId, BigDecimal minPrice, BigDecimal maxPrice, StockStatus stockStatus,
+                     ChannelType channel, SpecFilter specFilter);
+
+    /**
+     * 按 ID 游标分批查询可见索引的规格属性值（只加载 id、sku_id、category_id、spec_values）
+     * 用于构建内存中的规格位图
+     * 
+     * @param categoryId 类目 ID（可选，为 null 时查询全部类目）
+     * @param afterId 上一批最后一条记录的 ID（不包含）
+     * @param limit 每批数量
+     * @return 商品索引列表（按 ID 升序）
+     */
+    List<ProductIndex> findSpecValuesAfter(Long categoryId, Long afterId, int limit);
+
+    /**
+     * 按 ID 游标分批查询可见索引的名称和库存状态（只加载 id、spu_id、spu_name、stock_status）
+     * 用于构建搜索建议
+     * 
+     * @param afterId 上一批最后一条记录的 ID（不包含）
+     * @param limit 每批数量
+     * @return 商品索引列表（按 ID 升序）
+     */
+    List<ProductIndex> findSuggestRowsAfter(Long afterId, int limit);
+
+    /**
+     * 查询 SKU ID 在区间内的索引（含不可见的索引行）
+     * 用于一致性检查按 SKU ID 分段比对
+     * 
+     * @param afterSkuId 区间起点 SKU ID（不包含）
+     * @param toSkuId 区间终点 SKU ID（包含），为 null 表示不设上限
+     * @return 商品索引列表
+     */
+    List<ProductIndex> findBySkuIdRange(Long afterSkuId, Long toSkuId);
 
     /**
      * 批量保存或更新商品索引
+     * 已存在且内容哈希相同的行跳过写入，也不触发索引变更事件
      * 
-     * @param productIndexes 商品索引列表
+     * @param productIndexes 商品索引列表（需已计算内容哈希）
      */
     void batchSaveOrUpdate(List<ProductIndex> productIndexes);
+
+    /**
+     * 批量更新索引的价格列（价格范围和各渠道价格，其余列不变）
+     * 
+     * @param productIndexes 商品索引列表（需包含 ID）
+     */
+    void batchUpdatePrices(List<ProductIndex> productIndexes);
+
+    /**
+     * 清空索引行的内容哈希，使下一次增量更新一定写入
+     * 用于内容哈希与实际列值不一致的行（如被直接修改过的行）
+     * 
+     * @param ids 索引 ID 列表
+     */
+    void clearContentHash(List<Long> ids);
+
+    /**
+     * 准备影子表：删除上次遗留的影子表和旧表，并按正式索引表结构创建空表
+     */
+    void prepareShadow();
+
+    /**
+     * 检查影子表是否存在
+     * 
+     * @return 是否存在
+     */
+    boolean shadowExists();
+
+    /**
+     * 批量写入影子表（生成新 ID）
+     * 
+     * @param productIndexes 商品索引列表
+     */
+    void batchInsertShadow(List<ProductIndex> productIndexes);
+
+    /**
+     * 原子切换影子表与正式索引表，原正式表保留为旧表
+     */
+    void swapShadow();
+
+    /**
+     * 检查切换下来的旧表是否存在
+     * 
+     * @return 是否存在
+     */
+    boolean retiredExists();
+
+    /**
+     * 查询旧表中指定时间之后被写入过的 SPU ID
+     * 
+     * @param since 起始时间
+     * @return SPU ID 列表
+     */
+    List<Long> findRetiredSpuIdsUpdatedSince(LocalDateTime since);
+
+    /**
+     * 删除切换下来的旧表
+     */
+    void dropRetired();
 }
@@ -0,0 +1,101 @@
+package com.freshmall.product.domain.repository;
+
+import com.freshmall.product.domain.model.IndexTaskStatus;
+import com.freshmall.product.domain.model.ProductIndexTask;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 商品索引任务仓储接口
+ * 定义索引任务（事务性发件箱）的持久化操作
+ */
+public interface ProductIndexTaskRepository {
+
+    /**
+     * 保存索引任务
+     * 
+     * @param task 索引任务实体
+     * @return 保存后的任务（包含生成的 ID）
+     */
+    ProductIndexTask save(ProductIndexTask task);
+
+    /**
+     * 批量保存索引任务（一条多行插入语句）
+     * 
+     * @param tasks 索引任务列表
+     */
+    void saveBatch(List<ProductIndexTask> tasks);
+
+    /**
+     * 认领到期的待处理任务
+     * 按 ID 顺序将最多 limit 条任务标记为处理中，并写入认领令牌
+     * 
+     * @param claimToken 认领令牌
+     * @param limit 最大认领数量
+     * @param now 当前时间
+     * @return 认领到的任务数量
+     */
+    int claimDue(String claimToken, int limit, LocalDateTime now);
+
+    /**
+     * 认领与已认领任务同一目标的其余待处理任务（写入相同的认领令牌）
+     * 入队事务尚未提交的任务行被锁定，语句等待其提交后一并认领，不会漏掉
+     * 
+     * @param claimToken 认领令牌
+     * @param now 当前时间
+     * @return 追加认领的任务数量
+     */
+    int claimPendingOfClaimedTargets(String claimToken, LocalDateTime now);
+
+    /**
+     * 根据认领令牌查询任务
+     * 
+     * @param claimToken 认领令牌
+     * @return 任务列表
+     */
+    List<ProductIndexTask> findByClaimToken(String claimToken);
+
+    /**
+     * 物理删除任务（处理成功后调用）
+     * 
+     * @param ids 任务 ID 列表
+     */
+    void deleteByIds(List<Long> ids);
+
+    /**
+     * 将任务重新放回队列等待重试，或标记为失败
+     * 
+     * @param id 任务 ID
+     * @param status 新状态（PENDING 或 FAILED）
+     * @param attempts 已尝试次数
+     * @param nextAttemptTime 下次可执行时间
+     * @param lastError 失败原因
+     */
+    void reschedule(Long id, IndexTaskStatus status, Integer attempts,
+                    LocalDateTime nextAttemptTime, String lastError);
+
+    /**
+     * 回收认领超时的任务（工作节点崩溃等情况）
+     * 
+     * @param claimedBefore 认领时间早于该时间的任务会被放回队列
+     * @return 回收的任务数量
+     */
+    int releaseStaleClaims(LocalDateTime claimedBefore);
+
+    /**
+     * 统计指定状态的任务数量
+     * 
+     * @param status 任务状态
+     * @return 任务数量
+     */
+    long countByStatus(IndexTaskStatus status);
+
+    /**
+     * 查询最早的待处理任务创建时间
+     * 
+     * @return 创建时间（队列为空时为空）
+     */
+    Optional<LocalDateTime> findOldestPendingCreateTime();
+}
@@ -0,0 +1,67 @@
+package com.freshmall.product.domain.repository;
+
+import com.freshmall.product.domain.model.ChannelType;
+import com.freshmall.product.domain.model.ProductSearchField;
+import com.freshmall.product.domain.model.ProductSortType;
+import com.freshmall.product.domain.model.ProductSpuIndex;
+import com.freshmall.product.domain.model.SpecFilter;
+import com.freshmall.product.domain.model.StockStatus;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * SPU 级商品索引仓储接口
+ * 定义 SPU 级索引的维护和查询操作
+ */
+public interface ProductSpuIndexRepository {
+
+    /**
+     * 按 SKU 级索引的当前数据重算指定 SPU 的汇总行
+     * 没有可见 SKU 的 SPU 删除汇总行
+     * 
+     * @param spuIds SPU ID 集合
+     */
+    void refresh(Collection<Long> spuIds);
+
+    /**
+     * 按 SKU 级索引重算全部汇总行（全量重建切换后调用）
+     */
+    void refreshAll();
+
+    /**
+     * 搜索 SPU（支持多条件过滤和分页）
+     * 
+     * @param categoryId 类目 ID（可选）
+     * @param minPrice 最低价格（可选）
+     * @param maxPrice 最高价格（可选）
+     * @param stockStatus 最好的库存状态（可选）
+     * @param channel 渠道（可选，指定后按该渠道的最低价格过滤和排序，并排除该渠道无价格的 SPU）
+     * @param specFilter 规格过滤条件（可选，任一 SKU 满足即包含其 SPU，为 null 时不限制）
+     * @param sortType 排序方式
+     * @param offset 分页偏移量
+     * @param limit 分页大小
+     * @param fields 需要返回的字段（只查询对应的列，其余属性为 null）
+     * @return SPU 级索引列表（按排序方式排列）
+     */
+    List<ProductSpuIndex> search(Long categoryId, BigDecimal minPrice, BigDecimal maxPrice,
+                                 StockStatus stockStatus, ChannelType channel, SpecFilter specFilter,
+                                 ProductSortType sortType, Integer offset, Integer limit,
+                                 Set<ProductSearchField> fields);
+
+    /**
+     * 统计 SPU 搜索结果总数
+     * 
+     * @param categoryId 类目 ID（可选）
+     * @param minPrice 最低价格（可选）
+     * @param maxPrice 最高价格（可选）
+     * @param stockStatus 最好的库存状态（可选）
+     * @param channel 渠道（可选）
+     * @param specFilter 规格过滤条件（可选，任一 SKU 满足即包含其 SPU，为 null 时不限制）
+     * @return 总数
+     */
+    Long countSearch(Long categoryId, BigDecimal minPrice, BigDecimal maxPrice, StockStatus stockStatus,
+                     ChannelType channel, SpecFilter specFilter);
+}
@@ -0,0 +1,25 @@
+package com.freshmall.product.domain.repository;
+
+import com.freshmall.product.domain.model.ProductSuggestSnapshot;
+
+import java.util.Optional;
+
+/**
+ * 搜索建议快照仓储接口
+ */
+public interface ProductSuggestSnapshotRepository {
+
+    /**
+     * 保存快照（覆盖上一次的快照）
+     * 
+     * @param snapshot 快照
+     */
+    void save(ProductSuggestSnapshot snapshot);
+
+    /**
+     * 读取最近一次保存的快照
+     * 
+     * @return 快照（不存在或无法读取时为空）
+     */
+    Optional<ProductSuggestSnapshot> load();
+}
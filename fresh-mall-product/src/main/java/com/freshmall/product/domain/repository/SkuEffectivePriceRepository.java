@@ -0,0 +1,68 @@
+package com.freshmall.product.domain.repository;
+
+import com.freshmall.product.domain.model.ChannelType;
+import com.freshmall.product.domain.price.SkuEffectivePrice;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * SKU 当前有效价格仓储接口
+ */
+public interface SkuEffectivePriceRepository {
+
+    /**
+     * 按主键批量查询（超长的 SKU 列表分块并行查询）
+     *
+     * @param skuIds SKU ID 列表
+     * @param channel 销售渠道
+     * @return 当前有效价格列表（没有价格记录的 SKU 不包含在结果中）
+     */
+    List<SkuEffectivePrice> findBySkuIds(Collection<Long> skuIds, ChannelType channel);
+
+    /**
+     * 按主键批量查询多个渠道（一次 IN 查询，超长的 SKU 列表分块并行查询）
+     *
+     * @param skuIds SKU ID 列表
+     * @param channels 销售渠道列表
+     * @return 当前有效价格列表（没有价格记录的 (SKU, 渠道) 不包含在结果中）
+     */
+    List<SkuEffectivePrice> findBySkuIds(Collection<Long> skuIds, Collection<ChannelType> channels);
+
+    /**
+     * 查询下一次变化时间已到期的行（按到期时间升序）
+     *
+     * @param now 当前时间
+     * @param limit 最大条数
+     * @return 需要刷新的行
+     */
+    List<SkuEffectivePrice> findDue(LocalDateTime now, int limit);
+
+    /**
+     * 标记待刷新：行不存在时插入，存在时把下一次变化时间置为当前时间并递增版本号
+     *
+     * @param skuId SKU ID
+     * @param channel 销售渠道
+     * @param now 当前时间
+     */
+    void markDirty(Long skuId, ChannelType channel, LocalDateTime now);
+
+    /**
+     * 批量标记同一渠道的多个 SKU 待刷新
+     *
+     * @param skuIds SKU ID 列表
+     * @param channel 销售渠道
+     * @param now 当前时间
+     */
+    void markDirty(Collection<Long> skuIds, ChannelType channel, LocalDateTime now);
+
+    /**
+     * 写入重新计算的结果，只有版本号未变化（计算期间没有新的价格写入）时才会更新
+     *
+     * @param effectivePrice 计算结果
+     * @param expectedVersion 计算前读取的版本号
+     * @return 是否更新成功
+     */
+    boolean updateIfVersion(SkuEffectivePrice effectivePrice, int expectedVersion);
+}
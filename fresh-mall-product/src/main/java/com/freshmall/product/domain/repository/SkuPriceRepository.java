@@ -4,6 +4,7 @@ import com.freshmall.product.domain.model.ChannelType;
 import com.freshmall.product.domain.price.SkuPrice;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -21,6 +22,13 @@ public interface SkuPriceRepository {
      */
     SkuPrice save(SkuPrice skuPrice);
 
+    /**
+     * 批量保存价格记录（一条多行插入语句）
+     * 
+     * @param prices 价格实体列表
+     */
+    void saveBatch(List<SkuPrice> prices);
+
     /**
      * 根据 ID 查询价格
      * 
@@ -67,6 +75,59 @@ public interface SkuPriceRepository {
      */
     List<SkuPrice> findActivePricesBySkuIds(List<Long> skuIds, ChannelType channel, LocalDateTime now);
 
+    /**
+     * 批量查询多个 SKU 在指定渠道和时间生效时间最晚的有效价格（每个 SKU 至多一条）
+     * 超长的 SKU 列表分块并行查询
+     * 
+     * @param skuIds SKU ID 列表
+     * @param channel 销售渠道
+     * @param now 当前时间
+     * @return 有效价格列表
+     */
+    List<SkuPrice> findLatestActiveBySkuIds(Collection<Long> skuIds, ChannelType channel, LocalDateTime now);
+
+    /**
+     * 批量查询多个 SKU 在指定渠道的全部价格历史（包括已归档的记录，不含已删除的记录）
+     * 用于构建可以回答任意时刻价格的时间线，超长的 SKU 列表分块并行查询
+     * 
+     * @param skuIds SKU ID 列表
+     * @param channel 销售渠道
+     * @return 价格记录列表
+     */
+    List<SkuPrice> findHistoryBySkuIds(Collection<Long> skuIds, ChannelType channel);
+
+    /**
+     * 批量查询多个 SKU 在指定时间所有渠道的有效价格
+     * 用于索引构建，一次 IN 查询替代逐个 SKU 加载全部历史价格
+     * 
+     * @param skuIds SKU ID 列表
+     * @param now 当前时间
+     * @return 有效价格列表
+     */
+    List<SkuPrice> findActivePricesBySkuIds(List<Long> skuIds, LocalDateTime now);
+
+    /**
+     * 批量查询多个 SKU 在指定渠道、指定时刻仍未失效的价格记录（包括尚未生效的）
+     * 用于构建价格时间线，超长的 SKU 列表分块并行查询
+     * 
+     * @param skuIds SKU ID 列表
+     * @param channel 销售渠道
+     * @param from 时刻
+     * @return 价格列表
+     */
+    List<SkuPrice> findUnexpiredBySkuIds(Collection<Long> skuIds, ChannelType channel, LocalDateTime from);
+
+    /**
+     * 按 SKU ID 游标分页查询在指定渠道、指定时刻仍有未失效价格记录的 SKU（用于流式导出价格册）
+     * 
+     * @param channel 销售渠道
+     * @param from 时刻
+     * @param afterSkuId 上一页最后一个 SKU ID（不包含），首页传 0
+     * @param limit 每页 SKU 数
+     * @return SKU ID 列表（升序）
+     */
+    List<Long> findUnexpiredSkuIdsAfter(ChannelType channel, LocalDateTime from, Long afterSkuId, int limit);
+
     /**
      * 删除价格记录
      * 
@@ -74,10 +135,38 @@ public interface SkuPriceRepository {
      */
     void deleteById(Long id);
 
+    /**
+     * 查询在时间区间 (from, to] 内开始或结束的价格记录（用于调度价格生效/失效边界）
+     * 
+     * @param from 起始时间（不包含）
+     * @param to 结束时间（包含）
+     * @return 价格列表
+     */
+    List<SkuPrice> findBoundariesBetween(LocalDateTime from, LocalDateTime to);
+
     /**
      * 根据 SKU ID 删除所有价格记录
      * 
      * @param skuId SKU ID
      */
     void deleteBySkuId(Long skuId);
+
+    /**
+     * 锁定一批可以归档的价格记录：失效时间早于 cutoff 的记录，以及删除时间早于 cutoff 的已删除记录
+     * 需要在事务中调用，其他节点已锁定的记录被跳过
+     * 
+     * @param cutoff 保留期起点
+     * @param limit 最大条数
+     * @return 价格记录 ID 列表
+     */
+    List<Long> lockArchivableIds(LocalDateTime cutoff, int limit);
+
+    /**
+     * 把价格记录移入归档表（复制后物理删除），需要在事务中调用
+     * 
+     * @param ids 价格记录 ID 列表（已锁定）
+     * @param summarize 是否累加到归档汇总
+     * @return 移动的记录数
+     */
+    int archiveByIds(List<Long> ids, boolean summarize);
 }
@@ -2,8 +2,10 @@ package com.freshmall.product.domain.repository;
 
 import com.freshmall.product.domain.model.Sku;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * SKU 仓储接口
@@ -58,6 +60,31 @@ public interface SkuRepository {
      */
     List<Sku> findEnabledBySpuId(Long spuId);
 
+    /**
+     * 根据 SPU ID 列表批量查询启用的 SKU（排除已删除）
+     * 
+     * @param spuIds SPU ID 列表
+     * @return 启用的 SKU 列表
+     */
+    List<Sku> findEnabledBySpuIds(List<Long> spuIds);
+
+    /**
+     * 批量查询存在且未删除的 SKU ID（超长的 ID 列表分块并行查询）
+     * 
+     * @param ids SKU ID 列表
+     * @return 存在的 SKU ID 集合
+     */
+    Set<Long> findExistingIds(Collection<Long> ids);
+
+    /**
+     * 按 ID 游标分批查询 SKU（排除已删除，含禁用）
+     * 
+     * @param afterId 上一批最后一个 SKU 的 ID（不包含）
+     * @param limit 每批数量
+     * @return SKU 列表（按 ID 升序）
+     */
+    List<Sku> findAfterId(Long afterId, int limit);
+
     /**
      * 根据 SKU 编码查询 SKU（排除已删除）
      * 
@@ -2,6 +2,7 @@ package com.freshmall.product.domain.repository;
 
 import com.freshmall.product.domain.stock.SkuStock;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -34,6 +35,14 @@ public interface SkuStockRepository {
      */
     Optional<SkuStock> findBySkuId(Long skuId);
 
+    /**
+     * 根据 SKU ID 列表批量查询库存
+     * 
+     * @param skuIds SKU ID 列表
+     * @return 库存列表（没有库存记录的 SKU 不在结果中）
+     */
+    List<SkuStock> findBySkuIds(List<Long> skuIds);
+
     /**
      * 根据 ID 查询库存
      * 
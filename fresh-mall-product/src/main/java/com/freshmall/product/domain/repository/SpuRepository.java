@@ -2,6 +2,9 @@ package com.freshmall.product.domain.repository;
 
 import com.freshmall.product.domain.aggregate.Spu;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -33,6 +36,14 @@ public interface SpuRepository {
      */
     Optional<Spu> findById(Long id);
 
+    /**
+     * 根据 ID 列表批量查询 SPU（排除已删除）
+     * 
+     * @param ids SPU ID 集合
+     * @return SPU 列表
+     */
+    List<Spu> findByIds(Collection<Long> ids);
+
     /**
      * 根据 ID 查询 SPU（包含已删除）
      * 
@@ -55,4 +66,43 @@ public interface SpuRepository {
      * @param id SPU ID
      */
     void deleteById(Long id);
+
+    /**
+     * 按 ID 范围分页查询已发布的 SPU（排除已删除，按 ID 升序）
+     * 
+     * @param afterId 起始 ID（不包含）
+     * @param maxId 结束 ID（包含）
+     * @param limit 最大返回数量
+     * @return SPU 列表
+     */
+    List<Spu> findPublishedByIdRange(Long afterId, Long maxId, int limit);
+
+    /**
+     * 查询已发布 SPU 的最小 ID（排除已删除）
+     * 
+     * @return 最小 ID（没有已发布的 SPU 时为空）
+     */
+    Optional<Long> findMinPublishedId();
+
+    /**
+     * 查询已发布 SPU 的最大 ID（排除已删除）
+     * 
+     * @return 最大 ID（没有已发布的 SPU 时为空）
+     */
+    Optional<Long> findMaxPublishedId();
+
+    /**
+     * 统计已发布的 SPU 数量（排除已删除）
+     * 
+     * @return 数量
+     */
+    long countPublished();
+
+    /**
+     * 查询指定时间之后自身、SKU、库存或价格发生过变更的 SPU ID（包含已删除）
+     * 
+     * @param since 起始时间
+     * @return SPU ID 列表
+     */
+    List<Long> findIdsChangedSince(LocalDateTime since);
 }
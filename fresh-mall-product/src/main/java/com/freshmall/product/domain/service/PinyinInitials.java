@@ -0,0 +1,59 @@
+package com.freshmall.product.domain.service;
+
+import java.nio.charset.Charset;
+
+/**
+ * 汉字拼音首字母
+ *
+ * GB2312 一级汉字（常用字）按拼音顺序编码，根据编码所在区间即可得到首字母，不需要拼音词典。
+ * 二级汉字和多音字无法准确处理，前者保留原字符，后者取编码区间对应的读音。
+ */
+final class PinyinInitials {
+
+    private static final Charset GB2312 = Charset.forName("GB2312");
+
+    /**
+     * 各首字母在 GB2312 一级汉字中的起始编码，最后一项为一级汉字的结束编码
+     */
+    private static final int[] BOUNDARIES = {
+            0xB0A1, 0xB0C5, 0xB2C1, 0xB4EE, 0xB6EA, 0xB7A2, 0xB8C1, 0xB9FE, 0xBBF7, 0xBFA6, 0xC0AC, 0xC2E8,
+            0xC4C3, 0xC5B6, 0xC5BE, 0xC6DA, 0xC8BB, 0xC8F6, 0xCBFA, 0xCDDA, 0xCEF4, 0xD1B9, 0xD4D1, 0xD7FA
+    };
+
+    private static final char[] LETTERS = "abcdefghjklmnopqrstwxyz".toCharArray();
+
+    private PinyinInitials() {
+    }
+
+    /**
+     * 把文本中的汉字替换为拼音首字母，其他字符保持不变
+     *
+     * @param text 文本
+     * @return 首字母文本
+     */
+    static String of(String text) {
+        StringBuilder initials = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            initials.append(c < 0x80 ? c : initialOf(c));
+        }
+        return initials.toString();
+    }
+
+    private static char initialOf(char c) {
+        byte[] bytes = String.valueOf(c).getBytes(GB2312);
+        if (bytes.length != 2) {
+            return c;
+        }
+        int code = (bytes[0] & 0xFF) << 8 | (bytes[1] & 0xFF);
+        if (code < BOUNDARIES[0] || code >= BOUNDARIES[BOUNDARIES.length - 1]) {
+            return c;
+        }
+        for (int i = LETTERS.length - 1; i >= 0; i--) {
+            if (code >= BOUNDARIES[i]) {
+                return LETTERS[i];
+            }
+        }
+        return c;
+    }
+}
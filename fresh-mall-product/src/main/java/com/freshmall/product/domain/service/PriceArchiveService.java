@@ -0,0 +1,19 @@
+package com.freshmall.product.domain.service;
+
+import java.time.LocalDateTime;
+
+/**
+ * 价格归档领域服务接口
+ * 把已完全失效（或已删除）超过保留期的价格记录移出 t_sku_price
+ */
+public interface PriceArchiveService {
+
+    /**
+     * 归档一批价格记录（单独的短事务）
+     * 
+     * @param cutoff 保留期起点：失效时间（已删除记录为删除时间）早于该时间的记录被归档
+     * @param limit 每批最大条数
+     * @return 本批归档的记录数（小于 limit 表示已全部归档）
+     */
+    int archiveBatch(LocalDateTime cutoff, int limit);
+}
@@ -0,0 +1,21 @@
+package com.freshmall.product.domain.service;
+
+import com.freshmall.product.domain.model.ChannelType;
+
+import java.time.LocalDateTime;
+
+/**
+ * 价格册领域服务接口
+ * 生成离线终端使用的渠道价格册（二进制定长记录文件，格式见 PriceBookFile）
+ */
+public interface PriceBookService {
+
+    /**
+     * 生成渠道价格册：全量文件替换上一版本，同时生成相对上一版本的增量文件
+     * 
+     * @param channel 销售渠道
+     * @param now 生成时刻（此时已失效的价格不导出）
+     * @return 全量文件的记录数
+     */
+    long generate(ChannelType channel, LocalDateTime now);
+}
@@ -0,0 +1,22 @@
+package com.freshmall.product.domain.service;
+
+import com.freshmall.product.domain.price.PriceImportResult;
+import com.freshmall.product.domain.price.PriceImportRow;
+
+import java.util.Iterator;
+
+/**
+ * 价格批量导入领域服务接口
+ * 按批校验、写入价格记录，单行错误不影响其他行
+ */
+public interface PriceImportService {
+
+    /**
+     * 批量导入价格
+     * 边读取边按批处理，每批一个事务；调用方可以传入流式读取的迭代器，不需要把全部行加载到内存
+     * 
+     * @param rows 导入行
+     * @return 导入结果（含逐行错误）
+     */
+    PriceImportResult importRows(Iterator<PriceImportRow> rows);
+}
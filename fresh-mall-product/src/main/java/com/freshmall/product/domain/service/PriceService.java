@@ -1,6 +1,9 @@
 package com.freshmall.product.domain.service;
 
 import com.freshmall.product.domain.model.ChannelType;
+import com.freshmall.product.domain.price.CartLine;
+import com.freshmall.product.domain.price.CartPricing;
+import com.freshmall.product.domain.price.PriceMatrix;
 import com.freshmall.product.domain.valueobject.Money;
 
 import java.math.BigDecimal;
@@ -45,4 +48,42 @@ public interface PriceService {
      * @return SKU ID 到价格的映射（不存在有效价格的 SKU 不在映射中）
      */
     Map<Long, Money> batchGetPrices(List<Long> skuIds, ChannelType channel);
+
+    /**
+     * 查询 SKU 在指定时刻（包括过去和未来）的有效价格
+     * 过去的时刻同样查询已归档的价格记录
+     * 
+     * @param skuId SKU ID
+     * @param channel 销售渠道
+     * @param time 时刻
+     * @return 该时刻的有效价格
+     */
+    Money getPriceAt(Long skuId, ChannelType channel, LocalDateTime time);
+
+    /**
+     * 批量查询多个 SKU 在指定时刻的有效价格
+     * 
+     * @param skuIds SKU ID 列表
+     * @param channel 销售渠道
+     * @param time 时刻
+     * @return SKU ID 到价格的映射（该时刻不存在有效价格的 SKU 不在映射中）
+     */
+    Map<Long, Money> batchGetPricesAt(List<Long> skuIds, ChannelType channel, LocalDateTime time);
+
+    /**
+     * 查询多个 SKU 在多个渠道的当前有效价格矩阵
+     * 
+     * @param skuIds SKU ID 列表
+     * @param channels 销售渠道列表（为空表示全部渠道）
+     * @return 价格矩阵（按列存储）
+     */
+    PriceMatrix getPriceMatrix(List<Long> skuIds, List<ChannelType> channels);
+
+    /**
+     * 购物车计价：一次批量查询所有行的单价，按分计算行金额和合计
+     * 
+     * @param lines 购物车行
+     * @return 计价结果（含价格版本）
+     */
+    CartPricing priceCart(List<CartLine> lines);
 }
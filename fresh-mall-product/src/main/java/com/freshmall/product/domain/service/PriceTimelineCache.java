@@ -0,0 +1,294 @@
+package com.freshmall.product.domain.service;
+
+import com.freshmall.product.domain.event.SkuPriceChangedEvent;
+import com.freshmall.product.domain.event.SkuPricesImportedEvent;
+import com.freshmall.product.domain.model.ChannelType;
+import com.freshmall.product.domain.price.PriceMatrix;
+import com.freshmall.product.domain.price.PriceTimeline;
+import com.freshmall.product.domain.price.SkuPrice;
+import com.freshmall.product.domain.price.SkuPriceCents;
+import com.freshmall.product.domain.repository.SkuPriceRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 价格时间线缓存
+ *
+ * 设计说明：
+ * - 按 (SKU, 渠道) 缓存价格时间线，查询某一时刻的价格只做一次二分查找，不访问数据库
+ * - 首次查询时加载该 SKU 在该渠道上仍未失效的价格记录（包括尚未生效的），批量查询时未命中的 SKU 一起加载（IN 列表分块并行）
+ * - 容量按价格记录数计算，超出时淘汰最久未使用的时间线，内存占用有上限
+ * - 本节点写入的价格在事务提交后追加到已缓存的时间线（批量导入的价格失效对应时间线）；其他节点写入的价格依靠 TTL 兜底
+ * - 时间线只能回答加载时刻之后的价格，更早的时刻（以及关闭缓存时）按主键读取当前有效价格表
+ * - 历史时刻查询（as-of）加载包含归档记录的完整历史时间线并替换缓存项，之后任意时刻的查询都只做一次二分查找；
+ *   历史时间线在缓存外加载，加载期间本节点提交的价格可能没有追加进去，同样依靠 TTL 兜底
+ */
+@Slf4j
+@Service
+public class PriceTimelineCache {
+
+    private final SkuPriceRepository skuPriceRepository;
+    private final SkuEffectivePriceService skuEffectivePriceService;
+
+    private final Cache<TimelineKey, PriceTimeline> cache;
+
+    /**
+     * 是否启用缓存
+     */
+    private final boolean enabled;
+
+    public PriceTimelineCache(SkuPriceRepository skuPriceRepository,
+                              SkuEffectivePriceService skuEffectivePriceService,
+                              @Value("${product.price-timeline.enabled:true}") boolean enabled,
+                              @Value("${product.price-timeline.max-records:1000000}") long maxRecords,
+                              @Value("${product.price-timeline.ttl-seconds:300}") long ttlSeconds) {
+        this.skuPriceRepository = skuPriceRepository;
+        this.skuEffectivePriceService = skuEffectivePriceService;
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxRecords)
+                .weigher((TimelineKey key, PriceTimeline timeline) -> timeline.size() + 1)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+    }
+
+    /**
+     * 查询 SKU 在指定渠道、指定时刻的价格
+     *
+     * @param skuId SKU ID
+     * @param channel 销售渠道
+     * @param time 时刻
+     * @return 价格（分），没有有效价格时返回 null
+     */
+    public Long getPriceCents(Long skuId, ChannelType channel, LocalDateTime time) {
+        if (enabled) {
+            PriceTimeline timeline = cache.get(new TimelineKey(skuId, channel),
+                    key -> load(List.of(skuId), channel, time).get(skuId));
+            if (timeline.covers(time)) {
+                return timeline.priceCentsAt(time);
+            }
+        }
+        SkuPriceCents prices = skuEffectivePriceService.getPriceCents(List.of(skuId), channel, time);
+        return prices.isEmpty() ? null : prices.centsAt(0);
+    }
+
+    /**
+     * 批量查询多个 SKU 在指定渠道、指定时刻的价格
+     *
+     * @param skuIds SKU ID 列表
+     * @param channel 销售渠道
+     * @param time 时刻
+     * @return SKU 价格（分），没有有效价格的 SKU 不包含在结果中
+     */
+    public SkuPriceCents getPriceCents(List<Long> skuIds, ChannelType channel, LocalDateTime time) {
+        if (!enabled) {
+            return skuEffectivePriceService.getPriceCents(skuIds, channel, time);
+        }
+
+        Set<TimelineKey> keys = skuIds.stream()
+                .map(skuId -> new TimelineKey(skuId, channel))
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        Map<TimelineKey, PriceTimeline> timelines = cache.getAll(keys, missing -> {
+            List<Long> missingSkuIds = missing.stream().map(key -> key.skuId).collect(Collectors.toList());
+            Map<TimelineKey, PriceTimeline> loaded = new HashMap<>();
+            load(missingSkuIds, channel, time).forEach((skuId, timeline) ->
+                    loaded.put(new TimelineKey(skuId, channel), timeline));
+            return loaded;
+        });
+
+        SkuPriceCents result = new SkuPriceCents(timelines.size());
+        List<Long> uncovered = new ArrayList<>();
+        for (Map.Entry<TimelineKey, PriceTimeline> entry : timelines.entrySet()) {
+            PriceTimeline timeline = entry.getValue();
+            if (!timeline.covers(time)) {
+                uncovered.add(entry.getKey().skuId);
+                continue;
+            }
+            Long cents = timeline.priceCentsAt(time);
+            if (cents != null) {
+                result.add(entry.getKey().skuId, cents);
+            }
+        }
+        if (!uncovered.isEmpty()) {
+            result.addAll(skuEffectivePriceService.getPriceCents(uncovered, channel, time));
+        }
+        return result;
+    }
+
+    /**
+     * 查询 SKU 在指定渠道、任意时刻（包括过去）的价格
+     *
+     * @param skuId SKU ID
+     * @param channel 销售渠道
+     * @param time 时刻
+     * @return 价格（分），没有有效价格时返回 null
+     */
+    public Long getPriceCentsAt(Long skuId, ChannelType channel, LocalDateTime time) {
+        SkuPriceCents prices = getPriceCentsAt(List.of(skuId), channel, time);
+        return prices.isEmpty() ? null : prices.centsAt(0);
+    }
+
+    /**
+     * 批量查询多个 SKU 在指定渠道、任意时刻（包括过去）的价格
+     * 缓存的时间线覆盖该时刻时直接二分查找；否则一次查询加载未覆盖 SKU 的完整历史
+     *
+     * @param skuIds SKU ID 列表
+     * @param channel 销售渠道
+     * @param time 时刻
+     * @return SKU 价格（分），没有有效价格的 SKU 不包含在结果中
+     */
+    public SkuPriceCents getPriceCentsAt(List<Long> skuIds, ChannelType channel, LocalDateTime time) {
+        Set<Long> distinct = new LinkedHashSet<>(skuIds);
+        SkuPriceCents result = new SkuPriceCents(distinct.size());
+        List<Long> uncovered = new ArrayList<>();
+        for (Long skuId : distinct) {
+            PriceTimeline timeline = enabled ? cache.getIfPresent(new TimelineKey(skuId, channel)) : null;
+            if (timeline == null || !timeline.covers(time)) {
+                uncovered.add(skuId);
+                continue;
+            }
+            Long cents = timeline.priceCentsAt(time);
+            if (cents != null) {
+                result.add(skuId, cents);
+            }
+        }
+        if (uncovered.isEmpty()) {
+            return result;
+        }
+
+        loadHistory(uncovered, channel).forEach((skuId, timeline) -> {
+            if (enabled) {
+                cache.put(new TimelineKey(skuId, channel), timeline);
+            }
+            Long cents = timeline.priceCentsAt(time);
+            if (cents != null) {
+                result.add(skuId, cents);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * 填充价格矩阵：已缓存的时间线直接回答，不为矩阵查询加载新的时间线；
+     * 任一渠道未命中的 SKU 汇总后一次查询当前有效价格表（所有渠道）
+     *
+     * @param matrix 价格矩阵
+     * @param time 时刻
+     */
+    public void fillPriceMatrix(PriceMatrix matrix, LocalDateTime time) {
+        List<Long> missing = new ArrayList<>();
+        for (Long skuId : matrix.getSkuIds()) {
+            boolean complete = enabled;
+            for (ChannelType channel : matrix.getChannels()) {
+                PriceTimeline timeline = enabled ? cache.getIfPresent(new TimelineKey(skuId, channel)) : null;
+                if (timeline == null || !timeline.covers(time)) {
+                    complete = false;
+                    break;
+                }
+                Long cents = timeline.priceCentsAt(time);
+                if (cents != null) {
+                    matrix.put(skuId, channel, cents);
+                }
+            }
+            if (!complete) {
+                missing.add(skuId);
+            }
+        }
+        if (!missing.isEmpty()) {
+            skuEffectivePriceService.fillPriceMatrix(matrix, missing, time);
+        }
+    }
+
+    /**
+     * 价格写入事务提交后追加到已缓存的时间线（未缓存的不处理，下次查询时加载）
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onPriceChanged(SkuPriceChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        SkuPrice price = SkuPrice.builder()
+                .skuId(event.getSkuId())
+                .channel(event.getChannel())
+                .price(event.getPrice())
+                .startTime(event.getStartTime())
+                .endTime(event.getEndTime())
+                .build();
+        price.setId(event.getPriceId());
+        cache.asMap().computeIfPresent(new TimelineKey(event.getSkuId(), event.getChannel()),
+                (key, timeline) -> timeline.plus(price));
+    }
+
+    /**
+     * 批量导入的价格写入事务提交后失效相关的时间线（一个 SKU 可能有多条记录，下次查询时重新加载）
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onPricesImported(SkuPricesImportedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        cache.invalidateAll(event.getPrices().stream()
+                .map(price -> new TimelineKey(price.getSkuId(), price.getChannel()))
+                .collect(Collectors.toSet()));
+    }
+
+    /**
+     * 加载 SKU 的价格时间线，没有价格记录的 SKU 也生成空时间线，避免反复查库
+     */
+    private Map<Long, PriceTimeline> load(List<Long> skuIds, ChannelType channel, LocalDateTime time) {
+        // 按秒对齐：时间线以秒为精度，该秒内仍有效的记录都需要加载
+        LocalDateTime from = time.truncatedTo(ChronoUnit.SECONDS);
+        Map<Long, List<SkuPrice>> pricesBySkuId = skuPriceRepository.findUnexpiredBySkuIds(skuIds, channel, from)
+                .stream()
+                .collect(Collectors.groupingBy(SkuPrice::getSkuId));
+        Map<Long, PriceTimeline> timelines = new HashMap<>();
+        for (Long skuId : skuIds) {
+            timelines.put(skuId, PriceTimeline.of(pricesBySkuId.getOrDefault(skuId, List.of()), from));
+        }
+        log.debug("加载价格时间线: channel={}, skus={}", channel, skuIds.size());
+        return timelines;
+    }
+
+    /**
+     * 加载 SKU 的完整历史时间线（包括已归档的记录），可以回答任意时刻的价格
+     */
+    private Map<Long, PriceTimeline> loadHistory(List<Long> skuIds, ChannelType channel) {
+        Map<Long, List<SkuPrice>> pricesBySkuId = skuPriceRepository.findHistoryBySkuIds(skuIds, channel)
+                .stream()
+                .collect(Collectors.groupingBy(SkuPrice::getSkuId));
+        Map<Long, PriceTimeline> timelines = new HashMap<>();
+        for (Long skuId : skuIds) {
+            timelines.put(skuId, PriceTimeline.of(pricesBySkuId.getOrDefault(skuId, List.of()), LocalDateTime.MIN));
+        }
+        log.debug("加载价格历史时间线: channel={}, skus={}", channel, skuIds.size());
+        return timelines;
+    }
+
+    /**
+     * 缓存键
+     */
+    @EqualsAndHashCode
+    @AllArgsConstructor
+    private static final class TimelineKey {
+        private final Long skuId;
+        private final ChannelType channel;
+    }
+}
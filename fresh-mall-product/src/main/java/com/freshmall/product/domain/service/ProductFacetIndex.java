@@ -0,0 +1,578 @@
+package com.freshmall.product.domain.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.freshmall.common.enums.ResultCode;
+import com.freshmall.common.exception.BusinessException;
+import com.freshmall.product.domain.aggregate.Attribute;
+import com.freshmall.product.domain.event.ProductIndexChangedEvent;
+import com.freshmall.product.domain.model.AttributeFacet;
+import com.freshmall.product.domain.model.AttributeType;
+import com.freshmall.product.domain.model.ProductIndex;
+import com.freshmall.product.domain.model.SpecFilter;
+import com.freshmall.product.domain.repository.AttributeRepository;
+import com.freshmall.product.domain.repository.ProductIndexRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.FastAggregation;
+import org.roaringbitmap.IntIterator;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+/**
+ * 商品规格位图索引
+ * 在内存中为每个 ENUM 属性值维护一个 SKU 位图，支持规格筛选和分面统计
+ *
+ * 设计说明：
+ * - SKU ID 是雪花 ID，位图使用本节点分配的连续整数文档号；属性值按（属性 ID, 值）字典编码为整数
+ * - 筛选：同一属性的多个值取并集，不同属性之间取交集，再与类目位图取交集；
+ *   候选 SKU 过多时不再以 IN 列表交给数据库，改为 spec_values 上的属性值条件
+ * - 分面统计：每个属性值的数量为位图交集基数，计算量取决于位图容器数而不是商品总数；
+ *   统计某个属性时不应用该属性自身的筛选条件，已选属性的其他值仍可见
+ * - 价格和库存过滤仍由数据库完成，分面统计只反映类目和规格筛选条件
+ * - 索引变更事务提交后记录受影响的类目，由定时任务按类目重新加载；整表变更（全量重建切换）时全量重新加载
+ * - 只有定时任务线程写入，读写通过读写锁隔离
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ProductFacetIndex {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private static final TypeReference<Map<String, String>> SPEC_VALUES_TYPE =
+            new TypeReference<Map<String, String>>() {};
+
+    private final ProductIndexRepository productIndexRepository;
+    private final AttributeRepository attributeRepository;
+
+    /**
+     * 每批加载的索引行数
+     */
+    @Value("${product.facet.batch-size:2000}")
+    private int batchSize;
+
+    /**
+     * 以候选 SKU 过滤的最大候选数（候选 SKU 以分块 IN 条件交给数据库继续过滤和排序），超过时改为按属性值条件过滤
+     */
+    @Value("${product.facet.max-candidates:10000}")
+    private int maxCandidates;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * 当前位图状态，读取需持有读锁，修改需持有写锁
+     */
+    private FacetState state = new FacetState();
+
+    /**
+     * 是否已完成首次加载
+     */
+    private volatile boolean ready;
+
+    /**
+     * 位图内容版本号，每次加载完成后递增，供搜索缓存区分新旧筛选结果
+     */
+    private final AtomicLong generation = new AtomicLong();
+
+    /**
+     * 等待重新加载的类目
+     */
+    private final Set<Long> dirtyCategories = ConcurrentHashMap.newKeySet();
+
+    /**
+     * 是否需要全量重新加载
+     */
+    private final AtomicBoolean fullReloadRequested = new AtomicBoolean();
+
+    /**
+     * 应用启动后安排首次全量加载（由定时任务执行，不阻塞启动）
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        fullReloadRequested.set(true);
+    }
+
+    /**
+     * 索引变更事务提交后记录受影响的类目（无事务时立即记录）
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onIndexChanged(ProductIndexChangedEvent event) {
+        if (event.isAllCategories()) {
+            fullReloadRequested.set(true);
+            return;
+        }
+        dirtyCategories.addAll(event.getCategoryIds());
+    }
+
+    /**
+     * 定时重新加载变更的类目
+     */
+    @Scheduled(fixedDelayString = "${product.facet.refresh-ms:2000}")
+    public void refresh() {
+        if (fullReloadRequested.getAndSet(false)) {
+            dirtyCategories.clear();
+            try {
+                reloadAll();
+            } catch (Exception e) {
+                fullReloadRequested.set(true);
+                log.error("规格位图全量加载失败", e);
+            }
+            return;
+        }
+
+        List<Long> categoryIds = new ArrayList<>(dirtyCategories);
+        if (categoryIds.isEmpty()) {
+            return;
+        }
+        dirtyCategories.removeAll(categoryIds);
+        try {
+            reloadCategories(categoryIds);
+        } catch (Exception e) {
+            dirtyCategories.addAll(categoryIds);
+            log.error("规格位图类目加载失败: categoryIds={}", categoryIds, e);
+        }
+    }
+
+    /**
+     * 是否已完成首次加载
+     *
+     * @return 是否可用
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * 位图内容版本号
+     *
+     * @return 版本号
+     */
+    public long getGeneration() {
+        return generation.get();
+    }
+
+    /**
+     * 按规格筛选条件计算规格过滤条件
+     * 候选 SKU 不超过上限时返回候选 SKU，否则返回解析出 ID 的属性值条件，由数据库与类目、价格、库存等条件一起过滤
+     *
+     * @param categoryId 类目 ID（可选）
+     * @param attributes 规格筛选条件：属性名称 -> 属性值列表（同一属性的值取并集，不同属性取交集）
+     * @return 规格过滤条件
+     * @throws BusinessException 位图尚未加载
+     */
+    public SpecFilter match(Long categoryId, Map<String, List<String>> attributes) {
+        checkReady();
+        lock.readLock().lock();
+        try {
+            RoaringBitmap candidates = state.baseDocs(categoryId).clone();
+            for (RoaringBitmap docs : state.resolveFilters(attributes).values()) {
+                candidates.and(docs);
+            }
+
+            int cardinality = candidates.getCardinality();
+            if (cardinality > maxCandidates) {
+                // 候选集合为空时不会走到这里，所有属性和属性值都能在字典中解析
+                return SpecFilter.ofAttributeValues(state.resolveAttributeValues(attributes));
+            }
+            List<Long> skuIds = new ArrayList<>(cardinality);
+            IntIterator iterator = candidates.getIntIterator();
+            while (iterator.hasNext()) {
+                skuIds.add(state.skuIdByDocId[iterator.next()]);
+            }
+            return SpecFilter.ofSkuIds(skuIds);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 统计规格分面
+     *
+     * @param categoryId 类目 ID（可选）
+     * @param attributes 规格筛选条件（可选）
+     * @return 各 ENUM 属性的属性值统计（不包含没有商品的属性）
+     */
+    public List<AttributeFacet> facets(Long categoryId, Map<String, List<String>> attributes) {
+        checkReady();
+        lock.readLock().lock();
+        try {
+            RoaringBitmap base = state.baseDocs(categoryId);
+            Map<Long, RoaringBitmap> filters = state.resolveFilters(attributes);
+
+            List<AttributeFacet> facets = new ArrayList<>();
+            for (Map.Entry<Long, Map<String, Integer>> entry : state.valueIdsByAttribute.entrySet()) {
+                Long attributeId = entry.getKey();
+                String attributeName = state.attributeNames.get(attributeId);
+                if (attributeName == null) {
+                    // 属性已删除或不再是 ENUM 类型
+                    continue;
+                }
+
+                // 不应用该属性自身的筛选条件
+                RoaringBitmap scope = base;
+                for (Map.Entry<Long, RoaringBitmap> filter : filters.entrySet()) {
+                    if (!filter.getKey().equals(attributeId)) {
+                        scope = RoaringBitmap.and(scope, filter.getValue());
+                    }
+                }
+
+                List<AttributeFacet.ValueCount> values = new ArrayList<>();
+                for (Map.Entry<String, Integer> value : entry.getValue().entrySet()) {
+                    int count = RoaringBitmap.andCardinality(scope, state.docsByValueId.get(value.getValue()));
+                    if (count > 0) {
+                        values.add(new AttributeFacet.ValueCount(value.getKey(), count));
+                    }
+                }
+                if (!values.isEmpty()) {
+                    values.sort(Comparator.comparing(AttributeFacet.ValueCount::getCount).reversed()
+                            .thenComparing(AttributeFacet.ValueCount::getValue));
+                    facets.add(new AttributeFacet(attributeId, attributeName, values));
+                }
+            }
+            facets.sort(Comparator.comparing(AttributeFacet::getAttributeId));
+            return facets;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 全量加载：在新状态上构建完成后整体替换
+     */
+    private void reloadAll() {
+        long start = System.currentTimeMillis();
+        FacetState loaded = new FacetState();
+        loaded.attributeNames = loadEnumAttributeNames();
+
+        Long afterId = null;
+        while (true) {
+            List<ProductIndex> rows = productIndexRepository.findSpecValuesAfter(null, afterId, batchSize);
+            for (ProductIndex row : rows) {
+                loaded.add(row.getSkuId(), row.getCategoryId(), parseSpecValues(row));
+            }
+            if (rows.size() < batchSize) {
+                break;
+            }
+            afterId = rows.get(rows.size() - 1).getId();
+        }
+        loaded.docsByCategory.values().forEach(docs -> {
+            docs.runOptimize();
+            loaded.liveDocs.or(docs);
+        });
+        loaded.docsByValueId.forEach(RoaringBitmap::runOptimize);
+
+        lock.writeLock().lock();
+        try {
+            state = loaded;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        ready = true;
+        generation.incrementAndGet();
+        log.info("规格位图全量加载完成: skus={}, values={}, 耗时 {} ms",
+                loaded.liveDocs.getCardinality(), loaded.docsByValueId.size(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * 按类目重新加载：先在锁外读取类目的索引行，再持有写锁替换该类目的位图
+     */
+    private void reloadCategories(List<Long> categoryIds) {
+        if (!ready) {
+            // 首次全量加载尚未完成，加载时会读到最新数据
+            return;
+        }
+
+        Map<Long, String> attributeNames = loadEnumAttributeNames();
+        Map<Long, List<ProductIndex>> rowsByCategory = new LinkedHashMap<>();
+        for (Long categoryId : categoryIds) {
+            List<ProductIndex> rows = new ArrayList<>();
+            Long afterId = null;
+            while (true) {
+                List<ProductIndex> batch = productIndexRepository.findSpecValuesAfter(categoryId, afterId, batchSize);
+                rows.addAll(batch);
+                if (batch.size() < batchSize) {
+                    break;
+                }
+                afterId = batch.get(batch.size() - 1).getId();
+            }
+            rowsByCategory.put(categoryId, rows);
+        }
+
+        boolean compact;
+        lock.writeLock().lock();
+        try {
+            state.attributeNames = attributeNames;
+            for (Map.Entry<Long, List<ProductIndex>> entry : rowsByCategory.entrySet()) {
+                state.replaceCategory(entry.getKey(), entry.getValue().stream()
+                        .map(row -> new Row(row.getSkuId(), parseSpecValues(row)))
+                        .collect(Collectors.toList()));
+            }
+            compact = state.needsCompaction();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        generation.incrementAndGet();
+
+        if (compact) {
+            // 已删除 SKU 占用的文档号过多，下次全量加载时重新分配
+            fullReloadRequested.set(true);
+        }
+        log.debug("规格位图类目加载完成: categoryIds={}", categoryIds);
+    }
+
+    /**
+     * 加载 ENUM 类型属性的名称（属性表很小，每次加载时全量读取）
+     */
+    private Map<Long, String> loadEnumAttributeNames() {
+        return attributeRepository.findAll().stream()
+                .filter(attribute -> attribute.getAttributeType() == AttributeType.ENUM)
+                .collect(Collectors.toMap(Attribute::getId, Attribute::getName, (a, b) -> a));
+    }
+
+    /**
+     * 解析索引行的规格属性值
+     */
+    private Map<Long, String> parseSpecValues(ProductIndex row) {
+        if (row.getSpecValues() == null || row.getSpecValues().isBlank()) {
+            return Map.of();
+        }
+        try {
+            Map<String, String> raw = OBJECT_MAPPER.readValue(row.getSpecValues(), SPEC_VALUES_TYPE);
+            Map<Long, String> values = new HashMap<>(raw.size());
+            raw.forEach((attributeId, value) -> values.put(Long.valueOf(attributeId), value));
+            return values;
+        } catch (JsonProcessingException | NumberFormatException e) {
+            log.warn("索引规格属性值格式错误，跳过: skuId={}", row.getSkuId());
+            return Map.of();
+        }
+    }
+
+    private void checkReady() {
+        if (!ready) {
+            throw new BusinessException(ResultCode.FACET_INDEX_LOADING);
+        }
+    }
+
+    /**
+     * 类目下一条索引行的规格数据
+     */
+    private static final class Row {
+
+        private final Long skuId;
+
+        private final Map<Long, String> specValues;
+
+        private Row(Long skuId, Map<Long, String> specValues) {
+            this.skuId = skuId;
+            this.specValues = specValues;
+        }
+    }
+
+    /**
+     * 位图状态
+     */
+    private static final class FacetState {
+
+        /**
+         * 未被任何类目占用的文档对应的类目 ID
+         */
+        private static final long NO_CATEGORY = 0L;
+
+        /**
+         * SKU ID -> 文档号（SKU 删除后文档号不回收，全量加载时重新分配）
+         */
+        private final Map<Long, Integer> docIdBySkuId = new HashMap<>();
+
+        /**
+         * 文档号 -> SKU ID
+         */
+        private long[] skuIdByDocId = new long[1024];
+
+        /**
+         * 文档号 -> 所在类目 ID
+         */
+        private long[] categoryIdByDocId = new long[1024];
+
+        private int nextDocId;
+
+        /**
+         * 所有可见 SKU 的文档
+         */
+        private final RoaringBitmap liveDocs = new RoaringBitmap();
+
+        /**
+         * 类目 ID -> 文档位图
+         */
+        private final Map<Long, RoaringBitmap> docsByCategory = new HashMap<>();
+
+        /**
+         * 字典：属性 ID -> (属性值 -> 属性值编号)
+         */
+        private final Map<Long, Map<String, Integer>> valueIdsByAttribute = new HashMap<>();
+
+        /**
+         * 属性值编号 -> 文档位图
+         */
+        private final List<RoaringBitmap> docsByValueId = new ArrayList<>();
+
+        /**
+         * ENUM 属性 ID -> 属性名称
+         */
+        private Map<Long, String> attributeNames = Map.of();
+
+        private RoaringBitmap baseDocs(Long categoryId) {
+            if (categoryId == null) {
+                return liveDocs;
+            }
+            RoaringBitmap docs = docsByCategory.get(categoryId);
+            return docs != null ? docs : new RoaringBitmap();
+        }
+
+        /**
+         * 把筛选条件解析为每个属性的文档位图（属性的多个值取并集）
+         * 未知的属性或属性值解析为空位图，筛选结果为空
+         */
+        private Map<Long, RoaringBitmap> resolveFilters(Map<String, List<String>> attributes) {
+            if (attributes == null || attributes.isEmpty()) {
+                return Map.of();
+            }
+            Map<String, Long> attributeIdByName = new HashMap<>();
+            attributeNames.forEach((id, name) -> attributeIdByName.put(name, id));
+
+            Map<Long, RoaringBitmap> filters = new HashMap<>();
+            long unknownKey = -1L;
+            for (Map.Entry<String, List<String>> entry : attributes.entrySet()) {
+                Long attributeId = attributeIdByName.get(entry.getKey());
+                Map<String, Integer> valueIds = attributeId != null
+                        ? valueIdsByAttribute.getOrDefault(attributeId, Map.of())
+                        : Map.of();
+                List<RoaringBitmap> bitmaps = entry.getValue().stream()
+                        .map(valueIds::get)
+                        .filter(valueId -> valueId != null)
+                        .map(docsByValueId::get)
+                        .collect(Collectors.toList());
+                RoaringBitmap docs = bitmaps.isEmpty()
+                        ? new RoaringBitmap()
+                        : FastAggregation.or(bitmaps.iterator());
+                filters.put(attributeId != null ? attributeId : unknownKey--, docs);
+            }
+            return filters;
+        }
+
+        /**
+         * 把筛选条件解析为属性 ID -> 字典中存在的属性值
+         */
+        private Map<Long, List<String>> resolveAttributeValues(Map<String, List<String>> attributes) {
+            Map<String, Long> attributeIdByName = new HashMap<>();
+            attributeNames.forEach((id, name) -> attributeIdByName.put(name, id));
+
+            Map<Long, List<String>> resolved = new LinkedHashMap<>();
+            for (Map.Entry<String, List<String>> entry : attributes.entrySet()) {
+                Long attributeId = attributeIdByName.get(entry.getKey());
+                Map<String, Integer> valueIds = valueIdsByAttribute.getOrDefault(attributeId, Map.of());
+                resolved.put(attributeId, entry.getValue().stream()
+                        .filter(valueIds::containsKey)
+                        .distinct()
+                        .collect(Collectors.toList()));
+            }
+            return resolved;
+        }
+
+        /**
+         * 全量加载时追加一个 SKU
+         */
+        private void add(Long skuId, Long categoryId, Map<Long, String> specValues) {
+            int docId = docIdOf(skuId);
+            categoryIdByDocId[docId] = categoryId;
+            docsByCategory.computeIfAbsent(categoryId, id -> new RoaringBitmap()).add(docId);
+            specValues.forEach((attributeId, value) -> docsByValueId.get(valueIdOf(attributeId, value)).add(docId));
+        }
+
+        /**
+         * 替换一个类目的全部文档
+         */
+        private void replaceCategory(Long categoryId, List<Row> rows) {
+            RoaringBitmap old = docsByCategory.remove(categoryId);
+            if (old != null) {
+                liveDocs.andNot(old);
+                docsByValueId.forEach(docs -> docs.andNot(old));
+            }
+
+            RoaringBitmap docs = new RoaringBitmap();
+            for (Row row : rows) {
+                int docId = docIdOf(row.skuId);
+                long previousCategoryId = categoryIdByDocId[docId];
+                if (previousCategoryId != NO_CATEGORY && previousCategoryId != categoryId && liveDocs.contains(docId)) {
+                    // SKU 从其他类目移入，先从原类目的位图中移除（原类目稍后重新加载时不再包含该文档）
+                    RoaringBitmap previous = docsByCategory.get(previousCategoryId);
+                    if (previous != null) {
+                        previous.remove(docId);
+                    }
+                    liveDocs.remove(docId);
+                    docsByValueId.forEach(valueDocs -> valueDocs.remove(docId));
+                }
+                categoryIdByDocId[docId] = categoryId;
+                docs.add(docId);
+                row.specValues.forEach((attributeId, value) ->
+                        docsByValueId.get(valueIdOf(attributeId, value)).add(docId));
+            }
+            if (!docs.isEmpty()) {
+                docsByCategory.put(categoryId, docs);
+                liveDocs.or(docs);
+            }
+        }
+
+        /**
+         * 已删除 SKU 占用的文档号超过可见 SKU 数时需要全量重新分配
+         */
+        private boolean needsCompaction() {
+            int live = liveDocs.getCardinality();
+            return nextDocId - live > Math.max(live, 100_000);
+        }
+
+        private int docIdOf(Long skuId) {
+            Integer docId = docIdBySkuId.get(skuId);
+            if (docId != null) {
+                return docId;
+            }
+            if (nextDocId == skuIdByDocId.length) {
+                skuIdByDocId = Arrays.copyOf(skuIdByDocId, skuIdByDocId.length * 2);
+                categoryIdByDocId = Arrays.copyOf(categoryIdByDocId, categoryIdByDocId.length * 2);
+            }
+            int newDocId = nextDocId++;
+            skuIdByDocId[newDocId] = skuId;
+            docIdBySkuId.put(skuId, newDocId);
+            return newDocId;
+        }
+
+        private int valueIdOf(Long attributeId, String value) {
+            return valueIdsByAttribute.computeIfAbsent(attributeId, id -> new HashMap<>())
+                    .computeIfAbsent(value, v -> {
+                        docsByValueId.add(new RoaringBitmap());
+                        return docsByValueId.size() - 1;
+                    });
+        }
+    }
+}
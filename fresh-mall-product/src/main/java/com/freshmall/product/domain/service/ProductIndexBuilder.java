@@ -0,0 +1,320 @@
+package com.freshmall.product.domain.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.freshmall.product.domain.aggregate.Attribute;
+import com.freshmall.product.domain.aggregate.CategoryAttribute;
+import com.freshmall.product.domain.aggregate.Spu;
+import com.freshmall.product.domain.model.AttributeType;
+import com.freshmall.product.domain.model.ChannelType;
+import com.freshmall.product.domain.model.ProductIndex;
+import com.freshmall.product.domain.model.Sku;
+import com.freshmall.product.domain.model.StockStatus;
+import com.freshmall.product.domain.price.SkuPrice;
+import com.freshmall.product.domain.repository.AttributeRepository;
+import com.freshmall.product.domain.repository.CategoryAttributeRepository;
+import com.freshmall.product.domain.repository.SkuPriceRepository;
+import com.freshmall.product.domain.repository.SkuStockRepository;
+import com.freshmall.product.domain.stock.SkuStock;
+import com.freshmall.product.domain.valueobject.MoneyCents;
+import com.freshmall.product.domain.valueobject.Specifications;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 商品索引构建服务
+ * 根据 SPU、SKU 以及批量加载的价格和库存在内存中构建索引记录
+ * 
+ * 增量更新（单个 SPU / SKU）和全量重建共用同一套构建逻辑，保证两条路径产出的索引一致
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ProductIndexBuilder {
+
+    /**
+     * 低库存阈值
+     */
+    private static final int LOW_STOCK_THRESHOLD = 10;
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final SkuPriceRepository skuPriceRepository;
+    private final SkuStockRepository skuStockRepository;
+    private final CategoryAttributeRepository categoryAttributeRepository;
+    private final AttributeRepository attributeRepository;
+
+    /**
+     * 为一批 SPU 的启用 SKU 构建索引
+     * 价格（所有渠道的有效价格）、库存和类目的 ENUM 属性各用一次 IN 查询加载
+     * 
+     * @param spus SPU 列表
+     * @param enabledSkus 这些 SPU 下所有启用的 SKU
+     * @return 索引列表（SKU 所属 SPU 不在 spus 中时跳过）
+     */
+    public List<ProductIndex> build(Collection<Spu> spus, List<Sku> enabledSkus) {
+        if (enabledSkus.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, Spu> spuById = spus.stream()
+                .collect(Collectors.toMap(Spu::getId, Function.identity(), (a, b) -> a));
+
+        // 批量加载所有 SKU 的有效价格（全部渠道）和库存
+        List<Long> skuIds = enabledSkus.stream()
+                .map(Sku::getId)
+                .collect(Collectors.toList());
+        LocalDateTime now = LocalDateTime.now();
+        Map<Long, List<SkuPrice>> pricesBySkuId = skuPriceRepository.findActivePricesBySkuIds(skuIds, now).stream()
+                .collect(Collectors.groupingBy(SkuPrice::getSkuId));
+        Map<Long, SkuStock> stockBySkuId = skuStockRepository.findBySkuIds(skuIds).stream()
+                .collect(Collectors.toMap(SkuStock::getSkuId, Function.identity(), (a, b) -> a));
+        Map<Long, List<Attribute>> enumAttributesByCategoryId = loadEnumAttributes(spuById.values().stream()
+                .map(Spu::getCategoryId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet()));
+
+        List<ProductIndex> indexes = new ArrayList<>(enabledSkus.size());
+        for (Sku sku : enabledSkus) {
+            Spu spu = spuById.get(sku.getSpuId());
+            if (spu == null) {
+                continue;
+            }
+            // 没有类目或类目下没有 ENUM 属性时不提取规格值（类目为空的映射不支持 null 键）
+            List<Attribute> enumAttributes = spu.getCategoryId() == null
+                    ? List.of()
+                    : enumAttributesByCategoryId.getOrDefault(spu.getCategoryId(), List.of());
+            indexes.add(buildProductIndex(spu, sku,
+                    pricesBySkuId.getOrDefault(sku.getId(), List.of()),
+                    stockBySkuId.get(sku.getId()),
+                    enumAttributes));
+        }
+        return indexes;
+    }
+
+    /**
+     * 为单个 SPU 的启用 SKU 构建索引
+     * 
+     * @param spu SPU 实体
+     * @param enabledSkus SPU 下启用的 SKU
+     * @return 索引列表
+     */
+    public List<ProductIndex> build(Spu spu, List<Sku> enabledSkus) {
+        return build(List.of(spu), enabledSkus);
+    }
+
+    /**
+     * 按当前有效价格重新计算已有索引的价格范围
+     * 价格用一次 IN 查询加载，只返回价格范围发生变化的索引
+     * 
+     * @param indexes 已有的商品索引
+     * @param now 当前时间
+     * @return 价格范围发生变化的索引（已更新 minPrice / maxPrice）
+     */
+    public List<ProductIndex> reprice(List<ProductIndex> indexes, LocalDateTime now) {
+        if (indexes.isEmpty()) {
+            return List.of();
+        }
+
+        List<Long> skuIds = indexes.stream()
+                .map(ProductIndex::getSkuId)
+                .collect(Collectors.toList());
+        Map<Long, List<SkuPrice>> pricesBySkuId = skuPriceRepository.findActivePricesBySkuIds(skuIds, now).stream()
+                .collect(Collectors.groupingBy(SkuPrice::getSkuId));
+
+        List<ProductIndex> changed = new ArrayList<>();
+        for (ProductIndex index : indexes) {
+            BigDecimal oldMin = index.getMinPrice();
+            BigDecimal oldMax = index.getMaxPrice();
+            Map<ChannelType, Long> oldChannelPrices = new EnumMap<>(ChannelType.class);
+            for (ChannelType channel : ChannelType.values()) {
+                oldChannelPrices.put(channel, index.getChannelPriceCents(channel));
+            }
+
+            applyPrices(index, pricesBySkuId.getOrDefault(index.getSkuId(), List.of()));
+
+            boolean channelChanged = false;
+            for (ChannelType channel : ChannelType.values()) {
+                channelChanged |= !Objects.equals(oldChannelPrices.get(channel), index.getChannelPriceCents(channel));
+            }
+            if (channelChanged || !samePrice(oldMin, index.getMinPrice()) || !samePrice(oldMax, index.getMaxPrice())) {
+                index.setContentHash(index.computeContentHash());
+                changed.add(index);
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * 构建商品索引
+     * 价格和库存由调用方批量加载后传入，构建过程不访问数据库
+     * 
+     * @param spu SPU 实体
+     * @param sku SKU 实体
+     * @param activePrices SKU 当前有效的价格（所有渠道）
+     * @param stock SKU 库存（没有库存记录时为 null）
+     * @param enumAttributes SPU 所属类目关联的 ENUM 类型属性
+     * @return 商品索引实体
+     */
+    private ProductIndex buildProductIndex(Spu spu, Sku sku, List<SkuPrice> activePrices, SkuStock stock,
+                                           List<Attribute> enumAttributes) {
+        // 构建索引实体
+        ProductIndex index = new ProductIndex();
+        index.setSpuId(spu.getId());
+        index.setSkuId(sku.getId());
+        index.setSpuName(spu.getName());
+        index.setCategoryId(spu.getCategoryId());
+        applyPrices(index, activePrices);
+        index.setStockStatus(calculateStockStatus(stock));
+        index.setSpecValues(extractSpecValues(sku, enumAttributes));
+        index.setPublishTime(spu.getPublishTime());
+        index.setSpuDeleted(spu.getDeleted() != null && spu.getDeleted() == 1);
+        index.setSkuEnabled(sku.getEnabled());
+        index.setContentHash(index.computeContentHash());
+
+        return index;
+    }
+
+    /**
+     * 根据有效价格设置索引的价格列
+     * - 价格范围：所有渠道中的最低价和最高价，没有有效价格时为 null
+     * - 渠道价格：每个渠道生效时间最晚的价格（与 PriceService 的有效价格规则一致），以分存储
+     * 一次遍历完成，价格按分比较，不做 BigDecimal 比较
+     * 
+     * @param index 商品索引
+     * @param activePrices SKU 当前有效的价格（所有渠道）
+     */
+    public void applyPrices(ProductIndex index, List<SkuPrice> activePrices) {
+        ChannelType[] channels = ChannelType.values();
+        SkuPrice[] latest = new SkuPrice[channels.length];
+        long[] latestCents = new long[channels.length];
+        long minCents = Long.MAX_VALUE;
+        long maxCents = Long.MIN_VALUE;
+        for (SkuPrice price : activePrices) {
+            long cents = MoneyCents.toCents(price.getPrice());
+            minCents = Math.min(minCents, cents);
+            maxCents = Math.max(maxCents, cents);
+            int ordinal = price.getChannel().ordinal();
+            if (latest[ordinal] == null || price.getStartTime().isAfter(latest[ordinal].getStartTime())) {
+                latest[ordinal] = price;
+                latestCents[ordinal] = cents;
+            }
+        }
+        for (ChannelType channel : channels) {
+            index.setChannelPriceCents(channel,
+                    latest[channel.ordinal()] != null ? latestCents[channel.ordinal()] : null);
+        }
+        boolean hasPrice = !activePrices.isEmpty();
+        index.setMinPrice(hasPrice ? MoneyCents.toAmount(minCents) : null);
+        index.setMaxPrice(hasPrice ? MoneyCents.toAmount(maxCents) : null);
+    }
+
+    /**
+     * 批量加载类目关联的 ENUM 类型属性
+     * 
+     * @param categoryIds 类目 ID 集合
+     * @return 类目 ID -> ENUM 属性列表
+     */
+    private Map<Long, List<Attribute>> loadEnumAttributes(Set<Long> categoryIds) {
+        List<CategoryAttribute> categoryAttributes = categoryAttributeRepository.findByCategoryIds(categoryIds);
+        if (categoryAttributes.isEmpty()) {
+            return Map.of();
+        }
+
+        List<Long> attributeIds = categoryAttributes.stream()
+                .map(CategoryAttribute::getAttributeId)
+                .distinct()
+                .collect(Collectors.toList());
+        Map<Long, Attribute> enumAttributes = attributeRepository.findByIds(attributeIds).stream()
+                .filter(attribute -> attribute.getAttributeType() == AttributeType.ENUM)
+                .collect(Collectors.toMap(Attribute::getId, Function.identity(), (a, b) -> a));
+
+        return categoryAttributes.stream()
+                .filter(categoryAttribute -> enumAttributes.containsKey(categoryAttribute.getAttributeId()))
+                .collect(Collectors.groupingBy(CategoryAttribute::getCategoryId,
+                        Collectors.mapping(categoryAttribute -> enumAttributes.get(categoryAttribute.getAttributeId()),
+                                Collectors.toList())));
+    }
+
+    /**
+     * 提取 SKU 规格中 ENUM 类型属性的值
+     * 规格以属性名称为键，索引中改用属性 ID 作为键，属性改名后不需要重建索引
+     * 
+     * @param sku SKU 实体
+     * @param enumAttributes 类目关联的 ENUM 类型属性
+     * @return 规格属性值 JSON（键有序），没有可索引的属性时为 null
+     */
+    private String extractSpecValues(Sku sku, List<Attribute> enumAttributes) {
+        if (enumAttributes.isEmpty() || sku.getSpecifications() == null || sku.getSpecifications().isBlank()) {
+            return null;
+        }
+
+        Specifications specs;
+        try {
+            specs = Specifications.fromJson(sku.getSpecifications());
+        } catch (IllegalArgumentException e) {
+            log.warn("SKU 规格格式错误，跳过规格索引: skuId={}", sku.getId());
+            return null;
+        }
+
+        Map<String, String> values = new TreeMap<>();
+        for (Attribute attribute : enumAttributes) {
+            Object value = specs.get(attribute.getName());
+            if (value != null) {
+                values.put(String.valueOf(attribute.getId()), value.toString());
+            }
+        }
+        if (values.isEmpty()) {
+            return null;
+        }
+        try {
+            return OBJECT_MAPPER.writeValueAsString(values);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("规格属性值序列化失败", e);
+        }
+    }
+
+    private boolean samePrice(BigDecimal a, BigDecimal b) {
+        if (a == null || b == null) {
+            return a == b;
+        }
+        return a.compareTo(b) == 0;
+    }
+
+    /**
+     * 计算库存状态
+     * 
+     * @param stock 库存实体（可能为 null）
+     * @return 库存状态
+     */
+    private StockStatus calculateStockStatus(SkuStock stock) {
+        if (stock == null) {
+            // 没有库存记录，视为无货
+            return StockStatus.OUT_OF_STOCK;
+        }
+
+        Integer availableStock = stock.getAvailableStock();
+
+        if (availableStock == null || availableStock == 0) {
+            return StockStatus.OUT_OF_STOCK;
+        } else if (availableStock < LOW_STOCK_THRESHOLD) {
+            return StockStatus.LOW_STOCK;
+        } else {
+            return StockStatus.IN_STOCK;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.freshmall.product.domain.service;
+
+import com.freshmall.product.domain.model.ProductIndexCheckStats;
+
+/**
+ * 商品索引一致性检查领域服务接口
+ * 按 SKU ID 顺序分批重新计算应有的索引，与索引表中的记录比对，发现差异时提交 SPU 索引任务修复
+ */
+public interface ProductIndexCheckService {
+
+    /**
+     * 发起一致性检查
+     * 重置检查进度并发布启动事件，由后台逐批检查
+     */
+    void startCheck();
+
+    /**
+     * 检查下一批 SKU，并为有差异的 SPU 提交索引任务
+     * 
+     * @return 是否还有未检查的 SKU
+     */
+    boolean checkNextChunk();
+
+    /**
+     * 标记检查失败
+     * 
+     * @param reason 失败原因
+     */
+    void failCheck(String reason);
+
+    /**
+     * 查询检查进度和差异统计
+     * 
+     * @return 检查统计
+     */
+    ProductIndexCheckStats getStats();
+}
@@ -0,0 +1,78 @@
+package com.freshmall.product.domain.service;
+
+import com.freshmall.product.domain.model.ProductIndexRebuild;
+import com.freshmall.product.domain.model.ProductIndexRebuildPartition;
+import com.freshmall.product.domain.model.ProductIndexRebuildProgress;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 商品索引全量重建领域服务接口
+ * 按 SPU ID 范围分区构建影子表，全部完成后原子切换为正式索引表
+ */
+public interface ProductIndexRebuildService {
+
+    /**
+     * 发起全量重建
+     * 创建影子表、重建记录和分区，并发布启动事件由后台并行构建
+     * 
+     * @return 重建记录
+     */
+    ProductIndexRebuild startRebuild();
+
+    /**
+     * 查询进行中的重建
+     * 
+     * @return 重建记录（如果存在）
+     */
+    Optional<ProductIndexRebuild> findRunning();
+
+    /**
+     * 查询重建的全部分区
+     * 
+     * @param rebuildId 重建 ID
+     * @return 分区列表
+     */
+    List<ProductIndexRebuildPartition> findPartitions(Long rebuildId);
+
+    /**
+     * 处理分区的下一批 SPU
+     * 构建索引写入影子表并推进分区游标，两者在同一事务中完成
+     * 
+     * @param partitionId 分区 ID
+     * @return 分区是否还有未处理的 SPU
+     */
+    boolean processNextChunk(Long partitionId);
+
+    /**
+     * 完成重建：切换影子表并为重建期间发生变更的 SPU 补偿索引任务
+     * 仍有分区未完成（其他节点在处理）时直接返回，由最后完成的节点切换
+     * 
+     * @param rebuildId 重建 ID
+     */
+    void completeRebuild(Long rebuildId);
+
+    /**
+     * 标记重建失败，正式索引表保持不变
+     * 
+     * @param rebuildId 重建 ID
+     * @param reason 失败原因
+     */
+    void failRebuild(Long rebuildId, String reason);
+
+    /**
+     * 查询重建进度
+     * 
+     * @param rebuildId 重建 ID
+     * @return 重建进度
+     */
+    ProductIndexRebuildProgress getProgress(Long rebuildId);
+
+    /**
+     * 查询最近一次重建的进度
+     * 
+     * @return 重建进度
+     */
+    ProductIndexRebuildProgress getLatestProgress();
+}
@@ -0,0 +1,76 @@
+package com.freshmall.product.domain.service;
+
+import com.freshmall.product.domain.model.ProductIndexTask;
+import com.freshmall.product.domain.model.ProductIndexTaskStats;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 商品索引任务领域服务接口
+ * 以事务性发件箱的方式记录索引重建请求，由后台工作线程在事务提交后异步消费
+ */
+public interface ProductIndexTaskService {
+
+    /**
+     * 记录 SKU 索引重建请求（加入调用方事务）
+     * 总是写入新任务，同一 SKU 的多条任务在认领时合并
+     * 
+     * @param skuId SKU ID
+     */
+    void enqueueSku(Long skuId);
+
+    /**
+     * 批量记录 SKU 索引重建请求（加入调用方事务）
+     * 去重后一条语句批量写入，与已有任务的合并在认领时进行
+     * 
+     * @param skuIds SKU ID 列表
+     */
+    void enqueueSkus(Collection<Long> skuIds);
+
+    /**
+     * 记录 SPU 索引重建请求（加入调用方事务）
+     * 总是写入新任务，同一 SPU 的多条任务在认领时合并
+     * 
+     * @param spuId SPU ID
+     */
+    void enqueueSpu(Long spuId);
+
+    /**
+     * 认领一批到期的待处理任务
+     * 同时认领这些目标的其余待处理任务，同一目标只处理一次
+     * 
+     * @param limit 最大认领数量
+     * @return 认领到的任务列表
+     */
+    List<ProductIndexTask> claimDueTasks(int limit);
+
+    /**
+     * 标记任务处理完成（删除任务记录）
+     * 
+     * @param tasks 已完成的任务（同一目标合并后的全部任务）
+     */
+    void completeTasks(List<ProductIndexTask> tasks);
+
+    /**
+     * 标记任务处理失败，按退避策略重新入队，超过最大次数后标记为失败
+     * 
+     * @param tasks 失败的任务
+     * @param error 失败原因
+     */
+    void failTasks(List<ProductIndexTask> tasks, String error);
+
+    /**
+     * 回收认领超时的任务
+     * 
+     * @return 回收的任务数量
+     */
+    int releaseStaleClaims();
+
+    /**
+     * 查询队列统计（深度、滞后、处理计数）
+     * 
+     * @return 队列统计
+     */
+    ProductIndexTaskStats getQueueStats();
+}
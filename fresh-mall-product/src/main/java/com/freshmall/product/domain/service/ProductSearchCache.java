@@ -0,0 +1,279 @@
+package com.freshmall.product.domain.service;
+
+import com.freshmall.product.domain.event.ProductIndexChangedEvent;
+import com.freshmall.product.domain.model.ChannelType;
+import com.freshmall.product.domain.model.ProductIndex;
+import com.freshmall.product.domain.model.ProductSearchField;
+import com.freshmall.product.domain.model.ProductSortType;
+import com.freshmall.product.domain.model.ProductSpuIndex;
+import com.freshmall.product.domain.model.StockStatus;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * 商品搜索结果缓存
+ *
+ * 设计说明：
+ * - 缓存键是规范化后的过滤条件（价格去掉尾随零，规格条件排序）加上版本号，SKU / SPU 搜索和计数分别缓存
+ * - SPU 级索引与 SKU 级索引在同一事务中提交，共用同一套版本号
+ * - 带规格筛选的查询额外包含规格位图版本号，位图在索引变更后异步刷新，刷新前后的结果不会混用
+ * - 缓存容量按结果行数计算（列表按元素数，计数按 1），少量大分页结果不会占满堆内存；写入后超过 TTL 自动过期
+ * - 指定类目的查询使用该类目的版本号，未指定类目的查询使用全局版本号
+ * - 索引行变更事务提交后递增受影响类目和全局版本号，旧版本的缓存项不再命中，由容量和 TTL 淘汰
+ * - 版本号只在本节点递增，其他节点写入的变更依靠 TTL 兜底
+ * - 搜索结果按返回字段分别缓存，只查询了部分列的结果不会被全字段查询命中
+ * - 同一键并发未命中时只有一个线程查库，其余线程等待其结果
+ */
+@Slf4j
+@Service
+public class ProductSearchCache {
+
+    private final Cache<SearchKey, Object> cache;
+
+    /**
+     * 是否启用缓存
+     */
+    private final boolean enabled;
+
+    /**
+     * 类目版本号
+     */
+    private final ConcurrentMap<Long, AtomicLong> categoryVersions = new ConcurrentHashMap<>();
+
+    /**
+     * 全局版本号：任意类目变更都会递增，用于未指定类目的查询
+     */
+    private final AtomicLong globalVersion = new AtomicLong();
+
+    /**
+     * 整表变更次数（全量重建切换等），所有缓存键都包含该值
+     */
+    private final AtomicLong epoch = new AtomicLong();
+
+    public ProductSearchCache(@Value("${product.search-cache.enabled:true}") boolean enabled,
+                              @Value("${product.search-cache.max-rows:200000}") long maxRows,
+                              @Value("${product.search-cache.ttl-seconds:60}") long ttlSeconds) {
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxRows)
+                .weigher((SearchKey key, Object value) ->
+                        value instanceof List ? Math.max(1, ((List<?>) value).size()) : 1)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+    }
+
+    /**
+     * 查询搜索结果，未命中时调用 loader 加载并缓存
+     *
+     * @param categoryId 类目 ID
+     * @param minPrice 最低价格
+     * @param maxPrice 最高价格
+     * @param stockStatus 库存状态
+     * @param channel 渠道
+     * @param attributes 规格筛选条件
+     * @param facetGeneration 规格位图版本号（没有规格筛选时传 0）
+     * @param sortType 排序方式
+     * @param offset 分页偏移量
+     * @param limit 分页大小
+     * @param fields 返回字段
+     * @param loader 加载函数
+     * @return 搜索结果（不可变列表）
+     */
+    @SuppressWarnings("unchecked")
+    public List<ProductIndex> getSearch(Long categoryId, BigDecimal minPrice, BigDecimal maxPrice,
+                                        StockStatus stockStatus, ChannelType channel,
+                                        Map<String, List<String>> attributes, long facetGeneration,
+                                        ProductSortType sortType, Integer offset, Integer limit,
+                                        Set<ProductSearchField> fields, Supplier<List<ProductIndex>> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+        SearchKey key = new SearchKey(QueryKind.SEARCH, categoryId, normalize(minPrice), normalize(maxPrice),
+                stockStatus, channel, normalize(attributes), facetGeneration,
+                sortType != null ? sortType : ProductSortType.DEFAULT, offset, limit, fields,
+                versionOf(categoryId), epoch.get());
+        return (List<ProductIndex>) cache.get(key, k -> List.copyOf(loader.get()));
+    }
+
+    /**
+     * 查询搜索结果总数，未命中时调用 loader 加载并缓存
+     *
+     * @param categoryId 类目 ID
+     * @param minPrice 最低价格
+     * @param maxPrice 最高价格
+     * @param stockStatus 库存状态
+     * @param channel 渠道
+     * @param attributes 规格筛选条件
+     * @param facetGeneration 规格位图版本号（没有规格筛选时传 0）
+     * @param loader 加载函数
+     * @return 总数
+     */
+    public Long getCount(Long categoryId, BigDecimal minPrice, BigDecimal maxPrice,
+                         StockStatus stockStatus, ChannelType channel,
+                         Map<String, List<String>> attributes, long facetGeneration, Supplier<Long> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+        SearchKey key = new SearchKey(QueryKind.COUNT, categoryId, normalize(minPrice), normalize(maxPrice),
+                stockStatus, channel, normalize(attributes), facetGeneration, null, null, null, null,
+                versionOf(categoryId), epoch.get());
+        return (Long) cache.get(key, k -> loader.get());
+    }
+
+    /**
+     * 查询 SPU 搜索结果，未命中时调用 loader 加载并缓存
+     *
+     * @param categoryId 类目 ID
+     * @param minPrice 最低价格
+     * @param maxPrice 最高价格
+     * @param stockStatus 库存状态
+     * @param channel 渠道
+     * @param attributes 规格筛选条件
+     * @param facetGeneration 规格位图版本号（没有规格筛选时传 0）
+     * @param sortType 排序方式
+     * @param offset 分页偏移量
+     * @param limit 分页大小
+     * @param fields 返回字段
+     * @param loader 加载函数
+     * @return 搜索结果（不可变列表）
+     */
+    @SuppressWarnings("unchecked")
+    public List<ProductSpuIndex> getSpuSearch(Long categoryId, BigDecimal minPrice, BigDecimal maxPrice,
+                                              StockStatus stockStatus, ChannelType channel,
+                                              Map<String, List<String>> attributes, long facetGeneration,
+                                              ProductSortType sortType, Integer offset, Integer limit,
+                                              Set<ProductSearchField> fields,
+                                              Supplier<List<ProductSpuIndex>> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+        SearchKey key = new SearchKey(QueryKind.SPU_SEARCH, categoryId, normalize(minPrice), normalize(maxPrice),
+                stockStatus, channel, normalize(attributes), facetGeneration,
+                sortType != null ? sortType : ProductSortType.DEFAULT, offset, limit, fields,
+                versionOf(categoryId), epoch.get());
+        return (List<ProductSpuIndex>) cache.get(key, k -> List.copyOf(loader.get()));
+    }
+
+    /**
+     * 查询 SPU 搜索结果总数，未命中时调用 loader 加载并缓存
+     *
+     * @param categoryId 类目 ID
+     * @param minPrice 最低价格
+     * @param maxPrice 最高价格
+     * @param stockStatus 库存状态
+     * @param channel 渠道
+     * @param attributes 规格筛选条件
+     * @param facetGeneration 规格位图版本号（没有规格筛选时传 0）
+     * @param loader 加载函数
+     * @return 总数
+     */
+    public Long getSpuCount(Long categoryId, BigDecimal minPrice, BigDecimal maxPrice,
+                            StockStatus stockStatus, ChannelType channel,
+                            Map<String, List<String>> attributes, long facetGeneration, Supplier<Long> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+        SearchKey key = new SearchKey(QueryKind.SPU_COUNT, categoryId, normalize(minPrice), normalize(maxPrice),
+                stockStatus, channel, normalize(attributes), facetGeneration, null, null, null, null,
+                versionOf(categoryId), epoch.get());
+        return (Long) cache.get(key, k -> loader.get());
+    }
+
+    /**
+     * 索引变更事务提交后递增版本号（无事务时立即递增）
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onIndexChanged(ProductIndexChangedEvent event) {
+        if (event.isAllCategories()) {
+            // 整表变更：所有缓存项失效，直接清空
+            epoch.incrementAndGet();
+            cache.invalidateAll();
+            log.info("索引整表变更，搜索缓存已清空");
+            return;
+        }
+        if (event.getCategoryIds().isEmpty()) {
+            return;
+        }
+        for (Long categoryId : event.getCategoryIds()) {
+            categoryVersions.computeIfAbsent(categoryId, id -> new AtomicLong()).incrementAndGet();
+        }
+        globalVersion.incrementAndGet();
+    }
+
+    /**
+     * 查询键对应的版本号：指定类目时取类目版本号，否则取全局版本号
+     */
+    private long versionOf(Long categoryId) {
+        if (categoryId == null) {
+            return globalVersion.get();
+        }
+        return categoryVersions.computeIfAbsent(categoryId, id -> new AtomicLong()).get();
+    }
+
+    /**
+     * 规范化价格：去掉尾随零，使 10、10.0、10.00 命中同一缓存项
+     */
+    private BigDecimal normalize(BigDecimal price) {
+        return price == null ? null : price.stripTrailingZeros();
+    }
+
+    /**
+     * 规范化规格筛选条件：属性和属性值排序、去重，使参数顺序不同的相同条件命中同一缓存项
+     */
+    private String normalize(Map<String, List<String>> attributes) {
+        if (attributes == null || attributes.isEmpty()) {
+            return null;
+        }
+        Map<String, Set<String>> sorted = new TreeMap<>();
+        attributes.forEach((name, values) -> sorted.put(name, new TreeSet<>(values)));
+        return sorted.toString();
+    }
+
+    private enum QueryKind {
+        SEARCH,
+        COUNT,
+        SPU_SEARCH,
+        SPU_COUNT
+    }
+
+    /**
+     * 缓存键
+     */
+    @EqualsAndHashCode
+    @AllArgsConstructor
+    private static final class SearchKey {
+        private final QueryKind kind;
+        private final Long categoryId;
+        private final BigDecimal minPrice;
+        private final BigDecimal maxPrice;
+        private final StockStatus stockStatus;
+        private final ChannelType channel;
+        private final String attributes;
+        private final long facetGeneration;
+        private final ProductSortType sortType;
+        private final Integer offset;
+        private final Integer limit;
+        private final Set<ProductSearchField> fields;
+        private final long version;
+        private final long epoch;
+    }
+}
@@ -0,0 +1,269 @@
+package com.freshmall.product.domain.service;
+
+import com.freshmall.product.domain.model.ChannelType;
+import com.freshmall.product.domain.model.ProductSortType;
+import com.freshmall.product.domain.model.SlowSearchQuery;
+import com.freshmall.product.domain.model.StockStatus;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * 商品搜索耗时统计
+ *
+ * 设计说明：
+ * - 每个搜索阶段（校验、查询、计数）按搜索模式（SKU / SPU）记录一个 Timer（product.search.stage），带百分位直方图，
+ *   共 3 × 2 个 Timer
+ * - 过滤条件的形状（是否指定类目、价格区间类型、规格条件个数等）组合数多，不作为标签，只记录在慢搜索中
+ * - 阶段执行期间本线程执行的 SQL 由 MyBatis 拦截器登记，耗时超过阈值时连同过滤条件写入慢搜索环形缓冲区
+ * - 只有缓存未命中、实际查库的搜索才会被记录
+ */
+@Slf4j
+@Service
+public class ProductSearchMetrics {
+
+    private static final String TIMER_NAME = "product.search.stage";
+
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * 慢搜索阈值（纳秒）
+     */
+    private final long slowThresholdNanos;
+
+    /**
+     * 慢搜索环形缓冲区，访问时需持有 slowQueries 锁
+     */
+    private final SlowSearchQuery[] slowQueries;
+
+    /**
+     * 下一条慢搜索写入的位置（累计写入条数），访问时需持有 slowQueries 锁
+     */
+    private long slowQueryCount;
+
+    /**
+     * 阶段 + 模式 -> Timer
+     */
+    private final ConcurrentMap<String, Timer> timers = new ConcurrentHashMap<>();
+
+    /**
+     * 当前线程正在记录的阶段执行的 SQL，不在记录中时为 null
+     */
+    private final ThreadLocal<List<String>> capturedSql = new ThreadLocal<>();
+
+    public ProductSearchMetrics(MeterRegistry meterRegistry,
+                                @Value("${product.search-metrics.slow-threshold-ms:200}") long slowThresholdMs,
+                                @Value("${product.search-metrics.slow-capacity:100}") int slowCapacity) {
+        this.meterRegistry = meterRegistry;
+        this.slowThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowThresholdMs);
+        this.slowQueries = new SlowSearchQuery[Math.max(1, slowCapacity)];
+    }
+
+    /**
+     * 根据过滤条件计算搜索形状
+     *
+     * @param spuMode 是否按 SPU 搜索
+     * @param categoryId 类目 ID
+     * @param minPrice 最低价格
+     * @param maxPrice 最高价格
+     * @param stockStatus 库存状态
+     * @param channel 渠道
+     * @param attributes 规格筛选条件
+     * @param sortType 排序方式（计数时为 null）
+     * @return 搜索形状
+     */
+    public SearchShape shapeOf(boolean spuMode, Long categoryId, BigDecimal minPrice, BigDecimal maxPrice,
+                               StockStatus stockStatus, ChannelType channel, Map<String, List<String>> attributes,
+                               ProductSortType sortType) {
+        String price;
+        if (minPrice != null && maxPrice != null) {
+            price = "range";
+        } else if (minPrice != null) {
+            price = "min";
+        } else if (maxPrice != null) {
+            price = "max";
+        } else {
+            price = "none";
+        }
+        int attributeCount = attributes == null ? 0 : attributes.size();
+        return new SearchShape(
+                spuMode ? "spu" : "sku",
+                categoryId != null,
+                price,
+                stockStatus != null,
+                channel != null ? channel.name() : "none",
+                attributeCount >= 3 ? "3+" : String.valueOf(attributeCount),
+                sortType != null ? sortType.name() : "none");
+    }
+
+    /**
+     * 执行并记录一个搜索阶段
+     *
+     * @param stage 搜索阶段
+     * @param shape 搜索形状
+     * @param filters 规范化后的过滤条件（只在慢搜索时计算）
+     * @param body 阶段逻辑
+     * @return 阶段结果
+     */
+    public <T> T record(SearchStage stage, SearchShape shape, Supplier<String> filters, Supplier<T> body) {
+        List<String> outer = capturedSql.get();
+        List<String> sql = new ArrayList<>();
+        capturedSql.set(sql);
+        long start = System.nanoTime();
+        try {
+            return body.get();
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            if (outer != null) {
+                // 嵌套阶段执行的 SQL 同样计入外层阶段
+                outer.addAll(sql);
+                capturedSql.set(outer);
+            } else {
+                capturedSql.remove();
+            }
+            timerOf(stage, shape).record(elapsed, TimeUnit.NANOSECONDS);
+            if (elapsed >= slowThresholdNanos) {
+                recordSlow(stage, shape, filters.get(), sql, elapsed);
+            }
+        }
+    }
+
+    /**
+     * 登记当前线程执行的 SQL（由 MyBatis 拦截器调用），不在记录阶段中时忽略
+     *
+     * @param sql SQL 语句
+     */
+    public void captureSql(String sql) {
+        List<String> captured = capturedSql.get();
+        if (captured != null) {
+            captured.add(sql);
+        }
+    }
+
+    /**
+     * 当前线程是否在记录阶段中
+     *
+     * @return 是否需要登记 SQL
+     */
+    public boolean isCapturing() {
+        return capturedSql.get() != null;
+    }
+
+    /**
+     * 查询慢搜索记录（最新的在前）
+     *
+     * @return 慢搜索记录
+     */
+    public List<SlowSearchQuery> getSlowQueries() {
+        synchronized (slowQueries) {
+            int size = (int) Math.min(slowQueryCount, slowQueries.length);
+            List<SlowSearchQuery> result = new ArrayList<>(size);
+            for (int i = 1; i <= size; i++) {
+                result.add(slowQueries[(int) ((slowQueryCount - i) % slowQueries.length)]);
+            }
+            return result;
+        }
+    }
+
+    /**
+     * 清空慢搜索记录
+     */
+    public void clearSlowQueries() {
+        synchronized (slowQueries) {
+            slowQueryCount = 0;
+            Arrays.fill(slowQueries, null);
+        }
+    }
+
+    private Timer timerOf(SearchStage stage, SearchShape shape) {
+        return timers.computeIfAbsent(stage.getTagValue() + ":" + shape.getMode(), key -> Timer.builder(TIMER_NAME)
+                .description("商品搜索各阶段耗时")
+                .tag("stage", stage.getTagValue())
+                .tag("mode", shape.getMode())
+                .publishPercentileHistogram()
+                .maximumExpectedValue(Duration.ofSeconds(10))
+                .register(meterRegistry));
+    }
+
+    private void recordSlow(SearchStage stage, SearchShape shape, String filters, List<String> sql, long elapsed) {
+        List<String> normalizedSql = new ArrayList<>(sql.size());
+        for (String statement : sql) {
+            normalizedSql.add(statement.replaceAll("\\s+", " ").trim());
+        }
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(elapsed);
+        SlowSearchQuery slowQuery = new SlowSearchQuery(LocalDateTime.now(), stage.getTagValue(), shape.getMode(),
+                shape.describe(), elapsedMillis, filters, normalizedSql);
+        synchronized (slowQueries) {
+            slowQueries[(int) (slowQueryCount % slowQueries.length)] = slowQuery;
+            slowQueryCount++;
+        }
+        log.warn("慢搜索: stage={}, mode={}, shape={}, elapsed={}ms, filters={}",
+                stage.getTagValue(), shape.getMode(), shape.describe(), elapsedMillis, filters);
+    }
+
+    /**
+     * 搜索阶段
+     */
+    @Getter
+    @AllArgsConstructor
+    public enum SearchStage {
+
+        /**
+         * 参数校验和候选集计算（类目校验、规格位图匹配）
+         */
+        VALIDATION("validation"),
+
+        /**
+         * 查询当前页
+         */
+        QUERY("query"),
+
+        /**
+         * 统计总数
+         */
+        COUNT("count");
+
+        private final String tagValue;
+    }
+
+    /**
+     * 搜索形状：过滤条件的种类，不包含具体取值
+     */
+    @Getter
+    @EqualsAndHashCode
+    @AllArgsConstructor
+    public static final class SearchShape {
+        private final String mode;
+        private final boolean category;
+        private final String price;
+        private final boolean stock;
+        private final String channel;
+        private final String attributes;
+        private final String sort;
+
+        /**
+         * 形状描述，记录在慢搜索中
+         */
+        public String describe() {
+            return "category=" + category + ",price=" + price + ",stock=" + stock + ",channel=" + channel
+                    + ",attributes=" + attributes + ",sort=" + sort;
+        }
+    }
+}
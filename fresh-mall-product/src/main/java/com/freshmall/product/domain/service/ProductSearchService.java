@@ -1,10 +1,18 @@
 package com.freshmall.product.domain.service;
 
+import com.freshmall.product.domain.model.AttributeFacet;
+import com.freshmall.product.domain.model.ChannelType;
 import com.freshmall.product.domain.model.ProductIndex;
+import com.freshmall.product.domain.model.ProductSearchField;
+import com.freshmall.product.domain.model.ProductSortType;
+import com.freshmall.product.domain.model.ProductSpuIndex;
 import com.freshmall.product.domain.model.StockStatus;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * 商品搜索领域服务接口
@@ -19,12 +27,18 @@ public interface ProductSearchService {
      * @param minPrice 最低价格（可选）
      * @param maxPrice 最高价格（可选）
      * @param stockStatus 库存状态（可选）
+     * @param channel 渠道（可选，指定后按该渠道价格过滤和排序）
+     * @param attributes 规格筛选条件（可选）：属性名称 -> 属性值列表，同一属性的值取并集，不同属性取交集
+     * @param sortType 排序方式（可选，默认按索引 ID）
      * @param offset 分页偏移量
      * @param limit 分页大小
-     * @return 商品索引列表
+     * @param fields 需要返回的字段（可选，为空时返回全部字段）
+     * @return 商品索引列表（未选中字段为 null）
      */
     List<ProductIndex> searchProducts(Long categoryId, BigDecimal minPrice, BigDecimal maxPrice,
-                                     StockStatus stockStatus, Integer offset, Integer limit);
+                                     StockStatus stockStatus, ChannelType channel,
+                                     Map<String, List<String>> attributes, ProductSortType sortType,
+                                     Integer offset, Integer limit, Set<ProductSearchField> fields);
 
     /**
      * 统计搜索结果总数
@@ -33,9 +47,56 @@ public interface ProductSearchService {
      * @param minPrice 最低价格（可选）
      * @param maxPrice 最高价格（可选）
      * @param stockStatus 库存状态（可选）
+     * @param channel 渠道（可选）
+     * @param attributes 规格筛选条件（可选）
      * @return 总数
      */
-    Long countSearchResults(Long categoryId, BigDecimal minPrice, BigDecimal maxPrice, StockStatus stockStatus);
+    Long countSearchResults(Long categoryId, BigDecimal minPrice, BigDecimal maxPrice, StockStatus stockStatus,
+                            ChannelType channel, Map<String, List<String>> attributes);
+
+    /**
+     * 按 SPU 聚合搜索商品（每个 SPU 一条，价格为所有可见 SKU 的价格区间，库存状态取最好的 SKU）
+     * 
+     * @param categoryId 类目 ID（可选）
+     * @param minPrice 最低价格（可选，与 SPU 价格区间有交集即命中）
+     * @param maxPrice 最高价格（可选）
+     * @param stockStatus 库存状态（可选，按 SPU 最好的库存状态过滤）
+     * @param channel 渠道（可选，指定后按该渠道的最低价格过滤和排序）
+     * @param attributes 规格筛选条件（可选，任一 SKU 命中即返回其 SPU）
+     * @param sortType 排序方式（可选，默认按 SPU ID）
+     * @param offset 分页偏移量
+     * @param limit 分页大小
+     * @param fields 需要返回的字段（可选，为空时返回全部字段）
+     * @return SPU 级索引列表（未选中字段为 null）
+     */
+    List<ProductSpuIndex> searchSpus(Long categoryId, BigDecimal minPrice, BigDecimal maxPrice,
+                                     StockStatus stockStatus, ChannelType channel,
+                                     Map<String, List<String>> attributes, ProductSortType sortType,
+                                     Integer offset, Integer limit, Set<ProductSearchField> fields);
+
+    /**
+     * 统计按 SPU 聚合的搜索结果总数（SPU 数）
+     * 
+     * @param categoryId 类目 ID（可选）
+     * @param minPrice 最低价格（可选）
+     * @param maxPrice 最高价格（可选）
+     * @param stockStatus 库存状态（可选）
+     * @param channel 渠道（可选）
+     * @param attributes 规格筛选条件（可选）
+     * @return SPU 数
+     */
+    Long countSpuSearchResults(Long categoryId, BigDecimal minPrice, BigDecimal maxPrice, StockStatus stockStatus,
+                               ChannelType channel, Map<String, List<String>> attributes);
+
+    /**
+     * 统计规格分面（类目下各 ENUM 属性值的商品数）
+     * 统计某个属性时不应用该属性自身的筛选条件；价格和库存条件不参与分面统计
+     * 
+     * @param categoryId 类目 ID（可选）
+     * @param attributes 规格筛选条件（可选）
+     * @return 规格分面列表
+     */
+    List<AttributeFacet> getAttributeFacets(Long categoryId, Map<String, List<String>> attributes);
 
     /**
      * 更新索引（SPU 发布时同步调用）
@@ -47,12 +108,37 @@ public interface ProductSearchService {
 
     /**
      * 异步更新索引（SKU 数据变更时）
-     * 更新单个 SKU 的索引记录
+     * 在调用方事务中记录索引任务，事务提交后由后台工作线程执行 {@link #updateSkuIndex(Long)}
      * 
      * @param skuId SKU ID
      */
     void asyncUpdateIndex(Long skuId);
 
+    /**
+     * 同步更新单个 SKU 的索引记录
+     * SKU 不存在、已禁用或 SPU 已删除时删除对应索引
+     * 
+     * @param skuId SKU ID
+     */
+    void updateSkuIndex(Long skuId);
+
+    /**
+     * 按 SPU 当前状态刷新索引
+     * SPU 不存在或未发布时删除全部索引，否则更新启用 SKU 的索引并删除其余 SKU 的残留索引
+     * 
+     * @param spuId SPU ID
+     */
+    void refreshSpuIndex(Long spuId);
+
+    /**
+     * 按当前有效价格批量刷新 SKU 索引的价格列
+     * 用于价格生效或失效时间到达时，只重算受影响 SKU 的价格范围
+     * 
+     * @param skuIds SKU ID 集合
+     * @return 价格范围发生变化的索引数
+     */
+    int refreshSkuPrices(Collection<Long> skuIds);
+
     /**
      * 删除索引（SPU 删除或下架时）
      * 
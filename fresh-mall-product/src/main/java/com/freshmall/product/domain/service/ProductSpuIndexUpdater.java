@@ -0,0 +1,44 @@
+package com.freshmall.product.domain.service;
+
+import com.freshmall.product.domain.event.ProductIndexChangedEvent;
+import com.freshmall.product.domain.repository.ProductSpuIndexRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * SPU 级索引维护
+ * 
+ * 设计说明：
+ * - SKU 级索引写入所在事务提交前，按受影响 SPU 的 SKU 行重算汇总行，两张表在同一事务中提交
+ * - 没有事务的写入（例如全量重建切换）在新事务中重算，重算期间查询看到的是旧的汇总行
+ * - 每次只重算受影响的少量 SPU，查询时不需要对 SKU 行做 GROUP BY
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ProductSpuIndexUpdater {
+
+    private final ProductSpuIndexRepository productSpuIndexRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * 重算受影响 SPU 的汇总行（有事务时加入该事务）
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onIndexChanged(ProductIndexChangedEvent event) {
+        if (event.isAllCategories()) {
+            long start = System.currentTimeMillis();
+            transactionTemplate.executeWithoutResult(status -> productSpuIndexRepository.refreshAll());
+            log.info("SPU 级索引全量重算完成: 耗时 {} ms", System.currentTimeMillis() - start);
+            return;
+        }
+        if (event.getSpuIds().isEmpty()) {
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> productSpuIndexRepository.refresh(event.getSpuIds()));
+    }
+}
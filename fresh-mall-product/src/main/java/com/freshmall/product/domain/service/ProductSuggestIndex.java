@@ -0,0 +1,548 @@
+package com.freshmall.product.domain.service;
+
+import com.freshmall.product.domain.event.ProductIndexChangedEvent;
+import com.freshmall.product.domain.model.ProductIndex;
+import com.freshmall.product.domain.model.ProductSuggestSnapshot;
+import com.freshmall.product.domain.model.ProductSuggestion;
+import com.freshmall.product.domain.model.StockStatus;
+import com.freshmall.product.domain.repository.ProductIndexRepository;
+import com.freshmall.product.domain.repository.ProductSuggestSnapshotRepository;
+import com.freshmall.product.domain.repository.SpuRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 搜索建议索引
+ * 基于 SPU 名称的前缀树，每个节点缓存前缀下热度最高的 N 个 SPU，输入前缀时直接返回节点缓存
+ *
+ * 设计说明：
+ * - 每个 SPU 以两个键插入前缀树：规范化名称（小写、去空白）和拼音首字母（如 "红富士苹果" -> "hfspg"）
+ * - 当前没有销量和点击数据，热度按可售 SKU 数加权（有货 2，库存紧张 1，无货 0）
+ * - 节点的 Top-N 由自身结尾的条目和子节点的 Top-N 合并得到；只有一个来源时直接复用其数组，
+ *   名称尾部的单链节点不额外占用空间
+ * - 全量加载和快照恢复先插入全部键，再后序遍历一次计算 Top-N；增量变更只重算受影响的键路径
+ * - 索引变更事务提交后记录受影响的 SPU，由定时任务批量重算，只更新这些 SPU 的键路径
+ * - 定期把全部条目写入快照；启动时加载快照，再重算快照之后发生变更的 SPU，不需要扫描索引表
+ * - 只有定时任务线程写入，读写通过读写锁隔离
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ProductSuggestIndex {
+
+    private static final Comparator<ProductSuggestion> RANKING =
+            Comparator.comparing(ProductSuggestion::getScore).reversed()
+                    .thenComparing(suggestion -> suggestion.getSpuName().length())
+                    .thenComparing(ProductSuggestion::getSpuId, Comparator.reverseOrder());
+
+    private final ProductIndexRepository productIndexRepository;
+    private final SpuRepository spuRepository;
+    private final ProductSuggestSnapshotRepository productSuggestSnapshotRepository;
+
+    /**
+     * 每个节点缓存的建议数
+     */
+    @Value("${product.suggest.top-n:10}")
+    private int topN;
+
+    /**
+     * 键的最大长度，超出部分不建立节点
+     */
+    @Value("${product.suggest.max-key-length:32}")
+    private int maxKeyLength;
+
+    /**
+     * 每批加载的索引行数 / SPU 数
+     */
+    @Value("${product.suggest.batch-size:2000}")
+    private int batchSize;
+
+    /**
+     * 快照间隔（毫秒）
+     */
+    @Value("${product.suggest.snapshot-interval-ms:600000}")
+    private long snapshotIntervalMs;
+
+    /**
+     * 快照最长有效期（毫秒），超过后启动时全量加载
+     */
+    @Value("${product.suggest.max-snapshot-age-ms:86400000}")
+    private long maxSnapshotAgeMs;
+
+    /**
+     * 补齐快照之后的变更时向前多回溯的时间（毫秒），覆盖快照时尚未处理的变更
+     */
+    @Value("${product.suggest.catch-up-slack-ms:60000}")
+    private long catchUpSlackMs;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * 前缀树，读取需持有读锁，修改需持有写锁
+     */
+    private Node root = new Node();
+
+    /**
+     * SPU ID -> 当前条目
+     */
+    private Map<Long, ProductSuggestion> suggestions = new HashMap<>();
+
+    private volatile boolean ready;
+
+    private volatile boolean started;
+
+    private final Set<Long> dirtySpuIds = ConcurrentHashMap.newKeySet();
+
+    private final AtomicBoolean fullReloadRequested = new AtomicBoolean();
+
+    /**
+     * 上次快照之后是否有变更（只由定时任务线程访问）
+     */
+    private boolean changedSinceSnapshot;
+
+    private LocalDateTime lastSnapshotTime = LocalDateTime.now();
+
+    /**
+     * 应用启动后安排初始化（由定时任务执行，不阻塞启动）
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        started = true;
+    }
+
+    /**
+     * 索引变更事务提交后记录受影响的 SPU（无事务时立即记录）
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onIndexChanged(ProductIndexChangedEvent event) {
+        if (event.isAllCategories()) {
+            fullReloadRequested.set(true);
+            return;
+        }
+        dirtySpuIds.addAll(event.getSpuIds());
+    }
+
+    /**
+     * 定时处理变更，并按间隔保存快照
+     */
+    @Scheduled(fixedDelayString = "${product.suggest.refresh-ms:2000}")
+    public synchronized void refresh() {
+        if (!started) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        try {
+            if (!ready) {
+                initialize(now);
+            } else if (fullReloadRequested.getAndSet(false)) {
+                dirtySpuIds.clear();
+                reloadAll();
+            } else if (!dirtySpuIds.isEmpty()) {
+                List<Long> spuIds = new ArrayList<>(dirtySpuIds);
+                dirtySpuIds.removeAll(spuIds);
+                try {
+                    refreshSpus(spuIds);
+                } catch (Exception e) {
+                    dirtySpuIds.addAll(spuIds);
+                    throw e;
+                }
+            }
+        } catch (Exception e) {
+            log.error("搜索建议索引刷新失败", e);
+            return;
+        }
+
+        if (ready && changedSinceSnapshot
+                && Duration.between(lastSnapshotTime, now).toMillis() >= snapshotIntervalMs) {
+            saveSnapshot(now);
+        }
+    }
+
+    /**
+     * 停机前保存快照
+     */
+    @PreDestroy
+    public synchronized void shutdown() {
+        if (ready && changedSinceSnapshot) {
+            saveSnapshot(LocalDateTime.now());
+        }
+    }
+
+    /**
+     * 查询前缀建议
+     *
+     * @param prefix 输入前缀（名称或拼音首字母）
+     * @param limit 返回数量（不超过每个节点缓存的建议数）
+     * @return 按热度排序的建议，索引未就绪时为空
+     */
+    public List<ProductSuggestion> suggest(String prefix, int limit) {
+        String key = normalize(prefix);
+        if (key.isEmpty() || limit <= 0 || !ready) {
+            return List.of();
+        }
+        if (key.length() > maxKeyLength) {
+            key = key.substring(0, maxKeyLength);
+        }
+
+        lock.readLock().lock();
+        try {
+            Node node = root;
+            for (int i = 0; i < key.length() && node != null; i++) {
+                node = node.child(key.charAt(i));
+            }
+            if (node == null) {
+                return List.of();
+            }
+            return List.of(Arrays.copyOf(node.top, Math.min(limit, node.top.length)));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 初始化：优先从快照恢复并补齐之后的变更，快照不存在或过旧时全量加载
+     */
+    private void initialize(LocalDateTime now) {
+        Optional<ProductSuggestSnapshot> snapshot = productSuggestSnapshotRepository.load()
+                .filter(s -> Duration.between(s.getSnapshotTime(), now).toMillis() <= maxSnapshotAgeMs);
+        if (snapshot.isEmpty()) {
+            reloadAll();
+            return;
+        }
+
+        long start = System.currentTimeMillis();
+        Map<Long, ProductSuggestion> loadedSuggestions = new HashMap<>();
+        for (ProductSuggestion suggestion : snapshot.get().getSuggestions()) {
+            loadedSuggestions.put(suggestion.getSpuId(), suggestion);
+        }
+        replace(build(loadedSuggestions.values()), loadedSuggestions);
+
+        // 补齐快照之后发生变更的 SPU
+        LocalDateTime since = snapshot.get().getSnapshotTime().minus(Duration.ofMillis(catchUpSlackMs));
+        List<Long> changedSpuIds = spuRepository.findIdsChangedSince(since);
+        refreshSpus(changedSpuIds);
+        lastSnapshotTime = snapshot.get().getSnapshotTime();
+        log.info("搜索建议索引从快照恢复: 快照时间 {}, 条目 {}, 补齐 SPU {}, 耗时 {} ms",
+                snapshot.get().getSnapshotTime(), loadedSuggestions.size(), changedSpuIds.size(),
+                System.currentTimeMillis() - start);
+    }
+
+    /**
+     * 全量加载：扫描可见索引行，按 SPU 汇总后构建新的前缀树并整体替换
+     */
+    private void reloadAll() {
+        long start = System.currentTimeMillis();
+        LocalDateTime snapshotTime = LocalDateTime.now();
+        Map<Long, ProductSuggestion> loadedSuggestions = new HashMap<>();
+        Long afterId = null;
+        while (true) {
+            List<ProductIndex> rows = productIndexRepository.findSuggestRowsAfter(afterId, batchSize);
+            for (ProductIndex row : rows) {
+                loadedSuggestions.merge(row.getSpuId(),
+                        new ProductSuggestion(row.getSpuId(), row.getSpuName(), scoreOf(row.getStockStatus())),
+                        (a, b) -> new ProductSuggestion(a.getSpuId(), a.getSpuName(), a.getScore() + b.getScore()));
+            }
+            if (rows.size() < batchSize) {
+                break;
+            }
+            afterId = rows.get(rows.size() - 1).getId();
+        }
+
+        replace(build(loadedSuggestions.values()), loadedSuggestions);
+        saveSnapshot(snapshotTime);
+        log.info("搜索建议索引全量加载完成: 条目 {}, 耗时 {} ms",
+                loadedSuggestions.size(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * 按 SPU 当前的索引行重算条目，没有可见索引行的 SPU 移除
+     */
+    private void refreshSpus(List<Long> spuIds) {
+        for (int from = 0; from < spuIds.size(); from += batchSize) {
+            List<Long> batch = spuIds.subList(from, Math.min(from + batchSize, spuIds.size()));
+            Map<Long, ProductSuggestion> computed = new LinkedHashMap<>();
+            for (ProductIndex row : productIndexRepository.findBySpuIds(batch)) {
+                if (!row.isVisible()) {
+                    continue;
+                }
+                computed.merge(row.getSpuId(),
+                        new ProductSuggestion(row.getSpuId(), row.getSpuName(), scoreOf(row.getStockStatus())),
+                        (a, b) -> new ProductSuggestion(a.getSpuId(), a.getSpuName(), a.getScore() + b.getScore()));
+            }
+
+            lock.writeLock().lock();
+            try {
+                for (Long spuId : batch) {
+                    ProductSuggestion previous = suggestions.get(spuId);
+                    ProductSuggestion current = computed.get(spuId);
+                    if (previous != null && previous.equals(current)) {
+                        continue;
+                    }
+                    if (previous != null) {
+                        remove(root, previous);
+                        suggestions.remove(spuId);
+                    }
+                    if (current != null) {
+                        insert(root, current);
+                        suggestions.put(spuId, current);
+                    }
+                    changedSinceSnapshot = true;
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    private void replace(Node loaded, Map<Long, ProductSuggestion> loadedSuggestions) {
+        lock.writeLock().lock();
+        try {
+            root = loaded;
+            suggestions = loadedSuggestions;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        ready = true;
+    }
+
+    private void saveSnapshot(LocalDateTime snapshotTime) {
+        List<ProductSuggestion> entries;
+        lock.readLock().lock();
+        try {
+            entries = new ArrayList<>(suggestions.values());
+        } finally {
+            lock.readLock().unlock();
+        }
+        productSuggestSnapshotRepository.save(new ProductSuggestSnapshot(snapshotTime, entries));
+        lastSnapshotTime = snapshotTime;
+        changedSinceSnapshot = false;
+        log.debug("搜索建议快照已保存: 条目 {}", entries.size());
+    }
+
+    private long scoreOf(StockStatus stockStatus) {
+        if (stockStatus == StockStatus.IN_STOCK) {
+            return 2;
+        }
+        return stockStatus == StockStatus.LOW_STOCK ? 1 : 0;
+    }
+
+    /**
+     * 条目的键：规范化名称和拼音首字母（相同时只保留一个）
+     */
+    private Set<String> keysOf(ProductSuggestion suggestion) {
+        Set<String> keys = new LinkedHashSet<>();
+        String name = normalize(suggestion.getSpuName());
+        if (!name.isEmpty()) {
+            keys.add(truncate(name));
+            keys.add(truncate(PinyinInitials.of(name)));
+        }
+        return keys;
+    }
+
+    private String truncate(String key) {
+        return key.length() > maxKeyLength ? key.substring(0, maxKeyLength) : key;
+    }
+
+    private String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        return text.replaceAll("\\s+", "").toLowerCase();
+    }
+
+    /**
+     * 批量构建前缀树：先插入全部条目的键，再自底向上一次计算所有节点的 Top-N
+     * 逐条插入时每条都要沿键路径重算到根节点，根节点附近的合并排序会重复执行条目数次
+     */
+    private Node build(Collection<ProductSuggestion> entries) {
+        Node trie = new Node();
+        for (ProductSuggestion suggestion : entries) {
+            for (String key : keysOf(suggestion)) {
+                addTerminal(trie, key, suggestion);
+            }
+        }
+        recomputeAll(trie);
+        return trie;
+    }
+
+    /**
+     * 增量插入：插入键后沿键路径重算 Top-N
+     */
+    private void insert(Node trie, ProductSuggestion suggestion) {
+        for (String key : keysOf(suggestion)) {
+            Node[] path = addTerminal(trie, key, suggestion);
+            for (int i = key.length(); i >= 0; i--) {
+                recompute(path[i]);
+            }
+        }
+    }
+
+    /**
+     * 创建键路径上的节点并把条目加入键结尾节点
+     *
+     * @return 键路径上的节点（第 0 个为根节点）
+     */
+    private Node[] addTerminal(Node trie, String key, ProductSuggestion suggestion) {
+        Node[] path = new Node[key.length() + 1];
+        path[0] = trie;
+        for (int i = 0; i < key.length(); i++) {
+            path[i + 1] = path[i].childOrCreate(key.charAt(i));
+        }
+        Node last = path[key.length()];
+        last.terminals = append(last.terminals, suggestion);
+        return path;
+    }
+
+    private void remove(Node trie, ProductSuggestion suggestion) {
+        for (String key : keysOf(suggestion)) {
+            Node[] path = new Node[key.length() + 1];
+            path[0] = trie;
+            for (int i = 0; i < key.length() && path[i] != null; i++) {
+                path[i + 1] = path[i].child(key.charAt(i));
+            }
+            Node last = path[key.length()];
+            if (last == null) {
+                continue;
+            }
+            last.terminals = Arrays.stream(last.terminals)
+                    .filter(existing -> !existing.getSpuId().equals(suggestion.getSpuId()))
+                    .toArray(ProductSuggestion[]::new);
+            for (int i = key.length(); i >= 0; i--) {
+                Node node = path[i];
+                if (i > 0 && node.terminals.length == 0 && node.labels.length == 0) {
+                    // 没有条目也没有子节点，从父节点移除
+                    path[i - 1].removeChild(key.charAt(i - 1));
+                } else {
+                    recompute(node);
+                }
+            }
+        }
+    }
+
+    /**
+     * 后序遍历重算子树所有节点的 Top-N（深度不超过键的最大长度）
+     */
+    private void recomputeAll(Node node) {
+        for (Node child : node.children) {
+            recomputeAll(child);
+        }
+        recompute(node);
+    }
+
+    /**
+     * 重算节点的 Top-N：自身结尾的条目和子节点 Top-N 合并、按 SPU 去重后取前 N 个
+     */
+    private void recompute(Node node) {
+        if (node.terminals.length == 0 && node.children.length == 1) {
+            // 单链节点直接复用子节点的数组（数组创建后不再修改）
+            node.top = node.children[0].top;
+            return;
+        }
+        Map<Long, ProductSuggestion> merged = new HashMap<>();
+        for (ProductSuggestion suggestion : node.terminals) {
+            merged.putIfAbsent(suggestion.getSpuId(), suggestion);
+        }
+        for (Node child : node.children) {
+            for (ProductSuggestion suggestion : child.top) {
+                merged.putIfAbsent(suggestion.getSpuId(), suggestion);
+            }
+        }
+        node.top = merged.values().stream()
+                .sorted(RANKING)
+                .limit(topN)
+                .toArray(ProductSuggestion[]::new);
+    }
+
+    private static ProductSuggestion[] append(ProductSuggestion[] array, ProductSuggestion suggestion) {
+        ProductSuggestion[] result = Arrays.copyOf(array, array.length + 1);
+        result[array.length] = suggestion;
+        return result;
+    }
+
+    /**
+     * 前缀树节点，子节点按字符有序存放，二分查找
+     */
+    private static final class Node {
+
+        private static final char[] NO_LABELS = new char[0];
+        private static final Node[] NO_CHILDREN = new Node[0];
+        private static final ProductSuggestion[] NO_SUGGESTIONS = new ProductSuggestion[0];
+
+        private char[] labels = NO_LABELS;
+        private Node[] children = NO_CHILDREN;
+
+        /**
+         * 键在此节点结束的条目
+         */
+        private ProductSuggestion[] terminals = NO_SUGGESTIONS;
+
+        /**
+         * 以此节点为前缀的热度最高的条目
+         */
+        private ProductSuggestion[] top = NO_SUGGESTIONS;
+
+        private Node child(char label) {
+            int index = Arrays.binarySearch(labels, label);
+            return index >= 0 ? children[index] : null;
+        }
+
+        private Node childOrCreate(char label) {
+            int index = Arrays.binarySearch(labels, label);
+            if (index >= 0) {
+                return children[index];
+            }
+            int insertAt = -index - 1;
+            char[] newLabels = new char[labels.length + 1];
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(labels, 0, newLabels, 0, insertAt);
+            System.arraycopy(children, 0, newChildren, 0, insertAt);
+            newLabels[insertAt] = label;
+            newChildren[insertAt] = new Node();
+            System.arraycopy(labels, insertAt, newLabels, insertAt + 1, labels.length - insertAt);
+            System.arraycopy(children, insertAt, newChildren, insertAt + 1, children.length - insertAt);
+            labels = newLabels;
+            children = newChildren;
+            return newChildren[insertAt];
+        }
+
+        private void removeChild(char label) {
+            int index = Arrays.binarySearch(labels, label);
+            if (index < 0) {
+                return;
+            }
+            char[] newLabels = new char[labels.length - 1];
+            Node[] newChildren = new Node[children.length - 1];
+            System.arraycopy(labels, 0, newLabels, 0, index);
+            System.arraycopy(children, 0, newChildren, 0, index);
+            System.arraycopy(labels, index + 1, newLabels, index, labels.length - index - 1);
+            System.arraycopy(children, index + 1, newChildren, index, children.length - index - 1);
+            labels = newLabels;
+            children = newChildren;
+        }
+    }
+}
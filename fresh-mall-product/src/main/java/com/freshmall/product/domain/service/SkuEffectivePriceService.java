@@ -0,0 +1,62 @@
+package com.freshmall.product.domain.service;
+
+import com.freshmall.product.domain.model.ChannelType;
+import com.freshmall.product.domain.price.PriceMatrix;
+import com.freshmall.product.domain.price.SkuPriceCents;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * SKU 当前有效价格领域服务接口
+ * 维护 t_sku_effective_price，当前价格查询按主键读取，不扫描历史价格记录
+ */
+public interface SkuEffectivePriceService {
+
+    /**
+     * 价格记录写入后标记待刷新（与价格写入在同一事务中调用）
+     * 事务提交后重新计算，计算失败的行由调度器刷新
+     * 
+     * @param skuId SKU ID
+     * @param channel 销售渠道
+     */
+    void markChanged(Long skuId, ChannelType channel);
+
+    /**
+     * 批量导入价格后标记同一渠道的多个 SKU 待刷新（与价格写入在同一事务中调用）
+     * 不在提交后逐个重新计算，由调度器分批刷新；刷新前的读取按价格记录查询，结果一致
+     * 
+     * @param skuIds SKU ID 列表
+     * @param channel 销售渠道
+     */
+    void markChanged(Collection<Long> skuIds, ChannelType channel);
+
+    /**
+     * 刷新一批下一次变化时间已到期的行
+     * 
+     * @param now 当前时间
+     * @param limit 每批最大条数
+     * @return 本批读取的行数（小于 limit 表示已全部刷新）
+     */
+    int refreshDue(LocalDateTime now, int limit);
+
+    /**
+     * 批量查询多个 SKU 在指定渠道的当前价格
+     * 
+     * @param skuIds SKU ID 列表
+     * @param channel 销售渠道
+     * @param now 当前时间
+     * @return SKU 价格（分），没有有效价格的 SKU 不包含在结果中
+     */
+    SkuPriceCents getPriceCents(List<Long> skuIds, ChannelType channel, LocalDateTime now);
+
+    /**
+     * 把多个 SKU 在矩阵全部渠道上的当前价格写入价格矩阵（所有渠道一次查询）
+     * 
+     * @param matrix 价格矩阵
+     * @param skuIds 需要查询的 SKU ID 列表（矩阵中的 SKU）
+     * @param now 当前时间
+     */
+    void fillPriceMatrix(PriceMatrix matrix, List<Long> skuIds, LocalDateTime now);
+}
@@ -0,0 +1,46 @@
+package com.freshmall.product.domain.service.impl;
+
+import com.freshmall.product.domain.repository.SkuPriceRepository;
+import com.freshmall.product.domain.service.PriceArchiveService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 价格归档领域服务实现
+ *
+ * 设计说明：
+ * - 只归档失效时间早于保留期起点的记录：这些记录不会再参与当前价格、未来价格和价格时间线的计算
+ * - 每批在一个短事务中锁定（SKIP LOCKED，多节点互不等待）、复制到归档表、物理删除，锁持有时间与批大小成正比
+ * - 可选地把未删除的记录累加到 (SKU, 渠道) 汇总，保留历史价格的概况
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PriceArchiveServiceImpl implements PriceArchiveService {
+
+    private final SkuPriceRepository skuPriceRepository;
+
+    /**
+     * 是否维护归档汇总
+     */
+    @Value("${product.price-archive.summary-enabled:true}")
+    private boolean summaryEnabled;
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public int archiveBatch(LocalDateTime cutoff, int limit) {
+        List<Long> ids = skuPriceRepository.lockArchivableIds(cutoff, limit);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        int archived = skuPriceRepository.archiveByIds(ids, summaryEnabled);
+        log.debug("归档价格记录: cutoff={}, locked={}, archived={}", cutoff, ids.size(), archived);
+        return ids.size();
+    }
+}
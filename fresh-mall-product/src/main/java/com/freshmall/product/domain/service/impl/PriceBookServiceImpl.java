@@ -0,0 +1,195 @@
+package com.freshmall.product.domain.service.impl;
+
+import com.freshmall.product.domain.model.ChannelType;
+import com.freshmall.product.domain.price.PriceBookFile;
+import com.freshmall.product.domain.price.PriceTimeline;
+import com.freshmall.product.domain.price.SkuPrice;
+import com.freshmall.product.domain.repository.SkuPriceRepository;
+import com.freshmall.product.domain.service.PriceBookService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * 价格册领域服务实现
+ *
+ * 设计说明：
+ * - 按 SKU ID 游标分页读取 t_sku_price（每页只查询 SKU ID 和这些 SKU 未失效的价格记录），
+ *   逐页展开为价格时间线并顺序写出，堆内存只与页大小有关，与 SKU 总数无关
+ * - 每个 SKU 导出生成时刻及之后的全部价格区间（包括已排期的未来价格），生效规则与价格时间线一致
+ * - 全量文件先写临时文件，增量由上一版本全量文件与新文件按 SKU ID 归并比较生成（两个文件都是顺序读取），
+ *   最后原子替换全量文件，读取方不会看到写了一半的文件
+ * - 增量文件按 {base}-{generatedAt} 命名，终端可以按顺序应用多个增量追上最新版本；只保留最近若干个
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PriceBookServiceImpl implements PriceBookService {
+
+    private static final String FILE_SUFFIX = ".bin";
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private final SkuPriceRepository skuPriceRepository;
+
+    /**
+     * 输出目录
+     */
+    @Value("${product.price-book.dir:./data/price-book}")
+    private String directory;
+
+    /**
+     * 每页读取的 SKU 数
+     */
+    @Value("${product.price-book.page-size:500}")
+    private int pageSize;
+
+    /**
+     * 保留的增量文件数
+     */
+    @Value("${product.price-book.keep-deltas:48}")
+    private int keepDeltas;
+
+    @Override
+    public long generate(ChannelType channel, LocalDateTime now) {
+        String prefix = channel.name().toLowerCase(Locale.ROOT) + "-price-book";
+        long generatedAt = now.toEpochSecond(ZoneOffset.UTC);
+        Path dir = Paths.get(directory);
+        Path current = dir.resolve(prefix + FILE_SUFFIX);
+        Path full = dir.resolve(prefix + FILE_SUFFIX + TEMP_SUFFIX);
+        try {
+            Files.createDirectories(dir);
+            long records;
+            try {
+                records = writeFull(full, channel, now, generatedAt);
+                if (Files.exists(current)) {
+                    writeDelta(dir, prefix, current, full, generatedAt);
+                }
+                Files.move(full, current, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(full);
+            }
+            cleanDeltas(dir, prefix);
+            log.debug("生成价格册: channel={}, file={}, records={}", channel, current, records);
+            return records;
+        } catch (IOException e) {
+            throw new UncheckedIOException("生成价格册失败: channel=" + channel, e);
+        }
+    }
+
+    /**
+     * 流式写出全量价格册
+     */
+    private long writeFull(Path path, ChannelType channel, LocalDateTime now, long generatedAt) throws IOException {
+        try (PriceBookFile.Writer writer =
+                     new PriceBookFile.Writer(path, PriceBookFile.TYPE_FULL, generatedAt, 0L)) {
+            long afterSkuId = 0L;
+            while (true) {
+                List<Long> skuIds = skuPriceRepository.findUnexpiredSkuIdsAfter(channel, now, afterSkuId, pageSize);
+                if (skuIds.isEmpty()) {
+                    break;
+                }
+                Map<Long, List<SkuPrice>> pricesBySkuId = skuPriceRepository.findUnexpiredBySkuIds(skuIds, channel, now)
+                        .stream()
+                        .collect(Collectors.groupingBy(SkuPrice::getSkuId));
+                for (Long skuId : skuIds) {
+                    List<SkuPrice> prices = pricesBySkuId.get(skuId);
+                    if (prices == null) {
+                        // 两次查询之间被删除
+                        continue;
+                    }
+                    PriceBookFile.SkuRecords records = new PriceBookFile.SkuRecords(skuId);
+                    // 已生效的价格 validFrom 记为 0，价格未变化时相邻版本的记录完全相同
+                    PriceTimeline.of(prices, now).forEachSegmentFrom(now, (start, end, cents) ->
+                            records.add(start <= generatedAt ? 0L : start, end, cents));
+                    writer.write(records);
+                }
+                if (skuIds.size() < pageSize) {
+                    break;
+                }
+                afterSkuId = skuIds.get(skuIds.size() - 1);
+            }
+            return writer.getRecordCount();
+        }
+    }
+
+    /**
+     * 归并上一版本与新版本的全量文件，写出记录有变化的 SKU（新增、变化、删除）
+     */
+    private void writeDelta(Path dir, String prefix, Path base, Path target, long generatedAt) throws IOException {
+        PriceBookFile.Reader baseReader;
+        try {
+            baseReader = new PriceBookFile.Reader(base);
+        } catch (IOException e) {
+            log.warn("上一版本价格册无法读取，跳过增量: file={}", base, e);
+            return;
+        }
+        try (baseReader; PriceBookFile.Reader targetReader = new PriceBookFile.Reader(target)) {
+            long baseGeneratedAt = baseReader.getGeneratedAt();
+            Path delta = dir.resolve(prefix + "-delta-" + baseGeneratedAt + "-" + generatedAt + FILE_SUFFIX);
+            Path temp = dir.resolve(delta.getFileName() + TEMP_SUFFIX);
+            try {
+                long changed;
+                try (PriceBookFile.Writer writer =
+                             new PriceBookFile.Writer(temp, PriceBookFile.TYPE_DELTA, generatedAt, baseGeneratedAt)) {
+                    PriceBookFile.SkuRecords before = baseReader.nextSku();
+                    PriceBookFile.SkuRecords after = targetReader.nextSku();
+                    while (before != null || after != null) {
+                        if (after == null || before != null && before.getSkuId() < after.getSkuId()) {
+                            writer.write(before.getSkuId(), 0L, PriceBookFile.FOREVER, PriceBookFile.DELETED);
+                            before = baseReader.nextSku();
+                        } else if (before == null || after.getSkuId() < before.getSkuId()) {
+                            writer.write(after);
+                            after = targetReader.nextSku();
+                        } else {
+                            if (!before.sameAs(after)) {
+                                writer.write(after);
+                            }
+                            before = baseReader.nextSku();
+                            after = targetReader.nextSku();
+                        }
+                    }
+                    changed = writer.getRecordCount();
+                }
+                Files.move(temp, delta, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                log.info("生成价格册增量: file={}, records={}", delta, changed);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        }
+    }
+
+    /**
+     * 删除超出保留数量的旧增量文件（文件名中的秒数位数相同，按名称排序即按时间排序）
+     */
+    private void cleanDeltas(Path dir, String prefix) throws IOException {
+        String deltaPrefix = prefix + "-delta-";
+        List<Path> deltas;
+        try (Stream<Path> files = Files.list(dir)) {
+            deltas = files.filter(file -> {
+                        String name = file.getFileName().toString();
+                        return name.startsWith(deltaPrefix) && name.endsWith(FILE_SUFFIX);
+                    })
+                    .sorted(Comparator.comparing((Path file) -> file.getFileName().toString()).reversed())
+                    .collect(Collectors.toList());
+        }
+        for (int i = keepDeltas; i < deltas.size(); i++) {
+            Files.deleteIfExists(deltas.get(i));
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package com.freshmall.product.domain.service.impl;
+
+import com.freshmall.common.enums.ResultCode;
+import com.freshmall.product.domain.event.SkuPricesImportedEvent;
+import com.freshmall.product.domain.model.ChannelType;
+import com.freshmall.product.domain.price.PriceImportResult;
+import com.freshmall.product.domain.price.PriceImportRow;
+import com.freshmall.product.domain.price.SkuPrice;
+import com.freshmall.product.domain.repository.SkuPriceRepository;
+import com.freshmall.product.domain.repository.SkuRepository;
+import com.freshmall.product.domain.service.PriceImportService;
+import com.freshmall.product.domain.service.ProductIndexTaskService;
+import com.freshmall.product.domain.service.SkuEffectivePriceService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 价格批量导入领域服务实现
+ *
+ * 设计说明：
+ * - 每批先在内存中校验（解析错误、金额、时间范围），再用一次 IN 查询校验 SKU 是否存在，不逐行查库
+ * - 校验通过的行用一条多行 INSERT 写入，当前有效价格标记、索引任务入队也按批执行，每批一个事务
+ * - 一批写入失败时逐行重试（每行一个事务），只有仍然写入失败的行记为失败；已提交的批次不回滚
+ * - 提交后每批发布一次 SkuPricesImportedEvent，不逐条发布价格变更事件；当前有效价格由调度器分批刷新
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PriceImportServiceImpl implements PriceImportService {
+
+    private final SkuRepository skuRepository;
+    private final SkuPriceRepository skuPriceRepository;
+    private final SkuEffectivePriceService skuEffectivePriceService;
+    private final ProductIndexTaskService productIndexTaskService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * 每批（每个事务）的行数
+     */
+    @Value("${product.price-import.batch-size:1000}")
+    private int batchSize;
+
+    /**
+     * 结果中保留的错误明细上限
+     */
+    @Value("${product.price-import.max-errors:1000}")
+    private int maxErrors;
+
+    @Override
+    public PriceImportResult importRows(Iterator<PriceImportRow> rows) {
+        long start = System.currentTimeMillis();
+        PriceImportResult result = new PriceImportResult();
+
+        List<PriceImportRow> batch = new ArrayList<>(batchSize);
+        while (rows.hasNext()) {
+            batch.add(rows.next());
+            if (batch.size() >= batchSize) {
+                importBatch(batch, result);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            importBatch(batch, result);
+        }
+
+        result.setElapsedMillis(System.currentTimeMillis() - start);
+        log.info("价格批量导入完成: total={}, imported={}, failed={}, 耗时 {} ms",
+                result.getTotalRows(), result.getImportedRows(), result.getFailedRows(), result.getElapsedMillis());
+        return result;
+    }
+
+    /**
+     * 校验并写入一批
+     */
+    private void importBatch(List<PriceImportRow> rows, PriceImportResult result) {
+        result.setTotalRows(result.getTotalRows() + rows.size());
+        List<PriceImportResult.RowError> errors = new ArrayList<>();
+
+        // 行内校验（需求 5.2, 5.6）
+        List<PriceImportRow> validRows = new ArrayList<>(rows.size());
+        List<SkuPrice> prices = new ArrayList<>(rows.size());
+        for (PriceImportRow row : rows) {
+            if (row.getParseError() != null) {
+                errors.add(new PriceImportResult.RowError(row.getRowNumber(), row.getParseError()));
+                continue;
+            }
+            try {
+                prices.add(SkuPrice.create(row.getSkuId(), row.getChannel(), row.getPrice(),
+                        row.getStartTime(), row.getEndTime()));
+                validRows.add(row);
+            } catch (IllegalArgumentException e) {
+                errors.add(new PriceImportResult.RowError(row.getRowNumber(), e.getMessage()));
+            }
+        }
+
+        // SKU 引用存在且未删除（需求 11.5），整批一次查询
+        Set<Long> existing = skuRepository.findExistingIds(
+                prices.stream().map(SkuPrice::getSkuId).collect(Collectors.toSet()));
+        List<PriceImportRow> acceptedRows = new ArrayList<>(validRows.size());
+        List<SkuPrice> accepted = new ArrayList<>(prices.size());
+        for (int i = 0; i < prices.size(); i++) {
+            if (existing.contains(prices.get(i).getSkuId())) {
+                acceptedRows.add(validRows.get(i));
+                accepted.add(prices.get(i));
+            } else {
+                errors.add(new PriceImportResult.RowError(validRows.get(i).getRowNumber(),
+                        ResultCode.PRICE_SKU_NOT_FOUND.getMsg()));
+            }
+        }
+
+        if (!accepted.isEmpty()) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> save(accepted));
+                result.setImportedRows(result.getImportedRows() + accepted.size());
+            } catch (Exception e) {
+                log.warn("价格批量写入失败，逐行重试: rows={}", accepted.size(), e);
+                saveOneByOne(acceptedRows, accepted, result, errors);
+            }
+        }
+
+        result.setFailedRows(result.getFailedRows() + errors.size());
+        errors.sort(Comparator.comparingLong(PriceImportResult.RowError::getRowNumber));
+        for (PriceImportResult.RowError error : errors) {
+            if (result.getErrors().size() >= maxErrors) {
+                result.setErrorsTruncated(true);
+                break;
+            }
+            result.getErrors().add(error);
+        }
+    }
+
+    /**
+     * 整批写入失败后逐行写入，把失败限定在出错的行上
+     */
+    private void saveOneByOne(List<PriceImportRow> rows, List<SkuPrice> prices, PriceImportResult result,
+                              List<PriceImportResult.RowError> errors) {
+        for (int i = 0; i < prices.size(); i++) {
+            List<SkuPrice> single = List.of(prices.get(i));
+            try {
+                transactionTemplate.executeWithoutResult(status -> save(single));
+                result.setImportedRows(result.getImportedRows() + 1);
+            } catch (Exception e) {
+                log.error("价格写入失败: row={}, skuId={}", rows.get(i).getRowNumber(), prices.get(i).getSkuId(), e);
+                errors.add(new PriceImportResult.RowError(rows.get(i).getRowNumber(), "写入失败: " + e.getMessage()));
+            }
+        }
+    }
+
+    /**
+     * 写入一批价格记录，并按批标记当前有效价格、记录索引任务（在同一事务中）
+     */
+    private void save(List<SkuPrice> prices) {
+        skuPriceRepository.saveBatch(prices);
+
+        Map<ChannelType, Set<Long>> skuIdsByChannel = prices.stream()
+                .collect(Collectors.groupingBy(SkuPrice::getChannel,
+                        Collectors.mapping(SkuPrice::getSkuId, Collectors.toCollection(LinkedHashSet::new))));
+        skuIdsByChannel.forEach((channel, skuIds) -> skuEffectivePriceService.markChanged(skuIds, channel));
+
+        productIndexTaskService.enqueueSkus(prices.stream()
+                .map(SkuPrice::getSkuId)
+                .collect(Collectors.toCollection(LinkedHashSet::new)));
+        eventPublisher.publishEvent(new SkuPricesImportedEvent(prices));
+    }
+}
@@ -2,23 +2,37 @@ package com.freshmall.product.domain.service.impl;
 
 import com.freshmall.common.enums.ResultCode;
 import com.freshmall.common.exception.BusinessException;
+import com.freshmall.product.domain.event.SkuPriceChangedEvent;
 import com.freshmall.product.domain.model.ChannelType;
+import com.freshmall.product.domain.model.Fnv1aHash;
+import com.freshmall.product.domain.price.CartLine;
+import com.freshmall.product.domain.price.CartPricing;
+import com.freshmall.product.domain.price.PriceMatrix;
 import com.freshmall.product.domain.price.SkuPrice;
+import com.freshmall.product.domain.price.SkuPriceCents;
 import com.freshmall.product.domain.repository.SkuPriceRepository;
 import com.freshmall.product.domain.repository.SkuRepository;
 import com.freshmall.product.domain.service.PriceService;
+import com.freshmall.product.domain.service.PriceTimelineCache;
+import com.freshmall.product.domain.service.ProductIndexTaskService;
+import com.freshmall.product.domain.service.SkuEffectivePriceService;
 import com.freshmall.product.domain.valueobject.Money;
+import com.freshmall.product.domain.valueobject.MoneyCents;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.Set;
 
 /**
  * 价格领域服务实现
@@ -31,6 +45,10 @@ public class PriceServiceImpl implements PriceService {
 
     private final SkuPriceRepository skuPriceRepository;
     private final SkuRepository skuRepository;
+    private final ProductIndexTaskService productIndexTaskService;
+    private final PriceTimelineCache priceTimelineCache;
+    private final SkuEffectivePriceService skuEffectivePriceService;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * 设置 SKU 价格（创建新记录）
@@ -57,6 +75,14 @@ public class PriceServiceImpl implements PriceService {
         
         // 保存价格记录（需求 5.5: 创建新记录而不是修改现有记录）
         SkuPrice savedPrice = skuPriceRepository.save(skuPrice);
+
+        // 当前有效价格表同事务标记待刷新，提交后重新计算
+        skuEffectivePriceService.markChanged(skuId, channel);
+
+        // 已生效的价格立即刷新索引；未来的生效/失效时间由价格边界调度器处理
+        productIndexTaskService.enqueueSku(skuId);
+        eventPublisher.publishEvent(new SkuPriceChangedEvent(savedPrice.getId(), skuId, channel,
+                savedPrice.getPrice(), savedPrice.getStartTime(), savedPrice.getEndTime()));
         
         log.info("SKU 价格设置成功: priceId={}", savedPrice.getId());
         return savedPrice.getId();
@@ -65,33 +91,26 @@ public class PriceServiceImpl implements PriceService {
     /**
      * 查询 SKU 当前有效价格
      * 如果存在多个有效价格，返回 start_time 最晚的价格
+     * 价格从价格时间线缓存中二分查找，不开启事务，命中时不访问数据库；未命中时按主键读取当前有效价格表
+     * 缓存中按分存储，返回时再转换为 Money
      * 
      * 验证需求：
      * - 5.3: 返回当前时间在 start_time 和 end_time 之间的有效价格
      * - 5.4: 如果存在多个有效价格，返回 start_time 最晚的价格
      */
     @Override
-    @Transactional(readOnly = true)
     public Money getCurrentPrice(Long skuId, ChannelType channel) {
         log.debug("查询 SKU 当前有效价格: skuId={}, channel={}", skuId, channel);
         
-        LocalDateTime now = LocalDateTime.now();
-        
-        // 查询有效价格（按 start_time 降序排序，需求 5.3）
-        List<SkuPrice> activePrices = skuPriceRepository.findActiveBySkuIdAndChannel(
-            skuId, channel, now
-        );
+        Long cents = priceTimelineCache.getPriceCents(skuId, channel, LocalDateTime.now());
         
         // 如果没有有效价格，抛出异常
-        if (activePrices.isEmpty()) {
+        if (cents == null) {
             log.warn("未找到有效价格: skuId={}, channel={}", skuId, channel);
             throw new BusinessException(ResultCode.PRICE_NOT_FOUND);
         }
         
-        // 返回 start_time 最晚的价格（列表已按 start_time 降序排序，需求 5.4）
-        SkuPrice latestPrice = activePrices.get(0);
-        Money price = Money.of(latestPrice.getPrice());
-        
+        Money price = Money.ofCents(cents);
         log.debug("查询到有效价格: skuId={}, channel={}, price={}", skuId, channel, price);
         return price;
     }
@@ -104,7 +123,6 @@ public class PriceServiceImpl implements PriceService {
      * - 5.4: 如果存在多个有效价格，返回 start_time 最晚的价格
      */
     @Override
-    @Transactional(readOnly = true)
     public Map<Long, Money> batchGetPrices(List<Long> skuIds, ChannelType channel) {
         log.debug("批量查询 SKU 当前有效价格: skuIds={}, channel={}", skuIds, channel);
         
@@ -112,27 +130,127 @@ public class PriceServiceImpl implements PriceService {
             return new HashMap<>();
         }
         
-        LocalDateTime now = LocalDateTime.now();
+        // 未缓存的 SKU 批量加载时间线，每个 SKU 至多一个价格（需求 5.3, 5.4）
+        SkuPriceCents prices = priceTimelineCache.getPriceCents(skuIds, channel, LocalDateTime.now());
+        Map<Long, Money> priceMap = new HashMap<>(prices.size() * 4 / 3 + 1);
+        for (int i = 0; i < prices.size(); i++) {
+            priceMap.put(prices.skuIdAt(i), Money.ofCents(prices.centsAt(i)));
+        }
         
-        // 批量查询有效价格（需求 5.3）
-        List<SkuPrice> activePrices = skuPriceRepository.findActivePricesBySkuIds(
-            skuIds, channel, now
-        );
+        log.debug("批量查询到有效价格: count={}", priceMap.size());
+        return priceMap;
+    }
+
+    /**
+     * 查询 SKU 在指定时刻的有效价格
+     * 首次查询加载该 SKU 的完整历史时间线（包括归档记录）并缓存，之后任意时刻的查询只做一次二分查找
+     */
+    @Override
+    public Money getPriceAt(Long skuId, ChannelType channel, LocalDateTime time) {
+        log.debug("查询 SKU 指定时刻价格: skuId={}, channel={}, time={}", skuId, channel, time);
         
-        // 按 SKU ID 分组，每组取 start_time 最晚的价格（需求 5.4）
-        Map<Long, Money> priceMap = activePrices.stream()
-            .collect(Collectors.groupingBy(
-                SkuPrice::getSkuId,
-                Collectors.collectingAndThen(
-                    Collectors.maxBy((p1, p2) -> p1.getStartTime().compareTo(p2.getStartTime())),
-                    optional -> optional.map(price -> Money.of(price.getPrice())).orElse(null)
-                )
-            ));
+        Long cents = priceTimelineCache.getPriceCentsAt(skuId, channel, time);
+        if (cents == null) {
+            log.warn("指定时刻未找到有效价格: skuId={}, channel={}, time={}", skuId, channel, time);
+            throw new BusinessException(ResultCode.PRICE_NOT_FOUND);
+        }
+        return Money.ofCents(cents);
+    }
+
+    /**
+     * 批量查询多个 SKU 在指定时刻的有效价格
+     * 未缓存历史的 SKU 一次查询加载（IN 列表分块并行）
+     */
+    @Override
+    public Map<Long, Money> batchGetPricesAt(List<Long> skuIds, ChannelType channel, LocalDateTime time) {
+        log.debug("批量查询 SKU 指定时刻价格: skuIds={}, channel={}, time={}", skuIds, channel, time);
         
-        log.debug("批量查询到有效价格: count={}", priceMap.size());
+        if (skuIds == null || skuIds.isEmpty()) {
+            return new HashMap<>();
+        }
+        
+        SkuPriceCents prices = priceTimelineCache.getPriceCentsAt(skuIds, channel, time);
+        Map<Long, Money> priceMap = new HashMap<>(prices.size() * 4 / 3 + 1);
+        for (int i = 0; i < prices.size(); i++) {
+            priceMap.put(prices.skuIdAt(i), Money.ofCents(prices.centsAt(i)));
+        }
         return priceMap;
     }
 
+    /**
+     * 查询多个 SKU 在多个渠道的当前有效价格矩阵
+     * 已缓存的价格时间线直接回答，其余 SKU 的所有渠道一次查询当前有效价格表，不按渠道逐次批量查询
+     */
+    @Override
+    public PriceMatrix getPriceMatrix(List<Long> skuIds, List<ChannelType> channels) {
+        log.debug("查询价格矩阵: skuIds={}, channels={}", skuIds, channels);
+
+        List<Long> distinctSkuIds = skuIds == null ? List.of() : new ArrayList<>(new LinkedHashSet<>(skuIds));
+        List<ChannelType> distinctChannels = channels == null || channels.isEmpty()
+                ? Arrays.asList(ChannelType.values())
+                : new ArrayList<>(new LinkedHashSet<>(channels));
+        PriceMatrix matrix = new PriceMatrix(distinctSkuIds, distinctChannels);
+        if (!distinctSkuIds.isEmpty()) {
+            priceTimelineCache.fillPriceMatrix(matrix, LocalDateTime.now());
+        }
+        return matrix;
+    }
+
+    /**
+     * 购物车计价
+     * 所有行的 (SKU, 渠道) 组成一个价格矩阵一次查询，行金额和合计按分用整数运算，
+     * 只在组装返回值时创建金额对象；数量过大导致金额溢出时按参数错误返回
+     */
+    @Override
+    public CartPricing priceCart(List<CartLine> lines) {
+        if (lines == null || lines.isEmpty()) {
+            throw new BusinessException(ResultCode.PARAM_ERROR);
+        }
+        Set<Long> skuIds = new LinkedHashSet<>();
+        Set<ChannelType> channels = new LinkedHashSet<>();
+        for (CartLine line : lines) {
+            if (line.getSkuId() == null || line.getChannel() == null || line.getQuantity() <= 0) {
+                throw new BusinessException(ResultCode.PARAM_ERROR);
+            }
+            skuIds.add(line.getSkuId());
+            channels.add(line.getChannel());
+        }
+
+        PriceMatrix matrix = new PriceMatrix(new ArrayList<>(skuIds), new ArrayList<>(channels));
+        priceTimelineCache.fillPriceMatrix(matrix, LocalDateTime.now());
+
+        List<CartPricing.Line> pricedLines = new ArrayList<>(lines.size());
+        long totalCents = 0;
+        boolean allPriced = true;
+        long version = Fnv1aHash.OFFSET_BASIS;
+        for (CartLine line : lines) {
+            Long unitCents = matrix.get(line.getSkuId(), line.getChannel());
+            version = Fnv1aHash.mix(version, line.getSkuId());
+            version = Fnv1aHash.mix(version, line.getChannel().ordinal());
+            version = Fnv1aHash.mix(version, unitCents == null ? -1L : unitCents);
+            if (unitCents == null) {
+                allPriced = false;
+                pricedLines.add(new CartPricing.Line(line.getSkuId(), line.getChannel(), line.getQuantity(),
+                        null, null));
+                continue;
+            }
+            long lineCents;
+            try {
+                lineCents = Math.multiplyExact(unitCents, (long) line.getQuantity());
+                totalCents = Math.addExact(totalCents, lineCents);
+            } catch (ArithmeticException e) {
+                log.warn("购物车金额溢出: skuId={}, quantity={}", line.getSkuId(), line.getQuantity());
+                throw new BusinessException(ResultCode.PARAM_ERROR, "购物车金额超出范围");
+            }
+            pricedLines.add(new CartPricing.Line(line.getSkuId(), line.getChannel(), line.getQuantity(),
+                    MoneyCents.ofCents(unitCents), MoneyCents.ofCents(lineCents)));
+        }
+
+        log.debug("购物车计价: lines={}, total={}, allPriced={}", lines.size(), totalCents, allPriced);
+        return new CartPricing(pricedLines, MoneyCents.ofCents(totalCents), allPriced,
+                String.format("%016x", version));
+    }
+
     /**
      * 验证 SKU 引用存在且未删除
      * 
@@ -0,0 +1,221 @@
+package com.freshmall.product.domain.service.impl;
+
+import com.freshmall.common.enums.ResultCode;
+import com.freshmall.common.exception.BusinessException;
+import com.freshmall.product.domain.aggregate.Spu;
+import com.freshmall.product.domain.event.ProductIndexCheckStartedEvent;
+import com.freshmall.product.domain.model.ProductIndex;
+import com.freshmall.product.domain.model.ProductIndexCheckStats;
+import com.freshmall.product.domain.model.Sku;
+import com.freshmall.product.domain.model.SpuStatus;
+import com.freshmall.product.domain.repository.ProductIndexRebuildRepository;
+import com.freshmall.product.domain.repository.ProductIndexRepository;
+import com.freshmall.product.domain.repository.SkuRepository;
+import com.freshmall.product.domain.repository.SpuRepository;
+import com.freshmall.product.domain.service.ProductIndexBuilder;
+import com.freshmall.product.domain.service.ProductIndexCheckService;
+import com.freshmall.product.domain.service.ProductIndexTaskService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 商品索引一致性检查领域服务实现
+ *
+ * 设计说明：
+ * - 按 SKU ID 游标分批读取 SKU，每批只在内存中保留一批 SKU、对应 SPU 和索引行，内存占用与总量无关
+ * - 应有的索引由 ProductIndexBuilder 按批构建（价格、库存、规格各一次 IN 查询），与增量更新、全量重建的结果一致
+ * - 索引行按 SKU ID 区间加载，SKU 已删除但索引仍残留的行也能被发现
+ * - 比对使用内容哈希，有差异的 SPU 提交 SPU 索引任务，由索引任务工作器重建（同一 SPU 的任务会被合并）
+ * - 检查与业务写入并发进行，正在提交的变更可能被误判为差异，修复是幂等的，只是多一次重建
+ * - 检查进度保存在本节点内存中，重启后需要重新发起
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ProductIndexCheckServiceImpl implements ProductIndexCheckService {
+
+    private final SkuRepository skuRepository;
+    private final SpuRepository spuRepository;
+    private final ProductIndexRepository productIndexRepository;
+    private final ProductIndexRebuildRepository productIndexRebuildRepository;
+    private final ProductIndexBuilder productIndexBuilder;
+    private final ProductIndexTaskService productIndexTaskService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * 每批检查的 SKU 数
+     */
+    @Value("${product.index-check.chunk-size:500}")
+    private int chunkSize;
+
+    private final AtomicBoolean running = new AtomicBoolean(false);
+
+    private volatile LocalDateTime startTime;
+    private volatile LocalDateTime finishTime;
+    private volatile Long cursorSkuId;
+    private volatile String lastError;
+
+    private final AtomicLong scannedSku = new AtomicLong();
+    private final AtomicLong missingCount = new AtomicLong();
+    private final AtomicLong staleCount = new AtomicLong();
+    private final AtomicLong mismatchedCount = new AtomicLong();
+    private final AtomicLong repairedSpuCount = new AtomicLong();
+
+    private final AtomicLong completedRuns = new AtomicLong();
+    private final AtomicLong missingTotal = new AtomicLong();
+    private final AtomicLong staleTotal = new AtomicLong();
+    private final AtomicLong mismatchedTotal = new AtomicLong();
+
+    @Override
+    public void startCheck() {
+        if (productIndexRebuildRepository.findRunning().isPresent()) {
+            // 重建期间索引表会被整体替换，比对结果没有意义
+            throw new BusinessException(ResultCode.INDEX_REBUILD_RUNNING);
+        }
+        if (!running.compareAndSet(false, true)) {
+            throw new BusinessException(ResultCode.INDEX_CHECK_RUNNING);
+        }
+
+        startTime = LocalDateTime.now();
+        finishTime = null;
+        cursorSkuId = 0L;
+        lastError = null;
+        scannedSku.set(0);
+        missingCount.set(0);
+        staleCount.set(0);
+        mismatchedCount.set(0);
+        repairedSpuCount.set(0);
+
+        log.info("索引一致性检查已发起: chunkSize={}", chunkSize);
+        eventPublisher.publishEvent(new ProductIndexCheckStartedEvent(startTime));
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public boolean checkNextChunk() {
+        if (!running.get()) {
+            return false;
+        }
+
+        Long cursor = cursorSkuId;
+        List<Sku> skus = skuRepository.findAfterId(cursor, chunkSize);
+        boolean finished = skus.size() < chunkSize;
+        // 最后一批不设上限，SKU ID 大于所有现存 SKU 的残留索引行也会被检查
+        Long upper = finished ? null : skus.get(skus.size() - 1).getId();
+
+        // 重新计算应有的索引：SPU 已发布且 SKU 启用
+        Set<Long> spuIds = skus.stream()
+                .map(Sku::getSpuId)
+                .collect(Collectors.toSet());
+        List<Spu> publishedSpus = spuRepository.findByIds(spuIds).stream()
+                .filter(spu -> spu.getStatus() == SpuStatus.PUBLISHED)
+                .collect(Collectors.toList());
+        List<Sku> enabledSkus = skus.stream()
+                .filter(sku -> Boolean.TRUE.equals(sku.getEnabled()))
+                .collect(Collectors.toList());
+        Map<Long, ProductIndex> expected = productIndexBuilder.build(publishedSpus, enabledSkus).stream()
+                .collect(Collectors.toMap(ProductIndex::getSkuId, Function.identity(), (a, b) -> a));
+        Map<Long, ProductIndex> stored = productIndexRepository.findBySkuIdRange(cursor, upper).stream()
+                .collect(Collectors.toMap(ProductIndex::getSkuId, Function.identity(), (a, b) -> a));
+
+        long missing = 0;
+        long mismatched = 0;
+        long stale = 0;
+        Set<Long> repairSpuIds = new TreeSet<>();
+        List<Long> mismatchedIds = new ArrayList<>();
+        for (ProductIndex index : expected.values()) {
+            ProductIndex current = stored.get(index.getSkuId());
+            if (current == null) {
+                missing++;
+                repairSpuIds.add(index.getSpuId());
+            } else if (current.computeContentHash() != index.computeContentHash()) {
+                mismatched++;
+                repairSpuIds.add(index.getSpuId());
+                mismatchedIds.add(current.getId());
+            }
+        }
+        for (ProductIndex current : stored.values()) {
+            if (!expected.containsKey(current.getSkuId())) {
+                stale++;
+                repairSpuIds.add(current.getSpuId());
+            }
+        }
+
+        // 不一致的行先清空内容哈希：列值被改动而哈希未变的行，修复时会因哈希相同被跳过
+        productIndexRepository.clearContentHash(mismatchedIds);
+        for (Long spuId : repairSpuIds) {
+            productIndexTaskService.enqueueSpu(spuId);
+        }
+
+        if (!skus.isEmpty()) {
+            cursorSkuId = skus.get(skus.size() - 1).getId();
+        }
+        scannedSku.addAndGet(skus.size());
+        missingCount.addAndGet(missing);
+        staleCount.addAndGet(stale);
+        mismatchedCount.addAndGet(mismatched);
+        repairedSpuCount.addAndGet(repairSpuIds.size());
+        missingTotal.addAndGet(missing);
+        staleTotal.addAndGet(stale);
+        mismatchedTotal.addAndGet(mismatched);
+
+        if (!repairSpuIds.isEmpty()) {
+            log.warn("索引与业务数据不一致，已提交修复: skuRange=({}, {}], missing={}, stale={}, mismatched={}, spus={}",
+                    cursor, upper, missing, stale, mismatched, repairSpuIds.size());
+        }
+
+        if (finished) {
+            finishTime = LocalDateTime.now();
+            completedRuns.incrementAndGet();
+            running.set(false);
+            log.info("索引一致性检查完成: scanned={}, missing={}, stale={}, mismatched={}, repairedSpus={}",
+                    scannedSku.get(), missingCount.get(), staleCount.get(), mismatchedCount.get(),
+                    repairedSpuCount.get());
+        }
+        return !finished;
+    }
+
+    @Override
+    public void failCheck(String reason) {
+        if (running.compareAndSet(true, false)) {
+            finishTime = LocalDateTime.now();
+            lastError = reason != null && reason.length() > 500 ? reason.substring(0, 500) : reason;
+            log.error("索引一致性检查失败: cursorSkuId={}, reason={}", cursorSkuId, reason);
+        }
+    }
+
+    @Override
+    public ProductIndexCheckStats getStats() {
+        ProductIndexCheckStats stats = new ProductIndexCheckStats();
+        stats.setRunning(running.get());
+        stats.setStartTime(startTime);
+        stats.setFinishTime(finishTime);
+        stats.setCursorSkuId(cursorSkuId);
+        stats.setScannedSku(scannedSku.get());
+        stats.setMissingCount(missingCount.get());
+        stats.setStaleCount(staleCount.get());
+        stats.setMismatchedCount(mismatchedCount.get());
+        stats.setRepairedSpuCount(repairedSpuCount.get());
+        stats.setLastError(lastError);
+        stats.setCompletedRuns(completedRuns.get());
+        stats.setMissingTotal(missingTotal.get());
+        stats.setStaleTotal(staleTotal.get());
+        stats.setMismatchedTotal(mismatchedTotal.get());
+        return stats;
+    }
+}
@@ -0,0 +1,293 @@
+package com.freshmall.product.domain.service.impl;
+
+import com.baomidou.mybatisplus.core.toolkit.IdWorker;
+import com.freshmall.common.enums.ResultCode;
+import com.freshmall.common.exception.BusinessException;
+import com.freshmall.product.domain.aggregate.Spu;
+import com.freshmall.product.domain.event.ProductIndexRebuildStartedEvent;
+import com.freshmall.product.domain.model.IndexRebuildStatus;
+import com.freshmall.product.domain.model.ProductIndex;
+import com.freshmall.product.domain.model.ProductIndexRebuild;
+import com.freshmall.product.domain.model.ProductIndexRebuildPartition;
+import com.freshmall.product.domain.model.ProductIndexRebuildProgress;
+import com.freshmall.product.domain.model.Sku;
+import com.freshmall.product.domain.repository.ProductIndexRebuildRepository;
+import com.freshmall.product.domain.repository.ProductIndexRepository;
+import com.freshmall.product.domain.repository.SkuRepository;
+import com.freshmall.product.domain.repository.SpuRepository;
+import com.freshmall.product.domain.service.ProductIndexBuilder;
+import com.freshmall.product.domain.service.ProductIndexRebuildService;
+import com.freshmall.product.domain.service.ProductIndexTaskService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+/**
+ * 商品索引全量重建领域服务实现
+ *
+ * 设计说明：
+ * - 已发布 SPU 的 ID 区间按分区数等宽切分，每个分区按游标分批处理
+ * - 每批的影子表写入与游标推进在同一事务中，进程重启后从游标继续，不会重复或遗漏
+ * - 每批开始时锁定分区行：多个节点同时继续同一次重建时，同一分区的批次依次执行，不会重复写入，也不会因争抢而失败
+ * - 每个节点处理完自己看到的分区后尝试完成重建，只有最后完成、看到全部分区结束的节点执行切换
+ * - 影子表相关 DDL 会隐式提交事务，因此发起和完成重建都不在事务中执行
+ * - 重建期间增量索引仍写入正式表，切换后为期间发生变更的 SPU 补偿索引任务
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ProductIndexRebuildServiceImpl implements ProductIndexRebuildService {
+
+    private final ProductIndexRebuildRepository productIndexRebuildRepository;
+    private final ProductIndexRepository productIndexRepository;
+    private final SpuRepository spuRepository;
+    private final SkuRepository skuRepository;
+    private final ProductIndexBuilder productIndexBuilder;
+    private final ProductIndexTaskService productIndexTaskService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * 分区数
+     */
+    @Value("${product.index-rebuild.partitions:8}")
+    private int partitions;
+
+    /**
+     * 每批处理的 SPU 数
+     */
+    @Value("${product.index-rebuild.chunk-size:200}")
+    private int chunkSize;
+
+    @Override
+    public ProductIndexRebuild startRebuild() {
+        if (productIndexRebuildRepository.findRunning().isPresent()) {
+            throw new BusinessException(ResultCode.INDEX_REBUILD_RUNNING);
+        }
+
+        // 先记录开始时间，之后发生的变更都会在切换后补偿
+        LocalDateTime startTime = LocalDateTime.now();
+        productIndexRepository.prepareShadow();
+
+        Long rebuildId = IdWorker.getId();
+        List<ProductIndexRebuildPartition> partitionList = splitPartitions(rebuildId);
+
+        // 先写分区再写重建记录，保证可见的 RUNNING 记录一定带有完整分区
+        productIndexRebuildRepository.savePartitions(partitionList);
+
+        ProductIndexRebuild rebuild = new ProductIndexRebuild();
+        rebuild.setId(rebuildId);
+        rebuild.setStatus(IndexRebuildStatus.RUNNING);
+        rebuild.setPartitionCount(partitionList.size());
+        rebuild.setTotalSpu(spuRepository.countPublished());
+        rebuild.setStartTime(startTime);
+        productIndexRebuildRepository.save(rebuild);
+
+        log.info("索引全量重建已发起: rebuildId={}, partitions={}, totalSpu={}",
+                rebuildId, partitionList.size(), rebuild.getTotalSpu());
+
+        eventPublisher.publishEvent(new ProductIndexRebuildStartedEvent(rebuildId));
+        return rebuild;
+    }
+
+    @Override
+    public Optional<ProductIndexRebuild> findRunning() {
+        return productIndexRebuildRepository.findRunning();
+    }
+
+    @Override
+    public List<ProductIndexRebuildPartition> findPartitions(Long rebuildId) {
+        return productIndexRebuildRepository.findPartitions(rebuildId);
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public boolean processNextChunk(Long partitionId) {
+        ProductIndexRebuildPartition partition = productIndexRebuildRepository.lockPartitionById(partitionId)
+                .orElseThrow(() -> new IllegalStateException("重建分区不存在: " + partitionId));
+        if (Boolean.TRUE.equals(partition.getFinished())) {
+            return false;
+        }
+
+        Long cursor = partition.getCursorSpuId();
+        List<Spu> spus = spuRepository.findPublishedByIdRange(cursor, partition.getRangeEnd(), chunkSize);
+
+        long rowsWritten = 0;
+        Long newCursor = cursor;
+        if (!spus.isEmpty()) {
+            List<Long> spuIds = spus.stream()
+                    .map(Spu::getId)
+                    .collect(Collectors.toList());
+            List<Sku> enabledSkus = skuRepository.findEnabledBySpuIds(spuIds);
+            List<ProductIndex> indexes = productIndexBuilder.build(spus, enabledSkus);
+            productIndexRepository.batchInsertShadow(indexes);
+
+            rowsWritten = indexes.size();
+            newCursor = spuIds.get(spuIds.size() - 1);
+        }
+
+        boolean finished = spus.size() < chunkSize;
+        if (!productIndexRebuildRepository.advancePartition(
+                partitionId, cursor, newCursor, spus.size(), rowsWritten, finished)) {
+            // 分区行已加锁，正常不会发生；回滚本批写入
+            throw new IllegalStateException("重建分区游标已变化: " + partitionId);
+        }
+        return !finished;
+    }
+
+    @Override
+    public void completeRebuild(Long rebuildId) {
+        ProductIndexRebuild rebuild = productIndexRebuildRepository.findById(rebuildId)
+                .orElseThrow(() -> new BusinessException(ResultCode.INDEX_REBUILD_NOT_FOUND));
+        if (rebuild.getStatus() != IndexRebuildStatus.RUNNING) {
+            return;
+        }
+
+        boolean allFinished = productIndexRebuildRepository.findPartitions(rebuildId).stream()
+                .allMatch(partition -> Boolean.TRUE.equals(partition.getFinished()));
+        if (!allFinished) {
+            // 其他节点仍在处理剩余的批次，由其完成后切换
+            log.info("重建分区尚未全部完成，由其他节点完成重建: rebuildId={}", rebuildId);
+            return;
+        }
+
+        if (productIndexRepository.shadowExists()) {
+            try {
+                productIndexRepository.swapShadow();
+            } catch (RuntimeException e) {
+                if (productIndexRepository.shadowExists()) {
+                    throw e;
+                }
+                // 多个节点同时完成，影子表已由其他节点切换，由其补偿并更新状态
+                log.info("索引影子表已由其他节点切换: rebuildId={}", rebuildId);
+                return;
+            }
+            log.info("索引影子表已切换: rebuildId={}", rebuildId);
+        } else if (!productIndexRepository.retiredExists()) {
+            failRebuild(rebuildId, "影子表不存在");
+            return;
+        } else {
+            // 影子表不存在但旧表存在：上次已切换但未来得及更新状态
+            log.warn("索引影子表已切换，继续完成重建: rebuildId={}", rebuildId);
+        }
+
+        // 补偿重建期间的变更：业务表有更新的 SPU，以及增量索引写过旧表的 SPU
+        Set<Long> changedSpuIds = new TreeSet<>(spuRepository.findIdsChangedSince(rebuild.getStartTime()));
+        changedSpuIds.addAll(productIndexRepository.findRetiredSpuIdsUpdatedSince(rebuild.getStartTime()));
+        for (Long spuId : changedSpuIds) {
+            productIndexTaskService.enqueueSpu(spuId);
+        }
+
+        // 先更新状态再删除旧表：同时完成的其他节点看到旧表已删除时，状态已不是 RUNNING，不会误标记失败
+        productIndexRebuildRepository.finish(rebuildId, IndexRebuildStatus.COMPLETED, LocalDateTime.now(), null);
+        productIndexRepository.dropRetired();
+        log.info("索引全量重建完成: rebuildId={}, 补偿 SPU 数={}", rebuildId, changedSpuIds.size());
+    }
+
+    @Override
+    public void failRebuild(Long rebuildId, String reason) {
+        String lastError = reason != null && reason.length() > 500 ? reason.substring(0, 500) : reason;
+        if (productIndexRebuildRepository.finish(rebuildId, IndexRebuildStatus.FAILED, LocalDateTime.now(), lastError)) {
+            log.error("索引全量重建失败: rebuildId={}, reason={}", rebuildId, reason);
+        }
+    }
+
+    @Override
+    public ProductIndexRebuildProgress getProgress(Long rebuildId) {
+        ProductIndexRebuild rebuild = productIndexRebuildRepository.findById(rebuildId)
+                .orElseThrow(() -> new BusinessException(ResultCode.INDEX_REBUILD_NOT_FOUND));
+        return toProgress(rebuild);
+    }
+
+    @Override
+    public ProductIndexRebuildProgress getLatestProgress() {
+        ProductIndexRebuild rebuild = productIndexRebuildRepository.findLatest()
+                .orElseThrow(() -> new BusinessException(ResultCode.INDEX_REBUILD_NOT_FOUND));
+        return toProgress(rebuild);
+    }
+
+    /**
+     * 按已发布 SPU 的 ID 区间等宽切分分区
+     *
+     * @param rebuildId 重建 ID
+     * @return 分区列表（没有已发布 SPU 时返回一个空区间分区）
+     */
+    private List<ProductIndexRebuildPartition> splitPartitions(Long rebuildId) {
+        Optional<Long> minId = spuRepository.findMinPublishedId();
+        Optional<Long> maxId = spuRepository.findMaxPublishedId();
+
+        List<ProductIndexRebuildPartition> result = new ArrayList<>();
+        if (minId.isEmpty() || maxId.isEmpty()) {
+            result.add(newPartition(rebuildId, 0L, 0L));
+            return result;
+        }
+
+        long lower = minId.get() - 1;
+        long upper = maxId.get();
+        int count = (int) Math.max(1, Math.min(partitions, upper - lower));
+        long step = (upper - lower + count - 1) / count;
+        for (int i = 0; i < count; i++) {
+            long rangeStart = lower + step * i;
+            long rangeEnd = i == count - 1 ? upper : Math.min(upper, rangeStart + step);
+            result.add(newPartition(rebuildId, rangeStart, rangeEnd));
+        }
+        return result;
+    }
+
+    private ProductIndexRebuildPartition newPartition(Long rebuildId, Long rangeStart, Long rangeEnd) {
+        ProductIndexRebuildPartition partition = new ProductIndexRebuildPartition();
+        partition.setRebuildId(rebuildId);
+        partition.setRangeStart(rangeStart);
+        partition.setRangeEnd(rangeEnd);
+        partition.setCursorSpuId(rangeStart);
+        partition.setFinished(false);
+        partition.setProcessedSpu(0L);
+        partition.setRowsWritten(0L);
+        return partition;
+    }
+
+    /**
+     * 汇总分区进度
+     */
+    private ProductIndexRebuildProgress toProgress(ProductIndexRebuild rebuild) {
+        List<ProductIndexRebuildPartition> partitionList =
+                productIndexRebuildRepository.findPartitions(rebuild.getId());
+
+        long processedSpu = partitionList.stream().mapToLong(ProductIndexRebuildPartition::getProcessedSpu).sum();
+        long rowsWritten = partitionList.stream().mapToLong(ProductIndexRebuildPartition::getRowsWritten).sum();
+        int finishedPartitions = (int) partitionList.stream()
+                .filter(partition -> Boolean.TRUE.equals(partition.getFinished()))
+                .count();
+
+        LocalDateTime end = rebuild.getFinishTime() != null ? rebuild.getFinishTime() : LocalDateTime.now();
+        long elapsedMillis = Math.max(1, Duration.between(rebuild.getStartTime(), end).toMillis());
+
+        ProductIndexRebuildProgress progress = new ProductIndexRebuildProgress();
+        progress.setRebuildId(rebuild.getId());
+        progress.setStatus(rebuild.getStatus());
+        progress.setPartitionCount(rebuild.getPartitionCount());
+        progress.setFinishedPartitions(finishedPartitions);
+        progress.setTotalSpu(rebuild.getTotalSpu());
+        progress.setProcessedSpu(processedSpu);
+        progress.setRowsWritten(rowsWritten);
+        progress.setPercent(rebuild.getTotalSpu() == null || rebuild.getTotalSpu() == 0
+                ? 100.0
+                : Math.min(100.0, processedSpu * 100.0 / rebuild.getTotalSpu()));
+        progress.setRowsPerSecond(rowsWritten * 1000.0 / elapsedMillis);
+        progress.setStartTime(rebuild.getStartTime());
+        progress.setFinishTime(rebuild.getFinishTime());
+        progress.setLastError(rebuild.getLastError());
+        return progress;
+    }
+}
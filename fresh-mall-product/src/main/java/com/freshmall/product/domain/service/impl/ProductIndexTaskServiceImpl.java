@@ -0,0 +1,200 @@
+package com.freshmall.product.domain.service.impl;
+
+import com.freshmall.product.domain.event.ProductIndexTaskEnqueuedEvent;
+import com.freshmall.product.domain.model.IndexTaskStatus;
+import com.freshmall.product.domain.model.IndexTaskType;
+import com.freshmall.product.domain.model.ProductIndexTask;
+import com.freshmall.product.domain.model.ProductIndexTaskStats;
+import com.freshmall.product.domain.repository.ProductIndexTaskRepository;
+import com.freshmall.product.domain.service.ProductIndexTaskService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * 商品索引任务领域服务实现
+ * 
+ * 设计说明：
+ * - 入队与业务写入处于同一事务，业务回滚时任务一并回滚
+ * - 入队事件在事务提交后才会唤醒工作线程（见 ProductIndexTaskWorker）
+ * - 认领使用单条 UPDATE ... LIMIT 语句，多节点部署时同一任务只会被一个节点处理
+ * - 入队不检查已有任务，总是写入新任务：若与尚未认领的任务合并，该任务可能在入队事务提交前被认领，
+ *   工作线程读到的是提交前的数据，本次变更就会丢失；合并改在认领时进行（同一目标的待处理任务一起认领）
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ProductIndexTaskServiceImpl implements ProductIndexTaskService {
+
+    private final ProductIndexTaskRepository productIndexTaskRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * 最大尝试次数，超过后标记为失败
+     */
+    @Value("${product.index-task.max-attempts:5}")
+    private int maxAttempts;
+
+    /**
+     * 重试退避基数（毫秒），第 n 次失败后等待 base * 2^(n-1)
+     */
+    @Value("${product.index-task.retry-backoff-ms:1000}")
+    private long retryBackoffMs;
+
+    /**
+     * 认领超时时间（毫秒），超时未完成的任务会被放回队列
+     */
+    @Value("${product.index-task.claim-timeout-ms:300000}")
+    private long claimTimeoutMs;
+
+    private final AtomicLong processedTotal = new AtomicLong();
+    private final AtomicLong coalescedTotal = new AtomicLong();
+    private final AtomicLong failedTotal = new AtomicLong();
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public void enqueueSku(Long skuId) {
+        enqueue(IndexTaskType.SKU, skuId);
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public void enqueueSkus(Collection<Long> skuIds) {
+        if (skuIds == null || skuIds.isEmpty()) {
+            return;
+        }
+        Set<Long> distinct = new LinkedHashSet<>(skuIds);
+        List<ProductIndexTask> tasks = distinct.stream()
+                .map(skuId -> ProductIndexTask.pending(IndexTaskType.SKU, skuId))
+                .collect(Collectors.toList());
+        productIndexTaskRepository.saveBatch(tasks);
+        log.debug("索引任务批量入队: skus={}", distinct.size());
+
+        // 入队事件只用于唤醒工作线程，整批发布一次
+        eventPublisher.publishEvent(new ProductIndexTaskEnqueuedEvent(IndexTaskType.SKU, distinct.iterator().next()));
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public void enqueueSpu(Long spuId) {
+        enqueue(IndexTaskType.SPU, spuId);
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public List<ProductIndexTask> claimDueTasks(int limit) {
+        String claimToken = UUID.randomUUID().toString();
+        LocalDateTime now = LocalDateTime.now();
+        int claimed = productIndexTaskRepository.claimDue(claimToken, limit, now);
+        if (claimed == 0) {
+            return List.of();
+        }
+        // 同一目标的其余待处理任务（包括未到重试时间的）一起认领，处理一次即可全部完成
+        productIndexTaskRepository.claimPendingOfClaimedTargets(claimToken, now);
+        return productIndexTaskRepository.findByClaimToken(claimToken);
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public void completeTasks(List<ProductIndexTask> tasks) {
+        List<Long> ids = tasks.stream()
+                .map(ProductIndexTask::getId)
+                .collect(Collectors.toList());
+        productIndexTaskRepository.deleteByIds(ids);
+
+        processedTotal.incrementAndGet();
+        // 同一目标的多条任务只执行了一次，其余视为被合并
+        coalescedTotal.addAndGet(Math.max(0, tasks.size() - 1));
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public void failTasks(List<ProductIndexTask> tasks, String error) {
+        failedTotal.incrementAndGet();
+        String lastError = truncate(error);
+
+        for (ProductIndexTask task : tasks) {
+            int attempts = (task.getAttempts() == null ? 0 : task.getAttempts()) + 1;
+            if (attempts >= maxAttempts) {
+                log.error("索引任务超过最大重试次数，标记为失败: target={}, attempts={}, error={}",
+                        task.coalesceKey(), attempts, lastError);
+                productIndexTaskRepository.reschedule(task.getId(), IndexTaskStatus.FAILED,
+                        attempts, task.getNextAttemptTime(), lastError);
+            } else {
+                long backoff = retryBackoffMs * (1L << Math.min(attempts - 1, 16));
+                LocalDateTime nextAttemptTime = LocalDateTime.now().plus(Duration.ofMillis(backoff));
+                log.warn("索引任务处理失败，{}ms 后重试: target={}, attempts={}, error={}",
+                        backoff, task.coalesceKey(), attempts, lastError);
+                productIndexTaskRepository.reschedule(task.getId(), IndexTaskStatus.PENDING,
+                        attempts, nextAttemptTime, lastError);
+            }
+        }
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public int releaseStaleClaims() {
+        LocalDateTime claimedBefore = LocalDateTime.now().minus(Duration.ofMillis(claimTimeoutMs));
+        int released = productIndexTaskRepository.releaseStaleClaims(claimedBefore);
+        if (released > 0) {
+            log.warn("回收认领超时的索引任务: count={}", released);
+        }
+        return released;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ProductIndexTaskStats getQueueStats() {
+        ProductIndexTaskStats stats = new ProductIndexTaskStats();
+        stats.setPendingCount(productIndexTaskRepository.countByStatus(IndexTaskStatus.PENDING));
+        stats.setProcessingCount(productIndexTaskRepository.countByStatus(IndexTaskStatus.PROCESSING));
+        stats.setFailedCount(productIndexTaskRepository.countByStatus(IndexTaskStatus.FAILED));
+        stats.setOldestPendingLagMillis(productIndexTaskRepository.findOldestPendingCreateTime()
+                .map(createTime -> Math.max(0, Duration.between(createTime, LocalDateTime.now()).toMillis()))
+                .orElse(0L));
+        stats.setProcessedTotal(processedTotal.get());
+        stats.setCoalescedTotal(coalescedTotal.get());
+        stats.setFailedTotal(failedTotal.get());
+        return stats;
+    }
+
+    /**
+     * 记录任务并发布入队事件
+     * 
+     * @param targetType 目标类型
+     * @param targetId 目标 ID
+     */
+    private void enqueue(IndexTaskType targetType, Long targetId) {
+        if (targetId == null) {
+            throw new IllegalArgumentException("索引任务目标 ID 不能为空");
+        }
+
+        productIndexTaskRepository.save(ProductIndexTask.pending(targetType, targetId));
+        log.debug("索引任务入队: targetType={}, targetId={}", targetType, targetId);
+
+        eventPublisher.publishEvent(new ProductIndexTaskEnqueuedEvent(targetType, targetId));
+    }
+
+    /**
+     * 截断错误信息，避免超出字段长度
+     */
+    private String truncate(String error) {
+        if (error == null) {
+            return null;
+        }
+        return error.length() > 500 ? error.substring(0, 500) : error;
+    }
+}
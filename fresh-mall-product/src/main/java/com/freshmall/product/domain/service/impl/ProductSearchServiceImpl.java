@@ -3,20 +3,29 @@ package com.freshmall.product.domain.service.impl;
 import com.freshmall.common.enums.ResultCode;
 import com.freshmall.common.exception.BusinessException;
 import com.freshmall.product.domain.aggregate.Spu;
+import com.freshmall.product.domain.model.AttributeFacet;
 import com.freshmall.product.domain.model.ChannelType;
 import com.freshmall.product.domain.model.ProductIndex;
+import com.freshmall.product.domain.model.ProductSearchField;
+import com.freshmall.product.domain.model.ProductSortType;
+import com.freshmall.product.domain.model.ProductSpuIndex;
+import com.freshmall.product.domain.model.SpecFilter;
 import com.freshmall.product.domain.model.Sku;
+import com.freshmall.product.domain.model.SpuStatus;
 import com.freshmall.product.domain.model.StockStatus;
-import com.freshmall.product.domain.price.SkuPrice;
 import com.freshmall.product.domain.repository.CategoryRepository;
 import com.freshmall.product.domain.repository.ProductIndexRepository;
-import com.freshmall.product.domain.repository.SkuPriceRepository;
+import com.freshmall.product.domain.repository.ProductSpuIndexRepository;
 import com.freshmall.product.domain.repository.SkuRepository;
-import com.freshmall.product.domain.repository.SkuStockRepository;
 import com.freshmall.product.domain.repository.SpuRepository;
+import com.freshmall.product.domain.service.ProductFacetIndex;
+import com.freshmall.product.domain.service.ProductIndexBuilder;
+import com.freshmall.product.domain.service.ProductIndexTaskService;
+import com.freshmall.product.domain.service.ProductSearchCache;
+import com.freshmall.product.domain.service.ProductSearchMetrics;
+import com.freshmall.product.domain.service.ProductSearchMetrics.SearchShape;
+import com.freshmall.product.domain.service.ProductSearchMetrics.SearchStage;
 import com.freshmall.product.domain.service.ProductSearchService;
-import com.freshmall.product.domain.stock.SkuStock;
-import com.freshmall.product.domain.valueobject.Money;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -25,11 +34,17 @@ import org.springframework.transaction.annotation.Transactional;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
-import java.util.Comparator;
+import java.util.Collection;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 /**
@@ -44,58 +59,152 @@ public class ProductSearchServiceImpl implements ProductSearchService {
     private final ProductIndexRepository productIndexRepository;
     private final SpuRepository spuRepository;
     private final SkuRepository skuRepository;
-    private final SkuPriceRepository skuPriceRepository;
-    private final SkuStockRepository skuStockRepository;
     private final CategoryRepository categoryRepository;
+    private final ProductIndexTaskService productIndexTaskService;
+    private final ProductIndexBuilder productIndexBuilder;
+    private final ProductSearchCache productSearchCache;
+    private final ProductFacetIndex productFacetIndex;
+    private final ProductSpuIndexRepository productSpuIndexRepository;
+    private final ProductSearchMetrics productSearchMetrics;
 
     @Override
     public List<ProductIndex> searchProducts(Long categoryId, BigDecimal minPrice, BigDecimal maxPrice,
-                                            StockStatus stockStatus, Integer offset, Integer limit) {
-        log.info("搜索商品: categoryId={}, minPrice={}, maxPrice={}, stockStatus={}, offset={}, limit={}",
-                categoryId, minPrice, maxPrice, stockStatus, offset, limit);
-
-        // 如果指定了类目，获取类目及其所有后代类目
-        Long searchCategoryId = null;
-        if (categoryId != null) {
-            // 验证类目是否存在
-            categoryRepository.findById(categoryId)
-                    .orElseThrow(() -> new BusinessException(ResultCode.CATEGORY_NOT_FOUND));
-            
-            // 注意：这里简化处理，直接使用 categoryId
-            // 实际的后代查询逻辑在 ProductIndexRepository 的 search 方法中实现
-            searchCategoryId = categoryId;
-        }
-
-        // 调用仓储层搜索
-        List<ProductIndex> results = productIndexRepository.search(
-                searchCategoryId, minPrice, maxPrice, stockStatus, offset, limit);
-
-        log.info("搜索完成: 返回 {} 条结果", results.size());
+                                            StockStatus stockStatus, ChannelType channel,
+                                            Map<String, List<String>> attributes, ProductSortType sortType,
+                                            Integer offset, Integer limit, Set<ProductSearchField> fields) {
+        Set<ProductSearchField> selectedFields = ProductSearchField.normalize(fields);
+        log.debug("搜索商品: categoryId={}, minPrice={}, maxPrice={}, stockStatus={}, channel={}, attributes={}, "
+                        + "sort={}, offset={}, limit={}",
+                categoryId, minPrice, maxPrice, stockStatus, channel, attributes, sortType, offset, limit);
+
+        SearchShape shape = productSearchMetrics.shapeOf(false, categoryId, minPrice, maxPrice, stockStatus,
+                channel, attributes, sortType);
+        Supplier<String> filters = () -> describeFilters(categoryId, minPrice, maxPrice, stockStatus, channel,
+                attributes, sortType, offset, limit);
+
+        // 优先读取搜索缓存，未命中时（同一查询条件只有一个线程）查库
+        List<ProductIndex> results = productSearchCache.getSearch(
+                categoryId, minPrice, maxPrice, stockStatus, channel, attributes, facetGenerationOf(attributes),
+                sortType, offset, limit, selectedFields, () -> {
+                    // 验证类目是否存在，并由位图计算规格过滤条件
+                    // 类目后代的展开在 ProductIndexRepository 的 search 方法中实现
+                    SpecFilter specFilter = productSearchMetrics.record(SearchStage.VALIDATION, shape, filters, () -> {
+                        validateCategory(categoryId);
+                        return matchSpecFilter(categoryId, attributes);
+                    });
+                    if (specFilter != null && specFilter.isEmpty()) {
+                        return List.of();
+                    }
+
+                    // 调用仓储层搜索，其余条件和排序由数据库完成
+                    return productSearchMetrics.record(SearchStage.QUERY, shape, filters,
+                            () -> productIndexRepository.search(categoryId, minPrice, maxPrice, stockStatus,
+                                    channel, specFilter, sortType, offset, limit, selectedFields));
+                });
+
+        log.debug("搜索完成: 返回 {} 条结果", results.size());
         return results;
     }
 
     @Override
     public Long countSearchResults(Long categoryId, BigDecimal minPrice, BigDecimal maxPrice, 
-                                   StockStatus stockStatus) {
-        log.info("统计搜索结果: categoryId={}, minPrice={}, maxPrice={}, stockStatus={}",
-                categoryId, minPrice, maxPrice, stockStatus);
-
-        // 如果指定了类目，验证类目是否存在
-        Long searchCategoryId = null;
-        if (categoryId != null) {
-            categoryRepository.findById(categoryId)
-                    .orElseThrow(() -> new BusinessException(ResultCode.CATEGORY_NOT_FOUND));
-            searchCategoryId = categoryId;
-        }
+                                   StockStatus stockStatus, ChannelType channel,
+                                   Map<String, List<String>> attributes) {
+        SearchShape shape = productSearchMetrics.shapeOf(false, categoryId, minPrice, maxPrice, stockStatus,
+                channel, attributes, null);
+        Supplier<String> filters = () -> describeFilters(categoryId, minPrice, maxPrice, stockStatus, channel,
+                attributes, null, null, null);
+
+        // 优先读取搜索缓存，未命中时查库
+        Long count = productSearchCache.getCount(categoryId, minPrice, maxPrice, stockStatus, channel,
+                attributes, facetGenerationOf(attributes), () -> {
+            SpecFilter specFilter = productSearchMetrics.record(SearchStage.VALIDATION, shape, filters, () -> {
+                validateCategory(categoryId);
+                return matchSpecFilter(categoryId, attributes);
+            });
+            if (specFilter != null && specFilter.isEmpty()) {
+                return 0L;
+            }
+
+            // 调用仓储层统计
+            return productSearchMetrics.record(SearchStage.COUNT, shape, filters,
+                    () -> productIndexRepository.countSearch(categoryId, minPrice, maxPrice, stockStatus, channel,
+                            specFilter));
+        });
+
+        log.debug("统计完成: 共 {} 条结果", count);
+        return count;
+    }
 
-        // 调用仓储层统计
-        Long count = productIndexRepository.countSearch(
-                searchCategoryId, minPrice, maxPrice, stockStatus);
+    @Override
+    public List<ProductSpuIndex> searchSpus(Long categoryId, BigDecimal minPrice, BigDecimal maxPrice,
+                                            StockStatus stockStatus, ChannelType channel,
+                                            Map<String, List<String>> attributes, ProductSortType sortType,
+                                            Integer offset, Integer limit, Set<ProductSearchField> fields) {
+        Set<ProductSearchField> selectedFields = ProductSearchField.normalize(fields);
+        log.debug("按 SPU 搜索商品: categoryId={}, minPrice={}, maxPrice={}, stockStatus={}, channel={}, "
+                        + "attributes={}, sort={}, offset={}, limit={}",
+                categoryId, minPrice, maxPrice, stockStatus, channel, attributes, sortType, offset, limit);
+
+        SearchShape shape = productSearchMetrics.shapeOf(true, categoryId, minPrice, maxPrice, stockStatus,
+                channel, attributes, sortType);
+        Supplier<String> filters = () -> describeFilters(categoryId, minPrice, maxPrice, stockStatus, channel,
+                attributes, sortType, offset, limit);
+
+        List<ProductSpuIndex> results = productSearchCache.getSpuSearch(
+                categoryId, minPrice, maxPrice, stockStatus, channel, attributes, facetGenerationOf(attributes),
+                sortType, offset, limit, selectedFields, () -> {
+                    SpecFilter specFilter = productSearchMetrics.record(SearchStage.VALIDATION, shape, filters, () -> {
+                        validateCategory(categoryId);
+                        return matchSpecFilter(categoryId, attributes);
+                    });
+                    if (specFilter != null && specFilter.isEmpty()) {
+                        return List.of();
+                    }
+
+                    return productSearchMetrics.record(SearchStage.QUERY, shape, filters,
+                            () -> productSpuIndexRepository.search(categoryId, minPrice, maxPrice, stockStatus,
+                                    channel, specFilter, sortType, offset, limit, selectedFields));
+                });
+
+        log.debug("按 SPU 搜索完成: 返回 {} 条结果", results.size());
+        return results;
+    }
 
-        log.info("统计完成: 共 {} 条结果", count);
+    @Override
+    public Long countSpuSearchResults(Long categoryId, BigDecimal minPrice, BigDecimal maxPrice,
+                                      StockStatus stockStatus, ChannelType channel,
+                                      Map<String, List<String>> attributes) {
+        SearchShape shape = productSearchMetrics.shapeOf(true, categoryId, minPrice, maxPrice, stockStatus,
+                channel, attributes, null);
+        Supplier<String> filters = () -> describeFilters(categoryId, minPrice, maxPrice, stockStatus, channel,
+                attributes, null, null, null);
+
+        Long count = productSearchCache.getSpuCount(categoryId, minPrice, maxPrice, stockStatus, channel,
+                attributes, facetGenerationOf(attributes), () -> {
+            SpecFilter specFilter = productSearchMetrics.record(SearchStage.VALIDATION, shape, filters, () -> {
+                validateCategory(categoryId);
+                return matchSpecFilter(categoryId, attributes);
+            });
+            if (specFilter != null && specFilter.isEmpty()) {
+                return 0L;
+            }
+
+            return productSearchMetrics.record(SearchStage.COUNT, shape, filters,
+                    () -> productSpuIndexRepository.countSearch(categoryId, minPrice, maxPrice, stockStatus,
+                            channel, specFilter));
+        });
+
+        log.debug("按 SPU 统计完成: 共 {} 个 SPU", count);
         return count;
     }
 
+    @Override
+    public List<AttributeFacet> getAttributeFacets(Long categoryId, Map<String, List<String>> attributes) {
+        validateCategory(categoryId);
+        return productFacetIndex.facets(categoryId, attributes);
+    }
+
     @Override
     @Transactional
     public void updateIndex(Long spuId) {
@@ -113,12 +222,8 @@ public class ProductSearchServiceImpl implements ProductSearchService {
             return;
         }
 
-        // 为每个启用的 SKU 创建或更新索引
-        List<ProductIndex> indexes = new ArrayList<>();
-        for (Sku sku : enabledSkus) {
-            ProductIndex index = buildProductIndex(spu, sku);
-            indexes.add(index);
-        }
+        // 批量加载价格和库存后在内存中构建索引
+        List<ProductIndex> indexes = productIndexBuilder.build(spu, enabledSkus);
 
         // 批量保存或更新索引
         productIndexRepository.batchSaveOrUpdate(indexes);
@@ -131,34 +236,98 @@ public class ProductSearchServiceImpl implements ProductSearchService {
     public void asyncUpdateIndex(Long skuId) {
         log.info("异步更新商品索引: skuId={}", skuId);
 
-        // 查询 SKU
-        Sku sku = skuRepository.findById(skuId)
-                .orElseThrow(() -> new BusinessException(ResultCode.SKU_NOT_FOUND));
+        // 记录索引任务，事务提交后由后台工作线程重建索引
+        productIndexTaskService.enqueueSku(skuId);
+    }
 
-        // 查询 SPU
-        Spu spu = spuRepository.findById(sku.getSpuId())
-                .orElseThrow(() -> new BusinessException(ResultCode.SPU_NOT_FOUND));
+    @Override
+    @Transactional
+    public void updateSkuIndex(Long skuId) {
+        log.info("更新 SKU 索引: skuId={}", skuId);
+
+        // 查询 SKU（已删除的 SKU 查询不到，删除索引）
+        Optional<Sku> skuOpt = skuRepository.findById(skuId);
+        if (skuOpt.isEmpty()) {
+            productIndexRepository.deleteBySkuId(skuId);
+            log.info("SKU 不存在或已删除，删除索引: skuId={}", skuId);
+            return;
+        }
+        Sku sku = skuOpt.get();
+
+        // 查询 SPU（已删除的 SPU 查询不到，删除索引）
+        Optional<Spu> spuOpt = spuRepository.findById(sku.getSpuId());
 
         // 如果 SKU 被禁用或 SPU 被删除，删除索引
-        if (Boolean.FALSE.equals(sku.getEnabled()) || (spu.getDeleted() != null && spu.getDeleted() == 1)) {
+        if (Boolean.FALSE.equals(sku.getEnabled()) || spuOpt.isEmpty()
+                || (spuOpt.get().getDeleted() != null && spuOpt.get().getDeleted() == 1)) {
             productIndexRepository.deleteBySkuId(skuId);
             log.info("SKU 已禁用或 SPU 已删除，删除索引: skuId={}", skuId);
             return;
         }
+        Spu spu = spuOpt.get();
 
         // 构建并更新索引
-        ProductIndex index = buildProductIndex(spu, sku);
+        ProductIndex index = productIndexBuilder.build(spu, List.of(sku)).get(0);
         
         // 查询是否已存在索引
         Optional<ProductIndex> existingIndex = productIndexRepository.findBySkuId(skuId);
         if (existingIndex.isPresent()) {
+            if (index.getContentHash().equals(existingIndex.get().getContentHash())) {
+                log.info("SKU 索引内容未变化，跳过写入: skuId={}", skuId);
+                return;
+            }
             index.setId(existingIndex.get().getId());
             productIndexRepository.update(index);
         } else {
             productIndexRepository.save(index);
         }
 
-        log.info("商品索引异步更新完成: skuId={}", skuId);
+        log.info("SKU 索引更新完成: skuId={}", skuId);
+    }
+
+    @Override
+    @Transactional
+    public void refreshSpuIndex(Long spuId) {
+        log.info("刷新 SPU 索引: spuId={}", spuId);
+
+        // SPU 不存在（含已删除）或未发布时，不应出现在搜索结果中
+        Optional<Spu> spuOpt = spuRepository.findById(spuId);
+        if (spuOpt.isEmpty() || spuOpt.get().getStatus() != SpuStatus.PUBLISHED) {
+            productIndexRepository.deleteBySpuId(spuId);
+            log.info("SPU 不存在或未发布，删除索引: spuId={}", spuId);
+            return;
+        }
+
+        List<Sku> enabledSkus = skuRepository.findEnabledBySpuId(spuId);
+        List<ProductIndex> indexes = productIndexBuilder.build(spuOpt.get(), enabledSkus);
+        productIndexRepository.batchSaveOrUpdate(indexes);
+
+        // 删除已禁用或已删除 SKU 的残留索引
+        Set<Long> enabledSkuIds = enabledSkus.stream()
+                .map(Sku::getId)
+                .collect(Collectors.toSet());
+        List<Long> staleSkuIds = productIndexRepository.findBySpuId(spuId).stream()
+                .map(ProductIndex::getSkuId)
+                .filter(skuId -> !enabledSkuIds.contains(skuId))
+                .collect(Collectors.toList());
+        productIndexRepository.deleteBySkuIds(staleSkuIds);
+
+        log.info("SPU 索引刷新完成: spuId={}, 更新 {} 条, 删除 {} 条", spuId, indexes.size(), staleSkuIds.size());
+    }
+
+    @Override
+    @Transactional
+    public int refreshSkuPrices(Collection<Long> skuIds) {
+        if (skuIds == null || skuIds.isEmpty()) {
+            return 0;
+        }
+
+        List<ProductIndex> indexes = productIndexRepository.findBySkuIds(new ArrayList<>(skuIds));
+        List<ProductIndex> changed = productIndexBuilder.reprice(indexes, LocalDateTime.now());
+        productIndexRepository.batchUpdatePrices(changed);
+
+        log.info("刷新 SKU 索引价格: skus={}, indexes={}, changed={}", skuIds.size(), indexes.size(), changed.size());
+        return changed.size();
     }
 
     @Override
@@ -172,80 +341,57 @@ public class ProductSearchServiceImpl implements ProductSearchService {
     }
 
     /**
-     * 构建商品索引
+     * 按规格筛选条件计算规格过滤条件（候选 SKU，或候选过多时的属性值条件）
      * 
-     * @param spu SPU 实体
-     * @param sku SKU 实体
-     * @return 商品索引实体
+     * @return 规格过滤条件，没有规格筛选条件时为 null（不限制）
      */
-    private ProductIndex buildProductIndex(Spu spu, Sku sku) {
-        // 查询价格范围（查询所有渠道的价格）
-        List<SkuPrice> allPrices = skuPriceRepository.findBySkuId(sku.getId());
-        LocalDateTime now = LocalDateTime.now();
-        
-        // 过滤有效价格
-        List<SkuPrice> activePrices = allPrices.stream()
-                .filter(price -> price.isActive(now))
-                .collect(Collectors.toList());
-
-        BigDecimal minPrice = null;
-        BigDecimal maxPrice = null;
-        
-        if (!activePrices.isEmpty()) {
-            minPrice = activePrices.stream()
-                    .map(SkuPrice::getPrice)
-                    .min(Comparator.naturalOrder())
-                    .orElse(null);
-            
-            maxPrice = activePrices.stream()
-                    .map(SkuPrice::getPrice)
-                    .max(Comparator.naturalOrder())
-                    .orElse(null);
+    private SpecFilter matchSpecFilter(Long categoryId, Map<String, List<String>> attributes) {
+        if (attributes == null || attributes.isEmpty()) {
+            return null;
         }
-
-        // 查询库存状态
-        StockStatus stockStatus = calculateStockStatus(sku.getId());
-
-        // 构建索引实体
-        ProductIndex index = new ProductIndex();
-        index.setSpuId(spu.getId());
-        index.setSkuId(sku.getId());
-        index.setSpuName(spu.getName());
-        index.setCategoryId(spu.getCategoryId());
-        index.setMinPrice(minPrice);
-        index.setMaxPrice(maxPrice);
-        index.setStockStatus(stockStatus);
-        index.setSpuDeleted(spu.getDeleted() != null && spu.getDeleted() == 1);
-        index.setSkuEnabled(sku.getEnabled());
-
-        return index;
+        return productFacetIndex.match(categoryId, attributes);
     }
 
     /**
-     * 计算库存状态
-     * 
-     * @param skuId SKU ID
-     * @return 库存状态
+     * 验证类目是否存在（未指定类目时不校验）
      */
-    private StockStatus calculateStockStatus(Long skuId) {
-        Optional<SkuStock> stockOpt = skuStockRepository.findBySkuId(skuId);
-        
-        if (!stockOpt.isPresent()) {
-            // 没有库存记录，视为无货
-            return StockStatus.OUT_OF_STOCK;
+    private void validateCategory(Long categoryId) {
+        if (categoryId != null) {
+            categoryRepository.findById(categoryId)
+                    .orElseThrow(() -> new BusinessException(ResultCode.CATEGORY_NOT_FOUND));
         }
+    }
 
-        SkuStock stock = stockOpt.get();
-        Integer availableStock = stock.getAvailableStock();
-
-        if (availableStock == null || availableStock == 0) {
-            return StockStatus.OUT_OF_STOCK;
-        } else if (availableStock < 10) {
-            // 低库存阈值设为 10
-            return StockStatus.LOW_STOCK;
-        } else {
-            return StockStatus.IN_STOCK;
+    /**
+     * 规范化的过滤条件描述，用于慢搜索记录（只包含已指定的条件，规格条件排序）
+     */
+    private String describeFilters(Long categoryId, BigDecimal minPrice, BigDecimal maxPrice,
+                                   StockStatus stockStatus, ChannelType channel,
+                                   Map<String, List<String>> attributes, ProductSortType sortType,
+                                   Integer offset, Integer limit) {
+        Map<String, Object> filters = new LinkedHashMap<>();
+        filters.put("categoryId", categoryId);
+        filters.put("minPrice", minPrice != null ? minPrice.stripTrailingZeros().toPlainString() : null);
+        filters.put("maxPrice", maxPrice != null ? maxPrice.stripTrailingZeros().toPlainString() : null);
+        filters.put("stockStatus", stockStatus);
+        filters.put("channel", channel);
+        if (attributes != null && !attributes.isEmpty()) {
+            Map<String, Set<String>> sorted = new TreeMap<>();
+            attributes.forEach((name, values) -> sorted.put(name, new TreeSet<>(values)));
+            filters.put("attributes", sorted);
         }
+        filters.put("sort", sortType);
+        filters.put("offset", offset);
+        filters.put("limit", limit);
+        filters.values().removeIf(Objects::isNull);
+        return filters.toString();
+    }
+
+    /**
+     * 规格筛选结果依赖的位图版本号，没有规格筛选条件时为 0
+     */
+    private long facetGenerationOf(Map<String, List<String>> attributes) {
+        return attributes == null || attributes.isEmpty() ? 0L : productFacetIndex.getGeneration();
     }
 
     /**
@@ -0,0 +1,177 @@
+package com.freshmall.product.domain.service.impl;
+
+import com.freshmall.product.domain.event.SkuPriceChangedEvent;
+import com.freshmall.product.domain.model.ChannelType;
+import com.freshmall.product.domain.price.PriceMatrix;
+import com.freshmall.product.domain.price.PriceTimeline;
+import com.freshmall.product.domain.price.SkuEffectivePrice;
+import com.freshmall.product.domain.price.SkuPrice;
+import com.freshmall.product.domain.price.SkuPriceCents;
+import com.freshmall.product.domain.repository.SkuEffectivePriceRepository;
+import com.freshmall.product.domain.repository.SkuPriceRepository;
+import com.freshmall.product.domain.service.SkuEffectivePriceService;
+import com.freshmall.product.domain.valueobject.MoneyCents;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * SKU 当前有效价格领域服务实现
+ *
+ * 设计说明：
+ * - 写入价格记录的事务中把对应行标记为待刷新（next_change_at 置为当前时间并递增版本号），行锁随事务提交释放
+ * - 提交后重新计算：先读版本号再读价格记录，写回时校验版本号；计算期间有新价格提交时版本号已变化，
+ *   本次写回放弃，该行保持待刷新状态，由后续计算处理，不会用旧的价格记录覆盖新结果
+ * - 价格生效 / 失效时 next_change_at 到期，由价格边界调度器调用 refreshDue 分批刷新
+ * - 读取时 next_change_at 已到期的行（调度器尚未处理）直接查询生效时间最晚的有效价格，结果与刷新后一致
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SkuEffectivePriceServiceImpl implements SkuEffectivePriceService {
+
+    private final SkuEffectivePriceRepository skuEffectivePriceRepository;
+    private final SkuPriceRepository skuPriceRepository;
+
+    @Override
+    public void markChanged(Long skuId, ChannelType channel) {
+        skuEffectivePriceRepository.markDirty(skuId, channel, LocalDateTime.now());
+    }
+
+    @Override
+    public void markChanged(Collection<Long> skuIds, ChannelType channel) {
+        skuEffectivePriceRepository.markDirty(skuIds, channel, LocalDateTime.now());
+    }
+
+    /**
+     * 价格写入事务提交后立即重新计算，失败时由调度器兜底
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onPriceChanged(SkuPriceChangedEvent event) {
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            refresh(skuEffectivePriceRepository.findBySkuIds(List.of(event.getSkuId()), event.getChannel()), now);
+        } catch (Exception e) {
+            log.warn("刷新当前有效价格失败，等待调度器处理: skuId={}, channel={}",
+                    event.getSkuId(), event.getChannel(), e);
+        }
+    }
+
+    @Override
+    public int refreshDue(LocalDateTime now, int limit) {
+        List<SkuEffectivePrice> due = skuEffectivePriceRepository.findDue(now, limit);
+        if (due.isEmpty()) {
+            return 0;
+        }
+        int updated = 0;
+        for (Map.Entry<ChannelType, List<SkuEffectivePrice>> entry : due.stream()
+                .collect(Collectors.groupingBy(SkuEffectivePrice::getChannel)).entrySet()) {
+            updated += refresh(entry.getValue(), now);
+        }
+        log.debug("刷新当前有效价格: due={}, updated={}", due.size(), updated);
+        return due.size();
+    }
+
+    @Override
+    public SkuPriceCents getPriceCents(List<Long> skuIds, ChannelType channel, LocalDateTime now) {
+        List<SkuEffectivePrice> rows = skuEffectivePriceRepository.findBySkuIds(skuIds, channel);
+        SkuPriceCents result = new SkuPriceCents(rows.size());
+        List<Long> stale = new ArrayList<>();
+        for (SkuEffectivePrice effectivePrice : rows) {
+            if (!effectivePrice.isFresh(now)) {
+                stale.add(effectivePrice.getSkuId());
+            } else if (effectivePrice.getPrice() != null) {
+                result.add(effectivePrice.getSkuId(), MoneyCents.toCents(effectivePrice.getPrice()));
+            }
+        }
+        if (!stale.isEmpty()) {
+            // 调度器尚未刷新的行：每个 SKU 只取生效时间最晚的一条有效价格
+            for (SkuPrice price : skuPriceRepository.findLatestActiveBySkuIds(stale, channel, now)) {
+                result.add(price.getSkuId(), MoneyCents.toCents(price.getPrice()));
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public void fillPriceMatrix(PriceMatrix matrix, List<Long> skuIds, LocalDateTime now) {
+        Map<ChannelType, List<Long>> staleByChannel = new EnumMap<>(ChannelType.class);
+        for (SkuEffectivePrice effectivePrice : skuEffectivePriceRepository.findBySkuIds(skuIds, matrix.getChannels())) {
+            if (!effectivePrice.isFresh(now)) {
+                staleByChannel.computeIfAbsent(effectivePrice.getChannel(), channel -> new ArrayList<>())
+                        .add(effectivePrice.getSkuId());
+            } else if (effectivePrice.getPrice() != null) {
+                matrix.put(effectivePrice.getSkuId(), effectivePrice.getChannel(),
+                        MoneyCents.toCents(effectivePrice.getPrice()));
+            }
+        }
+        staleByChannel.forEach((channel, stale) -> {
+            for (SkuPrice price : skuPriceRepository.findLatestActiveBySkuIds(stale, channel, now)) {
+                matrix.put(price.getSkuId(), channel, MoneyCents.toCents(price.getPrice()));
+            }
+        });
+    }
+
+    /**
+     * 重新计算同一渠道的一批行，并按读取时的版本号写回
+     *
+     * @return 写回成功的行数
+     */
+    private int refresh(List<SkuEffectivePrice> rows, LocalDateTime now) {
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        ChannelType channel = rows.get(0).getChannel();
+        Map<Long, Integer> versions = rows.stream()
+                .collect(Collectors.toMap(SkuEffectivePrice::getSkuId, SkuEffectivePrice::getVersion));
+        int updated = 0;
+        for (SkuEffectivePrice computed : compute(new ArrayList<>(versions.keySet()), channel, now)) {
+            if (skuEffectivePriceRepository.updateIfVersion(computed, versions.get(computed.getSkuId()))) {
+                updated++;
+            }
+        }
+        return updated;
+    }
+
+    /**
+     * 按价格记录计算当前价格和下一次变化时间
+     * 一次 IN 查询加载这批 SKU 仍未失效的价格记录，当前价格取生效中 start_time 最晚的一条
+     */
+    private List<SkuEffectivePrice> compute(List<Long> skuIds, ChannelType channel, LocalDateTime now) {
+        // 按秒对齐，与价格时间线的精度一致
+        LocalDateTime from = now.truncatedTo(ChronoUnit.SECONDS);
+        Map<Long, List<SkuPrice>> pricesBySkuId = skuPriceRepository.findUnexpiredBySkuIds(skuIds, channel, from)
+                .stream()
+                .collect(Collectors.groupingBy(SkuPrice::getSkuId));
+
+        List<SkuEffectivePrice> result = new ArrayList<>(skuIds.size());
+        for (Long skuId : skuIds) {
+            List<SkuPrice> prices = pricesBySkuId.getOrDefault(skuId, List.of());
+            SkuPrice current = prices.stream()
+                    .filter(price -> price.isActive(from))
+                    .max(Comparator.comparing(SkuPrice::getStartTime).thenComparing(SkuPrice::getId))
+                    .orElse(null);
+
+            SkuEffectivePrice effectivePrice = new SkuEffectivePrice();
+            effectivePrice.setSkuId(skuId);
+            effectivePrice.setChannel(channel);
+            effectivePrice.setPrice(current != null ? current.getPrice() : null);
+            effectivePrice.setValidUntil(current != null ? current.getEndTime() : null);
+            effectivePrice.setNextChangeAt(PriceTimeline.of(prices, from).nextChangeAfter(from));
+            result.add(effectivePrice);
+        }
+        return result;
+    }
+}
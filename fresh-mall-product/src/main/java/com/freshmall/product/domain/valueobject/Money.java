@@ -1,5 +1,6 @@
 package com.freshmall.product.domain.valueobject;
 
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 
@@ -10,8 +11,10 @@ import java.math.RoundingMode;
 /**
  * 金额值对象
  * 不可变对象，所有操作返回新实例
+ * JSON 字段顺序固定（getter 的反射顺序不确定），与 MoneyCents 一致
  */
 @Getter
+@JsonPropertyOrder({"amount", "currency", "zero", "positive"})
 @EqualsAndHashCode
 public class Money implements Serializable {
     
@@ -41,6 +44,25 @@ public class Money implements Serializable {
         return new Money(BigDecimal.ZERO, DEFAULT_CURRENCY);
     }
     
+    /**
+     * 由分构造金额
+     * 
+     * @param cents 金额（分）
+     * @return 金额对象
+     */
+    public static Money ofCents(long cents) {
+        return new Money(BigDecimal.valueOf(cents, SCALE), DEFAULT_CURRENCY);
+    }
+    
+    /**
+     * 转换为分（定点整数）
+     * 
+     * @return 金额（分）
+     */
+    public long toCents() {
+        return this.amount.unscaledValue().longValueExact();
+    }
+    
     public Money add(Money other) {
         checkCurrency(other);
         return new Money(this.amount.add(other.amount), this.currency);
@@ -0,0 +1,227 @@
+package com.freshmall.product.domain.valueobject;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * 定点金额值对象（单位：分）
+ * 与 Money 含义相同，金额以 long 存储，加减、数量乘法和比较都是整数运算，不创建 BigDecimal，
+ * 用于价格查询、购物车计价等逐个 SKU 计算的热点路径；只在与数据库、外部接口交换金额时转换一次
+ *
+ * 设计说明：
+ * - 不可变对象，所有运算返回新实例；运算溢出时抛出 ArithmeticException，不会静默回绕
+ * - 金额精度固定为两位小数，与 Money 及数据库 DECIMAL(10, 2) 一致
+ * - JSON 与 Money 完全相同：{"amount":12.30,"currency":"CNY","zero":false,"positive":true}，
+ *   接口返回值由 Money 换成 MoneyCents 时调用方无感知
+ */
+@JsonSerialize(using = MoneyCents.JsonWriter.class)
+public final class MoneyCents implements Comparable<MoneyCents>, Serializable {
+
+    private static final String DEFAULT_CURRENCY = "CNY";
+    private static final int SCALE = 2;
+
+    private static final MoneyCents ZERO = new MoneyCents(0L, DEFAULT_CURRENCY);
+
+    private final long cents;
+    private final String currency;
+
+    private MoneyCents(long cents, String currency) {
+        this.cents = cents;
+        this.currency = currency == null ? DEFAULT_CURRENCY : currency;
+    }
+
+    public static MoneyCents ofCents(long cents) {
+        return cents == 0L ? ZERO : new MoneyCents(cents, DEFAULT_CURRENCY);
+    }
+
+    public static MoneyCents ofCents(long cents, String currency) {
+        return new MoneyCents(cents, currency);
+    }
+
+    public static MoneyCents of(BigDecimal amount) {
+        return ofCents(toCents(amount));
+    }
+
+    public static MoneyCents of(Money money) {
+        if (money == null) {
+            throw new IllegalArgumentException("金额不能为空");
+        }
+        return new MoneyCents(money.toCents(), money.getCurrency());
+    }
+
+    public static MoneyCents zero() {
+        return ZERO;
+    }
+
+    /**
+     * 元转换为分（四舍五入到分，与 Money 的精度处理一致）
+     * 数据库读出的 DECIMAL(10, 2) 已是两位小数，setScale 直接返回原对象，不做舍入运算
+     *
+     * @param amount 金额（元）
+     * @return 金额（分）
+     */
+    public static long toCents(BigDecimal amount) {
+        if (amount == null) {
+            throw new IllegalArgumentException("金额不能为空");
+        }
+        return amount.setScale(SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    /**
+     * 分转换为元
+     *
+     * @param cents 金额（分）
+     * @return 金额（元，两位小数）
+     */
+    public static BigDecimal toAmount(long cents) {
+        return BigDecimal.valueOf(cents, SCALE);
+    }
+
+    public long getCents() {
+        return cents;
+    }
+
+    public String getCurrency() {
+        return currency;
+    }
+
+    /**
+     * 金额（元），与 Money.getAmount 相同；每次调用都会创建 BigDecimal，只在边界处使用
+     *
+     * @return 金额（元，两位小数）
+     */
+    public BigDecimal getAmount() {
+        return toAmount(cents);
+    }
+
+    public Money toMoney() {
+        return Money.of(toAmount(cents), currency);
+    }
+
+    public MoneyCents add(MoneyCents other) {
+        checkCurrency(other);
+        return new MoneyCents(Math.addExact(cents, other.cents), currency);
+    }
+
+    public MoneyCents subtract(MoneyCents other) {
+        checkCurrency(other);
+        return new MoneyCents(Math.subtractExact(cents, other.cents), currency);
+    }
+
+    /**
+     * 乘以数量（如单价 × 购买件数）
+     *
+     * @param quantity 数量
+     * @return 新金额
+     */
+    public MoneyCents multiply(long quantity) {
+        return new MoneyCents(Math.multiplyExact(cents, quantity), currency);
+    }
+
+    public boolean greaterThan(MoneyCents other) {
+        return compareTo(other) > 0;
+    }
+
+    public boolean lessThan(MoneyCents other) {
+        return compareTo(other) < 0;
+    }
+
+    public boolean greaterThanOrEqual(MoneyCents other) {
+        return compareTo(other) >= 0;
+    }
+
+    public boolean lessThanOrEqual(MoneyCents other) {
+        return compareTo(other) <= 0;
+    }
+
+    public boolean isPositive() {
+        return cents > 0;
+    }
+
+    public boolean isZero() {
+        return cents == 0;
+    }
+
+    @Override
+    public int compareTo(MoneyCents other) {
+        checkCurrency(other);
+        return Long.compare(cents, other.cents);
+    }
+
+    private void checkCurrency(MoneyCents other) {
+        if (!this.currency.equals(other.currency)) {
+            throw new IllegalArgumentException("货币类型不匹配");
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof MoneyCents)) {
+            return false;
+        }
+        MoneyCents other = (MoneyCents) o;
+        return cents == other.cents && currency.equals(other.currency);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Long.hashCode(cents) + currency.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return currency + " " + formatAmount(cents);
+    }
+
+    /**
+     * 按两位小数格式化金额（元），不经过 BigDecimal
+     */
+    static String formatAmount(long cents) {
+        if (cents == Long.MIN_VALUE) {
+            // 没有对应的正数
+            return toAmount(cents).toPlainString();
+        }
+        StringBuilder builder = new StringBuilder(24);
+        long abs = Math.abs(cents);
+        if (cents < 0) {
+            builder.append('-');
+        }
+        builder.append(abs / 100).append('.');
+        long fraction = abs % 100;
+        if (fraction < 10) {
+            builder.append('0');
+        }
+        return builder.append(fraction).toString();
+    }
+
+    /**
+     * JSON 序列化：输出与 Money 相同的字段和顺序，金额按两位小数的数字输出
+     */
+    public static final class JsonWriter extends StdSerializer<MoneyCents> {
+
+        public JsonWriter() {
+            super(MoneyCents.class);
+        }
+
+        @Override
+        public void serialize(MoneyCents value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject();
+            gen.writeFieldName("amount");
+            gen.writeNumber(formatAmount(value.cents));
+            gen.writeStringField("currency", value.currency);
+            gen.writeBooleanField("zero", value.isZero());
+            gen.writeBooleanField("positive", value.isPositive());
+            gen.writeEndObject();
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.freshmall.product.infrastructure.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * 后台任务配置：开启定时调度，并提供索引任务、索引重建、索引一致性检查、价格分块查询专用线程池
+ */
+@Configuration
+@EnableScheduling
+public class AsyncTaskConfig {
+
+    /**
+     * 索引任务工作线程池
+     * 队列满时由调用线程（调度线程）执行，起到背压作用
+     */
+    @Bean
+    public ThreadPoolTaskExecutor productIndexTaskExecutor(
+            @Value("${product.index-task.worker-threads:4}") int workerThreads) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workerThreads);
+        executor.setMaxPoolSize(workerThreads);
+        executor.setQueueCapacity(workerThreads * 64);
+        executor.setThreadNamePrefix("index-task-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * 索引全量重建线程池
+     * 每个分区占用一个线程，与增量索引任务隔离，重建期间不影响增量更新的时效
+     */
+    @Bean
+    public ThreadPoolTaskExecutor productIndexRebuildExecutor(
+            @Value("${product.index-rebuild.threads:4}") int threads) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setThreadNamePrefix("index-rebuild-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * 索引一致性检查线程池
+     * 同一时刻只有一次检查，单线程顺序执行
+     */
+    @Bean
+    public ThreadPoolTaskExecutor productIndexCheckExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setThreadNamePrefix("index-check-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * 价格分块查询线程池
+     * 批量价格查询的 IN 列表切块后并行执行，队列满时由调用线程执行
+     */
+    @Bean
+    public ThreadPoolTaskExecutor priceQueryExecutor(
+            @Value("${product.price-query.threads:4}") int threads) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(threads * 16);
+        executor.setThreadNamePrefix("price-query-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        return executor;
+    }
+}
@@ -0,0 +1,83 @@
+package com.freshmall.product.infrastructure.job;
+
+import com.freshmall.product.domain.service.PriceArchiveService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * 价格归档任务
+ *
+ * 执行流程：
+ * 1. 按 cron 定时执行（默认每天凌晨低峰期），保留期起点为当前时间减去保留天数
+ * 2. 逐批归档，每批一个短事务，批之间暂停一段时间，避免长时间持有锁和主从延迟
+ * 3. 单次执行的批数有上限，积压的记录由下一次执行继续处理
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PriceArchiveJob {
+
+    private final PriceArchiveService priceArchiveService;
+
+    /**
+     * 是否启用归档
+     */
+    @Value("${product.price-archive.enabled:true}")
+    private boolean enabled;
+
+    /**
+     * 保留天数：失效（或删除）超过该天数的记录才会归档
+     */
+    @Value("${product.price-archive.retention-days:180}")
+    private int retentionDays;
+
+    /**
+     * 每批归档的记录数
+     */
+    @Value("${product.price-archive.batch-size:1000}")
+    private int batchSize;
+
+    /**
+     * 每批之间的暂停时间（毫秒）
+     */
+    @Value("${product.price-archive.batch-pause-ms:100}")
+    private long batchPauseMs;
+
+    /**
+     * 单次执行的最大批数
+     */
+    @Value("${product.price-archive.max-batches:1000}")
+    private int maxBatches;
+
+    @Scheduled(cron = "${product.price-archive.cron:0 30 3 * * ?}")
+    public void run() {
+        if (!enabled) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(retentionDays);
+        long total = 0;
+        try {
+            for (int batch = 0; batch < maxBatches; batch++) {
+                int archived = priceArchiveService.archiveBatch(cutoff, batchSize);
+                total += archived;
+                if (archived < batchSize) {
+                    break;
+                }
+                if (batchPauseMs > 0) {
+                    Thread.sleep(batchPauseMs);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.error("价格归档异常: archived={}", total, e);
+        }
+        log.info("价格归档完成: cutoff={}, archived={}, 耗时 {} ms", cutoff, total, System.currentTimeMillis() - start);
+    }
+}
@@ -0,0 +1,54 @@
+package com.freshmall.product.infrastructure.job;
+
+import com.freshmall.product.domain.model.ChannelType;
+import com.freshmall.product.domain.service.PriceBookService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * 价格册导出任务
+ *
+ * 执行流程：
+ * 1. 按 cron 定时执行，生成配置渠道（默认门店）的全量价格册和相对上一版本的增量
+ * 2. 价格册包含已排期的未来价格，终端在两次生成之间离线也能按时切换价格
+ * 3. 输出到本地目录，由部署侧分发到终端；多节点部署时只需在一个节点开启
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PriceBookExportJob {
+
+    private final PriceBookService priceBookService;
+
+    /**
+     * 是否启用价格册导出
+     */
+    @Value("${product.price-book.enabled:false}")
+    private boolean enabled;
+
+    /**
+     * 导出的销售渠道
+     */
+    @Value("${product.price-book.channel:STORE}")
+    private ChannelType channel;
+
+    @Scheduled(cron = "${product.price-book.cron:0 */10 * * * ?}")
+    public void run() {
+        if (!enabled) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        try {
+            long records = priceBookService.generate(channel, LocalDateTime.now());
+            log.info("价格册导出完成: channel={}, records={}, 耗时 {} ms",
+                    channel, records, System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            log.error("价格册导出异常: channel={}", channel, e);
+        }
+    }
+}
@@ -0,0 +1,249 @@
+package com.freshmall.product.infrastructure.job;
+
+import com.freshmall.product.domain.event.SkuPriceChangedEvent;
+import com.freshmall.product.domain.event.SkuPricesImportedEvent;
+import com.freshmall.product.domain.price.SkuPrice;
+import com.freshmall.product.domain.repository.SkuPriceRepository;
+import com.freshmall.product.domain.service.ProductSearchService;
+import com.freshmall.product.domain.service.SkuEffectivePriceService;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * 价格边界调度器
+ *
+ * 价格记录有生效时间和失效时间，索引中的价格范围只在索引更新时计算。
+ * 调度器把即将到来的生效/失效时间（边界）放入按时间排序的优先队列，边界到达时批量重算受影响 SKU 的索引价格列。
+ * 每次检查时同时刷新 next_change_at 已到期的当前有效价格（t_sku_effective_price）。
+ *
+ * 设计说明：
+ * - 只加载未来一个前瞻窗口内的边界，队列保持很小；时间推进到窗口后半段时再向后加载下一段
+ * - 启动时回溯一段时间，补上停机期间错过的边界（重算是幂等的）
+ * - 新写入的价格通过事件登记到已加载的窗口内，窗口外的边界由后续加载覆盖
+ * - 失效边界为失效时间后一秒（有效价格查询条件为 end_time >= now，DATETIME 精度为秒）
+ * - 多节点部署时每个节点都会执行，重算结果相同，只是重复了少量计算
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PriceBoundaryScheduler {
+
+    private final SkuPriceRepository skuPriceRepository;
+    private final ProductSearchService productSearchService;
+    private final SkuEffectivePriceService skuEffectivePriceService;
+
+    /**
+     * 前瞻窗口（毫秒）
+     */
+    @Value("${product.price-boundary.lookahead-ms:600000}")
+    private long lookaheadMs;
+
+    /**
+     * 启动时回溯的时间（毫秒）
+     */
+    @Value("${product.price-boundary.catch-up-ms:86400000}")
+    private long catchUpMs;
+
+    /**
+     * 每批重算的 SKU 数
+     */
+    @Value("${product.price-boundary.batch-size:500}")
+    private int batchSize;
+
+    /**
+     * 待触发的边界（按时间升序），访问时需持有 this 锁
+     */
+    private final PriorityQueue<Boundary> queue = new PriorityQueue<>(Comparator.comparing(Boundary::getTime));
+
+    /**
+     * 已加载到的时间点，之前的边界都已在队列中（或已触发）；为 null 表示尚未启动
+     */
+    private LocalDateTime loadedUntil;
+
+    /**
+     * 应用启动后开始调度，回溯加载停机期间错过的边界
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        loadedUntil = LocalDateTime.now().minus(Duration.ofMillis(catchUpMs));
+        log.info("价格边界调度器启动: 回溯至 {}", loadedUntil);
+    }
+
+    /**
+     * 新价格写入后登记其边界（只登记已加载窗口内的未来边界）
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public synchronized void onPriceChanged(SkuPriceChangedEvent event) {
+        if (loadedUntil == null) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        offer(event.getSkuId(), event.getStartTime(), now);
+        if (event.getEndTime() != null) {
+            offer(event.getSkuId(), endBoundary(event.getEndTime()), now);
+        }
+    }
+
+    /**
+     * 每秒检查一次到期边界
+     */
+    @Scheduled(fixedDelayString = "${product.price-boundary.tick-ms:1000}")
+    public void tick() {
+        refreshEffectivePrices();
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            List<Boundary> due = pollDue(now);
+            if (due.isEmpty()) {
+                return;
+            }
+
+            Set<Long> skuIds = new LinkedHashSet<>();
+            due.forEach(boundary -> skuIds.add(boundary.getSkuId()));
+            try {
+                refresh(new ArrayList<>(skuIds));
+            } catch (Exception e) {
+                // 放回队列，下一次 tick 重试
+                synchronized (this) {
+                    queue.addAll(due);
+                }
+                throw e;
+            }
+        } catch (Exception e) {
+            log.error("价格边界处理异常", e);
+        }
+    }
+
+    /**
+     * 刷新下一次变化时间已到期的当前有效价格（价格生效 / 失效、提交后刷新失败的行），直到没有到期的行
+     * 当前有效价格表自身记录了到期时间，不依赖内存中的边界队列，停机期间错过的边界也会被刷新
+     */
+    private void refreshEffectivePrices() {
+        try {
+            int total = 0;
+            int read;
+            do {
+                read = skuEffectivePriceService.refreshDue(LocalDateTime.now(), batchSize);
+                total += read;
+            } while (read >= batchSize);
+            if (total > 0) {
+                log.info("刷新当前有效价格: rows={}", total);
+            }
+        } catch (Exception e) {
+            log.error("刷新当前有效价格异常", e);
+        }
+    }
+
+    /**
+     * 批量导入的价格写入后登记其边界
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public synchronized void onPricesImported(SkuPricesImportedEvent event) {
+        if (loadedUntil == null) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        for (SkuPrice price : event.getPrices()) {
+            offer(price.getSkuId(), price.getStartTime(), now);
+            if (price.getEndTime() != null) {
+                offer(price.getSkuId(), endBoundary(price.getEndTime()), now);
+            }
+        }
+    }
+
+    /**
+     * 必要时向后加载边界，并取出所有已到期的边界
+     */
+    private synchronized List<Boundary> pollDue(LocalDateTime now) {
+        if (loadedUntil == null) {
+            return List.of();
+        }
+
+        // 时间推进到窗口后半段时加载下一段
+        if (now.plus(Duration.ofMillis(lookaheadMs / 2)).isAfter(loadedUntil)) {
+            LocalDateTime to = now.plus(Duration.ofMillis(lookaheadMs));
+            List<SkuPrice> prices = skuPriceRepository.findBoundariesBetween(loadedUntil, to);
+            for (SkuPrice price : prices) {
+                if (price.getStartTime() != null && price.getStartTime().isAfter(loadedUntil)
+                        && !price.getStartTime().isAfter(to)) {
+                    queue.add(new Boundary(price.getStartTime(), price.getSkuId()));
+                }
+                if (price.getEndTime() != null && price.getEndTime().isAfter(loadedUntil)
+                        && !price.getEndTime().isAfter(to)) {
+                    queue.add(new Boundary(endBoundary(price.getEndTime()), price.getSkuId()));
+                }
+            }
+            log.debug("加载价格边界: ({}, {}], 价格记录 {} 条, 队列长度 {}", loadedUntil, to, prices.size(), queue.size());
+            loadedUntil = to;
+        }
+
+        List<Boundary> due = new ArrayList<>();
+        while (!queue.isEmpty() && !queue.peek().getTime().isAfter(now)) {
+            due.add(queue.poll());
+        }
+        return due;
+    }
+
+    /**
+     * 登记单个边界：已过去的边界由写入时的索引任务处理，窗口外的边界由后续加载覆盖
+     */
+    private void offer(Long skuId, LocalDateTime time, LocalDateTime now) {
+        if (time != null && time.isAfter(now) && !time.isAfter(loadedUntil)) {
+            queue.add(new Boundary(time, skuId));
+        }
+    }
+
+    /**
+     * 分批重算 SKU 索引价格
+     */
+    private void refresh(List<Long> skuIds) {
+        int changed = 0;
+        for (int from = 0; from < skuIds.size(); from += batchSize) {
+            List<Long> batch = skuIds.subList(from, Math.min(from + batchSize, skuIds.size()));
+            changed += productSearchService.refreshSkuPrices(batch);
+        }
+        log.info("价格边界到达，刷新索引价格: skus={}, changed={}", skuIds.size(), changed);
+    }
+
+    /**
+     * 失效边界：失效时间之后价格才不再有效
+     */
+    private LocalDateTime endBoundary(LocalDateTime endTime) {
+        return endTime.plusSeconds(1);
+    }
+
+    /**
+     * 价格边界
+     */
+    @Getter
+    @AllArgsConstructor
+    private static class Boundary {
+
+        /**
+         * 触发时间
+         */
+        private final LocalDateTime time;
+
+        /**
+         * SKU ID
+         */
+        private final Long skuId;
+    }
+}
@@ -0,0 +1,91 @@
+package com.freshmall.product.infrastructure.job;
+
+import com.freshmall.common.exception.BusinessException;
+import com.freshmall.product.domain.event.ProductIndexCheckStartedEvent;
+import com.freshmall.product.domain.service.ProductIndexCheckService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+/**
+ * 商品索引一致性检查任务
+ * 
+ * 执行流程：
+ * 1. 定时（或通过管理接口）发起检查，收到启动事件后在专用线程中执行
+ * 2. 逐批检查 SKU，每批之间暂停一段时间，限制对数据库的读取压力
+ * 3. 检查过程中发现的差异由索引任务工作器异步修复
+ */
+@Slf4j
+@Component
+public class ProductIndexCheckJob {
+
+    private final ProductIndexCheckService productIndexCheckService;
+    private final ThreadPoolTaskExecutor executor;
+
+    /**
+     * 是否定时检查
+     */
+    @Value("${product.index-check.enabled:true}")
+    private boolean enabled;
+
+    /**
+     * 每批之间的暂停时间（毫秒）
+     */
+    @Value("${product.index-check.chunk-pause-ms:200}")
+    private long chunkPauseMs;
+
+    public ProductIndexCheckJob(ProductIndexCheckService productIndexCheckService,
+                                @Qualifier("productIndexCheckExecutor") ThreadPoolTaskExecutor executor) {
+        this.productIndexCheckService = productIndexCheckService;
+        this.executor = executor;
+    }
+
+    /**
+     * 定时发起检查，上一次检查未结束或正在全量重建时跳过
+     */
+    @Scheduled(initialDelayString = "${product.index-check.initial-delay-ms:600000}",
+            fixedDelayString = "${product.index-check.interval-ms:21600000}")
+    public void schedule() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            productIndexCheckService.startCheck();
+        } catch (BusinessException e) {
+            log.info("跳过本次索引一致性检查: {}", e.getMessage());
+        } catch (Exception e) {
+            log.error("发起索引一致性检查异常", e);
+        }
+    }
+
+    /**
+     * 检查发起后开始执行
+     */
+    @EventListener
+    public void onCheckStarted(ProductIndexCheckStartedEvent event) {
+        executor.execute(this::run);
+    }
+
+    /**
+     * 逐批检查直到完成
+     */
+    private void run() {
+        try {
+            while (productIndexCheckService.checkNextChunk()) {
+                if (chunkPauseMs > 0) {
+                    Thread.sleep(chunkPauseMs);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            productIndexCheckService.failCheck("检查线程被中断");
+        } catch (Exception e) {
+            log.error("索引一致性检查异常", e);
+            productIndexCheckService.failCheck(e.getMessage());
+        }
+    }
+}
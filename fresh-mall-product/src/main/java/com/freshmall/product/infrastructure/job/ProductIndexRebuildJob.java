@@ -0,0 +1,121 @@
+package com.freshmall.product.infrastructure.job;
+
+import com.freshmall.product.domain.event.ProductIndexRebuildStartedEvent;
+import com.freshmall.product.domain.model.ProductIndexRebuildPartition;
+import com.freshmall.product.domain.service.ProductIndexRebuildService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * 商品索引全量重建任务
+ * 
+ * 执行流程：
+ * 1. 收到重建启动事件（或应用启动时发现进行中的重建）后，为每个未完成的分区提交一个并行任务
+ * 2. 分区任务逐批构建索引写入影子表，直到分区处理完毕
+ * 3. 全部分区完成后切换影子表；任一分区失败则标记重建失败，正式索引表保持不变
+ *
+ * 多个节点启动时可能同时继续同一次重建：同一分区的批次按分区行锁依次执行，
+ * 节点处理完后若仍有分区在其他节点处理中，则不做收尾，由最后完成的节点切换
+ */
+@Slf4j
+@Component
+public class ProductIndexRebuildJob {
+
+    private final ProductIndexRebuildService productIndexRebuildService;
+    private final ThreadPoolTaskExecutor executor;
+
+    /**
+     * 本节点是否正在执行重建
+     */
+    private final AtomicBoolean running = new AtomicBoolean(false);
+
+    public ProductIndexRebuildJob(ProductIndexRebuildService productIndexRebuildService,
+                                  @Qualifier("productIndexRebuildExecutor") ThreadPoolTaskExecutor executor) {
+        this.productIndexRebuildService = productIndexRebuildService;
+        this.executor = executor;
+    }
+
+    /**
+     * 重建发起后开始执行
+     */
+    @EventListener
+    public void onRebuildStarted(ProductIndexRebuildStartedEvent event) {
+        launch(event.getRebuildId());
+    }
+
+    /**
+     * 应用启动后继续执行重启前未完成的重建
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeOnStartup() {
+        productIndexRebuildService.findRunning().ifPresent(rebuild -> {
+            log.info("继续执行未完成的索引重建: rebuildId={}", rebuild.getId());
+            launch(rebuild.getId());
+        });
+    }
+
+    /**
+     * 并行处理所有未完成的分区，完成后切换影子表
+     * 
+     * @param rebuildId 重建 ID
+     */
+    public void launch(Long rebuildId) {
+        if (!running.compareAndSet(false, true)) {
+            log.warn("本节点已有索引重建在执行，忽略: rebuildId={}", rebuildId);
+            return;
+        }
+
+        List<ProductIndexRebuildPartition> pending;
+        try {
+            pending = productIndexRebuildService.findPartitions(rebuildId).stream()
+                    .filter(partition -> !Boolean.TRUE.equals(partition.getFinished()))
+                    .collect(Collectors.toList());
+        } catch (Exception e) {
+            running.set(false);
+            throw e;
+        }
+
+        CompletableFuture<?>[] futures = pending.stream()
+                .map(partition -> CompletableFuture.runAsync(() -> processPartition(partition), executor))
+                .toArray(CompletableFuture[]::new);
+
+        CompletableFuture.allOf(futures).whenCompleteAsync((ignored, error) -> {
+            try {
+                if (error != null) {
+                    Throwable cause = error.getCause() != null ? error.getCause() : error;
+                    productIndexRebuildService.failRebuild(rebuildId, cause.getMessage());
+                } else {
+                    productIndexRebuildService.completeRebuild(rebuildId);
+                }
+            } catch (Exception e) {
+                log.error("索引重建收尾失败: rebuildId={}", rebuildId, e);
+                productIndexRebuildService.failRebuild(rebuildId, e.getMessage());
+            } finally {
+                running.set(false);
+            }
+        }, executor);
+    }
+
+    /**
+     * 逐批处理单个分区直到完成
+     * 
+     * @param partition 分区
+     */
+    private void processPartition(ProductIndexRebuildPartition partition) {
+        log.info("开始处理重建分区: partitionId={}, range=({}, {}], cursor={}",
+                partition.getId(), partition.getRangeStart(), partition.getRangeEnd(), partition.getCursorSpuId());
+        while (productIndexRebuildService.processNextChunk(partition.getId())) {
+            // 继续处理下一批
+        }
+        log.info("重建分区处理完成: partitionId={}", partition.getId());
+    }
+}
@@ -0,0 +1,155 @@
+package com.freshmall.product.infrastructure.job;
+
+import com.freshmall.common.exception.BusinessException;
+import com.freshmall.product.domain.event.ProductIndexTaskEnqueuedEvent;
+import com.freshmall.product.domain.model.IndexTaskType;
+import com.freshmall.product.domain.model.ProductIndexTask;
+import com.freshmall.product.domain.service.ProductIndexTaskService;
+import com.freshmall.product.domain.service.ProductSearchService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 商品索引任务工作器
+ * 
+ * 消费流程：
+ * 1. 入队事务提交后收到事件，延迟一个合并窗口再拉取，窗口内的重复请求会被合并
+ * 2. 按批认领到期任务，同一目标的多条任务只执行一次
+ * 3. 不同目标并行提交到索引任务线程池执行，每个目标独立事务
+ * 4. 定时轮询兜底：处理重启前遗留的任务、重试到期的任务以及其他节点入队的任务
+ */
+@Slf4j
+@Component
+public class ProductIndexTaskWorker {
+
+    private final ProductIndexTaskService productIndexTaskService;
+    private final ProductSearchService productSearchService;
+    private final ThreadPoolTaskExecutor executor;
+    private final TaskScheduler taskScheduler;
+
+    /**
+     * 合并窗口（毫秒）
+     */
+    @Value("${product.index-task.coalesce-window-ms:500}")
+    private long coalesceWindowMs;
+
+    /**
+     * 每批认领的任务数
+     */
+    @Value("${product.index-task.batch-size:200}")
+    private int batchSize;
+
+    private final AtomicBoolean drainScheduled = new AtomicBoolean(false);
+    private final AtomicBoolean draining = new AtomicBoolean(false);
+
+    public ProductIndexTaskWorker(ProductIndexTaskService productIndexTaskService,
+                                  ProductSearchService productSearchService,
+                                  @Qualifier("productIndexTaskExecutor") ThreadPoolTaskExecutor executor,
+                                  TaskScheduler taskScheduler) {
+        this.productIndexTaskService = productIndexTaskService;
+        this.productSearchService = productSearchService;
+        this.executor = executor;
+        this.taskScheduler = taskScheduler;
+    }
+
+    /**
+     * 入队事务提交后唤醒工作器（无事务时直接唤醒）
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTaskEnqueued(ProductIndexTaskEnqueuedEvent event) {
+        if (drainScheduled.compareAndSet(false, true)) {
+            taskScheduler.schedule(() -> {
+                drainScheduled.set(false);
+                drain();
+            }, Instant.now().plusMillis(coalesceWindowMs));
+        }
+    }
+
+    /**
+     * 定时轮询兜底
+     */
+    @Scheduled(fixedDelayString = "${product.index-task.poll-interval-ms:5000}")
+    public void poll() {
+        try {
+            productIndexTaskService.releaseStaleClaims();
+            drain();
+        } catch (Exception e) {
+            log.error("索引任务轮询异常", e);
+        }
+    }
+
+    /**
+     * 拉取并处理所有到期任务，同一时刻只有一个线程在拉取
+     */
+    public void drain() {
+        if (!draining.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            List<ProductIndexTask> tasks;
+            while (!(tasks = productIndexTaskService.claimDueTasks(batchSize)).isEmpty()) {
+                processBatch(tasks);
+            }
+        } finally {
+            draining.set(false);
+        }
+    }
+
+    /**
+     * 按目标合并后并行处理一批任务，等待整批完成
+     * 
+     * @param tasks 认领到的任务
+     */
+    private void processBatch(List<ProductIndexTask> tasks) {
+        Map<String, List<ProductIndexTask>> byTarget = new LinkedHashMap<>();
+        for (ProductIndexTask task : tasks) {
+            byTarget.computeIfAbsent(task.coalesceKey(), key -> new ArrayList<>()).add(task);
+        }
+
+        List<CompletableFuture<Void>> futures = new ArrayList<>(byTarget.size());
+        for (List<ProductIndexTask> group : byTarget.values()) {
+            futures.add(CompletableFuture.runAsync(() -> processTarget(group), executor));
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+
+        log.info("索引任务批次处理完成: tasks={}, targets={}", tasks.size(), byTarget.size());
+    }
+
+    /**
+     * 处理单个目标
+     * 业务异常（目标不存在等）不会因重试而改变，直接完成任务；其他异常按退避策略重试
+     * 
+     * @param group 同一目标的全部任务
+     */
+    private void processTarget(List<ProductIndexTask> group) {
+        ProductIndexTask task = group.get(0);
+        try {
+            if (task.getTargetType() == IndexTaskType.SPU) {
+                productSearchService.refreshSpuIndex(task.getTargetId());
+            } else {
+                productSearchService.updateSkuIndex(task.getTargetId());
+            }
+            productIndexTaskService.completeTasks(group);
+        } catch (BusinessException e) {
+            log.warn("索引任务目标无法处理，丢弃任务: target={}, reason={}", task.coalesceKey(), e.getMessage());
+            productIndexTaskService.completeTasks(group);
+        } catch (Exception e) {
+            productIndexTaskService.failTasks(group, e.getMessage());
+        }
+    }
+}
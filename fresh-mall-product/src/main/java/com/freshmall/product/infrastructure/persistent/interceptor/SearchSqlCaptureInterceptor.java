@@ -0,0 +1,34 @@
+package com.freshmall.product.infrastructure.persistent.interceptor;
+
+import com.freshmall.product.domain.service.ProductSearchMetrics;
+import lombok.RequiredArgsConstructor;
+import org.apache.ibatis.executor.statement.StatementHandler;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+
+/**
+ * 搜索 SQL 登记拦截器
+ * 搜索阶段执行期间，把本线程准备执行的 SQL（带占位符）登记到 ProductSearchMetrics，用于慢搜索记录
+ * 不在搜索阶段中的语句直接放行，只多一次 ThreadLocal 读取
+ */
+@Component
+@RequiredArgsConstructor
+@Intercepts(@Signature(type = StatementHandler.class, method = "prepare", args = {Connection.class, Integer.class}))
+public class SearchSqlCaptureInterceptor implements Interceptor {
+
+    private final ProductSearchMetrics productSearchMetrics;
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        if (productSearchMetrics.isCapturing()) {
+            StatementHandler statementHandler = (StatementHandler) invocation.getTarget();
+            productSearchMetrics.captureSql(statementHandler.getBoundSql().getSql());
+        }
+        return invocation.proceed();
+    }
+}
@@ -2,12 +2,114 @@ package com.freshmall.product.infrastructure.persistent.mapper;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.freshmall.product.domain.model.ProductIndex;
+import org.apache.ibatis.annotations.Insert;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.annotations.Update;
+
+import java.time.LocalDateTime;
+import java.util.List;
 
 /**
  * 商品索引 Mapper
- * 使用 MyBatis Plus 提供的基础 CRUD 操作
+ * 使用 MyBatis Plus 提供的基础 CRUD 操作，并提供按 SKU 的插入或更新，以及全量重建使用的影子表操作
  */
 @Mapper
 public interface ProductIndexMapper extends BaseMapper<ProductIndex> {
+
+    /**
+     * 按 SKU 插入或更新索引行（sku_id 唯一）
+     * 并发重建同一 SKU 时后写入的一方更新已有行；已逻辑删除的行被复用，保留原 ID
+     * 
+     * @param index 商品索引（ID 已分配，仅在插入新行时使用）
+     * @return 影响行数
+     */
+    @Insert("INSERT INTO t_product_index "
+            + "(id, spu_id, sku_id, spu_name, category_id, min_price, max_price, "
+            + "app_price_cents, web_price_cents, store_price_cents, stock_status, spec_values, publish_time, "
+            + "spu_deleted, sku_enabled, content_hash, create_time, update_time, is_deleted) VALUES "
+            + "(#{id}, #{spuId}, #{skuId}, #{spuName}, #{categoryId}, #{minPrice}, #{maxPrice}, "
+            + "#{appPriceCents}, #{webPriceCents}, #{storePriceCents}, "
+            + "#{stockStatus}, #{specValues}, #{publishTime}, #{spuDeleted}, #{skuEnabled}, "
+            + "#{contentHash}, NOW(), NOW(), 0) "
+            + "ON DUPLICATE KEY UPDATE spu_id = VALUES(spu_id), spu_name = VALUES(spu_name), "
+            + "category_id = VALUES(category_id), min_price = VALUES(min_price), max_price = VALUES(max_price), "
+            + "app_price_cents = VALUES(app_price_cents), web_price_cents = VALUES(web_price_cents), "
+            + "store_price_cents = VALUES(store_price_cents), stock_status = VALUES(stock_status), "
+            + "spec_values = VALUES(spec_values), publish_time = VALUES(publish_time), "
+            + "spu_deleted = VALUES(spu_deleted), sku_enabled = VALUES(sku_enabled), "
+            + "content_hash = VALUES(content_hash), update_time = NOW(), is_deleted = 0")
+    int upsertBySkuId(ProductIndex index);
+
+    /**
+     * 查询 SKU 的索引行 ID（包含逻辑删除的行）
+     * 
+     * @param skuId SKU ID
+     * @return 索引行 ID，不存在时为 null
+     */
+    @Select("SELECT id FROM t_product_index WHERE sku_id = #{skuId}")
+    Long selectIdBySkuId(@Param("skuId") Long skuId);
+
+    /**
+     * 删除影子表（如果存在）
+     */
+    @Update("DROP TABLE IF EXISTS t_product_index_shadow")
+    void dropShadowTable();
+
+    /**
+     * 按正式索引表结构创建影子表（包含索引定义）
+     */
+    @Update("CREATE TABLE t_product_index_shadow LIKE t_product_index")
+    void createShadowTable();
+
+    /**
+     * 统计当前库中指定名称的表数量（用于判断影子表、旧表是否存在）
+     * 
+     * @param tableName 表名
+     * @return 存在时为 1
+     */
+    @Select("SELECT COUNT(*) FROM information_schema.tables "
+            + "WHERE table_schema = DATABASE() AND table_name = #{tableName}")
+    int countTable(@Param("tableName") String tableName);
+
+    /**
+     * 批量写入影子表
+     * 
+     * @param indexes 商品索引列表（ID 已分配）
+     * @return 写入行数
+     */
+    @Insert("<script>INSERT INTO t_product_index_shadow "
+            + "(id, spu_id, sku_id, spu_name, category_id, min_price, max_price, "
+            + "app_price_cents, web_price_cents, store_price_cents, stock_status, spec_values, publish_time, "
+            + "spu_deleted, sku_enabled, content_hash, create_time, update_time, is_deleted) VALUES "
+            + "<foreach collection='indexes' item='i' separator=','>"
+            + "(#{i.id}, #{i.spuId}, #{i.skuId}, #{i.spuName}, #{i.categoryId}, #{i.minPrice}, #{i.maxPrice}, "
+            + "#{i.appPriceCents}, #{i.webPriceCents}, #{i.storePriceCents}, "
+            + "#{i.stockStatus}, #{i.specValues}, #{i.publishTime}, #{i.spuDeleted}, #{i.skuEnabled}, "
+            + "#{i.contentHash}, NOW(), NOW(), 0)"
+            + "</foreach></script>")
+    int insertShadowBatch(@Param("indexes") List<ProductIndex> indexes);
+
+    /**
+     * 原子切换影子表与正式表（单条 RENAME TABLE 语句，切换期间查询不会看到空表）
+     */
+    @Update("RENAME TABLE t_product_index TO t_product_index_old, t_product_index_shadow TO t_product_index")
+    void swapShadowTable();
+
+    /**
+     * 查询旧表中指定时间之后被写入过的 SPU ID（包含逻辑删除的记录）
+     * 即重建期间增量索引处理过的 SPU
+     * 
+     * @param since 起始时间
+     * @return SPU ID 列表
+     */
+    @Select("SELECT DISTINCT spu_id FROM t_product_index_old WHERE update_time >= #{since}")
+    List<Long> selectOldSpuIdsUpdatedSince(@Param("since") LocalDateTime since);
+
+    /**
+     * 删除切换下来的旧表
+     */
+    @Update("DROP TABLE IF EXISTS t_product_index_old")
+    void dropOldTable();
 }
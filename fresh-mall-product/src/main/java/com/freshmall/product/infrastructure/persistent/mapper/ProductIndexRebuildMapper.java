@@ -0,0 +1,13 @@
+package com.freshmall.product.infrastructure.persistent.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.freshmall.product.domain.model.ProductIndexRebuild;
+import org.apache.ibatis.annotations.Mapper;
+
+/**
+ * 商品索引重建 Mapper
+ * 使用 MyBatis Plus 提供的基础 CRUD 操作
+ */
+@Mapper
+public interface ProductIndexRebuildMapper extends BaseMapper<ProductIndexRebuild> {
+}
@@ -0,0 +1,62 @@
+package com.freshmall.product.infrastructure.persistent.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.freshmall.product.domain.model.ProductIndexTask;
+import org.apache.ibatis.annotations.Delete;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Update;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 商品索引任务 Mapper
+ * 使用 MyBatis Plus 提供的基础 CRUD 操作，并提供批量写入、按目标合并认领和物理删除
+ */
+@Mapper
+public interface ProductIndexTaskMapper extends BaseMapper<ProductIndexTask> {
+
+    /**
+     * 物理删除任务
+     * 任务表是发件箱，处理完成的记录不需要保留，因此绕过全局逻辑删除
+     * 
+     * @param ids 任务 ID 列表
+     * @return 删除行数
+     */
+    @Delete("<script>DELETE FROM t_product_index_task WHERE id IN "
+            + "<foreach collection='ids' item='id' open='(' separator=',' close=')'>#{id}</foreach>"
+            + "</script>")
+    int physicalDeleteByIds(@Param("ids") List<Long> ids);
+
+    /**
+     * 批量写入任务（多行 VALUES）
+     * 
+     * @param tasks 任务列表（ID 已分配）
+     * @return 写入行数
+     */
+    @Insert("<script>INSERT INTO t_product_index_task "
+            + "(id, target_type, target_id, status, attempts, next_attempt_time, create_time, update_time, is_deleted) "
+            + "VALUES <foreach collection='tasks' item='t' separator=','>"
+            + "(#{t.id}, #{t.targetType}, #{t.targetId}, #{t.status}, #{t.attempts}, #{t.nextAttemptTime}, "
+            + "NOW(), NOW(), 0)"
+            + "</foreach></script>")
+    int insertBatch(@Param("tasks") List<ProductIndexTask> tasks);
+
+    /**
+     * 认领与已认领任务同一目标的其余待处理任务
+     * 已认领目标先物化为派生表（DISTINCT 阻止合并），再按 idx_target 关联更新
+     * 
+     * @param claimToken 认领令牌
+     * @param now 认领时间
+     * @return 追加认领的任务数量
+     */
+    @Update("UPDATE t_product_index_task t "
+            + "JOIN (SELECT DISTINCT target_type, target_id FROM t_product_index_task "
+            + "WHERE claim_token = #{claimToken}) c "
+            + "ON t.target_type = c.target_type AND t.target_id = c.target_id "
+            + "SET t.status = 'PROCESSING', t.claim_token = #{claimToken}, t.claim_time = #{now}, t.update_time = NOW() "
+            + "WHERE t.status = 'PENDING' AND t.is_deleted = 0")
+    int claimPendingOfClaimedTargets(@Param("claimToken") String claimToken, @Param("now") LocalDateTime now);
+}
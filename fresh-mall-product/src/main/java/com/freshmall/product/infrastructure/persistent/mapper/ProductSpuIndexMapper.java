@@ -0,0 +1,80 @@
+package com.freshmall.product.infrastructure.persistent.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.freshmall.product.domain.model.ProductSpuIndex;
+import org.apache.ibatis.annotations.Delete;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * SPU 级商品索引 Mapper
+ * 汇总行由 SKU 级索引的可见行计算，写入使用 INSERT ... SELECT ... ON DUPLICATE KEY UPDATE
+ */
+@Mapper
+public interface ProductSpuIndexMapper extends BaseMapper<ProductSpuIndex> {
+
+    /**
+     * 汇总 SKU 级索引并写入指定 SPU 的 SPU 级索引（已存在则更新）
+     * 库存状态按名称存储，字母序 IN_STOCK < LOW_STOCK < OUT_OF_STOCK，MIN 即为最好的库存状态
+     * 
+     * @param spuIds SPU ID 集合，为 null 时汇总全部 SPU
+     * @return 影响行数
+     */
+    @Insert("<script>INSERT INTO t_product_spu_index "
+            + "(id, spu_id, spu_name, category_id, min_price, max_price, "
+            + "app_price_cents, web_price_cents, store_price_cents, stock_status, publish_time, sku_count, "
+            + "create_time, update_time, is_deleted) "
+            + "SELECT spu_id, spu_id, MAX(spu_name), MAX(category_id), MIN(min_price), MAX(max_price), "
+            + "MIN(app_price_cents), MIN(web_price_cents), MIN(store_price_cents), MIN(stock_status), "
+            + "MAX(publish_time), COUNT(*), NOW(), NOW(), 0 "
+            + "FROM t_product_index WHERE spu_deleted = 0 AND sku_enabled = 1 AND is_deleted = 0 "
+            + "<if test='spuIds != null'>AND spu_id IN "
+            + "<foreach collection='spuIds' item='spuId' open='(' separator=',' close=')'>#{spuId}</foreach>"
+            + "</if> GROUP BY spu_id "
+            + "ON DUPLICATE KEY UPDATE spu_name = VALUES(spu_name), category_id = VALUES(category_id), "
+            + "min_price = VALUES(min_price), max_price = VALUES(max_price), "
+            + "app_price_cents = VALUES(app_price_cents), web_price_cents = VALUES(web_price_cents), "
+            + "store_price_cents = VALUES(store_price_cents), stock_status = VALUES(stock_status), "
+            + "publish_time = VALUES(publish_time), sku_count = VALUES(sku_count), update_time = NOW()"
+            + "</script>")
+    int upsertFromIndex(@Param("spuIds") Collection<Long> spuIds);
+
+    /**
+     * 物理删除已没有可见 SKU 的 SPU 行
+     * 
+     * @param spuIds SPU ID 集合
+     * @return 删除行数
+     */
+    @Delete("<script>DELETE FROM t_product_spu_index WHERE spu_id IN "
+            + "<foreach collection='spuIds' item='spuId' open='(' separator=',' close=')'>#{spuId}</foreach> "
+            + "AND spu_id NOT IN (SELECT spu_id FROM t_product_index "
+            + "WHERE spu_deleted = 0 AND sku_enabled = 1 AND is_deleted = 0 AND spu_id IN "
+            + "<foreach collection='spuIds' item='spuId' open='(' separator=',' close=')'>#{spuId}</foreach>)"
+            + "</script>")
+    int deleteWithoutVisibleSku(@Param("spuIds") Collection<Long> spuIds);
+
+    /**
+     * 查询可见 SKU 所属的 SPU ID（去重）
+     * 
+     * @param skuIds SKU ID 集合
+     * @return SPU ID 列表
+     */
+    @Select("<script>SELECT DISTINCT spu_id FROM t_product_index "
+            + "WHERE spu_deleted = 0 AND sku_enabled = 1 AND is_deleted = 0 AND sku_id IN "
+            + "<foreach collection='skuIds' item='skuId' open='(' separator=',' close=')'>#{skuId}</foreach>"
+            + "</script>")
+    List<Long> selectSpuIdsBySkuIds(@Param("skuIds") Collection<Long> skuIds);
+
+    /**
+     * 物理删除全部 SPU 级索引（全量重算前调用）
+     * 
+     * @return 删除行数
+     */
+    @Delete("DELETE FROM t_product_spu_index")
+    int deleteAllRows();
+}
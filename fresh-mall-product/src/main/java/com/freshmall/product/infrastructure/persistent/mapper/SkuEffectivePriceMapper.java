@@ -0,0 +1,53 @@
+package com.freshmall.product.infrastructure.persistent.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.freshmall.product.domain.model.ChannelType;
+import com.freshmall.product.domain.price.SkuEffectivePrice;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * SKU 当前有效价格 Mapper
+ * 使用 MyBatis Plus 提供的基础 CRUD 操作，并提供标记待刷新的 upsert（单行、批量）
+ */
+@Mapper
+public interface SkuEffectivePriceMapper extends BaseMapper<SkuEffectivePrice> {
+
+    /**
+     * 标记待刷新：行不存在时插入，存在时把下一次变化时间置为当前时间并递增版本号
+     *
+     * @param skuId SKU ID
+     * @param channel 渠道
+     * @param now 当前时间
+     * @return 影响行数
+     */
+    @Insert("INSERT INTO t_sku_effective_price "
+            + "(sku_id, channel, price, valid_until, next_change_at, version, update_time) "
+            + "VALUES (#{skuId}, #{channel}, NULL, NULL, #{now}, 0, #{now}) "
+            + "ON DUPLICATE KEY UPDATE next_change_at = VALUES(next_change_at), version = version + 1, "
+            + "update_time = VALUES(update_time)")
+    int markDirty(@Param("skuId") Long skuId, @Param("channel") ChannelType channel,
+                  @Param("now") LocalDateTime now);
+
+    /**
+     * 批量标记同一渠道的多个 SKU 待刷新（多行 upsert）
+     *
+     * @param skuIds SKU ID 列表
+     * @param channel 渠道
+     * @param now 当前时间
+     * @return 影响行数
+     */
+    @Insert("<script>INSERT INTO t_sku_effective_price "
+            + "(sku_id, channel, price, valid_until, next_change_at, version, update_time) VALUES "
+            + "<foreach collection='skuIds' item='skuId' separator=','>"
+            + "(#{skuId}, #{channel}, NULL, NULL, #{now}, 0, #{now})"
+            + "</foreach> "
+            + "ON DUPLICATE KEY UPDATE next_change_at = VALUES(next_change_at), version = version + 1, "
+            + "update_time = VALUES(update_time)</script>")
+    int markDirtyBatch(@Param("skuIds") List<Long> skuIds, @Param("channel") ChannelType channel,
+                       @Param("now") LocalDateTime now);
+}
@@ -1,13 +1,158 @@
 package com.freshmall.product.infrastructure.persistent.mapper;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.freshmall.product.domain.model.ChannelType;
 import com.freshmall.product.domain.price.SkuPrice;
+import org.apache.ibatis.annotations.Delete;
+import org.apache.ibatis.annotations.Insert;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+
+import java.time.LocalDateTime;
+import java.util.List;
 
 /**
  * SKU 价格 Mapper
- * 使用 MyBatis Plus 提供的基础 CRUD 操作
+ * 使用 MyBatis Plus 提供的基础 CRUD 操作，并提供按 SKU 取最新有效价格的窗口函数查询、价格历史查询、批量写入、归档和价格册导出的 SKU 游标分页
  */
 @Mapper
 public interface SkuPriceMapper extends BaseMapper<SkuPrice> {
+
+    /**
+     * 批量查询每个 SKU 在指定渠道、指定时刻生效时间最晚的有效价格（每个 SKU 至多一行）
+     * 按 (sku_id) 分区、(start_time, id) 降序编号，只返回编号为 1 的行；内层查询走 idx_sku_channel_window 覆盖索引
+     *
+     * @param skuIds SKU ID 列表（非空）
+     * @param channel 销售渠道
+     * @param now 当前时间
+     * @return 有效价格列表
+     */
+    @Select("<script>SELECT id, sku_id, channel, price, start_time, end_time FROM ("
+            + "SELECT id, sku_id, channel, price, start_time, end_time, "
+            + "ROW_NUMBER() OVER (PARTITION BY sku_id ORDER BY start_time DESC, id DESC) AS rn "
+            + "FROM t_sku_price "
+            + "WHERE is_deleted = 0 AND channel = #{channel} AND start_time &lt;= #{now} "
+            + "AND (end_time IS NULL OR end_time &gt;= #{now}) AND sku_id IN "
+            + "<foreach collection='skuIds' item='skuId' open='(' separator=',' close=')'>#{skuId}</foreach>"
+            + ") latest WHERE rn = 1</script>")
+    List<SkuPrice> selectLatestActiveBySkuIds(@Param("skuIds") List<Long> skuIds,
+                                              @Param("channel") ChannelType channel,
+                                              @Param("now") LocalDateTime now);
+
+    /**
+     * 批量写入价格记录（多行 VALUES，一条语句一次往返）
+     *
+     * @param prices 价格记录列表（ID 已分配）
+     * @return 写入行数
+     */
+    @Insert("<script>INSERT INTO t_sku_price "
+            + "(id, sku_id, channel, price, start_time, end_time, create_time, update_time, is_deleted) VALUES "
+            + "<foreach collection='prices' item='p' separator=','>"
+            + "(#{p.id}, #{p.skuId}, #{p.channel}, #{p.price}, #{p.startTime}, #{p.endTime}, NOW(), NOW(), 0)"
+            + "</foreach></script>")
+    int insertBatch(@Param("prices") List<SkuPrice> prices);
+
+    /**
+     * 查询 SKU 在指定渠道的全部价格历史（热表与归档表，不含已删除的记录）
+     * 两部分分别走 idx_sku_channel_window 和 idx_archive_sku_channel_start
+     *
+     * @param skuIds SKU ID 列表（非空）
+     * @param channel 销售渠道
+     * @return 价格记录列表
+     */
+    @Select("<script>SELECT id, sku_id, channel, price, start_time, end_time FROM t_sku_price "
+            + "WHERE is_deleted = 0 AND channel = #{channel} AND sku_id IN "
+            + "<foreach collection='skuIds' item='skuId' open='(' separator=',' close=')'>#{skuId}</foreach> "
+            + "UNION ALL "
+            + "SELECT id, sku_id, channel, price, start_time, end_time FROM t_sku_price_archive "
+            + "WHERE is_deleted = 0 AND channel = #{channel} AND sku_id IN "
+            + "<foreach collection='skuIds' item='skuId' open='(' separator=',' close=')'>#{skuId}</foreach>"
+            + "</script>")
+    List<SkuPrice> selectHistoryBySkuIds(@Param("skuIds") List<Long> skuIds, @Param("channel") ChannelType channel);
+
+    /**
+     * 按 SKU ID 游标分页查询在指定渠道、指定时刻仍未失效的价格记录所属的 SKU ID（升序、去重）
+     * 走 idx_sku_channel_window：按 sku_id 顺序扫描，渠道、删除标记和失效时间在索引内过滤，不回表
+     *
+     * @param channel 销售渠道
+     * @param from 时刻
+     * @param afterSkuId 上一页最后一个 SKU ID（不包含）
+     * @param limit 每页 SKU 数
+     * @return SKU ID 列表
+     */
+    @Select("SELECT DISTINCT sku_id FROM t_sku_price "
+            + "WHERE sku_id > #{afterSkuId} AND channel = #{channel} AND is_deleted = 0 "
+            + "AND (end_time IS NULL OR end_time >= #{from}) ORDER BY sku_id LIMIT #{limit}")
+    List<Long> selectUnexpiredSkuIdsAfter(@Param("channel") ChannelType channel,
+                                          @Param("from") LocalDateTime from,
+                                          @Param("afterSkuId") Long afterSkuId,
+                                          @Param("limit") int limit);
+
+    /**
+     * 锁定一批已失效超过保留期的价格记录（跳过其他节点已锁定的行）
+     * 走 idx_price_end_time：is_deleted 等值，end_time 范围扫描
+     *
+     * @param cutoff 失效时间早于该时间的记录可以归档
+     * @param limit 最大条数
+     * @return 价格记录 ID 列表
+     */
+    @Select("SELECT id FROM t_sku_price WHERE is_deleted = 0 AND end_time < #{cutoff} "
+            + "ORDER BY end_time LIMIT #{limit} FOR UPDATE SKIP LOCKED")
+    List<Long> lockExpiredIds(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
+
+    /**
+     * 锁定一批逻辑删除超过保留期的价格记录（跳过其他节点已锁定的行）
+     *
+     * @param cutoff 删除时间（更新时间）早于该时间的记录可以归档
+     * @param limit 最大条数
+     * @return 价格记录 ID 列表
+     */
+    @Select("SELECT id FROM t_sku_price WHERE is_deleted = 1 AND update_time < #{cutoff} "
+            + "ORDER BY update_time LIMIT #{limit} FOR UPDATE SKIP LOCKED")
+    List<Long> lockDeletedIds(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
+
+    /**
+     * 把价格记录复制到归档表（保留原 ID）
+     *
+     * @param ids 价格记录 ID 列表
+     * @return 写入行数
+     */
+    @Insert("<script>INSERT INTO t_sku_price_archive "
+            + "(id, sku_id, channel, price, start_time, end_time, create_time, update_time, is_deleted, archive_time) "
+            + "SELECT id, sku_id, channel, price, start_time, end_time, create_time, update_time, is_deleted, NOW() "
+            + "FROM t_sku_price WHERE id IN "
+            + "<foreach collection='ids' item='id' open='(' separator=',' close=')'>#{id}</foreach>"
+            + "</script>")
+    int copyToArchive(@Param("ids") List<Long> ids);
+
+    /**
+     * 把价格记录（未删除的）累加到归档汇总
+     *
+     * @param ids 价格记录 ID 列表
+     * @return 影响行数
+     */
+    @Insert("<script>INSERT INTO t_sku_price_archive_summary "
+            + "(sku_id, channel, record_count, min_price, max_price, first_start_time, last_end_time, update_time) "
+            + "SELECT sku_id, channel, COUNT(*), MIN(price), MAX(price), MIN(start_time), MAX(end_time), NOW() "
+            + "FROM t_sku_price WHERE is_deleted = 0 AND id IN "
+            + "<foreach collection='ids' item='id' open='(' separator=',' close=')'>#{id}</foreach> "
+            + "GROUP BY sku_id, channel "
+            + "ON DUPLICATE KEY UPDATE record_count = record_count + VALUES(record_count), "
+            + "min_price = LEAST(min_price, VALUES(min_price)), max_price = GREATEST(max_price, VALUES(max_price)), "
+            + "first_start_time = LEAST(first_start_time, VALUES(first_start_time)), "
+            + "last_end_time = GREATEST(last_end_time, VALUES(last_end_time)), update_time = VALUES(update_time)"
+            + "</script>")
+    int mergeArchiveSummary(@Param("ids") List<Long> ids);
+
+    /**
+     * 物理删除价格记录（已复制到归档表），绕过全局逻辑删除
+     *
+     * @param ids 价格记录 ID 列表
+     * @return 删除行数
+     */
+    @Delete("<script>DELETE FROM t_sku_price WHERE id IN "
+            + "<foreach collection='ids' item='id' open='(' separator=',' close=')'>#{id}</foreach>"
+            + "</script>")
+    int physicalDeleteByIds(@Param("ids") List<Long> ids);
 }
@@ -3,6 +3,11 @@ package com.freshmall.product.infrastructure.persistent.mapper;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.freshmall.product.domain.aggregate.Spu;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+
+import java.time.LocalDateTime;
+import java.util.List;
 
 /**
  * SPU Mapper
@@ -10,4 +15,17 @@ import org.apache.ibatis.annotations.Mapper;
  */
 @Mapper
 public interface SpuMapper extends BaseMapper<Spu> {
+
+    /**
+     * 查询指定时间之后发生过变更的 SPU ID
+     * 覆盖 SPU 自身、SKU、库存和价格的变更，包含已逻辑删除的记录（用于删除残留索引）
+     * 
+     * @param since 起始时间
+     * @return SPU ID 列表
+     */
+    @Select("SELECT id FROM t_spu WHERE update_time >= #{since} "
+            + "UNION SELECT spu_id FROM t_sku WHERE update_time >= #{since} "
+            + "UNION SELECT k.spu_id FROM t_sku_stock s JOIN t_sku k ON k.id = s.sku_id WHERE s.update_time >= #{since} "
+            + "UNION SELECT k.spu_id FROM t_sku_price p JOIN t_sku k ON k.id = p.sku_id WHERE p.update_time >= #{since}")
+    List<Long> selectIdsChangedSince(@Param("since") LocalDateTime since);
 }
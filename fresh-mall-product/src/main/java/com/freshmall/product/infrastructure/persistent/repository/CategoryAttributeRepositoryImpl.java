@@ -7,6 +7,7 @@ import com.freshmall.product.infrastructure.persistent.mapper.CategoryAttributeM
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -45,6 +46,16 @@ public class CategoryAttributeRepositoryImpl implements CategoryAttributeReposit
         return categoryAttributeMapper.selectList(wrapper);
     }
 
+    @Override
+    public List<CategoryAttribute> findByCategoryIds(Collection<Long> categoryIds) {
+        if (categoryIds == null || categoryIds.isEmpty()) {
+            return List.of();
+        }
+        LambdaQueryWrapper<CategoryAttribute> wrapper = new LambdaQueryWrapper<>();
+        wrapper.in(CategoryAttribute::getCategoryId, categoryIds);
+        return categoryAttributeMapper.selectList(wrapper);
+    }
+
     @Override
     public List<CategoryAttribute> findByAttributeId(Long attributeId) {
         LambdaQueryWrapper<CategoryAttribute> wrapper = new LambdaQueryWrapper<>();
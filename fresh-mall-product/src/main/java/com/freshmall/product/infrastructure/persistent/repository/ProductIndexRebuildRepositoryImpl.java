@@ -0,0 +1,106 @@
+package com.freshmall.product.infrastructure.persistent.repository;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.core.conditions.update.LambdaUpdateWrapper;
+import com.freshmall.product.domain.model.IndexRebuildStatus;
+import com.freshmall.product.domain.model.ProductIndexRebuild;
+import com.freshmall.product.domain.model.ProductIndexRebuildPartition;
+import com.freshmall.product.domain.repository.ProductIndexRebuildRepository;
+import com.freshmall.product.infrastructure.persistent.mapper.ProductIndexRebuildMapper;
+import com.freshmall.product.infrastructure.persistent.mapper.ProductIndexRebuildPartitionMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 商品索引重建仓储实现
+ * 使用 MyBatis Plus 实现持久化操作
+ */
+@Repository
+@RequiredArgsConstructor
+public class ProductIndexRebuildRepositoryImpl implements ProductIndexRebuildRepository {
+
+    private final ProductIndexRebuildMapper productIndexRebuildMapper;
+    private final ProductIndexRebuildPartitionMapper productIndexRebuildPartitionMapper;
+
+    @Override
+    public ProductIndexRebuild save(ProductIndexRebuild rebuild) {
+        productIndexRebuildMapper.insert(rebuild);
+        return rebuild;
+    }
+
+    @Override
+    public Optional<ProductIndexRebuild> findById(Long id) {
+        return Optional.ofNullable(productIndexRebuildMapper.selectById(id));
+    }
+
+    @Override
+    public Optional<ProductIndexRebuild> findLatest() {
+        LambdaQueryWrapper<ProductIndexRebuild> wrapper = new LambdaQueryWrapper<>();
+        wrapper.orderByDesc(ProductIndexRebuild::getId)
+               .last("LIMIT 1");
+        return Optional.ofNullable(productIndexRebuildMapper.selectOne(wrapper));
+    }
+
+    @Override
+    public Optional<ProductIndexRebuild> findRunning() {
+        LambdaQueryWrapper<ProductIndexRebuild> wrapper = new LambdaQueryWrapper<>();
+        wrapper.eq(ProductIndexRebuild::getStatus, IndexRebuildStatus.RUNNING)
+               .orderByDesc(ProductIndexRebuild::getId)
+               .last("LIMIT 1");
+        return Optional.ofNullable(productIndexRebuildMapper.selectOne(wrapper));
+    }
+
+    @Override
+    public boolean finish(Long id, IndexRebuildStatus status, LocalDateTime finishTime, String lastError) {
+        LambdaUpdateWrapper<ProductIndexRebuild> wrapper = new LambdaUpdateWrapper<>();
+        wrapper.set(ProductIndexRebuild::getStatus, status)
+               .set(ProductIndexRebuild::getFinishTime, finishTime)
+               .set(ProductIndexRebuild::getLastError, lastError)
+               .set(ProductIndexRebuild::getUpdateTime, finishTime)
+               .eq(ProductIndexRebuild::getId, id)
+               .eq(ProductIndexRebuild::getStatus, IndexRebuildStatus.RUNNING);
+        return productIndexRebuildMapper.update(null, wrapper) > 0;
+    }
+
+    @Override
+    public void savePartitions(List<ProductIndexRebuildPartition> partitions) {
+        for (ProductIndexRebuildPartition partition : partitions) {
+            productIndexRebuildPartitionMapper.insert(partition);
+        }
+    }
+
+    @Override
+    public List<ProductIndexRebuildPartition> findPartitions(Long rebuildId) {
+        LambdaQueryWrapper<ProductIndexRebuildPartition> wrapper = new LambdaQueryWrapper<>();
+        wrapper.eq(ProductIndexRebuildPartition::getRebuildId, rebuildId)
+               .orderByAsc(ProductIndexRebuildPartition::getRangeStart);
+        return productIndexRebuildPartitionMapper.selectList(wrapper);
+    }
+
+    @Override
+    public Optional<ProductIndexRebuildPartition> lockPartitionById(Long partitionId) {
+        LambdaQueryWrapper<ProductIndexRebuildPartition> wrapper = new LambdaQueryWrapper<>();
+        wrapper.eq(ProductIndexRebuildPartition::getId, partitionId)
+               .last("FOR UPDATE");
+        return Optional.ofNullable(productIndexRebuildPartitionMapper.selectOne(wrapper));
+    }
+
+    @Override
+    public boolean advancePartition(Long partitionId, Long expectedCursor, Long newCursor,
+                                    long processedSpu, long rowsWritten, boolean finished) {
+        LambdaUpdateWrapper<ProductIndexRebuildPartition> wrapper = new LambdaUpdateWrapper<>();
+        wrapper.set(ProductIndexRebuildPartition::getCursorSpuId, newCursor)
+               .set(ProductIndexRebuildPartition::getFinished, finished)
+               .set(ProductIndexRebuildPartition::getUpdateTime, LocalDateTime.now())
+               .setSql("processed_spu = processed_spu + " + processedSpu)
+               .setSql("rows_written = rows_written + " + rowsWritten)
+               .eq(ProductIndexRebuildPartition::getId, partitionId)
+               .eq(ProductIndexRebuildPartition::getCursorSpuId, expectedCursor)
+               .eq(ProductIndexRebuildPartition::getFinished, false);
+        return productIndexRebuildPartitionMapper.update(null, wrapper) > 0;
+    }
+}
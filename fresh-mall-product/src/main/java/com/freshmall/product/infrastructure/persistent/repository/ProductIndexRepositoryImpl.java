@@ -1,36 +1,75 @@
 package com.freshmall.product.infrastructure.persistent.repository;
 
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.core.conditions.update.LambdaUpdateWrapper;
+import com.baomidou.mybatisplus.core.toolkit.support.SFunction;
+import com.baomidou.mybatisplus.core.toolkit.IdWorker;
+import com.freshmall.product.domain.event.ProductIndexChangedEvent;
+import com.freshmall.product.domain.model.ChannelType;
 import com.freshmall.product.domain.model.ProductIndex;
+import com.freshmall.product.domain.model.ProductSearchField;
+import com.freshmall.product.domain.model.ProductSortType;
+import com.freshmall.product.domain.model.SpecFilter;
 import com.freshmall.product.domain.model.StockStatus;
 import com.freshmall.product.domain.repository.ProductIndexRepository;
 import com.freshmall.product.infrastructure.persistent.mapper.ProductIndexMapper;
+import com.freshmall.product.infrastructure.persistent.support.ChunkedInQuery;
+import com.freshmall.product.infrastructure.persistent.support.SortColumns;
+import com.freshmall.product.infrastructure.persistent.support.SpecValuesCondition;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * 商品索引仓储实现
  * 使用 MyBatis Plus 实现持久化操作
+ * 
+ * 正式索引表的每次写入都会发布 {@link ProductIndexChangedEvent}（携带受影响的类目和 SPU），供搜索缓存失效等使用
  */
 @Repository
 @RequiredArgsConstructor
 public class ProductIndexRepositoryImpl implements ProductIndexRepository {
 
     private final ProductIndexMapper productIndexMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ChunkedInQuery chunkedInQuery;
 
     @Override
     public ProductIndex save(ProductIndex productIndex) {
-        productIndexMapper.insert(productIndex);
+        upsert(productIndex);
+        publishChanged(Collections.singletonList(productIndex.getCategoryId()),
+                Collections.singletonList(productIndex.getSpuId()));
         return productIndex;
     }
 
     @Override
     public void update(ProductIndex productIndex) {
+        // SPU 可能换了类目，新旧类目都需要失效
+        ProductIndex existing = productIndexMapper.selectById(productIndex.getId());
         productIndexMapper.updateById(productIndex);
+        List<Long> categoryIds = new ArrayList<>();
+        List<Long> spuIds = new ArrayList<>();
+        categoryIds.add(productIndex.getCategoryId());
+        spuIds.add(productIndex.getSpuId());
+        if (existing != null) {
+            categoryIds.add(existing.getCategoryId());
+            spuIds.add(existing.getSpuId());
+        }
+        publishChanged(categoryIds, spuIds);
     }
 
     @Override
@@ -41,6 +80,24 @@ public class ProductIndexRepositoryImpl implements ProductIndexRepository {
         return Optional.ofNullable(productIndex);
     }
 
+    @Override
+    public List<ProductIndex> findBySkuIds(List<Long> skuIds) {
+        if (skuIds == null || skuIds.isEmpty()) {
+            return List.of();
+        }
+        LambdaQueryWrapper<ProductIndex> wrapper = new LambdaQueryWrapper<>();
+        wrapper.in(ProductIndex::getSkuId, skuIds);
+        return productIndexMapper.selectList(wrapper);
+    }
+
+    @Override
+    public List<ProductIndex> findBySkuIdRange(Long afterSkuId, Long toSkuId) {
+        LambdaQueryWrapper<ProductIndex> wrapper = new LambdaQueryWrapper<>();
+        wrapper.gt(ProductIndex::getSkuId, afterSkuId);
+        wrapper.le(toSkuId != null, ProductIndex::getSkuId, toSkuId);
+        return productIndexMapper.selectList(wrapper);
+    }
+
     @Override
     public List<ProductIndex> findBySpuId(Long spuId) {
         LambdaQueryWrapper<ProductIndex> wrapper = new LambdaQueryWrapper<>();
@@ -48,48 +105,334 @@ public class ProductIndexRepositoryImpl implements ProductIndexRepository {
         return productIndexMapper.selectList(wrapper);
     }
 
+    @Override
+    public List<ProductIndex> findBySpuIds(Collection<Long> spuIds) {
+        if (spuIds == null || spuIds.isEmpty()) {
+            return List.of();
+        }
+        LambdaQueryWrapper<ProductIndex> wrapper = new LambdaQueryWrapper<>();
+        wrapper.in(ProductIndex::getSpuId, spuIds);
+        return productIndexMapper.selectList(wrapper);
+    }
+
     @Override
     public void deleteBySpuId(Long spuId) {
         LambdaQueryWrapper<ProductIndex> wrapper = new LambdaQueryWrapper<>();
         wrapper.eq(ProductIndex::getSpuId, spuId);
-        productIndexMapper.delete(wrapper);
+        deleteAndPublish(wrapper);
     }
 
     @Override
     public void deleteBySkuId(Long skuId) {
         LambdaQueryWrapper<ProductIndex> wrapper = new LambdaQueryWrapper<>();
         wrapper.eq(ProductIndex::getSkuId, skuId);
-        productIndexMapper.delete(wrapper);
+        deleteAndPublish(wrapper);
+    }
+
+    @Override
+    public void deleteBySkuIds(List<Long> skuIds) {
+        if (skuIds == null || skuIds.isEmpty()) {
+            return;
+        }
+        LambdaQueryWrapper<ProductIndex> wrapper = new LambdaQueryWrapper<>();
+        wrapper.in(ProductIndex::getSkuId, skuIds);
+        deleteAndPublish(wrapper);
     }
 
     @Override
     public List<ProductIndex> search(Long categoryId, BigDecimal minPrice, BigDecimal maxPrice,
-                                    StockStatus stockStatus, Integer offset, Integer limit) {
-        LambdaQueryWrapper<ProductIndex> wrapper = buildSearchWrapper(categoryId, minPrice, maxPrice, stockStatus);
-        
-        // 分页
-        wrapper.last("LIMIT " + limit + " OFFSET " + offset);
-        
-        return productIndexMapper.selectList(wrapper);
+                                    StockStatus stockStatus, ChannelType channel, SpecFilter specFilter,
+                                    ProductSortType sortType, Integer offset, Integer limit,
+                                    Set<ProductSearchField> fields) {
+        // 第一步：只查询 ID，过滤、排序和分页偏移都在联合索引上完成，深分页不需要回表
+        List<Long> ids;
+        if (specFilter != null && specFilter.hasSkuIds()) {
+            ids = searchIdsBySkuIds(categoryId, minPrice, maxPrice, stockStatus, channel, specFilter.getSkuIds(),
+                    sortType, offset, limit);
+        } else {
+            LambdaQueryWrapper<ProductIndex> wrapper =
+                    buildSearchWrapper(categoryId, minPrice, maxPrice, stockStatus, channel, specFilter);
+            wrapper.select(ProductIndex::getId);
+            applySort(wrapper, sortType, channel);
+            wrapper.last("LIMIT " + limit + " OFFSET " + offset);
+            ids = productIndexMapper.selectList(wrapper).stream()
+                    .map(ProductIndex::getId)
+                    .collect(Collectors.toList());
+        }
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        // 第二步：按主键加载当前页选中字段对应的列，并恢复第一步的顺序
+        LambdaQueryWrapper<ProductIndex> pageWrapper = new LambdaQueryWrapper<>();
+        pageWrapper.select(selectColumns(fields, channel));
+        pageWrapper.in(ProductIndex::getId, ids);
+        Map<Long, ProductIndex> byId = productIndexMapper.selectList(pageWrapper).stream()
+                .collect(Collectors.toMap(ProductIndex::getId, index -> index));
+        return ids.stream()
+                .map(byId::get)
+                .filter(index -> index != null)
+                .collect(Collectors.toList());
     }
 
     @Override
-    public Long countSearch(Long categoryId, BigDecimal minPrice, BigDecimal maxPrice, StockStatus stockStatus) {
-        LambdaQueryWrapper<ProductIndex> wrapper = buildSearchWrapper(categoryId, minPrice, maxPrice, stockStatus);
+    public Long countSearch(Long categoryId, BigDecimal minPrice, BigDecimal maxPrice, StockStatus stockStatus,
+                            ChannelType channel, SpecFilter specFilter) {
+        if (specFilter != null && specFilter.hasSkuIds()) {
+            // 候选 SKU 分块统计后求和（块之间的 SKU 不重复）
+            List<Long> counts = chunkedInQuery.query(specFilter.getSkuIds(), chunk -> {
+                LambdaQueryWrapper<ProductIndex> wrapper =
+                        buildSearchWrapper(categoryId, minPrice, maxPrice, stockStatus, channel, null);
+                wrapper.in(ProductIndex::getSkuId, chunk);
+                return List.of(productIndexMapper.selectCount(wrapper));
+            });
+            return counts.stream().mapToLong(Long::longValue).sum();
+        }
+        LambdaQueryWrapper<ProductIndex> wrapper =
+                buildSearchWrapper(categoryId, minPrice, maxPrice, stockStatus, channel, specFilter);
         return productIndexMapper.selectCount(wrapper);
     }
 
+    @Override
+    public List<ProductIndex> findSpecValuesAfter(Long categoryId, Long afterId, int limit) {
+        LambdaQueryWrapper<ProductIndex> wrapper = new LambdaQueryWrapper<>();
+        wrapper.select(ProductIndex::getId, ProductIndex::getSkuId, ProductIndex::getCategoryId,
+                ProductIndex::getSpecValues);
+        wrapper.eq(ProductIndex::getSpuDeleted, false);
+        wrapper.eq(ProductIndex::getSkuEnabled, true);
+        if (categoryId != null) {
+            wrapper.eq(ProductIndex::getCategoryId, categoryId);
+        }
+        if (afterId != null) {
+            wrapper.gt(ProductIndex::getId, afterId);
+        }
+        wrapper.orderByAsc(ProductIndex::getId);
+        wrapper.last("LIMIT " + limit);
+        return productIndexMapper.selectList(wrapper);
+    }
+
+    @Override
+    public List<ProductIndex> findSuggestRowsAfter(Long afterId, int limit) {
+        LambdaQueryWrapper<ProductIndex> wrapper = new LambdaQueryWrapper<>();
+        wrapper.select(ProductIndex::getId, ProductIndex::getSpuId, ProductIndex::getSpuName,
+                ProductIndex::getStockStatus);
+        wrapper.eq(ProductIndex::getSpuDeleted, false);
+        wrapper.eq(ProductIndex::getSkuEnabled, true);
+        if (afterId != null) {
+            wrapper.gt(ProductIndex::getId, afterId);
+        }
+        wrapper.orderByAsc(ProductIndex::getId);
+        wrapper.last("LIMIT " + limit);
+        return productIndexMapper.selectList(wrapper);
+    }
+
     @Override
     public void batchSaveOrUpdate(List<ProductIndex> productIndexes) {
+        if (productIndexes == null || productIndexes.isEmpty()) {
+            return;
+        }
+
+        // 一次 IN 查询加载已存在的索引，避免逐条 findBySkuId
+        List<Long> skuIds = productIndexes.stream()
+                .map(ProductIndex::getSkuId)
+                .collect(Collectors.toList());
+        Map<Long, ProductIndex> existingBySkuId = findBySkuIds(skuIds).stream()
+                .collect(Collectors.toMap(ProductIndex::getSkuId, Function.identity(), (a, b) -> a));
+
+        Set<Long> categoryIds = new HashSet<>();
+        Set<Long> spuIds = new HashSet<>();
         for (ProductIndex productIndex : productIndexes) {
-            // 检查是否已存在
-            Optional<ProductIndex> existing = findBySkuId(productIndex.getSkuId());
-            if (existing.isPresent()) {
-                productIndex.setId(existing.get().getId());
-                update(productIndex);
+            ProductIndex existing = existingBySkuId.get(productIndex.getSkuId());
+            if (existing != null) {
+                productIndex.setId(existing.getId());
+                if (productIndex.getContentHash() != null
+                        && productIndex.getContentHash().equals(existing.getContentHash())) {
+                    // 内容未变化，不写入也不触发变更事件
+                    continue;
+                }
+                productIndexMapper.updateById(productIndex);
+                categoryIds.add(existing.getCategoryId());
+                spuIds.add(existing.getSpuId());
             } else {
-                save(productIndex);
+                upsert(productIndex);
             }
+            categoryIds.add(productIndex.getCategoryId());
+            spuIds.add(productIndex.getSpuId());
+        }
+        if (!spuIds.isEmpty()) {
+            publishChanged(categoryIds, spuIds);
+        }
+    }
+
+    @Override
+    public void clearContentHash(List<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return;
+        }
+        LambdaUpdateWrapper<ProductIndex> wrapper = new LambdaUpdateWrapper<>();
+        wrapper.set(ProductIndex::getContentHash, null)
+               .in(ProductIndex::getId, ids);
+        productIndexMapper.update(null, wrapper);
+    }
+
+    @Override
+    public void batchUpdatePrices(List<ProductIndex> productIndexes) {
+        if (productIndexes == null || productIndexes.isEmpty()) {
+            return;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        Set<Long> categoryIds = new HashSet<>();
+        Set<Long> spuIds = new HashSet<>();
+        for (ProductIndex productIndex : productIndexes) {
+            LambdaUpdateWrapper<ProductIndex> wrapper = new LambdaUpdateWrapper<>();
+            wrapper.set(ProductIndex::getMinPrice, productIndex.getMinPrice())
+                   .set(ProductIndex::getMaxPrice, productIndex.getMaxPrice())
+                   .set(ProductIndex::getAppPriceCents, productIndex.getAppPriceCents())
+                   .set(ProductIndex::getWebPriceCents, productIndex.getWebPriceCents())
+                   .set(ProductIndex::getStorePriceCents, productIndex.getStorePriceCents())
+                   .set(ProductIndex::getContentHash, productIndex.getContentHash())
+                   .set(ProductIndex::getUpdateTime, now)
+                   .eq(ProductIndex::getId, productIndex.getId());
+            productIndexMapper.update(null, wrapper);
+            categoryIds.add(productIndex.getCategoryId());
+            spuIds.add(productIndex.getSpuId());
+        }
+        publishChanged(categoryIds, spuIds);
+    }
+
+    @Override
+    public void prepareShadow() {
+        productIndexMapper.dropOldTable();
+        productIndexMapper.dropShadowTable();
+        productIndexMapper.createShadowTable();
+    }
+
+    @Override
+    public boolean shadowExists() {
+        return productIndexMapper.countTable("t_product_index_shadow") > 0;
+    }
+
+    @Override
+    public void batchInsertShadow(List<ProductIndex> productIndexes) {
+        if (productIndexes == null || productIndexes.isEmpty()) {
+            return;
+        }
+        // 影子表不经过 MyBatis Plus 的 insert，需要自行分配雪花 ID
+        for (ProductIndex productIndex : productIndexes) {
+            productIndex.setId(IdWorker.getId());
+        }
+        productIndexMapper.insertShadowBatch(productIndexes);
+    }
+
+    @Override
+    public void swapShadow() {
+        productIndexMapper.swapShadowTable();
+        eventPublisher.publishEvent(ProductIndexChangedEvent.all());
+    }
+
+    @Override
+    public boolean retiredExists() {
+        return productIndexMapper.countTable("t_product_index_old") > 0;
+    }
+
+    @Override
+    public List<Long> findRetiredSpuIdsUpdatedSince(LocalDateTime since) {
+        return productIndexMapper.selectOldSpuIdsUpdatedSince(since);
+    }
+
+    @Override
+    public void dropRetired() {
+        productIndexMapper.dropOldTable();
+    }
+
+    /**
+     * 按 SKU 插入或更新索引行，并回填实际的行 ID
+     * 另一个线程同时写入了同一 SKU，或存在逻辑删除的旧行时，更新的是已有行，ID 以库中为准
+     */
+    private void upsert(ProductIndex productIndex) {
+        if (productIndex.getId() == null) {
+            productIndex.setId(IdWorker.getId());
+        }
+        productIndexMapper.upsertBySkuId(productIndex);
+        productIndex.setId(productIndexMapper.selectIdBySkuId(productIndex.getSkuId()));
+    }
+
+    /**
+     * 删除匹配的索引，并发布受影响类目的变更事件
+     */
+    private void deleteAndPublish(LambdaQueryWrapper<ProductIndex> wrapper) {
+        wrapper.select(ProductIndex::getCategoryId, ProductIndex::getSpuId);
+        List<ProductIndex> deleted = productIndexMapper.selectList(wrapper);
+        if (deleted.isEmpty()) {
+            return;
+        }
+        productIndexMapper.delete(wrapper);
+        publishChanged(deleted.stream().map(ProductIndex::getCategoryId).collect(Collectors.toSet()),
+                deleted.stream().map(ProductIndex::getSpuId).collect(Collectors.toSet()));
+    }
+
+    private void publishChanged(Collection<Long> categoryIds, Collection<Long> spuIds) {
+        eventPublisher.publishEvent(ProductIndexChangedEvent.of(categoryIds, spuIds));
+    }
+
+    /**
+     * 按候选 SKU 分块查询当前页的 ID
+     * 每块按相同排序只查询排序列并取前 offset + limit 行，合并后在内存中排序再分页；
+     * 候选 SKU 数不超过规格筛选的上限，合并的行数有上界
+     */
+    private List<Long> searchIdsBySkuIds(Long categoryId, BigDecimal minPrice, BigDecimal maxPrice,
+                                         StockStatus stockStatus, ChannelType channel, List<Long> skuIds,
+                                         ProductSortType sortType, Integer offset, Integer limit) {
+        if (skuIds.isEmpty()) {
+            return List.of();
+        }
+        SortColumns<ProductIndex> sort = sortColumns(sortType, channel);
+        List<ProductIndex> rows = chunkedInQuery.query(skuIds, chunk -> {
+            LambdaQueryWrapper<ProductIndex> wrapper =
+                    buildSearchWrapper(categoryId, minPrice, maxPrice, stockStatus, channel, null);
+            wrapper.in(ProductIndex::getSkuId, chunk);
+            wrapper.select(sort.getColumns());
+            sort.applyTo(wrapper);
+            wrapper.last("LIMIT " + (offset + limit));
+            return productIndexMapper.selectList(wrapper);
+        });
+        return rows.stream()
+                .sorted(sort.comparator())
+                .skip(offset)
+                .limit(limit)
+                .map(ProductIndex::getId)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * 追加排序条件
+     */
+    private void applySort(LambdaQueryWrapper<ProductIndex> wrapper, ProductSortType sortType, ChannelType channel) {
+        sortColumns(sortType, channel).applyTo(wrapper);
+    }
+
+    /**
+     * 排序列
+     * 排序列与 db/migration 中 t_product_index 联合索引的列顺序一致，同方向排序可直接按索引顺序（或反向）扫描
+     */
+    private SortColumns<ProductIndex> sortColumns(ProductSortType sortType, ChannelType channel) {
+        ProductSortType sort = sortType != null ? sortType : ProductSortType.DEFAULT;
+        List<SFunction<ProductIndex, ?>> priceColumns = channel != null
+                ? List.of(channelPriceColumn(channel), ProductIndex::getId)
+                : List.of(ProductIndex::getMinPrice, ProductIndex::getMaxPrice, ProductIndex::getId);
+        switch (sort) {
+            case PRICE_ASC:
+                return SortColumns.asc(priceColumns);
+            case PRICE_DESC:
+                return SortColumns.desc(priceColumns);
+            case NEWEST:
+                return SortColumns.desc(List.of(ProductIndex::getPublishTime, ProductIndex::getId));
+            case IN_STOCK_FIRST:
+                // 库存状态按名称存储，字母序与优先级一致（IN_STOCK < LOW_STOCK < OUT_OF_STOCK，由 StockStatusTest 固定）
+                return SortColumns.asc(List.of(ProductIndex::getStockStatus, ProductIndex::getId));
+            default:
+                return SortColumns.asc(List.of(ProductIndex::getId));
         }
     }
 
@@ -97,7 +440,8 @@ public class ProductIndexRepositoryImpl implements ProductIndexRepository {
      * 构建搜索查询条件
      */
     private LambdaQueryWrapper<ProductIndex> buildSearchWrapper(Long categoryId, BigDecimal minPrice,
-                                                                BigDecimal maxPrice, StockStatus stockStatus) {
+                                                                BigDecimal maxPrice, StockStatus stockStatus,
+                                                                ChannelType channel, SpecFilter specFilter) {
         LambdaQueryWrapper<ProductIndex> wrapper = new LambdaQueryWrapper<>();
         
         // 排除已删除的 SPU 和禁用的 SKU
@@ -110,18 +454,104 @@ public class ProductIndexRepositoryImpl implements ProductIndexRepository {
         }
         
         // 价格范围过滤
-        if (minPrice != null) {
-            wrapper.ge(ProductIndex::getMaxPrice, minPrice);
-        }
-        if (maxPrice != null) {
-            wrapper.le(ProductIndex::getMinPrice, maxPrice);
+        if (channel != null) {
+            // 指定渠道：按该渠道价格（分）过滤，并排除该渠道没有有效价格的商品
+            SFunction<ProductIndex, Long> column = channelPriceColumn(channel);
+            wrapper.isNotNull(column);
+            if (minPrice != null) {
+                wrapper.ge(column, toCents(minPrice, RoundingMode.CEILING));
+            }
+            if (maxPrice != null) {
+                wrapper.le(column, toCents(maxPrice, RoundingMode.FLOOR));
+            }
+        } else {
+            if (minPrice != null) {
+                wrapper.ge(ProductIndex::getMaxPrice, minPrice);
+            }
+            if (maxPrice != null) {
+                wrapper.le(ProductIndex::getMinPrice, maxPrice);
+            }
         }
         
         // 库存状态过滤
         if (stockStatus != null) {
             wrapper.eq(ProductIndex::getStockStatus, stockStatus);
         }
+
+        // 规格筛选：候选 SKU 由调用方分块追加 IN 条件，候选过多时按属性值条件过滤
+        if (specFilter != null && !specFilter.hasSkuIds()) {
+            SpecValuesCondition condition = SpecValuesCondition.of("spec_values", specFilter.getAttributeValues());
+            wrapper.apply(condition.getSql(), condition.getParams());
+        }
         
         return wrapper;
     }
+
+    /**
+     * 搜索结果需要查询的列（始终包含 ID，用于恢复排序）
+     */
+    private List<SFunction<ProductIndex, ?>> selectColumns(Set<ProductSearchField> fields, ChannelType channel) {
+        List<SFunction<ProductIndex, ?>> columns = new ArrayList<>();
+        columns.add(ProductIndex::getId);
+        for (ProductSearchField field : ProductSearchField.normalize(fields)) {
+            switch (field) {
+                case SKU_ID:
+                    columns.add(ProductIndex::getSkuId);
+                    break;
+                case SPU_ID:
+                    columns.add(ProductIndex::getSpuId);
+                    break;
+                case SPU_NAME:
+                    columns.add(ProductIndex::getSpuName);
+                    break;
+                case CATEGORY_ID:
+                    columns.add(ProductIndex::getCategoryId);
+                    break;
+                case MIN_PRICE:
+                    columns.add(ProductIndex::getMinPrice);
+                    break;
+                case MAX_PRICE:
+                    columns.add(ProductIndex::getMaxPrice);
+                    break;
+                case PRICE:
+                    if (channel != null) {
+                        columns.add(channelPriceColumn(channel));
+                    }
+                    break;
+                case STOCK_STATUS:
+                    columns.add(ProductIndex::getStockStatus);
+                    break;
+                case PUBLISH_TIME:
+                    columns.add(ProductIndex::getPublishTime);
+                    break;
+                default:
+                    // SKU 级索引没有对应的列
+                    break;
+            }
+        }
+        return columns;
+    }
+
+    /**
+     * 渠道价格列
+     */
+    private SFunction<ProductIndex, Long> channelPriceColumn(ChannelType channel) {
+        switch (channel) {
+            case APP:
+                return ProductIndex::getAppPriceCents;
+            case WEB:
+                return ProductIndex::getWebPriceCents;
+            case STORE:
+                return ProductIndex::getStorePriceCents;
+            default:
+                throw new IllegalArgumentException("不支持的渠道: " + channel);
+        }
+    }
+
+    /**
+     * 价格过滤条件转换为分：下限向上取整、上限向下取整，保证与按元比较的结果一致
+     */
+    private long toCents(BigDecimal price, RoundingMode roundingMode) {
+        return price.setScale(2, roundingMode).unscaledValue().longValueExact();
+    }
 }
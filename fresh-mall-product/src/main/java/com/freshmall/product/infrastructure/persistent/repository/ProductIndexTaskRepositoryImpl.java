@@ -0,0 +1,121 @@
+package com.freshmall.product.infrastructure.persistent.repository;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.core.conditions.update.LambdaUpdateWrapper;
+import com.baomidou.mybatisplus.core.toolkit.IdWorker;
+import com.freshmall.product.domain.model.IndexTaskStatus;
+import com.freshmall.product.domain.model.ProductIndexTask;
+import com.freshmall.product.domain.repository.ProductIndexTaskRepository;
+import com.freshmall.product.infrastructure.persistent.mapper.ProductIndexTaskMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 商品索引任务仓储实现
+ * 使用 MyBatis Plus 实现持久化操作
+ */
+@Repository
+@RequiredArgsConstructor
+public class ProductIndexTaskRepositoryImpl implements ProductIndexTaskRepository {
+
+    private final ProductIndexTaskMapper productIndexTaskMapper;
+
+    @Override
+    public ProductIndexTask save(ProductIndexTask task) {
+        productIndexTaskMapper.insert(task);
+        return task;
+    }
+
+    @Override
+    public void saveBatch(List<ProductIndexTask> tasks) {
+        if (tasks == null || tasks.isEmpty()) {
+            return;
+        }
+        for (ProductIndexTask task : tasks) {
+            task.setId(IdWorker.getId());
+        }
+        productIndexTaskMapper.insertBatch(tasks);
+    }
+
+    @Override
+    public int claimDue(String claimToken, int limit, LocalDateTime now) {
+        // UPDATE ... ORDER BY id LIMIT n：单条语句完成认领，多节点之间不会重复认领
+        LambdaUpdateWrapper<ProductIndexTask> wrapper = new LambdaUpdateWrapper<>();
+        wrapper.set(ProductIndexTask::getStatus, IndexTaskStatus.PROCESSING)
+               .set(ProductIndexTask::getClaimToken, claimToken)
+               .set(ProductIndexTask::getClaimTime, now)
+               .eq(ProductIndexTask::getStatus, IndexTaskStatus.PENDING)
+               .le(ProductIndexTask::getNextAttemptTime, now)
+               .last("ORDER BY id LIMIT " + limit);
+        return productIndexTaskMapper.update(null, wrapper);
+    }
+
+    @Override
+    public int claimPendingOfClaimedTargets(String claimToken, LocalDateTime now) {
+        return productIndexTaskMapper.claimPendingOfClaimedTargets(claimToken, now);
+    }
+
+    @Override
+    public List<ProductIndexTask> findByClaimToken(String claimToken) {
+        LambdaQueryWrapper<ProductIndexTask> wrapper = new LambdaQueryWrapper<>();
+        wrapper.eq(ProductIndexTask::getClaimToken, claimToken)
+               .eq(ProductIndexTask::getStatus, IndexTaskStatus.PROCESSING)
+               .orderByAsc(ProductIndexTask::getId);
+        return productIndexTaskMapper.selectList(wrapper);
+    }
+
+    @Override
+    public void deleteByIds(List<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return;
+        }
+        productIndexTaskMapper.physicalDeleteByIds(ids);
+    }
+
+    @Override
+    public void reschedule(Long id, IndexTaskStatus status, Integer attempts,
+                           LocalDateTime nextAttemptTime, String lastError) {
+        LambdaUpdateWrapper<ProductIndexTask> wrapper = new LambdaUpdateWrapper<>();
+        wrapper.set(ProductIndexTask::getStatus, status)
+               .set(ProductIndexTask::getAttempts, attempts)
+               .set(ProductIndexTask::getNextAttemptTime, nextAttemptTime)
+               .set(ProductIndexTask::getLastError, lastError)
+               .set(ProductIndexTask::getClaimToken, null)
+               .set(ProductIndexTask::getClaimTime, null)
+               .eq(ProductIndexTask::getId, id);
+        productIndexTaskMapper.update(null, wrapper);
+    }
+
+    @Override
+    public int releaseStaleClaims(LocalDateTime claimedBefore) {
+        LambdaUpdateWrapper<ProductIndexTask> wrapper = new LambdaUpdateWrapper<>();
+        wrapper.set(ProductIndexTask::getStatus, IndexTaskStatus.PENDING)
+               .set(ProductIndexTask::getClaimToken, null)
+               .set(ProductIndexTask::getClaimTime, null)
+               .eq(ProductIndexTask::getStatus, IndexTaskStatus.PROCESSING)
+               .lt(ProductIndexTask::getClaimTime, claimedBefore);
+        return productIndexTaskMapper.update(null, wrapper);
+    }
+
+    @Override
+    public long countByStatus(IndexTaskStatus status) {
+        LambdaQueryWrapper<ProductIndexTask> wrapper = new LambdaQueryWrapper<>();
+        wrapper.eq(ProductIndexTask::getStatus, status);
+        return productIndexTaskMapper.selectCount(wrapper);
+    }
+
+    @Override
+    public Optional<LocalDateTime> findOldestPendingCreateTime() {
+        LambdaQueryWrapper<ProductIndexTask> wrapper = new LambdaQueryWrapper<>();
+        wrapper.select(ProductIndexTask::getCreateTime)
+               .eq(ProductIndexTask::getStatus, IndexTaskStatus.PENDING)
+               .orderByAsc(ProductIndexTask::getId)
+               .last("LIMIT 1");
+        ProductIndexTask oldest = productIndexTaskMapper.selectOne(wrapper);
+        return Optional.ofNullable(oldest).map(ProductIndexTask::getCreateTime);
+    }
+}
@@ -0,0 +1,286 @@
+package com.freshmall.product.infrastructure.persistent.repository;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.core.toolkit.support.SFunction;
+import com.freshmall.product.domain.model.ChannelType;
+import com.freshmall.product.domain.model.ProductSearchField;
+import com.freshmall.product.domain.model.ProductSortType;
+import com.freshmall.product.domain.model.ProductSpuIndex;
+import com.freshmall.product.domain.model.SpecFilter;
+import com.freshmall.product.domain.model.StockStatus;
+import com.freshmall.product.domain.repository.ProductSpuIndexRepository;
+import com.freshmall.product.infrastructure.persistent.mapper.ProductSpuIndexMapper;
+import com.freshmall.product.infrastructure.persistent.support.ChunkedInQuery;
+import com.freshmall.product.infrastructure.persistent.support.SortColumns;
+import com.freshmall.product.infrastructure.persistent.support.SpecValuesCondition;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * SPU 级商品索引仓储实现
+ * 使用 MyBatis Plus 实现持久化操作
+ */
+@Repository
+@RequiredArgsConstructor
+public class ProductSpuIndexRepositoryImpl implements ProductSpuIndexRepository {
+
+    private final ProductSpuIndexMapper productSpuIndexMapper;
+    private final ChunkedInQuery chunkedInQuery;
+
+    @Override
+    public void refresh(Collection<Long> spuIds) {
+        if (spuIds == null || spuIds.isEmpty()) {
+            return;
+        }
+        productSpuIndexMapper.upsertFromIndex(spuIds);
+        productSpuIndexMapper.deleteWithoutVisibleSku(spuIds);
+    }
+
+    @Override
+    public void refreshAll() {
+        productSpuIndexMapper.deleteAllRows();
+        productSpuIndexMapper.upsertFromIndex(null);
+    }
+
+    @Override
+    public List<ProductSpuIndex> search(Long categoryId, BigDecimal minPrice, BigDecimal maxPrice,
+                                        StockStatus stockStatus, ChannelType channel, SpecFilter specFilter,
+                                        ProductSortType sortType, Integer offset, Integer limit,
+                                        Set<ProductSearchField> fields) {
+        // 与 SKU 级搜索相同：先在联合索引上过滤、排序、分页只取 ID，再按 ID 回表查询选中字段的列
+        List<Long> ids;
+        if (specFilter != null && specFilter.hasSkuIds()) {
+            ids = searchIdsBySpuIds(categoryId, minPrice, maxPrice, stockStatus, channel,
+                    findSpuIds(specFilter.getSkuIds()), sortType, offset, limit);
+        } else {
+            LambdaQueryWrapper<ProductSpuIndex> wrapper =
+                    buildSearchWrapper(categoryId, minPrice, maxPrice, stockStatus, channel, specFilter);
+            wrapper.select(ProductSpuIndex::getId);
+            applySort(wrapper, sortType, channel);
+            wrapper.last("LIMIT " + limit + " OFFSET " + offset);
+            ids = productSpuIndexMapper.selectList(wrapper).stream()
+                    .map(ProductSpuIndex::getId)
+                    .collect(Collectors.toList());
+        }
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        LambdaQueryWrapper<ProductSpuIndex> pageWrapper = new LambdaQueryWrapper<>();
+        pageWrapper.select(selectColumns(fields, channel));
+        pageWrapper.in(ProductSpuIndex::getId, ids);
+        Map<Long, ProductSpuIndex> byId = productSpuIndexMapper.selectList(pageWrapper).stream()
+                .collect(Collectors.toMap(ProductSpuIndex::getId, index -> index));
+        return ids.stream()
+                .map(byId::get)
+                .filter(index -> index != null)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public Long countSearch(Long categoryId, BigDecimal minPrice, BigDecimal maxPrice, StockStatus stockStatus,
+                            ChannelType channel, SpecFilter specFilter) {
+        if (specFilter != null && specFilter.hasSkuIds()) {
+            // 候选 SPU 分块统计后求和（候选 SPU 已去重，块之间不重复）
+            List<Long> counts = chunkedInQuery.query(findSpuIds(specFilter.getSkuIds()), chunk -> {
+                LambdaQueryWrapper<ProductSpuIndex> wrapper =
+                        buildSearchWrapper(categoryId, minPrice, maxPrice, stockStatus, channel, null);
+                wrapper.in(ProductSpuIndex::getSpuId, chunk);
+                return List.of(productSpuIndexMapper.selectCount(wrapper));
+            });
+            return counts.stream().mapToLong(Long::longValue).sum();
+        }
+        return productSpuIndexMapper.selectCount(
+                buildSearchWrapper(categoryId, minPrice, maxPrice, stockStatus, channel, specFilter));
+    }
+
+    /**
+     * 候选 SKU 所属的 SPU（分块查询后去重）
+     */
+    private List<Long> findSpuIds(List<Long> skuIds) {
+        return chunkedInQuery.query(skuIds, productSpuIndexMapper::selectSpuIdsBySkuIds).stream()
+                .distinct()
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * 按候选 SPU 分块查询当前页的 ID（做法与 SKU 级搜索相同：每块取前 offset + limit 行，合并排序后再分页）
+     */
+    private List<Long> searchIdsBySpuIds(Long categoryId, BigDecimal minPrice, BigDecimal maxPrice,
+                                         StockStatus stockStatus, ChannelType channel, List<Long> spuIds,
+                                         ProductSortType sortType, Integer offset, Integer limit) {
+        if (spuIds.isEmpty()) {
+            return List.of();
+        }
+        SortColumns<ProductSpuIndex> sort = sortColumns(sortType, channel);
+        List<ProductSpuIndex> rows = chunkedInQuery.query(spuIds, chunk -> {
+            LambdaQueryWrapper<ProductSpuIndex> wrapper =
+                    buildSearchWrapper(categoryId, minPrice, maxPrice, stockStatus, channel, null);
+            wrapper.in(ProductSpuIndex::getSpuId, chunk);
+            wrapper.select(sort.getColumns());
+            sort.applyTo(wrapper);
+            wrapper.last("LIMIT " + (offset + limit));
+            return productSpuIndexMapper.selectList(wrapper);
+        });
+        return rows.stream()
+                .sorted(sort.comparator())
+                .skip(offset)
+                .limit(limit)
+                .map(ProductSpuIndex::getId)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * 追加排序条件
+     */
+    private void applySort(LambdaQueryWrapper<ProductSpuIndex> wrapper, ProductSortType sortType,
+                           ChannelType channel) {
+        sortColumns(sortType, channel).applyTo(wrapper);
+    }
+
+    /**
+     * 排序列，与 db/migration 中 t_product_spu_index 联合索引的列顺序一致
+     */
+    private SortColumns<ProductSpuIndex> sortColumns(ProductSortType sortType, ChannelType channel) {
+        ProductSortType sort = sortType != null ? sortType : ProductSortType.DEFAULT;
+        List<SFunction<ProductSpuIndex, ?>> priceColumns = channel != null
+                ? List.of(channelPriceColumn(channel), ProductSpuIndex::getId)
+                : List.of(ProductSpuIndex::getMinPrice, ProductSpuIndex::getId);
+        switch (sort) {
+            case PRICE_ASC:
+                return SortColumns.asc(priceColumns);
+            case PRICE_DESC:
+                return SortColumns.desc(priceColumns);
+            case NEWEST:
+                return SortColumns.desc(List.of(ProductSpuIndex::getPublishTime, ProductSpuIndex::getId));
+            case IN_STOCK_FIRST:
+                return SortColumns.asc(List.of(ProductSpuIndex::getStockStatus, ProductSpuIndex::getId));
+            default:
+                return SortColumns.asc(List.of(ProductSpuIndex::getId));
+        }
+    }
+
+    /**
+     * 构建搜索查询条件（汇总行只包含有可见 SKU 的 SPU，不需要可见性过滤）
+     */
+    private LambdaQueryWrapper<ProductSpuIndex> buildSearchWrapper(Long categoryId, BigDecimal minPrice,
+                                                                   BigDecimal maxPrice, StockStatus stockStatus,
+                                                                   ChannelType channel, SpecFilter specFilter) {
+        LambdaQueryWrapper<ProductSpuIndex> wrapper = new LambdaQueryWrapper<>();
+
+        if (categoryId != null) {
+            wrapper.eq(ProductSpuIndex::getCategoryId, categoryId);
+        }
+
+        if (channel != null) {
+            SFunction<ProductSpuIndex, Long> column = channelPriceColumn(channel);
+            wrapper.isNotNull(column);
+            if (minPrice != null) {
+                wrapper.ge(column, toCents(minPrice, RoundingMode.CEILING));
+            }
+            if (maxPrice != null) {
+                wrapper.le(column, toCents(maxPrice, RoundingMode.FLOOR));
+            }
+        } else {
+            // SPU 的价格区间与过滤区间有交集即命中
+            if (minPrice != null) {
+                wrapper.ge(ProductSpuIndex::getMaxPrice, minPrice);
+            }
+            if (maxPrice != null) {
+                wrapper.le(ProductSpuIndex::getMinPrice, maxPrice);
+            }
+        }
+
+        if (stockStatus != null) {
+            wrapper.eq(ProductSpuIndex::getStockStatus, stockStatus);
+        }
+
+        // 规格筛选：候选 SPU 由调用方分块追加 IN 条件，候选过多时按 SKU 级索引的属性值条件过滤
+        if (specFilter != null && !specFilter.hasSkuIds()) {
+            SpecValuesCondition condition = SpecValuesCondition.of("i.spec_values", specFilter.getAttributeValues());
+            wrapper.exists("SELECT 1 FROM t_product_index i WHERE i.spu_id = t_product_spu_index.spu_id "
+                    + "AND i.spu_deleted = 0 AND i.sku_enabled = 1 AND i.is_deleted = 0 AND "
+                    + condition.getSql(), condition.getParams());
+        }
+
+        return wrapper;
+    }
+
+    /**
+     * 搜索结果需要查询的列（始终包含 ID，用于恢复排序）
+     */
+    private List<SFunction<ProductSpuIndex, ?>> selectColumns(Set<ProductSearchField> fields,
+                                                             ChannelType channel) {
+        List<SFunction<ProductSpuIndex, ?>> columns = new ArrayList<>();
+        columns.add(ProductSpuIndex::getId);
+        for (ProductSearchField field : ProductSearchField.normalize(fields)) {
+            switch (field) {
+                case SPU_ID:
+                    columns.add(ProductSpuIndex::getSpuId);
+                    break;
+                case SPU_NAME:
+                    columns.add(ProductSpuIndex::getSpuName);
+                    break;
+                case CATEGORY_ID:
+                    columns.add(ProductSpuIndex::getCategoryId);
+                    break;
+                case MIN_PRICE:
+                    columns.add(ProductSpuIndex::getMinPrice);
+                    break;
+                case MAX_PRICE:
+                    columns.add(ProductSpuIndex::getMaxPrice);
+                    break;
+                case PRICE:
+                    if (channel != null) {
+                        columns.add(channelPriceColumn(channel));
+                    }
+                    break;
+                case STOCK_STATUS:
+                    columns.add(ProductSpuIndex::getStockStatus);
+                    break;
+                case PUBLISH_TIME:
+                    columns.add(ProductSpuIndex::getPublishTime);
+                    break;
+                case SKU_COUNT:
+                    columns.add(ProductSpuIndex::getSkuCount);
+                    break;
+                default:
+                    // SPU 级索引没有对应的列
+                    break;
+            }
+        }
+        return columns;
+    }
+
+    /**
+     * 渠道最低价格列
+     */
+    private SFunction<ProductSpuIndex, Long> channelPriceColumn(ChannelType channel) {
+        switch (channel) {
+            case APP:
+                return ProductSpuIndex::getAppPriceCents;
+            case WEB:
+                return ProductSpuIndex::getWebPriceCents;
+            case STORE:
+                return ProductSpuIndex::getStorePriceCents;
+            default:
+                throw new IllegalArgumentException("不支持的渠道: " + channel);
+        }
+    }
+
+    /**
+     * 价格过滤条件转换为分：下限向上取整、上限向下取整
+     */
+    private long toCents(BigDecimal price, RoundingMode roundingMode) {
+        return price.setScale(2, roundingMode).unscaledValue().longValueExact();
+    }
+}
@@ -0,0 +1,94 @@
+package com.freshmall.product.infrastructure.persistent.repository;
+
+import com.freshmall.product.domain.model.ProductSuggestSnapshot;
+import com.freshmall.product.domain.model.ProductSuggestion;
+import com.freshmall.product.domain.repository.ProductSuggestSnapshotRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Repository;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 搜索建议快照仓储实现
+ * 快照保存在本地文件中，先写临时文件再原子替换，进程中途退出不会留下半个快照
+ *
+ * 文件格式：魔数、版本、快照时间（毫秒）、条数，之后每条为 SPU ID、名称、热度
+ */
+@Slf4j
+@Repository
+public class ProductSuggestSnapshotRepositoryImpl implements ProductSuggestSnapshotRepository {
+
+    private static final int MAGIC = 0x53554747;
+
+    private static final int VERSION = 1;
+
+    private final Path path;
+
+    public ProductSuggestSnapshotRepositoryImpl(
+            @Value("${product.suggest.snapshot-path:${java.io.tmpdir}/fresh-mall/product-suggest.snapshot}")
+            String path) {
+        this.path = Paths.get(path);
+    }
+
+    @Override
+    public void save(ProductSuggestSnapshot snapshot) {
+        try {
+            Files.createDirectories(path.toAbsolutePath().getParent());
+            Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+            try (DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeLong(snapshot.getSnapshotTime().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+                out.writeInt(snapshot.getSuggestions().size());
+                for (ProductSuggestion suggestion : snapshot.getSuggestions()) {
+                    out.writeLong(suggestion.getSpuId());
+                    out.writeUTF(suggestion.getSpuName());
+                    out.writeLong(suggestion.getScore());
+                }
+            }
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("搜索建议快照保存失败: path={}", path, e);
+        }
+    }
+
+    @Override
+    public Optional<ProductSuggestSnapshot> load() {
+        if (!Files.exists(path)) {
+            return Optional.empty();
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                log.warn("搜索建议快照格式不匹配，忽略: path={}", path);
+                return Optional.empty();
+            }
+            LocalDateTime snapshotTime = LocalDateTime.ofInstant(Instant.ofEpochMilli(in.readLong()),
+                    ZoneId.systemDefault());
+            int count = in.readInt();
+            List<ProductSuggestion> suggestions = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                suggestions.add(new ProductSuggestion(in.readLong(), in.readUTF(), in.readLong()));
+            }
+            return Optional.of(new ProductSuggestSnapshot(snapshotTime, suggestions));
+        } catch (IOException e) {
+            log.warn("搜索建议快照读取失败，忽略: path={}", path, e);
+            return Optional.empty();
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.freshmall.product.infrastructure.persistent.repository;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.core.conditions.update.LambdaUpdateWrapper;
+import com.freshmall.product.domain.model.ChannelType;
+import com.freshmall.product.domain.price.SkuEffectivePrice;
+import com.freshmall.product.domain.repository.SkuEffectivePriceRepository;
+import com.freshmall.product.infrastructure.persistent.mapper.SkuEffectivePriceMapper;
+import com.freshmall.product.infrastructure.persistent.support.ChunkedInQuery;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+/**
+ * SKU 当前有效价格仓储实现
+ * 使用 MyBatis Plus 实现持久化操作
+ */
+@Repository
+@RequiredArgsConstructor
+public class SkuEffectivePriceRepositoryImpl implements SkuEffectivePriceRepository {
+
+    private final SkuEffectivePriceMapper skuEffectivePriceMapper;
+    private final ChunkedInQuery chunkedInQuery;
+
+    @Override
+    public List<SkuEffectivePrice> findBySkuIds(Collection<Long> skuIds, ChannelType channel) {
+        if (skuIds == null || skuIds.isEmpty()) {
+            return List.of();
+        }
+        return chunkedInQuery.query(skuIds, chunk -> {
+            LambdaQueryWrapper<SkuEffectivePrice> wrapper = new LambdaQueryWrapper<>();
+            wrapper.in(SkuEffectivePrice::getSkuId, chunk)
+                   .eq(SkuEffectivePrice::getChannel, channel);
+            return skuEffectivePriceMapper.selectList(wrapper);
+        });
+    }
+
+    @Override
+    public List<SkuEffectivePrice> findBySkuIds(Collection<Long> skuIds, Collection<ChannelType> channels) {
+        if (skuIds == null || skuIds.isEmpty() || channels == null || channels.isEmpty()) {
+            return List.of();
+        }
+        return chunkedInQuery.query(skuIds, chunk -> {
+            LambdaQueryWrapper<SkuEffectivePrice> wrapper = new LambdaQueryWrapper<>();
+            wrapper.in(SkuEffectivePrice::getSkuId, chunk)
+                   .in(SkuEffectivePrice::getChannel, channels);
+            return skuEffectivePriceMapper.selectList(wrapper);
+        });
+    }
+
+    @Override
+    public List<SkuEffectivePrice> findDue(LocalDateTime now, int limit) {
+        LambdaQueryWrapper<SkuEffectivePrice> wrapper = new LambdaQueryWrapper<>();
+        wrapper.le(SkuEffectivePrice::getNextChangeAt, now)
+               .orderByAsc(SkuEffectivePrice::getNextChangeAt)
+               .last("LIMIT " + limit);
+        return skuEffectivePriceMapper.selectList(wrapper);
+    }
+
+    @Override
+    public void markDirty(Long skuId, ChannelType channel, LocalDateTime now) {
+        skuEffectivePriceMapper.markDirty(skuId, channel, now);
+    }
+
+    @Override
+    public void markDirty(Collection<Long> skuIds, ChannelType channel, LocalDateTime now) {
+        if (skuIds == null || skuIds.isEmpty()) {
+            return;
+        }
+        skuEffectivePriceMapper.markDirtyBatch(new ArrayList<>(new LinkedHashSet<>(skuIds)), channel, now);
+    }
+
+    @Override
+    public boolean updateIfVersion(SkuEffectivePrice effectivePrice, int expectedVersion) {
+        LambdaUpdateWrapper<SkuEffectivePrice> wrapper = new LambdaUpdateWrapper<>();
+        wrapper.eq(SkuEffectivePrice::getSkuId, effectivePrice.getSkuId())
+               .eq(SkuEffectivePrice::getChannel, effectivePrice.getChannel())
+               .eq(SkuEffectivePrice::getVersion, expectedVersion)
+               .set(SkuEffectivePrice::getPrice, effectivePrice.getPrice())
+               .set(SkuEffectivePrice::getValidUntil, effectivePrice.getValidUntil())
+               .set(SkuEffectivePrice::getNextChangeAt, effectivePrice.getNextChangeAt())
+               .set(SkuEffectivePrice::getUpdateTime, LocalDateTime.now());
+        return skuEffectivePriceMapper.update(null, wrapper) > 0;
+    }
+}
@@ -1,14 +1,18 @@
 package com.freshmall.product.infrastructure.persistent.repository;
 
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.core.toolkit.IdWorker;
 import com.freshmall.product.domain.model.ChannelType;
 import com.freshmall.product.domain.price.SkuPrice;
 import com.freshmall.product.domain.repository.SkuPriceRepository;
 import com.freshmall.product.infrastructure.persistent.mapper.SkuPriceMapper;
+import com.freshmall.product.infrastructure.persistent.support.ChunkedInQuery;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -21,6 +25,7 @@ import java.util.Optional;
 public class SkuPriceRepositoryImpl implements SkuPriceRepository {
 
     private final SkuPriceMapper skuPriceMapper;
+    private final ChunkedInQuery chunkedInQuery;
 
     @Override
     public SkuPrice save(SkuPrice skuPrice) {
@@ -28,6 +33,17 @@ public class SkuPriceRepositoryImpl implements SkuPriceRepository {
         return skuPrice;
     }
 
+    @Override
+    public void saveBatch(List<SkuPrice> prices) {
+        if (prices == null || prices.isEmpty()) {
+            return;
+        }
+        for (SkuPrice price : prices) {
+            price.setId(IdWorker.getId());
+        }
+        skuPriceMapper.insertBatch(prices);
+    }
+
     @Override
     public Optional<SkuPrice> findById(Long id) {
         SkuPrice skuPrice = skuPriceMapper.selectById(id);
@@ -45,7 +61,7 @@ public class SkuPriceRepositoryImpl implements SkuPriceRepository {
 
     @Override
     public List<SkuPrice> findActiveBySkuIdAndChannel(Long skuId, ChannelType channel, LocalDateTime now) {
-        LambdaQueryWrapper<SkuPrice> wrapper = new LambdaQueryWrapper<>();
+        LambdaQueryWrapper<SkuPrice> wrapper = activeColumns();
         wrapper.eq(SkuPrice::getSkuId, skuId)
                .eq(SkuPrice::getChannel, channel)
                .le(SkuPrice::getStartTime, now)
@@ -68,7 +84,7 @@ public class SkuPriceRepositoryImpl implements SkuPriceRepository {
             return List.of();
         }
         
-        LambdaQueryWrapper<SkuPrice> wrapper = new LambdaQueryWrapper<>();
+        LambdaQueryWrapper<SkuPrice> wrapper = activeColumns();
         wrapper.in(SkuPrice::getSkuId, skuIds)
                .eq(SkuPrice::getChannel, channel)
                .le(SkuPrice::getStartTime, now)
@@ -77,6 +93,66 @@ public class SkuPriceRepositoryImpl implements SkuPriceRepository {
         return skuPriceMapper.selectList(wrapper);
     }
 
+    @Override
+    public List<SkuPrice> findLatestActiveBySkuIds(Collection<Long> skuIds, ChannelType channel, LocalDateTime now) {
+        if (skuIds == null || skuIds.isEmpty()) {
+            return List.of();
+        }
+        return chunkedInQuery.query(skuIds,
+                chunk -> skuPriceMapper.selectLatestActiveBySkuIds(chunk, channel, now));
+    }
+
+    @Override
+    public List<SkuPrice> findHistoryBySkuIds(Collection<Long> skuIds, ChannelType channel) {
+        if (skuIds == null || skuIds.isEmpty()) {
+            return List.of();
+        }
+        return chunkedInQuery.query(skuIds, chunk -> skuPriceMapper.selectHistoryBySkuIds(chunk, channel));
+    }
+
+    @Override
+    public List<SkuPrice> findActivePricesBySkuIds(List<Long> skuIds, LocalDateTime now) {
+        if (skuIds == null || skuIds.isEmpty()) {
+            return List.of();
+        }
+
+        LambdaQueryWrapper<SkuPrice> wrapper = activeColumns();
+        wrapper.in(SkuPrice::getSkuId, skuIds)
+               .le(SkuPrice::getStartTime, now)
+               .and(w -> w.isNull(SkuPrice::getEndTime).or().ge(SkuPrice::getEndTime, now));
+        return skuPriceMapper.selectList(wrapper);
+    }
+
+    @Override
+    public List<SkuPrice> findUnexpiredBySkuIds(Collection<Long> skuIds, ChannelType channel, LocalDateTime from) {
+        if (skuIds == null || skuIds.isEmpty()) {
+            return List.of();
+        }
+
+        return chunkedInQuery.query(skuIds, chunk -> {
+            LambdaQueryWrapper<SkuPrice> wrapper = activeColumns();
+            wrapper.in(SkuPrice::getSkuId, chunk)
+                   .eq(SkuPrice::getChannel, channel)
+                   .and(w -> w.isNull(SkuPrice::getEndTime).or().ge(SkuPrice::getEndTime, from));
+            return skuPriceMapper.selectList(wrapper);
+        });
+    }
+
+    @Override
+    public List<Long> findUnexpiredSkuIdsAfter(ChannelType channel, LocalDateTime from, Long afterSkuId, int limit) {
+        return skuPriceMapper.selectUnexpiredSkuIdsAfter(channel, from, afterSkuId, limit);
+    }
+
+    @Override
+    public List<SkuPrice> findBoundariesBetween(LocalDateTime from, LocalDateTime to) {
+        LambdaQueryWrapper<SkuPrice> wrapper = new LambdaQueryWrapper<>();
+        wrapper.select(SkuPrice::getId, SkuPrice::getSkuId, SkuPrice::getStartTime, SkuPrice::getEndTime)
+               .and(w -> w.gt(SkuPrice::getStartTime, from).le(SkuPrice::getStartTime, to)
+                       .or()
+                       .gt(SkuPrice::getEndTime, from).le(SkuPrice::getEndTime, to));
+        return skuPriceMapper.selectList(wrapper);
+    }
+
     @Override
     public void deleteById(Long id) {
         skuPriceMapper.deleteById(id);
@@ -88,4 +164,35 @@ public class SkuPriceRepositoryImpl implements SkuPriceRepository {
         wrapper.eq(SkuPrice::getSkuId, skuId);
         skuPriceMapper.delete(wrapper);
     }
+
+    /**
+     * 有效价格查询只取价格判断需要的列，这些列都在 idx_sku_channel_window 中，查询不回表
+     */
+    private LambdaQueryWrapper<SkuPrice> activeColumns() {
+        LambdaQueryWrapper<SkuPrice> wrapper = new LambdaQueryWrapper<>();
+        wrapper.select(SkuPrice::getId, SkuPrice::getSkuId, SkuPrice::getChannel, SkuPrice::getPrice,
+                SkuPrice::getStartTime, SkuPrice::getEndTime);
+        return wrapper;
+    }
+
+    @Override
+    public List<Long> lockArchivableIds(LocalDateTime cutoff, int limit) {
+        List<Long> ids = new ArrayList<>(skuPriceMapper.lockExpiredIds(cutoff, limit));
+        if (ids.size() < limit) {
+            ids.addAll(skuPriceMapper.lockDeletedIds(cutoff, limit - ids.size()));
+        }
+        return ids;
+    }
+
+    @Override
+    public int archiveByIds(List<Long> ids, boolean summarize) {
+        if (ids == null || ids.isEmpty()) {
+            return 0;
+        }
+        skuPriceMapper.copyToArchive(ids);
+        if (summarize) {
+            skuPriceMapper.mergeArchiveSummary(ids);
+        }
+        return skuPriceMapper.physicalDeleteByIds(ids);
+    }
 }
@@ -5,12 +5,16 @@ import com.baomidou.mybatisplus.core.conditions.update.LambdaUpdateWrapper;
 import com.freshmall.product.domain.model.Sku;
 import com.freshmall.product.domain.repository.SkuRepository;
 import com.freshmall.product.infrastructure.persistent.mapper.SkuMapper;
+import com.freshmall.product.infrastructure.persistent.support.ChunkedInQuery;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * SKU 仓储实现
@@ -21,6 +25,7 @@ import java.util.Optional;
 public class SkuRepositoryImpl implements SkuRepository {
 
     private final SkuMapper skuMapper;
+    private final ChunkedInQuery chunkedInQuery;
 
     @Override
     public Sku save(Sku sku) {
@@ -63,6 +68,40 @@ public class SkuRepositoryImpl implements SkuRepository {
         return skuMapper.selectList(wrapper);
     }
 
+    @Override
+    public List<Sku> findAfterId(Long afterId, int limit) {
+        LambdaQueryWrapper<Sku> wrapper = new LambdaQueryWrapper<>();
+        wrapper.gt(Sku::getId, afterId);
+        wrapper.orderByAsc(Sku::getId);
+        wrapper.last("LIMIT " + limit);
+        return skuMapper.selectList(wrapper);
+    }
+
+    @Override
+    public List<Sku> findEnabledBySpuIds(List<Long> spuIds) {
+        if (spuIds == null || spuIds.isEmpty()) {
+            return List.of();
+        }
+        LambdaQueryWrapper<Sku> wrapper = new LambdaQueryWrapper<>();
+        wrapper.in(Sku::getSpuId, spuIds);
+        wrapper.eq(Sku::getEnabled, true);
+        return skuMapper.selectList(wrapper);
+    }
+
+    @Override
+    public Set<Long> findExistingIds(Collection<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return Set.of();
+        }
+        List<Sku> skus = chunkedInQuery.query(ids, chunk -> {
+            LambdaQueryWrapper<Sku> wrapper = new LambdaQueryWrapper<>();
+            wrapper.select(Sku::getId)
+                   .in(Sku::getId, chunk);
+            return skuMapper.selectList(wrapper);
+        });
+        return skus.stream().map(Sku::getId).collect(Collectors.toSet());
+    }
+
     @Override
     public Optional<Sku> findBySkuCode(String skuCode) {
         LambdaQueryWrapper<Sku> wrapper = new LambdaQueryWrapper<>();
@@ -7,6 +7,7 @@ import com.freshmall.product.infrastructure.persistent.mapper.SkuStockMapper;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -42,6 +43,16 @@ public class SkuStockRepositoryImpl implements SkuStockRepository {
         return Optional.ofNullable(stock);
     }
 
+    @Override
+    public List<SkuStock> findBySkuIds(List<Long> skuIds) {
+        if (skuIds == null || skuIds.isEmpty()) {
+            return List.of();
+        }
+        LambdaQueryWrapper<SkuStock> wrapper = new LambdaQueryWrapper<>();
+        wrapper.in(SkuStock::getSkuId, skuIds);
+        return skuStockMapper.selectList(wrapper);
+    }
+
     @Override
     public Optional<SkuStock> findById(Long id) {
         SkuStock stock = skuStockMapper.selectById(id);
@@ -2,11 +2,15 @@ package com.freshmall.product.infrastructure.persistent.repository;
 
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.freshmall.product.domain.aggregate.Spu;
+import com.freshmall.product.domain.model.SpuStatus;
 import com.freshmall.product.domain.repository.SpuRepository;
 import com.freshmall.product.infrastructure.persistent.mapper.SpuMapper;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -37,6 +41,14 @@ public class SpuRepositoryImpl implements SpuRepository {
         return Optional.ofNullable(spu);
     }
 
+    @Override
+    public List<Spu> findByIds(Collection<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return List.of();
+        }
+        return spuMapper.selectBatchIds(ids);
+    }
+
     @Override
     public Optional<Spu> findByIdIncludingDeleted(Long id) {
         // 查询包含已删除的记录
@@ -58,4 +70,47 @@ public class SpuRepositoryImpl implements SpuRepository {
         // MyBatis Plus 的 deleteById 会执行逻辑删除
         spuMapper.deleteById(id);
     }
+
+    @Override
+    public List<Spu> findPublishedByIdRange(Long afterId, Long maxId, int limit) {
+        LambdaQueryWrapper<Spu> wrapper = new LambdaQueryWrapper<>();
+        wrapper.eq(Spu::getStatus, SpuStatus.PUBLISHED);
+        wrapper.gt(Spu::getId, afterId);
+        wrapper.le(Spu::getId, maxId);
+        wrapper.orderByAsc(Spu::getId);
+        wrapper.last("LIMIT " + limit);
+        return spuMapper.selectList(wrapper);
+    }
+
+    @Override
+    public Optional<Long> findMinPublishedId() {
+        LambdaQueryWrapper<Spu> wrapper = new LambdaQueryWrapper<>();
+        wrapper.select(Spu::getId);
+        wrapper.eq(Spu::getStatus, SpuStatus.PUBLISHED);
+        wrapper.orderByAsc(Spu::getId);
+        wrapper.last("LIMIT 1");
+        return Optional.ofNullable(spuMapper.selectOne(wrapper)).map(Spu::getId);
+    }
+
+    @Override
+    public Optional<Long> findMaxPublishedId() {
+        LambdaQueryWrapper<Spu> wrapper = new LambdaQueryWrapper<>();
+        wrapper.select(Spu::getId);
+        wrapper.eq(Spu::getStatus, SpuStatus.PUBLISHED);
+        wrapper.orderByDesc(Spu::getId);
+        wrapper.last("LIMIT 1");
+        return Optional.ofNullable(spuMapper.selectOne(wrapper)).map(Spu::getId);
+    }
+
+    @Override
+    public long countPublished() {
+        LambdaQueryWrapper<Spu> wrapper = new LambdaQueryWrapper<>();
+        wrapper.eq(Spu::getStatus, SpuStatus.PUBLISHED);
+        return spuMapper.selectCount(wrapper);
+    }
+
+    @Override
+    public List<Long> findIdsChangedSince(LocalDateTime since) {
+        return spuMapper.selectIdsChangedSince(since);
+    }
 }
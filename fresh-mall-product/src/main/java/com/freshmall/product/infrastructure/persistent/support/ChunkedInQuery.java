@@ -0,0 +1,72 @@
+package com.freshmall.product.infrastructure.persistent.support;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+/**
+ * 分块 IN 查询
+ *
+ * 设计说明：
+ * - 超长的 IN 列表按固定大小切块，每块一条语句，避免单条语句过大、执行计划退化为全表扫描
+ * - 多个块在价格查询线程池中并行执行，线程池满时由调用线程执行
+ * - 并行执行的块不在调用方的事务中，只用于不需要事务一致性的只读查询
+ * - 列表不超过一块时直接在调用线程执行
+ */
+@Component
+public class ChunkedInQuery {
+
+    private final ThreadPoolTaskExecutor executor;
+
+    /**
+     * 每块的 ID 数
+     */
+    private final int chunkSize;
+
+    public ChunkedInQuery(@Qualifier("priceQueryExecutor") ThreadPoolTaskExecutor executor,
+                          @Value("${product.price-query.chunk-size:500}") int chunkSize) {
+        this.executor = executor;
+        this.chunkSize = Math.max(1, chunkSize);
+    }
+
+    /**
+     * 对 ID 列表分块执行查询并合并结果（ID 去重，结果按块的顺序合并）
+     *
+     * @param ids ID 列表
+     * @param query 单块查询
+     * @return 合并后的结果
+     */
+    public <T> List<T> query(Collection<Long> ids, Function<List<Long>, List<T>> query) {
+        List<Long> distinct = new ArrayList<>(new LinkedHashSet<>(ids));
+        if (distinct.size() <= chunkSize) {
+            return query.apply(distinct);
+        }
+
+        List<CompletableFuture<List<T>>> futures = new ArrayList<>();
+        for (int from = 0; from < distinct.size(); from += chunkSize) {
+            List<Long> chunk = distinct.subList(from, Math.min(from + chunkSize, distinct.size()));
+            futures.add(CompletableFuture.supplyAsync(() -> query.apply(chunk), executor));
+        }
+        List<T> result = new ArrayList<>();
+        try {
+            for (CompletableFuture<List<T>> future : futures) {
+                result.addAll(future.join());
+            }
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+        return result;
+    }
+}
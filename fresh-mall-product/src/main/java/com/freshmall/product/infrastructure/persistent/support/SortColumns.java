@@ -0,0 +1,68 @@
+package com.freshmall.product.infrastructure.persistent.support;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.core.toolkit.support.SFunction;
+
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * 搜索排序列
+ * 同一组排序列既用于生成 ORDER BY，也用于在内存中合并分块查询的结果，两者的顺序保持一致
+ *
+ * 设计说明：
+ * - 所有列同方向排序，最后一列为主键，排序结果唯一
+ * - 内存比较与 MySQL 一致：升序时 NULL 在前、降序时 NULL 在后；枚举按名称存储，比较名称
+ */
+public final class SortColumns<T> {
+
+    private final List<SFunction<T, ?>> columns;
+
+    private final boolean descending;
+
+    private SortColumns(List<SFunction<T, ?>> columns, boolean descending) {
+        this.columns = columns;
+        this.descending = descending;
+    }
+
+    public static <T> SortColumns<T> asc(List<SFunction<T, ?>> columns) {
+        return new SortColumns<>(columns, false);
+    }
+
+    public static <T> SortColumns<T> desc(List<SFunction<T, ?>> columns) {
+        return new SortColumns<>(columns, true);
+    }
+
+    public List<SFunction<T, ?>> getColumns() {
+        return columns;
+    }
+
+    /**
+     * 追加 ORDER BY
+     */
+    public void applyTo(LambdaQueryWrapper<T> wrapper) {
+        for (SFunction<T, ?> column : columns) {
+            wrapper.orderBy(true, !descending, column);
+        }
+    }
+
+    /**
+     * 与 ORDER BY 一致的内存比较器
+     */
+    public Comparator<T> comparator() {
+        Comparator<T> comparator = (a, b) -> 0;
+        for (SFunction<T, ?> column : columns) {
+            comparator = comparator.thenComparing(row -> sortKey(column.apply(row)),
+                    Comparator.nullsFirst(Comparator.naturalOrder()));
+        }
+        return descending ? comparator.reversed() : comparator;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Comparable<Object> sortKey(Object value) {
+        if (value instanceof Enum) {
+            return (Comparable<Object>) (Object) ((Enum<?>) value).name();
+        }
+        return (Comparable<Object>) value;
+    }
+}
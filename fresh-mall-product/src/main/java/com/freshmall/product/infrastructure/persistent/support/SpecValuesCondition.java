@@ -0,0 +1,63 @@
+package com.freshmall.product.infrastructure.persistent.support;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 规格属性值的 SQL 过滤条件
+ *
+ * 设计说明：
+ * - spec_values 列保存 ENUM 属性 ID -> 属性值的 JSON，按属性取出值后用 IN 匹配
+ * - 条件使用 MyBatis Plus apply/exists 的 {n} 占位符，JSON 路径和属性值都以参数绑定
+ * - 该条件不能使用索引，只在位图候选 SKU 过多时作为回退，由类目、价格、库存等条件先缩小扫描范围
+ */
+public final class SpecValuesCondition {
+
+    private final String sql;
+
+    private final Object[] params;
+
+    private SpecValuesCondition(String sql, Object[] params) {
+        this.sql = sql;
+        this.params = params;
+    }
+
+    /**
+     * 构建过滤条件
+     *
+     * @param column spec_values 列名（可带表别名）
+     * @param attributeValues 属性 ID -> 属性值列表（同一属性的值取并集，不同属性取交集）
+     * @return 过滤条件
+     */
+    public static SpecValuesCondition of(String column, Map<Long, List<String>> attributeValues) {
+        StringBuilder sql = new StringBuilder();
+        List<Object> params = new ArrayList<>();
+        for (Map.Entry<Long, List<String>> entry : attributeValues.entrySet()) {
+            if (sql.length() > 0) {
+                sql.append(" AND ");
+            }
+            if (entry.getValue().isEmpty()) {
+                sql.append("1 = 0");
+                continue;
+            }
+            sql.append("JSON_UNQUOTE(JSON_EXTRACT(").append(column).append(", {").append(params.size())
+                    .append("})) IN (");
+            params.add("$.\"" + entry.getKey() + "\"");
+            for (int i = 0; i < entry.getValue().size(); i++) {
+                sql.append(i > 0 ? ", " : "").append('{').append(params.size()).append('}');
+                params.add(entry.getValue().get(i));
+            }
+            sql.append(')');
+        }
+        return new SpecValuesCondition(sql.length() > 0 ? sql.toString() : "1 = 1", params.toArray());
+    }
+
+    public String getSql() {
+        return sql;
+    }
+
+    public Object[] getParams() {
+        return params;
+    }
+}
@@ -0,0 +1,145 @@
+-- 商品索引搜索结构
+-- 基线之后新增的商品索引列、搜索索引和索引维护相关的表（原 sql/ 目录下的增量脚本）
+-- 版本号 1.1 排在基线之后、V2 之前：已按版本 1 标记基线的库会执行本脚本，V2 的覆盖索引依赖这里新增的列
+-- 已有索引行的渠道价格和规格属性值需要重新计算：执行一次全量重建（POST /api/index/rebuild）
+
+-- ----------------------------
+-- SPU：按状态分页扫描已发布 SPU（全量重建、建议词补齐）
+-- ----------------------------
+ALTER TABLE t_spu
+    ADD INDEX idx_status_id (status, id);
+
+-- ----------------------------
+-- 商品索引新增列
+-- - 渠道价格：每个渠道一列有效价格，以分为单位的 BIGINT 存储，渠道没有有效价格时为 NULL
+-- - 规格属性值：只保存类目关联的 ENUM 类型属性，键为属性 ID，筛选和分面统计在内存位图中完成
+-- - 发布时间：按最新发布排序
+-- - 内容哈希：增量更新前与已存在行比较，内容未变化的行不再写入；已有行为 NULL，下次更新时补上
+-- ----------------------------
+ALTER TABLE t_product_index
+    ADD COLUMN app_price_cents   BIGINT        NULL COMMENT 'APP 渠道有效价格（分）' AFTER max_price,
+    ADD COLUMN web_price_cents   BIGINT        NULL COMMENT 'WEB 渠道有效价格（分）' AFTER app_price_cents,
+    ADD COLUMN store_price_cents BIGINT        NULL COMMENT '门店渠道有效价格（分）' AFTER web_price_cents,
+    ADD COLUMN spec_values       VARCHAR(1024) NULL COMMENT '规格属性值（JSON，ENUM 类型属性 ID -> 属性值）' AFTER stock_status,
+    ADD COLUMN publish_time      DATETIME      NULL COMMENT 'SPU 发布时间' AFTER spec_values,
+    ADD COLUMN content_hash      BIGINT        NULL COMMENT '内容哈希（派生列的 FNV-1a 64 位哈希）' AFTER sku_enabled;
+
+-- 回填已有索引行的发布时间
+UPDATE t_product_index i JOIN t_spu s ON s.id = i.spu_id
+SET i.publish_time = s.publish_time;
+
+-- ----------------------------
+-- 商品索引排序 / 过滤联合索引：等值过滤列在前，排序列在后，索引天然包含主键 ID
+-- 搜索先在索引上完成过滤、排序和分页偏移（只取 ID），再按 ID 回表取当前页
+-- ----------------------------
+ALTER TABLE t_product_index
+    -- 价格排序（PRICE_ASC / PRICE_DESC），max_price 一并放入索引，价格区间过滤无需回表
+    ADD INDEX idx_search_category_price (spu_deleted, sku_enabled, is_deleted, category_id, min_price, max_price),
+    ADD INDEX idx_search_price (spu_deleted, sku_enabled, is_deleted, min_price, max_price),
+    -- 最新发布（NEWEST）
+    ADD INDEX idx_search_category_publish (spu_deleted, sku_enabled, is_deleted, category_id, publish_time),
+    ADD INDEX idx_search_publish (spu_deleted, sku_enabled, is_deleted, publish_time),
+    -- 有货优先（IN_STOCK_FIRST），同时服务库存状态过滤
+    ADD INDEX idx_search_category_stock (spu_deleted, sku_enabled, is_deleted, category_id, stock_status),
+    ADD INDEX idx_search_stock (spu_deleted, sku_enabled, is_deleted, stock_status),
+    -- 渠道价格排序 / 过滤（PRICE_ASC / PRICE_DESC + channel）
+    ADD INDEX idx_search_category_app_price (spu_deleted, sku_enabled, is_deleted, category_id, app_price_cents),
+    ADD INDEX idx_search_app_price (spu_deleted, sku_enabled, is_deleted, app_price_cents),
+    ADD INDEX idx_search_category_web_price (spu_deleted, sku_enabled, is_deleted, category_id, web_price_cents),
+    ADD INDEX idx_search_web_price (spu_deleted, sku_enabled, is_deleted, web_price_cents),
+    ADD INDEX idx_search_category_store_price (spu_deleted, sku_enabled, is_deleted, category_id, store_price_cents),
+    ADD INDEX idx_search_store_price (spu_deleted, sku_enabled, is_deleted, store_price_cents);
+
+-- ----------------------------
+-- 商品索引任务表（事务性发件箱，原 sql/t_product_index_task.sql）
+-- 与业务数据同事务写入，事务提交后由 ProductIndexTaskWorker 异步消费，处理成功后物理删除
+-- ----------------------------
+CREATE TABLE IF NOT EXISTS t_product_index_task (
+    id                BIGINT       NOT NULL COMMENT '主键ID',
+    target_type       VARCHAR(16)  NOT NULL COMMENT '目标类型：SKU / SPU',
+    target_id         BIGINT       NOT NULL COMMENT '目标ID',
+    status            VARCHAR(16)  NOT NULL COMMENT '状态：PENDING / PROCESSING / FAILED',
+    attempts          INT          NOT NULL DEFAULT 0 COMMENT '已尝试次数',
+    next_attempt_time DATETIME     NOT NULL COMMENT '下次可执行时间',
+    claim_token       VARCHAR(64)  NULL COMMENT '认领令牌',
+    claim_time        DATETIME     NULL COMMENT '认领时间',
+    last_error        VARCHAR(500) NULL COMMENT '最近一次失败原因',
+    create_time       DATETIME     NOT NULL COMMENT '创建时间',
+    update_time       DATETIME     NOT NULL COMMENT '更新时间',
+    is_deleted        TINYINT      NOT NULL DEFAULT 0 COMMENT '逻辑删除',
+    PRIMARY KEY (id),
+    KEY idx_status_next_attempt (status, next_attempt_time, id),
+    KEY idx_target (target_type, target_id, status),
+    KEY idx_claim_token (claim_token)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4 COMMENT = '商品索引任务表';
+
+-- ----------------------------
+-- 商品索引全量重建表（原 sql/t_product_index_rebuild.sql）
+-- ----------------------------
+CREATE TABLE IF NOT EXISTS t_product_index_rebuild (
+    id              BIGINT       NOT NULL COMMENT '主键ID',
+    status          VARCHAR(16)  NOT NULL COMMENT '状态：RUNNING / COMPLETED / FAILED',
+    partition_count INT          NOT NULL COMMENT '分区数',
+    total_spu       BIGINT       NOT NULL DEFAULT 0 COMMENT '待处理 SPU 总数',
+    start_time      DATETIME     NOT NULL COMMENT '开始时间',
+    finish_time     DATETIME     NULL COMMENT '结束时间',
+    last_error      VARCHAR(500) NULL COMMENT '失败原因',
+    create_time     DATETIME     NOT NULL COMMENT '创建时间',
+    update_time     DATETIME     NOT NULL COMMENT '更新时间',
+    is_deleted      TINYINT      NOT NULL DEFAULT 0 COMMENT '逻辑删除',
+    PRIMARY KEY (id),
+    KEY idx_status (status)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4 COMMENT = '商品索引全量重建表';
+
+-- 每个分区负责 (range_start, range_end] 范围内的 SPU，游标与影子表写入同事务推进，支持断点续建
+CREATE TABLE IF NOT EXISTS t_product_index_rebuild_partition (
+    id            BIGINT   NOT NULL COMMENT '主键ID',
+    rebuild_id    BIGINT   NOT NULL COMMENT '重建ID',
+    range_start   BIGINT   NOT NULL COMMENT '范围起点（不包含）',
+    range_end     BIGINT   NOT NULL COMMENT '范围终点（包含）',
+    cursor_spu_id BIGINT   NOT NULL COMMENT '游标：已处理的最大 SPU ID',
+    finished      TINYINT  NOT NULL DEFAULT 0 COMMENT '是否已完成',
+    processed_spu BIGINT   NOT NULL DEFAULT 0 COMMENT '已处理 SPU 数',
+    rows_written  BIGINT   NOT NULL DEFAULT 0 COMMENT '已写入索引行数',
+    create_time   DATETIME NOT NULL COMMENT '创建时间',
+    update_time   DATETIME NOT NULL COMMENT '更新时间',
+    is_deleted    TINYINT  NOT NULL DEFAULT 0 COMMENT '逻辑删除',
+    PRIMARY KEY (id),
+    KEY idx_rebuild (rebuild_id, range_start)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4 COMMENT = '商品索引重建分区表';
+
+-- ----------------------------
+-- SPU 级商品索引（原 sql/t_product_spu_index.sql）
+-- 由 t_product_index 的可见行按 SPU 汇总，与 SKU 级索引在同一事务中维护（ProductSpuIndexUpdater）
+-- ----------------------------
+CREATE TABLE IF NOT EXISTS t_product_spu_index (
+    id                BIGINT         NOT NULL COMMENT '主键（与 SPU ID 相同）',
+    spu_id            BIGINT         NOT NULL COMMENT 'SPU ID',
+    spu_name          VARCHAR(255)   NOT NULL COMMENT 'SPU 名称',
+    category_id       BIGINT         NOT NULL COMMENT '类目 ID',
+    min_price         DECIMAL(10, 2) NULL COMMENT '可见 SKU 最低价格',
+    max_price         DECIMAL(10, 2) NULL COMMENT '可见 SKU 最高价格',
+    app_price_cents   BIGINT         NULL COMMENT 'APP 渠道最低价格（分）',
+    web_price_cents   BIGINT         NULL COMMENT 'WEB 渠道最低价格（分）',
+    store_price_cents BIGINT         NULL COMMENT '门店渠道最低价格（分）',
+    stock_status      VARCHAR(20)    NOT NULL COMMENT '最好的库存状态',
+    publish_time      DATETIME       NULL COMMENT 'SPU 发布时间',
+    sku_count         INT            NOT NULL COMMENT '可见 SKU 数',
+    create_time       DATETIME       NOT NULL COMMENT '创建时间',
+    update_time       DATETIME       NOT NULL COMMENT '更新时间',
+    is_deleted        TINYINT        NOT NULL DEFAULT 0 COMMENT '逻辑删除（汇总行物理删除，恒为 0）',
+    PRIMARY KEY (id),
+    UNIQUE KEY uk_spu_id (spu_id),
+    KEY idx_spu_search_category_price (is_deleted, category_id, min_price, max_price),
+    KEY idx_spu_search_price (is_deleted, min_price, max_price),
+    KEY idx_spu_search_category_publish (is_deleted, category_id, publish_time),
+    KEY idx_spu_search_publish (is_deleted, publish_time),
+    KEY idx_spu_search_category_stock (is_deleted, category_id, stock_status),
+    KEY idx_spu_search_stock (is_deleted, stock_status),
+    KEY idx_spu_search_category_app_price (is_deleted, category_id, app_price_cents),
+    KEY idx_spu_search_app_price (is_deleted, app_price_cents),
+    KEY idx_spu_search_category_web_price (is_deleted, category_id, web_price_cents),
+    KEY idx_spu_search_web_price (is_deleted, web_price_cents),
+    KEY idx_spu_search_category_store_price (is_deleted, category_id, store_price_cents),
+    KEY idx_spu_search_store_price (is_deleted, store_price_cents)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4 COMMENT = 'SPU 级商品索引';
@@ -0,0 +1,149 @@
+-- 商品服务基线表结构
+-- 记录此前手工建立的业务表，作为 Flyway 的第一个版本
+-- 已有数据的库首次启动时由 baseline-on-migrate 标记为版本 1，不会执行本脚本；
+-- 之后的结构变更（包括原 sql/ 目录下的增量脚本）必须放在 V1_1 及之后的版本中，已有库才会执行
+-- 说明：
+-- - 主键使用雪花算法生成，不自增
+-- - 枚举按名称存储为 VARCHAR
+-- - 所有表使用 is_deleted 逻辑删除，业务上唯一的列（编码、名称、SKU ID 等）只建普通索引，
+--   否则逻辑删除后无法重新创建同一编码 / 同一 SKU 的行
+
+-- ----------------------------
+-- 类目表
+-- ----------------------------
+CREATE TABLE IF NOT EXISTS t_category (
+    id            BIGINT       NOT NULL COMMENT '主键ID',
+    category_code VARCHAR(64)  NOT NULL COMMENT '类目编码',
+    name          VARCHAR(100) NOT NULL COMMENT '类目名称',
+    parent_id     BIGINT       NULL COMMENT '父类目ID（一级类目为 NULL）',
+    level         INT          NOT NULL COMMENT '层级',
+    sort_order    INT          NOT NULL DEFAULT 0 COMMENT '排序',
+    create_time   DATETIME     NOT NULL COMMENT '创建时间',
+    update_time   DATETIME     NOT NULL COMMENT '更新时间',
+    is_deleted    TINYINT      NOT NULL DEFAULT 0 COMMENT '逻辑删除',
+    PRIMARY KEY (id),
+    KEY idx_category_code (category_code),
+    KEY idx_parent_sort (parent_id, sort_order)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4 COMMENT = '类目表';
+
+-- ----------------------------
+-- 属性表
+-- ----------------------------
+CREATE TABLE IF NOT EXISTS t_attribute (
+    id             BIGINT        NOT NULL COMMENT '主键ID',
+    name           VARCHAR(100)  NOT NULL COMMENT '属性名称',
+    attribute_type VARCHAR(16)   NOT NULL COMMENT '属性类型：TEXT / NUMBER / ENUM',
+    value_range    VARCHAR(2048) NULL COMMENT '取值范围（JSON）',
+    create_time    DATETIME      NOT NULL COMMENT '创建时间',
+    update_time    DATETIME      NOT NULL COMMENT '更新时间',
+    is_deleted     TINYINT       NOT NULL DEFAULT 0 COMMENT '逻辑删除',
+    PRIMARY KEY (id),
+    KEY idx_name (name)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4 COMMENT = '属性表';
+
+-- ----------------------------
+-- 类目属性关联表
+-- ----------------------------
+CREATE TABLE IF NOT EXISTS t_category_attribute (
+    id           BIGINT   NOT NULL COMMENT '主键ID',
+    category_id  BIGINT   NOT NULL COMMENT '类目ID',
+    attribute_id BIGINT   NOT NULL COMMENT '属性ID',
+    required     TINYINT  NOT NULL DEFAULT 0 COMMENT '是否必填',
+    sort_order   INT      NOT NULL DEFAULT 0 COMMENT '排序',
+    create_time  DATETIME NOT NULL COMMENT '创建时间',
+    update_time  DATETIME NOT NULL COMMENT '更新时间',
+    is_deleted   TINYINT  NOT NULL DEFAULT 0 COMMENT '逻辑删除',
+    PRIMARY KEY (id),
+    KEY idx_category_attribute (category_id, attribute_id),
+    KEY idx_attribute (attribute_id)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4 COMMENT = '类目属性关联表';
+
+-- ----------------------------
+-- SPU 表
+-- ----------------------------
+CREATE TABLE IF NOT EXISTS t_spu (
+    id           BIGINT        NOT NULL COMMENT '主键ID',
+    name         VARCHAR(255)  NOT NULL COMMENT 'SPU 名称',
+    category_id  BIGINT        NOT NULL COMMENT '类目ID',
+    images       VARCHAR(2048) NULL COMMENT '商品图片',
+    status       VARCHAR(16)   NOT NULL COMMENT '状态：DRAFT / PUBLISHED / UNPUBLISHED',
+    publish_time DATETIME      NULL COMMENT '发布时间',
+    deleted_at   DATETIME      NULL COMMENT '逻辑删除时间',
+    create_time  DATETIME      NOT NULL COMMENT '创建时间',
+    update_time  DATETIME      NOT NULL COMMENT '更新时间',
+    is_deleted   TINYINT       NOT NULL DEFAULT 0 COMMENT '逻辑删除',
+    PRIMARY KEY (id),
+    KEY idx_category (category_id)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4 COMMENT = 'SPU 表';
+
+-- ----------------------------
+-- SKU 表
+-- ----------------------------
+CREATE TABLE IF NOT EXISTS t_sku (
+    id             BIGINT        NOT NULL COMMENT '主键ID',
+    spu_id         BIGINT        NOT NULL COMMENT 'SPU ID',
+    sku_code       VARCHAR(64)   NOT NULL COMMENT 'SKU 编码',
+    specifications VARCHAR(2048) NULL COMMENT '规格（JSON）',
+    enabled        TINYINT       NOT NULL DEFAULT 1 COMMENT '是否启用',
+    deleted_at     DATETIME      NULL COMMENT '逻辑删除时间',
+    create_time    DATETIME      NOT NULL COMMENT '创建时间',
+    update_time    DATETIME      NOT NULL COMMENT '更新时间',
+    is_deleted     TINYINT       NOT NULL DEFAULT 0 COMMENT '逻辑删除',
+    PRIMARY KEY (id),
+    KEY idx_spu_enabled (spu_id, enabled),
+    KEY idx_sku_code (sku_code)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4 COMMENT = 'SKU 表';
+
+-- ----------------------------
+-- SKU 价格表（二级索引见 V2__search_price_covering_indexes.sql）
+-- ----------------------------
+CREATE TABLE IF NOT EXISTS t_sku_price (
+    id          BIGINT         NOT NULL COMMENT '主键ID',
+    sku_id      BIGINT         NOT NULL COMMENT 'SKU ID',
+    channel     VARCHAR(16)    NOT NULL COMMENT '渠道：APP / WEB / STORE',
+    price       DECIMAL(10, 2) NOT NULL COMMENT '价格',
+    start_time  DATETIME       NOT NULL COMMENT '生效时间',
+    end_time    DATETIME       NULL COMMENT '失效时间（NULL 表示长期有效）',
+    create_time DATETIME       NOT NULL COMMENT '创建时间',
+    update_time DATETIME       NOT NULL COMMENT '更新时间',
+    is_deleted  TINYINT        NOT NULL DEFAULT 0 COMMENT '逻辑删除',
+    PRIMARY KEY (id)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4 COMMENT = 'SKU 价格表';
+
+-- ----------------------------
+-- SKU 库存表（二级索引见 V2__search_price_covering_indexes.sql）
+-- ----------------------------
+CREATE TABLE IF NOT EXISTS t_sku_stock (
+    id              BIGINT   NOT NULL COMMENT '主键ID',
+    sku_id          BIGINT   NOT NULL COMMENT 'SKU ID',
+    total_stock     INT      NOT NULL DEFAULT 0 COMMENT '总库存',
+    available_stock INT      NOT NULL DEFAULT 0 COMMENT '可用库存',
+    lock_stock      INT      NOT NULL DEFAULT 0 COMMENT '锁定库存',
+    version         INT      NOT NULL DEFAULT 0 COMMENT '乐观锁版本号',
+    create_time     DATETIME NOT NULL COMMENT '创建时间',
+    update_time     DATETIME NOT NULL COMMENT '更新时间',
+    is_deleted      TINYINT  NOT NULL DEFAULT 0 COMMENT '逻辑删除',
+    PRIMARY KEY (id)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4 COMMENT = 'SKU 库存表';
+
+-- ----------------------------
+-- 商品索引表（渠道价格、规格、发布时间、内容哈希列和搜索索引见 V1_1__product_index_search.sql）
+-- ----------------------------
+CREATE TABLE IF NOT EXISTS t_product_index (
+    id           BIGINT         NOT NULL COMMENT '主键ID',
+    spu_id       BIGINT         NOT NULL COMMENT 'SPU ID',
+    sku_id       BIGINT         NOT NULL COMMENT 'SKU ID',
+    spu_name     VARCHAR(255)   NOT NULL COMMENT 'SPU 名称',
+    category_id  BIGINT         NOT NULL COMMENT '类目 ID',
+    min_price    DECIMAL(10, 2) NULL COMMENT '各渠道有效价格最小值',
+    max_price    DECIMAL(10, 2) NULL COMMENT '各渠道有效价格最大值',
+    stock_status VARCHAR(20)    NOT NULL COMMENT '库存状态',
+    spu_deleted  TINYINT        NOT NULL DEFAULT 0 COMMENT 'SPU 是否已删除',
+    sku_enabled  TINYINT        NOT NULL DEFAULT 1 COMMENT 'SKU 是否启用',
+    create_time  DATETIME       NOT NULL COMMENT '创建时间',
+    update_time  DATETIME       NOT NULL COMMENT '更新时间',
+    is_deleted   TINYINT        NOT NULL DEFAULT 0 COMMENT '逻辑删除',
+    PRIMARY KEY (id),
+    KEY idx_sku (sku_id),
+    KEY idx_spu (spu_id)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4 COMMENT = '商品索引表';
@@ -0,0 +1,54 @@
+-- 搜索、价格、库存查询的覆盖索引
+-- 只新增索引，不删除已有索引：基线之前的库中手工建立的索引名称不确定，删除语句无法保证可执行
+-- 新增的索引在已有库上执行时会重建索引树，大表建议在低峰期发布
+
+-- ----------------------------
+-- 商品索引：搜索过滤覆盖索引（ProductIndexRepositoryImpl.buildSearchWrapper）
+-- 排序索引（idx_search_*）的列顺序服务于 ORDER BY ... , id，排序列之后不能再追加过滤列，
+-- 因此过滤条件中不在排序索引里的列（库存状态、另一端价格、渠道价格、规格候选 SKU）需要回表判断
+-- 该索引包含搜索的全部过滤列，计数查询和排序索引无法利用的搜索都只扫描索引、不回表：
+-- - 类目、库存状态为等值条件，放在最前
+-- - min_price 是价格区间重叠条件（min_price <= maxPrice）的范围列，其后的列在索引内过滤
+-- - sku_id 放在最后，规格筛选的 sku_id IN (...) 同样在索引内判断
+-- ----------------------------
+ALTER TABLE t_product_index
+    ADD INDEX idx_search_filter_cover (spu_deleted, sku_enabled, is_deleted, category_id, stock_status,
+                                       min_price, max_price, app_price_cents, web_price_cents, store_price_cents,
+                                       sku_id);
+
+-- 指定库存状态、不指定类目的搜索：库存状态作为等值前缀，价格区间在索引内过滤
+ALTER TABLE t_product_index
+    ADD INDEX idx_search_stock_price (spu_deleted, sku_enabled, is_deleted, stock_status, min_price, max_price);
+
+-- ----------------------------
+-- SPU 级商品索引：与 t_product_index 相同的过滤覆盖索引（ProductSpuIndexRepositoryImpl）
+-- ----------------------------
+ALTER TABLE t_product_spu_index
+    ADD INDEX idx_spu_search_filter_cover (is_deleted, category_id, stock_status,
+                                           min_price, max_price, app_price_cents, web_price_cents, store_price_cents,
+                                           spu_id),
+    ADD INDEX idx_spu_search_stock_price (is_deleted, stock_status, min_price, max_price);
+
+-- ----------------------------
+-- SKU 价格：有效价格查询（SkuPriceRepositoryImpl.findActive*）
+-- 查询条件 sku_id (IN) + channel + is_deleted + start_time <= now + (end_time IS NULL OR end_time >= now)，
+-- 只查询 id、sku_id、channel、price、start_time、end_time，全部包含在索引中（id 由 InnoDB 二级索引隐式携带）
+-- - 指定渠道：(sku_id, channel, is_deleted) 等值定位，start_time 范围扫描，end_time 在索引内过滤，
+--   同一 SKU 同一渠道的价格按 start_time 有序，ORDER BY start_time DESC 无需排序
+-- - 不指定渠道（索引构建）：按 sku_id 前缀扫描该 SKU 的全部价格，其余条件在索引内过滤
+-- ----------------------------
+ALTER TABLE t_sku_price
+    ADD INDEX idx_sku_channel_window (sku_id, channel, is_deleted, start_time, end_time, price);
+
+-- 价格生效 / 失效边界扫描（SkuPriceRepositoryImpl.findBoundariesBetween）
+-- 两个时间条件用 OR 连接，分别走两个索引后合并（index_merge union），查询的列都在索引中
+ALTER TABLE t_sku_price
+    ADD INDEX idx_price_start_time (is_deleted, start_time, sku_id, end_time),
+    ADD INDEX idx_price_end_time (is_deleted, end_time, sku_id, start_time);
+
+-- ----------------------------
+-- SKU 库存：按 SKU 查询（SkuStockRepositoryImpl.findBySkuId / findBySkuIds）
+-- 库存行会被乐观锁更新，查询需要读取整行，只建定位索引，不做覆盖
+-- ----------------------------
+ALTER TABLE t_sku_stock
+    ADD INDEX idx_stock_sku (sku_id, is_deleted);
@@ -0,0 +1,25 @@
+-- SKU 当前有效价格表
+-- 每个 (SKU, 渠道) 一行，保存当前生效的价格和下一次价格变化的时间，当前价格查询按主键读取，与历史价格记录数无关
+-- 维护方式：
+-- - 写入价格记录时在同一事务中把对应行标记为待刷新（next_change_at 置为当前时间，version 加一），提交后重新计算
+-- - 价格边界调度器定期刷新 next_change_at 已到期的行（价格生效 / 失效、提交后刷新失败的行）
+-- - 读取时遇到已到期的行直接按价格记录计算，不依赖调度器的进度
+-- 该表不使用逻辑删除
+
+CREATE TABLE IF NOT EXISTS t_sku_effective_price (
+    sku_id         BIGINT         NOT NULL COMMENT 'SKU ID',
+    channel        VARCHAR(16)    NOT NULL COMMENT '渠道：APP / WEB / STORE',
+    price          DECIMAL(10, 2) NULL COMMENT '当前有效价格（NULL 表示当前没有有效价格）',
+    valid_until    DATETIME       NULL COMMENT '当前价格记录的失效时间（NULL 表示长期有效）',
+    next_change_at DATETIME       NULL COMMENT '下一次价格变化的时间（NULL 表示没有已知的变化）',
+    version        INT            NOT NULL DEFAULT 0 COMMENT '版本号：每次标记待刷新加一，刷新时校验',
+    update_time    DATETIME       NOT NULL COMMENT '更新时间',
+    PRIMARY KEY (sku_id, channel),
+    KEY idx_next_change (next_change_at)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4 COMMENT = 'SKU 当前有效价格表';
+
+-- 初始化：已有价格的 (SKU, 渠道) 全部标记为待刷新，由价格边界调度器分批计算；计算完成前读取时按价格记录计算
+INSERT INTO t_sku_effective_price (sku_id, channel, price, valid_until, next_change_at, version, update_time)
+SELECT DISTINCT sku_id, channel, NULL, NULL, '1970-01-01 00:00:00', 0, NOW()
+FROM t_sku_price
+WHERE is_deleted = 0;
@@ -0,0 +1,45 @@
+-- SKU 价格归档
+-- t_sku_price 只追加不修改，已完全失效的历史记录不再参与当前价格和未来价格的计算，
+-- 由价格归档任务（PriceArchiveJob）在保留期后分批移入归档表，热表的大小与仍有效的价格记录数成正比
+
+-- ----------------------------
+-- 价格归档表：与 t_sku_price 相同的列，另记录归档时间
+-- 保留原主键，归档前后的价格记录 ID 一致
+-- ----------------------------
+CREATE TABLE IF NOT EXISTS t_sku_price_archive (
+    id           BIGINT         NOT NULL COMMENT '主键ID（原价格记录ID）',
+    sku_id       BIGINT         NOT NULL COMMENT 'SKU ID',
+    channel      VARCHAR(16)    NOT NULL COMMENT '渠道：APP / WEB / STORE',
+    price        DECIMAL(10, 2) NOT NULL COMMENT '价格',
+    start_time   DATETIME       NOT NULL COMMENT '生效时间',
+    end_time     DATETIME       NULL COMMENT '失效时间',
+    create_time  DATETIME       NOT NULL COMMENT '创建时间',
+    update_time  DATETIME       NOT NULL COMMENT '更新时间',
+    is_deleted   TINYINT        NOT NULL DEFAULT 0 COMMENT '归档前是否已逻辑删除',
+    archive_time DATETIME       NOT NULL COMMENT '归档时间',
+    PRIMARY KEY (id),
+    KEY idx_archive_sku_channel_start (sku_id, channel, start_time)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4 COMMENT = 'SKU 价格归档表';
+
+-- ----------------------------
+-- 价格归档汇总表：每个 (SKU, 渠道) 一行，记录已归档的（未删除的）价格记录的条数、价格区间和时间跨度
+-- 归档明细可以按需清理，汇总保留历史价格的概况
+-- ----------------------------
+CREATE TABLE IF NOT EXISTS t_sku_price_archive_summary (
+    sku_id           BIGINT         NOT NULL COMMENT 'SKU ID',
+    channel          VARCHAR(16)    NOT NULL COMMENT '渠道：APP / WEB / STORE',
+    record_count     INT            NOT NULL COMMENT '已归档的价格记录数',
+    min_price        DECIMAL(10, 2) NOT NULL COMMENT '最低价格',
+    max_price        DECIMAL(10, 2) NOT NULL COMMENT '最高价格',
+    first_start_time DATETIME       NOT NULL COMMENT '最早生效时间',
+    last_end_time    DATETIME       NOT NULL COMMENT '最晚失效时间',
+    update_time      DATETIME       NOT NULL COMMENT '更新时间',
+    PRIMARY KEY (sku_id, channel)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4 COMMENT = 'SKU 价格归档汇总表';
+
+-- ----------------------------
+-- 已逻辑删除的价格记录按更新时间（删除时间）归档
+-- 查询条件 is_deleted = 1 AND update_time < cutoff；已失效的记录走 V2 的 idx_price_end_time
+-- ----------------------------
+ALTER TABLE t_sku_price
+    ADD INDEX idx_price_deleted_update (is_deleted, update_time);
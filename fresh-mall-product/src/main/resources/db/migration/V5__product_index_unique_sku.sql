@@ -0,0 +1,14 @@
+-- 商品索引：sku_id 增加唯一索引
+-- 同一 SKU 的 SKU 任务与所属 SPU 的 SPU 任务可能在不同线程（或不同节点）同时重建索引，
+-- 普通索引下两边都可能插入一行，之后 findBySkuId 查到多行而失败
+-- 索引行逻辑删除后不再插入新行：写入使用 INSERT ... ON DUPLICATE KEY UPDATE，已删除的行被复用（is_deleted 置 0）
+-- 与 V2 相同，只新增索引、不删除原有的 sku_id 普通索引：基线之前的库中手工建立的索引名称不确定，删除语句无法保证可执行
+
+-- 清理已存在的重复行：每个 sku_id 保留未删除且 ID 最大的一行
+DELETE dup FROM t_product_index dup
+    JOIN t_product_index keep
+        ON keep.sku_id = dup.sku_id
+            AND (keep.is_deleted < dup.is_deleted OR (keep.is_deleted = dup.is_deleted AND keep.id > dup.id));
+
+ALTER TABLE t_product_index
+    ADD UNIQUE KEY uk_sku_id (sku_id);
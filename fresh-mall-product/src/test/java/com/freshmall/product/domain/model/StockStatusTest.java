@@ -0,0 +1,38 @@
+package com.freshmall.product.domain.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 库存状态排序测试
+ * 有货优先排序直接按 stock_status 列（枚举名称）升序，依赖名称的字母序与声明顺序（优先级）一致
+ */
+class StockStatusTest {
+
+    @Test
+    void namesSortInPriorityOrder() {
+        List<StockStatus> byName = Arrays.stream(StockStatus.values())
+                .sorted(Comparator.comparing(StockStatus::name))
+                .collect(Collectors.toList());
+
+        assertThat(byName).containsExactly(StockStatus.IN_STOCK, StockStatus.LOW_STOCK, StockStatus.OUT_OF_STOCK);
+        assertThat(byName).containsExactly(StockStatus.values());
+    }
+
+    @Test
+    void firstLettersAreDistinctAndAscending() {
+        // 首字母即可决定顺序，与数据库排序规则（大小写、下划线的处理）无关
+        char previous = 0;
+        for (StockStatus status : StockStatus.values()) {
+            char first = status.name().charAt(0);
+            assertThat(first).as(status.name()).isGreaterThan(previous);
+            previous = first;
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package com.freshmall.product.domain.price;
+
+import net.jqwik.api.Arbitraries;
+import net.jqwik.api.Arbitrary;
+import net.jqwik.api.Combinators;
+import net.jqwik.api.Example;
+import net.jqwik.api.ForAll;
+import net.jqwik.api.Property;
+import net.jqwik.api.Provide;
+import net.jqwik.api.constraints.IntRange;
+import net.jqwik.api.constraints.LongRange;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 价格册文件格式属性测试
+ * 任意按 (skuId, validFrom) 升序写入的记录都能按 SKU 原样读回，文件头在关闭时回填
+ */
+class PriceBookFileTest {
+
+    @Property
+    void writtenRecordsReadBackPerSku(@ForAll("books") TreeMap<Long, List<long[]>> book,
+                                      @ForAll("types") short type,
+                                      @ForAll @LongRange(min = 0, max = 4_000_000_000L) long generatedAt)
+            throws IOException {
+        Path file = Files.createTempFile("price-book", ".bin");
+        try {
+            long expectedCount = write(file, type, generatedAt, 0L, book);
+
+            assertThat(Files.size(file))
+                    .isEqualTo(PriceBookFile.HEADER_BYTES + PriceBookFile.RECORD_BYTES * expectedCount);
+            try (PriceBookFile.Reader reader = new PriceBookFile.Reader(file)) {
+                assertThat(reader.getType()).isEqualTo(type);
+                assertThat(reader.getGeneratedAt()).isEqualTo(generatedAt);
+                for (Map.Entry<Long, List<long[]>> entry : book.entrySet()) {
+                    PriceBookFile.SkuRecords records = reader.nextSku();
+                    assertThat(records).isNotNull();
+                    assertThat(records.sameAs(toSkuRecords(entry.getKey(), entry.getValue()))).isTrue();
+                }
+                assertThat(reader.nextSku()).isNull();
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Property
+    void headerIsBackfilledOnClose(@ForAll("books") TreeMap<Long, List<long[]>> book,
+                                   @ForAll("types") short type,
+                                   @ForAll @LongRange(min = 0, max = 4_000_000_000L) long generatedAt,
+                                   @ForAll @LongRange(min = 0, max = 4_000_000_000L) long baseGeneratedAt)
+            throws IOException {
+        Path file = Files.createTempFile("price-book", ".bin");
+        try {
+            long expectedCount = write(file, type, generatedAt, baseGeneratedAt, book);
+
+            ByteBuffer header = ByteBuffer.wrap(Files.readAllBytes(file), 0, PriceBookFile.HEADER_BYTES);
+            assertThat(header.getInt()).isEqualTo(PriceBookFile.MAGIC);
+            assertThat(header.getShort()).isEqualTo(PriceBookFile.VERSION);
+            assertThat(header.getShort()).isEqualTo(type);
+            assertThat(header.getLong()).isEqualTo(generatedAt);
+            assertThat(header.getLong()).isEqualTo(baseGeneratedAt);
+            assertThat(header.getLong()).isEqualTo(expectedCount);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Property
+    void outOfOrderWriteIsRejected(@ForAll @LongRange(min = 1, max = 5) long firstSkuId,
+                                   @ForAll @LongRange(min = 0, max = 5) long firstValidFrom,
+                                   @ForAll @LongRange(min = 1, max = 5) long secondSkuId,
+                                   @ForAll @LongRange(min = 0, max = 5) long secondValidFrom) throws IOException {
+        boolean ascending = secondSkuId > firstSkuId
+                || secondSkuId == firstSkuId && secondValidFrom > firstValidFrom;
+        Path file = Files.createTempFile("price-book", ".bin");
+        try (PriceBookFile.Writer writer =
+                     new PriceBookFile.Writer(file, PriceBookFile.TYPE_FULL, 0L, 0L)) {
+            writer.write(firstSkuId, firstValidFrom, PriceBookFile.FOREVER, 100L);
+            if (ascending) {
+                writer.write(secondSkuId, secondValidFrom, PriceBookFile.FOREVER, 100L);
+                assertThat(writer.getRecordCount()).isEqualTo(2);
+            } else {
+                assertThatThrownBy(() -> writer.write(secondSkuId, secondValidFrom, PriceBookFile.FOREVER, 100L))
+                        .isInstanceOf(IllegalStateException.class);
+                assertThat(writer.getRecordCount()).isEqualTo(1);
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Property
+    void truncatedFileIsReported(@ForAll("books") TreeMap<Long, List<long[]>> book,
+                                 @ForAll @IntRange(min = 1, max = PriceBookFile.RECORD_BYTES) int missingBytes)
+            throws IOException {
+        if (book.isEmpty()) {
+            return;
+        }
+        Path file = Files.createTempFile("price-book", ".bin");
+        try {
+            write(file, PriceBookFile.TYPE_FULL, 0L, 0L, book);
+            try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+                raf.setLength(raf.length() - missingBytes);
+            }
+
+            try (PriceBookFile.Reader reader = new PriceBookFile.Reader(file)) {
+                assertThatThrownBy(() -> {
+                    while (reader.nextSku() != null) {
+                        // 读到文件末尾
+                    }
+                }).isInstanceOf(IOException.class);
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Example
+    void foreignFileIsRejected() throws IOException {
+        Path file = Files.createTempFile("price-book", ".bin");
+        try {
+            Files.write(file, new byte[PriceBookFile.HEADER_BYTES]);
+
+            assertThatThrownBy(() -> new PriceBookFile.Reader(file)).isInstanceOf(IOException.class);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    /**
+     * SKU ID -> 按 validFrom 升序的记录 {validFrom, validUntil, cents}
+     */
+    @Provide
+    Arbitrary<TreeMap<Long, List<long[]>>> books() {
+        Arbitrary<long[]> record = Combinators.combine(
+                Arbitraries.longs().between(0, 1_000_000),
+                Arbitraries.oneOf(Arbitraries.longs().between(1, 2_000_000), Arbitraries.just(PriceBookFile.FOREVER)),
+                Arbitraries.oneOf(Arbitraries.longs().between(1, 10_000_000), Arbitraries.just(PriceBookFile.DELETED)))
+                .as((validFrom, validUntil, cents) -> new long[]{validFrom, validUntil, cents});
+        Arbitrary<List<long[]>> skuRecords = record.list().ofMinSize(1).ofMaxSize(4).uniqueElements(r -> r[0])
+                .map(records -> {
+                    List<long[]> sorted = new ArrayList<>(records);
+                    sorted.sort(Comparator.comparingLong(r -> r[0]));
+                    return sorted;
+                });
+        return Arbitraries.maps(Arbitraries.longs().between(1, 100_000), skuRecords).ofMaxSize(30)
+                .map(TreeMap::new);
+    }
+
+    @Provide
+    Arbitrary<Short> types() {
+        return Arbitraries.of(PriceBookFile.TYPE_FULL, PriceBookFile.TYPE_DELTA);
+    }
+
+    private static long write(Path file, short type, long generatedAt, long baseGeneratedAt,
+                              TreeMap<Long, List<long[]>> book) throws IOException {
+        try (PriceBookFile.Writer writer = new PriceBookFile.Writer(file, type, generatedAt, baseGeneratedAt)) {
+            for (Map.Entry<Long, List<long[]>> entry : book.entrySet()) {
+                writer.write(toSkuRecords(entry.getKey(), entry.getValue()));
+            }
+            return writer.getRecordCount();
+        }
+    }
+
+    private static PriceBookFile.SkuRecords toSkuRecords(long skuId, List<long[]> values) {
+        PriceBookFile.SkuRecords records = new PriceBookFile.SkuRecords(skuId);
+        for (long[] value : values) {
+            records.add(value[0], value[1], value[2]);
+        }
+        return records;
+    }
+}
@@ -0,0 +1,155 @@
+package com.freshmall.product.domain.price;
+
+import com.freshmall.product.domain.model.ChannelType;
+import net.jqwik.api.Arbitraries;
+import net.jqwik.api.Arbitrary;
+import net.jqwik.api.Combinators;
+import net.jqwik.api.ForAll;
+import net.jqwik.api.Property;
+import net.jqwik.api.Provide;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 价格时间线属性测试
+ * 以逐条扫描价格记录的有效价格计算为参照：生效中（start_time <= t 且 end_time 为空或 >= t）的记录里
+ * 取 start_time 最晚的一条，相同时取 ID 较大的一条
+ */
+class PriceTimelineTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2026, 1, 1, 0, 0, 0);
+
+    /**
+     * 记录的生效 / 失效时间都落在 BASE 之后的这个秒数范围内，查询范围前后各多 2 秒，覆盖所有价格变化
+     */
+    private static final int SPAN_SECONDS = 40;
+
+    @Property
+    void priceAtMatchesBruteForce(@ForAll("records") List<SkuPrice> prices) {
+        PriceTimeline timeline = PriceTimeline.of(prices, LocalDateTime.MIN);
+
+        for (int second = -2; second <= SPAN_SECONDS + 2; second++) {
+            LocalDateTime time = BASE.plusSeconds(second);
+            assertThat(timeline.priceCentsAt(time)).as("t=%d", second).isEqualTo(bruteForce(prices, time));
+        }
+    }
+
+    @Property
+    void plusMatchesRebuild(@ForAll("records") List<SkuPrice> prices) {
+        PriceTimeline incremental = PriceTimeline.of(List.of(), LocalDateTime.MIN);
+        for (SkuPrice price : prices) {
+            incremental = incremental.plus(price);
+        }
+        PriceTimeline rebuilt = PriceTimeline.of(prices, LocalDateTime.MIN);
+
+        assertThat(incremental.size()).isEqualTo(prices.size());
+        for (int second = -2; second <= SPAN_SECONDS + 2; second++) {
+            LocalDateTime time = BASE.plusSeconds(second);
+            assertThat(incremental.priceCentsAt(time)).as("t=%d", second).isEqualTo(rebuilt.priceCentsAt(time));
+        }
+    }
+
+    @Property
+    void nextChangeIsFirstSecondWithDifferentPrice(@ForAll("records") List<SkuPrice> prices) {
+        PriceTimeline timeline = PriceTimeline.of(prices, LocalDateTime.MIN);
+
+        for (int second = -2; second <= SPAN_SECONDS + 2; second++) {
+            LocalDateTime time = BASE.plusSeconds(second);
+            Long current = bruteForce(prices, time);
+            LocalDateTime expected = null;
+            for (int later = second + 1; later <= SPAN_SECONDS + 2; later++) {
+                if (!Objects.equals(bruteForce(prices, BASE.plusSeconds(later)), current)) {
+                    expected = BASE.plusSeconds(later);
+                    break;
+                }
+            }
+            assertThat(timeline.nextChangeAfter(time)).as("t=%d", second).isEqualTo(expected);
+        }
+    }
+
+    @Property
+    void segmentsCoverExactlyThePricedSeconds(@ForAll("records") List<SkuPrice> prices,
+                                              @ForAll("offsets") int fromSecond) {
+        PriceTimeline timeline = PriceTimeline.of(prices, LocalDateTime.MIN);
+        long fromSeconds = toSeconds(BASE.plusSeconds(fromSecond));
+        List<long[]> segments = new ArrayList<>();
+        timeline.forEachSegmentFrom(BASE.plusSeconds(fromSecond), (start, end, cents) ->
+                segments.add(new long[]{start, end, cents}));
+
+        for (int i = 0; i < segments.size(); i++) {
+            long[] segment = segments.get(i);
+            assertThat(segment[0]).isGreaterThanOrEqualTo(fromSeconds).isLessThan(segment[1]);
+            if (i > 0) {
+                assertThat(segment[0]).isGreaterThanOrEqualTo(segments.get(i - 1)[1]);
+            }
+        }
+        for (int second = fromSecond; second <= SPAN_SECONDS + 2; second++) {
+            LocalDateTime time = BASE.plusSeconds(second);
+            long seconds = toSeconds(time);
+            Long segmentCents = segments.stream()
+                    .filter(segment -> segment[0] <= seconds && seconds < segment[1])
+                    .map(segment -> segment[2])
+                    .findFirst()
+                    .orElse(null);
+            assertThat(segmentCents).as("t=%d", second).isEqualTo(bruteForce(prices, time));
+        }
+    }
+
+    @Provide
+    Arbitrary<List<SkuPrice>> records() {
+        Arbitrary<SkuPrice> record = Combinators.combine(
+                Arbitraries.longs().between(1, 1_000),
+                Arbitraries.integers().between(0, SPAN_SECONDS / 2),
+                Arbitraries.integers().between(0, SPAN_SECONDS / 2).injectNull(0.3),
+                Arbitraries.longs().between(1, 5))
+                .as((id, start, duration, yuan) -> price(id, start, duration, yuan));
+        return record.list().ofMaxSize(8).uniqueElements(SkuPrice::getId);
+    }
+
+    @Provide
+    Arbitrary<Integer> offsets() {
+        return Arbitraries.integers().between(-2, SPAN_SECONDS + 2);
+    }
+
+    /**
+     * 价格只取少数几个值，便于产生相邻区间价格相同需要合并的情况
+     */
+    private static SkuPrice price(long id, int startSecond, Integer durationSeconds, long yuan) {
+        SkuPrice price = SkuPrice.builder()
+                .skuId(1L)
+                .channel(ChannelType.APP)
+                .price(BigDecimal.valueOf(yuan))
+                .startTime(BASE.plusSeconds(startSecond))
+                .endTime(durationSeconds != null ? BASE.plusSeconds(startSecond + durationSeconds) : null)
+                .build();
+        price.setId(id);
+        return price;
+    }
+
+    private static Long bruteForce(List<SkuPrice> prices, LocalDateTime time) {
+        SkuPrice best = null;
+        for (SkuPrice price : prices) {
+            boolean active = !price.getStartTime().isAfter(time)
+                    && (price.getEndTime() == null || !price.getEndTime().isBefore(time));
+            if (!active) {
+                continue;
+            }
+            if (best == null || price.getStartTime().isAfter(best.getStartTime())
+                    || price.getStartTime().equals(best.getStartTime()) && price.getId() > best.getId()) {
+                best = price;
+            }
+        }
+        return best != null ? best.getPrice().movePointRight(2).longValueExact() : null;
+    }
+
+    private static long toSeconds(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC);
+    }
+}
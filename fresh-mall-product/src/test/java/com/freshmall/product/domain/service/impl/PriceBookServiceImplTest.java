@@ -0,0 +1,213 @@
+package com.freshmall.product.domain.service.impl;
+
+import com.freshmall.product.domain.model.ChannelType;
+import com.freshmall.product.domain.price.PriceBookFile;
+import com.freshmall.product.domain.price.SkuPrice;
+import com.freshmall.product.domain.repository.SkuPriceRepository;
+import net.jqwik.api.Arbitraries;
+import net.jqwik.api.Arbitrary;
+import net.jqwik.api.Combinators;
+import net.jqwik.api.ForAll;
+import net.jqwik.api.Property;
+import net.jqwik.api.Provide;
+import net.jqwik.api.constraints.LongRange;
+import net.jqwik.api.constraints.Size;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 价格册增量属性测试
+ * 连续生成两个版本后，把增量按 SKU 替换到上一版本全量文件上（DELETED 单条记录表示删除该 SKU），
+ * 结果必须与新版本全量文件完全相同，且增量只包含记录有变化的 SKU
+ */
+class PriceBookServiceImplTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2026, 1, 1, 0, 0, 0);
+
+    private static final int PAGE_SIZE = 3;
+
+    @Property(tries = 200)
+    void deltaOverBaseReproducesNewFullFile(@ForAll("books") Map<Long, List<SkuPrice>> before,
+                                            @ForAll("books") Map<Long, List<SkuPrice>> changed,
+                                            @ForAll @Size(max = 12) Set<@LongRange(min = 1, max = 12) Long> kept,
+                                            @ForAll @LongRange(min = 1, max = 30) long elapsedSeconds)
+            throws IOException {
+        Map<Long, List<SkuPrice>> after = new TreeMap<>(changed);
+        for (Long skuId : kept) {
+            after.remove(skuId);
+            if (before.containsKey(skuId)) {
+                after.put(skuId, before.get(skuId));
+            }
+        }
+        Path dir = Files.createTempDirectory("price-book");
+        try {
+            Path current = dir.resolve("app-price-book.bin");
+            Path base = dir.resolve("base.bin");
+            newService(before, dir).generate(ChannelType.APP, BASE);
+            Files.copy(current, base);
+            newService(after, dir).generate(ChannelType.APP, BASE.plusSeconds(elapsedSeconds));
+
+            Path delta = findDelta(dir);
+            TreeMap<Long, PriceBookFile.SkuRecords> baseRecords = readAll(base);
+            TreeMap<Long, PriceBookFile.SkuRecords> applied = new TreeMap<>(baseRecords);
+            try (PriceBookFile.Reader reader = new PriceBookFile.Reader(delta)) {
+                assertThat(reader.getType()).isEqualTo(PriceBookFile.TYPE_DELTA);
+                assertThat(reader.getGeneratedAt()).isEqualTo(toSeconds(BASE) + elapsedSeconds);
+                PriceBookFile.SkuRecords records;
+                while ((records = reader.nextSku()) != null) {
+                    // 增量只包含变化的 SKU
+                    assertThat(records.sameAs(baseRecords.get(records.getSkuId()))).isFalse();
+                    if (records.size() == 1 && records.centsAt(0) == PriceBookFile.DELETED) {
+                        assertThat(baseRecords).containsKey(records.getSkuId());
+                        applied.remove(records.getSkuId());
+                    } else {
+                        applied.put(records.getSkuId(), records);
+                    }
+                }
+            }
+
+            TreeMap<Long, PriceBookFile.SkuRecords> expected = readAll(current);
+            assertThat(applied.keySet()).containsExactlyElementsOf(expected.keySet());
+            for (Map.Entry<Long, PriceBookFile.SkuRecords> entry : expected.entrySet()) {
+                assertThat(applied.get(entry.getKey()).sameAs(entry.getValue()))
+                        .as("skuId=%d", entry.getKey())
+                        .isTrue();
+            }
+        } finally {
+            try (Stream<Path> files = Files.list(dir)) {
+                for (Path file : files.collect(Collectors.toList())) {
+                    Files.delete(file);
+                }
+            }
+            Files.delete(dir);
+        }
+    }
+
+    /**
+     * SKU ID -> 价格记录，时间落在 BASE 前后，价格只取少数几个值以产生未变化的 SKU
+     */
+    @Provide
+    Arbitrary<Map<Long, List<SkuPrice>>> books() {
+        Arbitrary<SkuPrice> record = Combinators.combine(
+                Arbitraries.integers().between(-20, 40),
+                Arbitraries.integers().between(0, 40).injectNull(0.3),
+                Arbitraries.longs().between(1, 3))
+                .as((startSecond, durationSeconds, yuan) -> SkuPrice.builder()
+                        .channel(ChannelType.APP)
+                        .price(BigDecimal.valueOf(yuan))
+                        .startTime(BASE.plusSeconds(startSecond))
+                        .endTime(durationSeconds != null ? BASE.plusSeconds(startSecond + durationSeconds) : null)
+                        .build());
+        return Arbitraries.maps(Arbitraries.longs().between(1, 12), record.list().ofMinSize(1).ofMaxSize(3))
+                .ofMaxSize(12)
+                .map(PriceBookServiceImplTest::assignIds);
+    }
+
+    /**
+     * 复制记录并填入 SKU ID 和价格 ID，不修改生成器产生的对象
+     */
+    private static Map<Long, List<SkuPrice>> assignIds(Map<Long, List<SkuPrice>> book) {
+        Map<Long, List<SkuPrice>> result = new TreeMap<>();
+        long id = 1;
+        for (Map.Entry<Long, List<SkuPrice>> entry : book.entrySet()) {
+            List<SkuPrice> prices = new ArrayList<>();
+            for (SkuPrice source : entry.getValue()) {
+                SkuPrice price = SkuPrice.builder()
+                        .skuId(entry.getKey())
+                        .channel(source.getChannel())
+                        .price(source.getPrice())
+                        .startTime(source.getStartTime())
+                        .endTime(source.getEndTime())
+                        .build();
+                price.setId(id++);
+                prices.add(price);
+            }
+            result.put(entry.getKey(), prices);
+        }
+        return result;
+    }
+
+    /**
+     * 以内存中的价格记录模拟仓储的两个分页查询
+     */
+    private static PriceBookServiceImpl newService(Map<Long, List<SkuPrice>> book, Path dir) {
+        SkuPriceRepository repository = mock(SkuPriceRepository.class);
+        when(repository.findUnexpiredSkuIdsAfter(any(), any(), anyLong(), anyInt())).thenAnswer(invocation -> {
+            LocalDateTime from = invocation.getArgument(1);
+            Long afterSkuId = invocation.getArgument(2);
+            int limit = invocation.getArgument(3);
+            return book.entrySet().stream()
+                    .filter(entry -> entry.getKey() > afterSkuId)
+                    .filter(entry -> entry.getValue().stream().anyMatch(price -> unexpired(price, from)))
+                    .map(Map.Entry::getKey)
+                    .sorted()
+                    .limit(limit)
+                    .collect(Collectors.toList());
+        });
+        when(repository.findUnexpiredBySkuIds(any(), any(), any())).thenAnswer(invocation -> {
+            Collection<Long> skuIds = invocation.getArgument(0);
+            LocalDateTime from = invocation.getArgument(2);
+            return skuIds.stream()
+                    .flatMap(skuId -> book.getOrDefault(skuId, List.of()).stream())
+                    .filter(price -> unexpired(price, from))
+                    .collect(Collectors.toList());
+        });
+        PriceBookServiceImpl service = new PriceBookServiceImpl(repository);
+        ReflectionTestUtils.setField(service, "directory", dir.toString());
+        ReflectionTestUtils.setField(service, "pageSize", PAGE_SIZE);
+        ReflectionTestUtils.setField(service, "keepDeltas", 48);
+        return service;
+    }
+
+    private static boolean unexpired(SkuPrice price, LocalDateTime from) {
+        return price.getEndTime() == null || !price.getEndTime().isBefore(from);
+    }
+
+    private static Path findDelta(Path dir) throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            List<Path> deltas = files
+                    .filter(file -> file.getFileName().toString().startsWith("app-price-book-delta-"))
+                    .sorted(Comparator.naturalOrder())
+                    .collect(Collectors.toList());
+            assertThat(deltas).hasSize(1);
+            return deltas.get(0);
+        }
+    }
+
+    private static TreeMap<Long, PriceBookFile.SkuRecords> readAll(Path file) throws IOException {
+        TreeMap<Long, PriceBookFile.SkuRecords> records = new TreeMap<>();
+        try (PriceBookFile.Reader reader = new PriceBookFile.Reader(file)) {
+            PriceBookFile.SkuRecords sku;
+            while ((sku = reader.nextSku()) != null) {
+                records.put(sku.getSkuId(), sku);
+            }
+        }
+        return records;
+    }
+
+    private static long toSeconds(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,136 @@
+package com.freshmall.product.domain.valueobject;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import net.jqwik.api.Arbitraries;
+import net.jqwik.api.Arbitrary;
+import net.jqwik.api.Example;
+import net.jqwik.api.ForAll;
+import net.jqwik.api.Property;
+import net.jqwik.api.Provide;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 定点金额属性测试
+ * 以 BigInteger / BigDecimal 的精确运算和 Money 为参照：结果落在 long 范围内时必须相等，否则必须抛出 ArithmeticException
+ */
+class MoneyCentsTest {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private static final BigInteger LONG_MIN = BigInteger.valueOf(Long.MIN_VALUE);
+
+    private static final BigInteger LONG_MAX = BigInteger.valueOf(Long.MAX_VALUE);
+
+    @Property
+    void addMatchesExactSum(@ForAll("cents") long a, @ForAll("cents") long b) {
+        BigInteger expected = BigInteger.valueOf(a).add(BigInteger.valueOf(b));
+        if (fitsInLong(expected)) {
+            assertThat(MoneyCents.ofCents(a).add(MoneyCents.ofCents(b)).getCents()).isEqualTo(expected.longValueExact());
+        } else {
+            assertThatThrownBy(() -> MoneyCents.ofCents(a).add(MoneyCents.ofCents(b)))
+                    .isInstanceOf(ArithmeticException.class);
+        }
+    }
+
+    @Property
+    void subtractMatchesExactDifference(@ForAll("cents") long a, @ForAll("cents") long b) {
+        BigInteger expected = BigInteger.valueOf(a).subtract(BigInteger.valueOf(b));
+        if (fitsInLong(expected)) {
+            assertThat(MoneyCents.ofCents(a).subtract(MoneyCents.ofCents(b)).getCents())
+                    .isEqualTo(expected.longValueExact());
+        } else {
+            assertThatThrownBy(() -> MoneyCents.ofCents(a).subtract(MoneyCents.ofCents(b)))
+                    .isInstanceOf(ArithmeticException.class);
+        }
+    }
+
+    @Property
+    void multiplyMatchesExactProduct(@ForAll("cents") long cents, @ForAll("cents") long quantity) {
+        BigInteger expected = BigInteger.valueOf(cents).multiply(BigInteger.valueOf(quantity));
+        if (fitsInLong(expected)) {
+            assertThat(MoneyCents.ofCents(cents).multiply(quantity).getCents()).isEqualTo(expected.longValueExact());
+        } else {
+            assertThatThrownBy(() -> MoneyCents.ofCents(cents).multiply(quantity))
+                    .isInstanceOf(ArithmeticException.class);
+        }
+    }
+
+    @Property
+    void addAndSubtractMatchMoney(@ForAll("prices") long a, @ForAll("prices") long b) {
+        Money moneyA = Money.ofCents(a);
+        Money moneyB = Money.ofCents(b);
+
+        assertThat(MoneyCents.ofCents(a).add(MoneyCents.ofCents(b)).toMoney()).isEqualTo(moneyA.add(moneyB));
+        assertThat(MoneyCents.ofCents(a).subtract(MoneyCents.ofCents(b)).toMoney())
+                .isEqualTo(moneyA.subtract(moneyB));
+    }
+
+    @Property
+    void compareToMatchesMoney(@ForAll("cents") long a, @ForAll("cents") long b) {
+        MoneyCents centsA = MoneyCents.ofCents(a);
+        MoneyCents centsB = MoneyCents.ofCents(b);
+
+        assertThat(Integer.signum(centsA.compareTo(centsB))).isEqualTo(Integer.signum(Long.compare(a, b)));
+        assertThat(centsA.lessThan(centsB)).isEqualTo(Money.ofCents(a).lessThan(Money.ofCents(b)));
+        assertThat(centsA.greaterThan(centsB)).isEqualTo(Money.ofCents(a).greaterThan(Money.ofCents(b)));
+        assertThat(centsA.equals(centsB)).isEqualTo(a == b);
+    }
+
+    @Property
+    void formatAmountMatchesBigDecimal(@ForAll("cents") long cents) {
+        assertThat(MoneyCents.formatAmount(cents)).isEqualTo(BigDecimal.valueOf(cents, 2).toPlainString());
+    }
+
+    @Example
+    void formatAmountHandlesLongBounds() {
+        assertThat(MoneyCents.formatAmount(Long.MIN_VALUE)).isEqualTo("-92233720368547758.08");
+        assertThat(MoneyCents.formatAmount(Long.MAX_VALUE)).isEqualTo("92233720368547758.07");
+        assertThat(MoneyCents.ofCents(Long.MIN_VALUE).toString()).isEqualTo("CNY -92233720368547758.08");
+    }
+
+    @Property
+    void jsonMatchesMoney(@ForAll("cents") long cents) throws JsonProcessingException {
+        assertThat(OBJECT_MAPPER.writeValueAsString(MoneyCents.ofCents(cents)))
+                .isEqualTo(OBJECT_MAPPER.writeValueAsString(Money.ofCents(cents)));
+    }
+
+    @Property
+    void moneyRoundTrip(@ForAll("cents") long cents) {
+        Money money = Money.ofCents(cents);
+        MoneyCents moneyCents = MoneyCents.of(money);
+
+        assertThat(moneyCents.getCents()).isEqualTo(cents);
+        assertThat(moneyCents.getAmount()).isEqualTo(money.getAmount());
+        assertThat(moneyCents.toMoney()).isEqualTo(money);
+        assertThat(MoneyCents.of(money.getAmount())).isEqualTo(moneyCents);
+    }
+
+    /**
+     * 全范围的分值，偏向 long 边界以覆盖溢出
+     */
+    @Provide
+    Arbitrary<Long> cents() {
+        return Arbitraries.oneOf(
+                Arbitraries.longs(),
+                Arbitraries.longs().between(-1_000_000L, 1_000_000L),
+                Arbitraries.of(Long.MIN_VALUE, Long.MIN_VALUE + 1, -1L, 0L, 1L, Long.MAX_VALUE - 1, Long.MAX_VALUE));
+    }
+
+    /**
+     * 不会溢出的商品价格范围
+     */
+    @Provide
+    Arbitrary<Long> prices() {
+        return Arbitraries.longs().between(-100_000_000L, 100_000_000L);
+    }
+
+    private static boolean fitsInLong(BigInteger value) {
+        return value.compareTo(LONG_MIN) >= 0 && value.compareTo(LONG_MAX) <= 0;
+    }
+}
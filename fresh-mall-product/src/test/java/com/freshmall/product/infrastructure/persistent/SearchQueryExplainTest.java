@@ -0,0 +1,233 @@
+package com.freshmall.product.infrastructure.persistent;
+
+import com.baomidou.mybatisplus.core.MybatisConfiguration;
+import com.baomidou.mybatisplus.core.config.GlobalConfig;
+import com.baomidou.mybatisplus.core.toolkit.GlobalConfigUtils;
+import com.baomidou.mybatisplus.extension.spring.MybatisSqlSessionFactoryBean;
+import com.freshmall.product.domain.model.ChannelType;
+import com.freshmall.product.domain.model.ProductSearchField;
+import com.freshmall.product.domain.model.ProductSortType;
+import com.freshmall.product.domain.model.StockStatus;
+import com.freshmall.product.infrastructure.persistent.mapper.ProductIndexMapper;
+import com.freshmall.product.infrastructure.persistent.mapper.SkuPriceMapper;
+import com.freshmall.product.infrastructure.persistent.repository.ProductIndexRepositoryImpl;
+import com.freshmall.product.infrastructure.persistent.repository.SkuPriceRepositoryImpl;
+import com.freshmall.product.infrastructure.persistent.support.ChunkedInQuery;
+import org.apache.ibatis.executor.statement.StatementHandler;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mybatis.spring.SqlSessionTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 搜索与价格查询的执行计划测试
+ * 在真实 MySQL 上执行全部迁移脚本并写入测试数据，通过 MyBatis Plus 调用仓储实现，
+ * 由拦截器对仓储层实际生成的查询执行 EXPLAIN，校验使用了 db/migration 中为其设计的索引，且只扫描索引（Using index）、不做 filesort
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class SearchQueryExplainTest {
+
+    private static final int INDEX_ROWS = 20000;
+
+    private static final int CATEGORY_COUNT = 20;
+
+    @Container
+    private static final MySQLContainer<?> MYSQL = new MySQLContainer<>("mysql:8.0");
+
+    private static final ExplainInterceptor EXPLAIN = new ExplainInterceptor();
+
+    private static ProductIndexRepositoryImpl productIndexRepository;
+
+    private static SkuPriceRepositoryImpl skuPriceRepository;
+
+    @BeforeAll
+    static void migrateAndSeed() throws SQLException {
+        Flyway.configure()
+                .dataSource(MYSQL.getJdbcUrl(), MYSQL.getUsername(), MYSQL.getPassword())
+                .locations("classpath:db/migration")
+                .load()
+                .migrate();
+
+        try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+            statement.execute("SET SESSION cte_max_recursion_depth = " + (INDEX_ROWS + 1));
+            statement.execute("INSERT INTO t_product_index (id, spu_id, sku_id, spu_name, category_id, "
+                    + "min_price, max_price, app_price_cents, web_price_cents, store_price_cents, stock_status, "
+                    + "publish_time, spu_deleted, sku_enabled, create_time, update_time, is_deleted) "
+                    + "WITH RECURSIVE seq (n) AS "
+                    + "(SELECT 1 UNION ALL SELECT n + 1 FROM seq WHERE n < " + INDEX_ROWS + ") "
+                    + "SELECT n, n DIV 4, n, CONCAT('商品', n), n % " + CATEGORY_COUNT + " + 1, "
+                    + "n % 500, n % 500 + 10, (n % 500) * 100, (n % 500) * 100 + 50, (n % 500) * 100 + 80, "
+                    + "ELT(n % 3 + 1, 'IN_STOCK', 'LOW_STOCK', 'OUT_OF_STOCK'), "
+                    + "NOW() - INTERVAL n MINUTE, n % 50 = 0, 1, NOW(), NOW(), 0 FROM seq");
+            statement.execute("INSERT INTO t_sku_price (id, sku_id, channel, price, start_time, end_time, "
+                    + "create_time, update_time, is_deleted) "
+                    + "SELECT id * 3 + c.k, sku_id, c.channel, min_price, NOW() - INTERVAL 30 DAY, NULL, "
+                    + "NOW(), NOW(), 0 FROM t_product_index "
+                    + "JOIN (SELECT 0 AS k, 'APP' AS channel "
+                    + "UNION ALL SELECT 1, 'WEB' UNION ALL SELECT 2, 'STORE') c");
+            statement.execute("ANALYZE TABLE t_product_index, t_sku_price");
+        }
+    }
+
+    @BeforeAll
+    static void buildRepositories() throws Exception {
+        MybatisConfiguration configuration = new MybatisConfiguration();
+        configuration.setMapUnderscoreToCamelCase(true);
+        GlobalConfig globalConfig = GlobalConfigUtils.defaults();
+        globalConfig.setBanner(false);
+        globalConfig.getDbConfig()
+                .setLogicDeleteField("deleted")
+                .setLogicDeleteValue("1")
+                .setLogicNotDeleteValue("0");
+
+        MybatisSqlSessionFactoryBean factoryBean = new MybatisSqlSessionFactoryBean();
+        factoryBean.setDataSource(new DriverManagerDataSource(
+                MYSQL.getJdbcUrl(), MYSQL.getUsername(), MYSQL.getPassword()));
+        factoryBean.setConfiguration(configuration);
+        factoryBean.setGlobalConfig(globalConfig);
+        factoryBean.setPlugins(EXPLAIN);
+        SqlSessionFactory sqlSessionFactory = factoryBean.getObject();
+        sqlSessionFactory.getConfiguration().addMapper(ProductIndexMapper.class);
+        sqlSessionFactory.getConfiguration().addMapper(SkuPriceMapper.class);
+        SqlSessionTemplate sqlSession = new SqlSessionTemplate(sqlSessionFactory);
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.initialize();
+        ChunkedInQuery chunkedInQuery = new ChunkedInQuery(executor, 500);
+        productIndexRepository = new ProductIndexRepositoryImpl(
+                sqlSession.getMapper(ProductIndexMapper.class), event -> { }, chunkedInQuery);
+        skuPriceRepository = new SkuPriceRepositoryImpl(sqlSession.getMapper(SkuPriceMapper.class), chunkedInQuery);
+    }
+
+    @BeforeEach
+    void clearPlans() {
+        EXPLAIN.plans.clear();
+    }
+
+    @Test
+    void categoryPriceSortScansSortIndexWithoutFilesort() {
+        productIndexRepository.search(3L, null, null, null, null, null, ProductSortType.PRICE_ASC, 200, 20,
+                EnumSet.allOf(ProductSearchField.class));
+
+        Plan plan = firstPlan();
+        assertThat(plan.key).as(plan.toString()).isEqualTo("idx_search_category_price");
+        assertThat(plan.extra).as(plan.toString()).contains("Using index").doesNotContain("filesort");
+    }
+
+    @Test
+    void channelPriceSortScansChannelIndexWithoutFilesort() {
+        productIndexRepository.search(null, null, null, null, ChannelType.STORE, null, ProductSortType.PRICE_DESC,
+                0, 20, EnumSet.allOf(ProductSearchField.class));
+
+        Plan plan = firstPlan();
+        assertThat(plan.key).as(plan.toString()).isEqualTo("idx_search_store_price");
+        assertThat(plan.extra).as(plan.toString()).contains("Using index").doesNotContain("filesort");
+    }
+
+    @Test
+    void filteredCountOnlyReadsFilterCoverIndex() {
+        productIndexRepository.countSearch(3L, new BigDecimal("100"), new BigDecimal("200"), StockStatus.IN_STOCK,
+                null, null);
+
+        Plan plan = firstPlan();
+        assertThat(plan.key).as(plan.toString()).isEqualTo("idx_search_filter_cover");
+        assertThat(plan.extra).as(plan.toString()).contains("Using index");
+    }
+
+    @Test
+    void activePriceLookupOnlyReadsPriceWindowIndex() {
+        skuPriceRepository.findActivePricesBySkuIds(List.of(101L, 202L, 303L), ChannelType.STORE,
+                LocalDateTime.now());
+
+        Plan plan = firstPlan();
+        assertThat(plan.key).as(plan.toString()).isEqualTo("idx_sku_channel_window");
+        assertThat(plan.extra).as(plan.toString()).contains("Using index");
+    }
+
+    private static Connection connect() throws SQLException {
+        return DriverManager.getConnection(MYSQL.getJdbcUrl(), MYSQL.getUsername(), MYSQL.getPassword());
+    }
+
+    /**
+     * 本次调用仓储执行的第一条语句的执行计划（搜索的第一步 ID 查询、统计或价格查询）
+     */
+    private static Plan firstPlan() {
+        assertThat(EXPLAIN.plans).isNotEmpty();
+        return EXPLAIN.plans.get(0);
+    }
+
+    /**
+     * 执行计划拦截器
+     * 与 SearchSqlCaptureInterceptor 拦截同一位置，在语句准备执行前用同一连接和同一组参数执行 EXPLAIN，
+     * 这样校验的就是仓储层实际生成的 SQL，查询条件变化时不需要同步修改测试
+     */
+    @Intercepts(@Signature(type = StatementHandler.class, method = "prepare", args = {Connection.class, Integer.class}))
+    private static final class ExplainInterceptor implements Interceptor {
+
+        private final List<Plan> plans = new ArrayList<>();
+
+        @Override
+        public Object intercept(Invocation invocation) throws Throwable {
+            StatementHandler statementHandler = (StatementHandler) invocation.getTarget();
+            Connection connection = (Connection) invocation.getArgs()[0];
+            String sql = statementHandler.getBoundSql().getSql();
+            try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+                statementHandler.getParameterHandler().setParameters(statement);
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    assertThat(resultSet.next()).isTrue();
+                    plans.add(new Plan(sql, resultSet.getString("key"),
+                            String.valueOf(resultSet.getString("Extra"))));
+                }
+            }
+            return invocation.proceed();
+        }
+    }
+
+    /**
+     * 语句及其 EXPLAIN 第一行的索引和附加信息
+     */
+    private static final class Plan {
+
+        private final String sql;
+
+        private final String key;
+
+        private final String extra;
+
+        private Plan(String sql, String key, String extra) {
+            this.sql = sql;
+            this.key = key;
+            this.extra = extra;
+        }
+
+        @Override
+        public String toString() {
+            return "key=" + key + ", extra=" + extra + ", sql=" + sql;
+        }
+    }
+}